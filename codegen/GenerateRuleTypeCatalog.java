@@ -0,0 +1,169 @@
+/*
+ * GenerateRuleTypeCatalog.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/*
+ * Generates GeneratedRuleTypeCatalog.java from rules-config.json, so that the built-in rule types can be created
+ * at startup without reading JSON. Run by Maven in the generate-sources phase, as a single-file source program:
+ *
+ *     java -classpath <jackson> GenerateRuleTypeCatalog.java <rules-config.json> <output source directory>
+ *
+ * The generated code calls the same constructors that Jackson calls, with the same defaults for missing fields.
+ * Unknown fields fail the build, as they would fail DQRuleType.readRuleTypes.
+ */
+public class GenerateRuleTypeCatalog {
+    private static final String PACKAGE = "com.amazonaws.glue.ml.dataquality.dqdl.model";
+    private static final String CLASS_NAME = "GeneratedRuleTypeCatalog";
+
+    private static final Set<String> RULE_TYPE_FIELDS = new HashSet<>(Arrays.asList(
+        "rule_type_name", "description", "parameters", "return_type", "is_threshold_supported",
+        "is_excluded_at_row_level_in_composite_rules", "is_where_clause_supported", "is_analyzer_only",
+        "scope", "experimental"));
+    private static final Set<String> PARAMETER_FIELDS = new HashSet<>(Arrays.asList(
+        "type", "name", "description", "is_var_arg"));
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: GenerateRuleTypeCatalog <rules-config.json> <output dir>");
+        }
+
+        JsonNode config = new ObjectMapper().readTree(Paths.get(args[0]).toFile());
+        String source = generate(config.get("rule_types"));
+
+        Path output = Paths.get(args[1], PACKAGE.split("\\."))
+            .resolve(CLASS_NAME + ".java");
+        Files.createDirectories(output.getParent());
+        Files.write(output, source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String generate(JsonNode ruleTypes) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("/*\n")
+            .append(" * ").append(CLASS_NAME).append(".java\n")
+            .append(" *\n")
+            .append(" * Generated from rules-config.json by codegen/GenerateRuleTypeCatalog.java. Do not edit.\n")
+            .append(" */\n\n")
+            .append("package ").append(PACKAGE).append(";\n\n")
+            .append("import java.util.ArrayList;\n")
+            .append("import java.util.Arrays;\n")
+            .append("import java.util.Collections;\n")
+            .append("import java.util.List;\n\n")
+            .append("final class ").append(CLASS_NAME).append(" {\n")
+            .append("    private ").append(CLASS_NAME).append("() {\n")
+            .append("    }\n\n")
+            .append("    static List<DQRuleType> getRuleTypes() {\n")
+            .append("        List<DQRuleType> ruleTypes = new ArrayList<>(").append(ruleTypes.size()).append(");\n");
+
+        for (JsonNode ruleType : ruleTypes) {
+            checkFields(ruleType, RULE_TYPE_FIELDS);
+            sb.append("        ruleTypes.add(new DQRuleType(\n")
+                .append("            ").append(string(ruleType, "rule_type_name")).append(",\n")
+                .append("            ").append(string(ruleType, "description")).append(",\n")
+                .append("            ").append(parameters(ruleType.get("parameters"))).append(",\n")
+                .append("            ").append(string(ruleType, "return_type")).append(",\n")
+                .append("            ").append(bool(ruleType, "is_threshold_supported")).append(",\n")
+                .append("            ").append(bool(ruleType, "is_excluded_at_row_level_in_composite_rules"))
+                .append(",\n")
+                .append("            ").append(bool(ruleType, "is_where_clause_supported")).append(",\n")
+                .append("            ").append(bool(ruleType, "is_analyzer_only")).append(",\n")
+                .append("            ").append(string(ruleType, "scope")).append(",\n")
+                .append("            ").append(bool(ruleType, "experimental")).append("));\n");
+        }
+
+        sb.append("        return ruleTypes;\n")
+            .append("    }\n")
+            .append("}\n");
+        return sb.toString();
+    }
+
+    private static String parameters(JsonNode parameters) {
+        if (parameters == null || parameters.isNull()) {
+            return "null";
+        }
+        if (parameters.size() == 0) {
+            return "Collections.emptyList()";
+        }
+
+        StringBuilder sb = new StringBuilder("Arrays.asList(");
+        for (int i = 0; i < parameters.size(); i++) {
+            JsonNode parameter = parameters.get(i);
+            checkFields(parameter, PARAMETER_FIELDS);
+            sb.append("\n                new DQRuleParameter(")
+                .append(string(parameter, "type")).append(", ")
+                .append(string(parameter, "name")).append(", ")
+                .append(string(parameter, "description")).append(", ")
+                .append(bool(parameter, "is_var_arg")).append(")")
+                .append(i < parameters.size() - 1 ? "," : ")");
+        }
+        return sb.toString();
+    }
+
+    private static void checkFields(JsonNode node, Set<String> allowedFields) {
+        Iterator<String> fieldNames = node.fieldNames();
+        while (fieldNames.hasNext()) {
+            String fieldName = fieldNames.next();
+            if (!allowedFields.contains(fieldName)) {
+                throw new IllegalArgumentException("Unknown field in rules config: " + fieldName);
+            }
+        }
+    }
+
+    private static String bool(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return String.valueOf(value != null && value.asBoolean());
+    }
+
+    private static String string(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return "null";
+        }
+
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.asText().toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append("\"").toString();
+    }
+}
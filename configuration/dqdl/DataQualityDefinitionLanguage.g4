@@ -184,3 +184,8 @@ dataSources: dataSourcesSectionStart EQUAL_TO dictionary;
 rulesOrAnalyzers: rules | analyzers | rules analyzers;
 
 document: metadata? dataSources? variableDeclarations? defaultLabels? rulesOrAnalyzers;
+
+// Same language as document, used when parsing in streaming mode. The choice between rules and analyzers
+// is LL(1) here, so the parser never needs to look ahead past the current rule. variableDeclarations already
+// matches zero declarations, so it is not marked optional.
+streamingDocument: metadata? dataSources? variableDeclarations defaultLabels? (rules analyzers? | analyzers);
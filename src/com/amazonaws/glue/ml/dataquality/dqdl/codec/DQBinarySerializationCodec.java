@@ -0,0 +1,41 @@
+/*
+ * DQBinarySerializationCodec.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQSerializationCodec;
+
+/*
+ * Serializes rules and rulesets in the format of DQRulesetBinaryCodec, which writes each string and label map once.
+ * Registered as a service in META-INF/services.
+ */
+public final class DQBinarySerializationCodec implements DQSerializationCodec {
+    @Override
+    public byte[] encode(DQRule rule) {
+        return DQRulesetBinaryCodec.encode(rule);
+    }
+
+    @Override
+    public DQRule decodeRule(byte[] encoded) {
+        return DQRulesetBinaryCodec.decodeRule(encoded);
+    }
+
+    @Override
+    public byte[] encode(DQRuleset ruleset) {
+        return DQRulesetBinaryCodec.encode(ruleset);
+    }
+
+    @Override
+    public DQRuleset decodeRuleset(byte[] encoded) {
+        return DQRulesetBinaryCodec.decode(encoded);
+    }
+}
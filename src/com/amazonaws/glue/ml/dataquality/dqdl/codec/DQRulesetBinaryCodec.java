@@ -0,0 +1,127 @@
+/*
+ * DQRulesetBinaryCodec.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+
+import java.nio.ByteBuffer;
+
+/*
+ * A compact, versioned binary format for DQRuleset, which loads much faster than parsing the ruleset again.
+ * Decoding a ruleset gives one that is equal to the encoded one and prints the same DQDL.
+ * A single DQRule, with the rules nested in it, can be encoded the same way.
+ *
+ * The format is:
+ *
+ *     magic       the bytes "DQDB"
+ *     version     varint, currently 1
+ *     content     varint, 1 for a ruleset and 2 for a rule
+ *     strings     varint count, then for each string its varint length in bytes and its UTF-8 bytes
+ *     maps        varint count, then for each string map its varint size and its keys and values
+ *     rules       varint count, then every rule, composite rules after the rules they contain
+ *     ruleset     metadata, data sources, default labels, top level rules and analyzers,
+ *                 or for a rule, the reference to it in the rule table
+ *
+ * Integers are unsigned LEB128 varints, and signed ones are zigzag encoded first. Every string, including the names
+ * of enum constants, is written once in the string table and referred to by its index plus one, zero meaning null.
+ * String maps, such as labels, are shared the same way through the map table, and rules through the rule table,
+ * so that composite rules of any depth are encoded and decoded without recursion. Lists and maps are written with
+ * their size plus one, zero meaning null, and keep their order.
+ *
+ * Decoding reads straight from the buffer, without copying it first, so a memory mapped file can be decoded as is.
+ * Malformed input is reported with IllegalArgumentException. Rules and conditions can only be encoded when they
+ * are of the types defined by this package: a subclass defined elsewhere is rejected with IllegalArgumentException,
+ * since it could not be decoded again.
+ */
+public final class DQRulesetBinaryCodec {
+    public static final int FORMAT_VERSION = 1;
+
+    static final byte[] MAGIC = { 'D', 'Q', 'D', 'B' };
+
+    static final int RULESET = 1;
+    static final int RULE = 2;
+
+    // Kinds of values that have several implementations. Zero always stands for null.
+    static final int CONDITION = 1;
+    static final int NUMBER_BASED_CONDITION = 2;
+    static final int STRING_BASED_CONDITION = 3;
+    static final int DATE_BASED_CONDITION = 4;
+    static final int DURATION_BASED_CONDITION = 5;
+    static final int SIZE_BASED_CONDITION = 6;
+
+    static final int ATOMIC_NUMBER_OPERAND = 1;
+    static final int NULL_NUMERIC_OPERAND = 2;
+    static final int BINARY_EXPRESSION_OPERAND = 3;
+    static final int FUNCTION_CALL_OPERAND = 4;
+
+    static final int QUOTED_STRING_OPERAND = 1;
+    static final int KEYWORD_STRING_OPERAND = 2;
+    static final int VARIABLE_REFERENCE_OPERAND = 3;
+
+    static final int STATIC_DATE = 1;
+    static final int CURRENT_DATE = 2;
+    static final int STATIC_DATE_TIME = 3;
+    static final int STATIC_TIME = 4;
+    static final int CURRENT_DATE_EXPRESSION = 5;
+    static final int NULL_DATE_EXPRESSION = 6;
+
+    static final int CONSTANT_VALUE = 1;
+    static final int QUOTED_CONSTANT_VALUE = 2;
+    static final int VARIABLE_VALUE = 3;
+
+    // How the parameters of a rule or analyzer are stored, next to their parameter values.
+    static final int PARAMETERS_FROM_VALUES = 1;
+    static final int PARAMETERS_AS_MAP = 2;
+
+    private DQRulesetBinaryCodec() {
+    }
+
+    public static byte[] encode(DQRuleset ruleset) {
+        return new DQRulesetBinaryEncoder().encode(ruleset);
+    }
+
+    public static byte[] encode(DQRule rule) {
+        return new DQRulesetBinaryEncoder().encode(rule);
+    }
+
+    public static DQRuleset decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return checkFullyRead(buffer, decode(buffer));
+    }
+
+    /*
+     * Decodes the ruleset starting at the current position of the buffer, and leaves the position after it.
+     */
+    public static DQRuleset decode(ByteBuffer buffer) {
+        return new DQRulesetBinaryDecoder(buffer).decodeRuleset();
+    }
+
+    public static DQRule decodeRule(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return checkFullyRead(buffer, decodeRule(buffer));
+    }
+
+    /*
+     * Decodes the rule starting at the current position of the buffer, and leaves the position after it.
+     */
+    public static DQRule decodeRule(ByteBuffer buffer) {
+        return new DQRulesetBinaryDecoder(buffer).decodeRule();
+    }
+
+    private static <T> T checkFullyRead(ByteBuffer buffer, T decoded) {
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException(
+                String.format("Unexpected %d bytes after the encoded value", buffer.remaining()));
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,624 @@
+/*
+ * DQRulesetBinaryDecoder.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQAnalyzer;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleLogicalOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.Condition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateBasedConditionOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateExpression;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.NullDateExpression;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.Duration;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.DurationBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.DurationBasedConditionOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.DurationUnit;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.AtomicNumberOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.BinaryExpressionOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.ConstantExpressionOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.FunctionCallOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NullNumericOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumberBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumberBasedConditionOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumericOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.size.Size;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.size.SizeBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.size.SizeBasedConditionOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.size.SizeUnit;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Keyword;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.KeywordStringOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Labels;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.QuotedStringOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.StringBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.StringBasedConditionOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.StringOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Tag;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.variable.VariableReferenceOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterConstantValue;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterValue;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterVariableValue;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.amazonaws.glue.ml.dataquality.dqdl.codec.DQRulesetBinaryCodec.*;
+
+/*
+ * Reads a ruleset or a rule in the format described in DQRulesetBinaryCodec.
+ * Every string is decoded once, and shared by all the rules that refer to it.
+ */
+final class DQRulesetBinaryDecoder {
+    private final ByteBuffer in;
+    private String[] strings;
+    private String[][] maps;
+    private Map<String, String>[] sharedMaps;
+    private DQRule[] rules;
+
+    DQRulesetBinaryDecoder(ByteBuffer in) {
+        this.in = in;
+    }
+
+    DQRuleset decodeRuleset() {
+        return decode(RULESET, this::readRuleset);
+    }
+
+    DQRule decodeRule() {
+        return decode(RULE, () -> readRuleReference(rules.length));
+    }
+
+    private <T> T decode(int expectedContentKind, Supplier<T> body) {
+        try {
+            readHeaderAndTables(expectedContentKind);
+            return body.get();
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Encoded ruleset is truncated", e);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Malformed encoded ruleset: " + e.getMessage(), e);
+        }
+    }
+
+    private void readHeaderAndTables(int expectedContentKind) {
+        for (byte expected : MAGIC) {
+            if (in.get() != expected) {
+                throw new IllegalArgumentException("Not an encoded ruleset");
+            }
+        }
+        int version = readVarInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported encoded ruleset version: " + version);
+        }
+        if (readVarInt() != expectedContentKind) {
+            throw new IllegalArgumentException(expectedContentKind == RULE
+                ? "Not an encoded rule"
+                : "Not an encoded ruleset");
+        }
+
+        strings = new String[readCount()];
+        byte[] scratch = null;
+        for (int i = 0; i < strings.length; i++) {
+            int length = readCount();
+            if (in.hasArray()) {
+                strings[i] = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+            } else {
+                if (scratch == null || scratch.length < length) {
+                    scratch = new byte[Math.max(length, 64)];
+                }
+                in.get(scratch, 0, length);
+                strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+        }
+
+        maps = new String[readCount()][];
+        for (int i = 0; i < maps.length; i++) {
+            String[] keysAndValues = new String[readCount() * 2];
+            for (int j = 0; j < keysAndValues.length; j++) {
+                keysAndValues[j] = readString();
+            }
+            maps[i] = keysAndValues;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String>[] unmodifiableMaps = new Map[maps.length];
+        sharedMaps = unmodifiableMaps;
+
+        rules = new DQRule[readCount()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = readRule(i);
+        }
+    }
+
+    private DQRuleset readRuleset() {
+        Map<String, String> metadata = readStringMap();
+        String primarySourceName = readString();
+        List<String> additionalDataSourcesNames = readStrings();
+        Map<String, String> defaultLabels = readStringMap();
+        List<DQRule> topLevelRules = readRuleReferences(rules.length);
+        List<DQAnalyzer> analyzers = null;
+        int analyzerCount = readSize();
+        if (analyzerCount >= 0) {
+            analyzers = new ArrayList<>(analyzerCount);
+            for (int i = 0; i < analyzerCount; i++) {
+                analyzers.add(readAnalyzer());
+            }
+        }
+
+        return new DQRuleset(
+            metadata, primarySourceName, additionalDataSourcesNames, defaultLabels, topLevelRules, analyzers);
+    }
+
+    private DQRule readRule(int index) {
+        String ruleType = readString();
+        Map<String, DQRuleParameterValue> parameterValueMap = readParameterValues();
+        Map<String, String> parameters = readParameters(parameterValueMap);
+        Condition condition = readCondition();
+        Condition thresholdCondition = readCondition();
+        DQRuleLogicalOperator operator = readEnum(DQRuleLogicalOperator.class);
+        // Nested rules always come before the rules that contain them.
+        List<DQRule> nestedRules = readRuleReferences(index);
+        String whereClause = readString();
+
+        Labels labels = null;
+        if (readBoolean()) {
+            labels = new Labels(readSharedStringMap(), readStringMap());
+        }
+
+        Boolean isExcludedAtRowLevelInCompositeRules;
+        switch (readVarInt()) {
+            case 0:
+                isExcludedAtRowLevelInCompositeRules = null;
+                break;
+            case 1:
+                isExcludedAtRowLevelInCompositeRules = false;
+                break;
+            case 2:
+                isExcludedAtRowLevelInCompositeRules = true;
+                break;
+            default:
+                throw malformed("row level exclusion flag");
+        }
+
+        Map<String, Tag> tags = null;
+        int tagCount = readSize();
+        if (tagCount >= 0) {
+            tags = new LinkedHashMap<>(capacity(tagCount));
+            for (int i = 0; i < tagCount; i++) {
+                String key = readString();
+                tags.put(key, readBoolean() ? new Tag(readString(), readString()) : null);
+            }
+        }
+
+        return new DQRule(ruleType, parameters, parameterValueMap, condition, thresholdCondition, operator,
+            nestedRules, whereClause, labels, isExcludedAtRowLevelInCompositeRules, tags);
+    }
+
+    private List<DQRule> readRuleReferences(int ruleCount) {
+        int size = readSize();
+        if (size < 0) {
+            return null;
+        }
+
+        List<DQRule> references = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            references.add(readRuleReference(ruleCount));
+        }
+        return references;
+    }
+
+    /*
+     * A reference to one of the first ruleCount rules of the rule table.
+     */
+    private DQRule readRuleReference(int ruleCount) {
+        int reference = readVarInt();
+        if (reference > ruleCount) {
+            throw malformed("rule reference");
+        }
+        return reference == 0 ? null : rules[reference - 1];
+    }
+
+    private DQAnalyzer readAnalyzer() {
+        if (!readBoolean()) {
+            return null;
+        }
+        String ruleType = readString();
+        Map<String, DQRuleParameterValue> parameterValueMap = readParameterValues();
+        return new DQAnalyzer(ruleType, readParameters(parameterValueMap), parameterValueMap);
+    }
+
+    private Map<String, DQRuleParameterValue> readParameterValues() {
+        int size = readSize();
+        if (size < 0) {
+            return null;
+        }
+
+        Map<String, DQRuleParameterValue> values = new LinkedHashMap<>(capacity(size));
+        for (int i = 0; i < size; i++) {
+            String key = readString();
+            values.put(key, readParameterValue());
+        }
+        return values;
+    }
+
+    private Map<String, String> readParameters(Map<String, DQRuleParameterValue> values) {
+        switch (readVarInt()) {
+            case 0:
+                return null;
+            case PARAMETERS_FROM_VALUES:
+                if (values == null) {
+                    throw malformed("parameters");
+                }
+                return DQRuleParameterValue.createParameterMap(values);
+            case PARAMETERS_AS_MAP:
+                return readStringMap();
+            default:
+                throw malformed("parameters");
+        }
+    }
+
+    private DQRuleParameterValue readParameterValue() {
+        int kind = readVarInt();
+        switch (kind) {
+            case 0:
+                return null;
+            case CONSTANT_VALUE:
+            case QUOTED_CONSTANT_VALUE:
+                return new DQRuleParameterConstantValue(
+                    readString(), kind == QUOTED_CONSTANT_VALUE, readString(), readString());
+            case VARIABLE_VALUE:
+                return new DQRuleParameterVariableValue(readString(), readString());
+            default:
+                throw malformed("parameter value");
+        }
+    }
+
+    private Condition readCondition() {
+        int kind = readVarInt();
+        if (kind == 0) {
+            return null;
+        }
+
+        String conditionAsString = readString();
+        switch (kind) {
+            case CONDITION:
+                return new Condition(conditionAsString);
+            case NUMBER_BASED_CONDITION: {
+                NumberBasedConditionOperator operator = readEnum(NumberBasedConditionOperator.class);
+                List<NumericOperand> operands = null;
+                int size = readSize();
+                if (size >= 0) {
+                    operands = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        operands.add(readNumericOperand());
+                    }
+                }
+                return new NumberBasedCondition(conditionAsString, operator, operands);
+            }
+            case STRING_BASED_CONDITION: {
+                StringBasedConditionOperator operator = readEnum(StringBasedConditionOperator.class);
+                List<StringOperand> operands = readStringOperands();
+                return new StringBasedCondition(conditionAsString, operator, operands, readStringOperands());
+            }
+            case DATE_BASED_CONDITION: {
+                DateBasedConditionOperator operator = readEnum(DateBasedConditionOperator.class);
+                List<DateExpression> operands = null;
+                int size = readSize();
+                if (size >= 0) {
+                    operands = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        operands.add(readDateExpression());
+                    }
+                }
+                return new DateBasedCondition(conditionAsString, operator, operands);
+            }
+            case DURATION_BASED_CONDITION: {
+                DurationBasedConditionOperator operator = readEnum(DurationBasedConditionOperator.class);
+                List<Duration> operands = null;
+                int size = readSize();
+                if (size >= 0) {
+                    operands = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        operands.add(readDuration());
+                    }
+                }
+                return new DurationBasedCondition(conditionAsString, operator, operands);
+            }
+            case SIZE_BASED_CONDITION: {
+                SizeBasedConditionOperator operator = readEnum(SizeBasedConditionOperator.class);
+                List<Size> operands = null;
+                int size = readSize();
+                if (size >= 0) {
+                    operands = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        operands.add(readBoolean() ? new Size(readInteger(), readEnum(SizeUnit.class)) : null);
+                    }
+                }
+                return new SizeBasedCondition(conditionAsString, operator, operands);
+            }
+            default:
+                throw malformed("condition");
+        }
+    }
+
+    private NumericOperand readNumericOperand() {
+        switch (readVarInt()) {
+            case 0:
+                return null;
+            case ATOMIC_NUMBER_OPERAND:
+                return new AtomicNumberOperand(readString());
+            case NULL_NUMERIC_OPERAND:
+                return new NullNumericOperand(readString());
+            case BINARY_EXPRESSION_OPERAND: {
+                String operand = readString();
+                String operator = readString();
+                boolean isParenthesized = readBoolean();
+                NumericOperand operand1 = readNumericOperand();
+                NumericOperand operand2 = readNumericOperand();
+                return ConstantExpressionOperand.fold(
+                    new BinaryExpressionOperand(operand, operator, operand1, operand2, isParenthesized));
+            }
+            case FUNCTION_CALL_OPERAND: {
+                String operand = readString();
+                String functionName = readString();
+                List<NumericOperand> arguments = null;
+                int size = readSize();
+                if (size >= 0) {
+                    arguments = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        arguments.add(readNumericOperand());
+                    }
+                }
+                return new FunctionCallOperand(operand, functionName, arguments);
+            }
+            default:
+                throw malformed("numeric operand");
+        }
+    }
+
+    private List<StringOperand> readStringOperands() {
+        int size = readSize();
+        if (size < 0) {
+            return null;
+        }
+
+        List<StringOperand> operands = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            switch (readVarInt()) {
+                case 0:
+                    operands.add(null);
+                    break;
+                case QUOTED_STRING_OPERAND:
+                    operands.add(new QuotedStringOperand(readString()));
+                    break;
+                case KEYWORD_STRING_OPERAND:
+                    operands.add(new KeywordStringOperand(readEnum(Keyword.class)));
+                    break;
+                case VARIABLE_REFERENCE_OPERAND:
+                    operands.add(new VariableReferenceOperand(readString()));
+                    break;
+                default:
+                    throw malformed("string operand");
+            }
+        }
+        return operands;
+    }
+
+    private DateExpression readDateExpression() {
+        switch (readVarInt()) {
+            case 0:
+                return null;
+            case STATIC_DATE:
+                return new DateExpression.StaticDate(readString());
+            case CURRENT_DATE:
+                return new DateExpression.CurrentDate();
+            case STATIC_DATE_TIME: {
+                LocalDateTime dateTime = null;
+                if (readBoolean()) {
+                    LocalDate date = LocalDate.ofEpochDay(readSignedVarLong());
+                    dateTime = LocalDateTime.of(date, readTime());
+                }
+                return new DateExpression.StaticDateTime(dateTime, readString());
+            }
+            case STATIC_TIME: {
+                LocalTime time = readTime();
+                String zoneId = readString();
+                return new DateExpression.StaticDateTime(
+                    time, zoneId == null ? null : ZoneId.of(zoneId), readString());
+            }
+            case CURRENT_DATE_EXPRESSION: {
+                DateExpression.DateExpressionOperator operator =
+                    readEnum(DateExpression.DateExpressionOperator.class);
+                return new DateExpression.CurrentDateExpression(operator, readDuration());
+            }
+            case NULL_DATE_EXPRESSION:
+                return new NullDateExpression();
+            default:
+                throw malformed("date expression");
+        }
+    }
+
+    private LocalTime readTime() {
+        return LocalTime.ofNanoOfDay(readVarLong());
+    }
+
+    private Duration readDuration() {
+        if (!readBoolean()) {
+            return null;
+        }
+        return new Duration(readInteger(), readEnum(DurationUnit.class));
+    }
+
+    private Integer readInteger() {
+        long value = readVarLong();
+        if (value == 0) {
+            return null;
+        }
+        long zigzag = value - 1;
+        long decoded = (zigzag >>> 1) ^ -(zigzag & 1);
+        if (decoded != (int) decoded) {
+            throw malformed("integer");
+        }
+        return (int) decoded;
+    }
+
+    private <E extends Enum<E>> E readEnum(Class<E> enumClass) {
+        String name = readString();
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(enumClass, name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                String.format("Malformed encoded ruleset: unknown %s %s", enumClass.getSimpleName(), name), e);
+        }
+    }
+
+    private List<String> readStrings() {
+        int size = readSize();
+        if (size < 0) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    /*
+     * Maps are shared in the encoded ruleset, but every reference gets its own copy,
+     * since the model hands most of its maps out to be modified.
+     */
+    private Map<String, String> readStringMap() {
+        int reference = readMapReference();
+        return reference == 0 ? null : toStringMap(reference);
+    }
+
+    /*
+     * The default labels of rules are not modified by the model, so every reference to the same map
+     * gets the same unmodifiable instance, as with the parser.
+     */
+    private Map<String, String> readSharedStringMap() {
+        int reference = readMapReference();
+        if (reference == 0) {
+            return null;
+        }
+        if (sharedMaps[reference - 1] == null) {
+            sharedMaps[reference - 1] = Labels.sharedLabels(toStringMap(reference));
+        }
+        return sharedMaps[reference - 1];
+    }
+
+    private int readMapReference() {
+        int reference = readVarInt();
+        if (reference > maps.length) {
+            throw malformed("map reference");
+        }
+        return reference;
+    }
+
+    private Map<String, String> toStringMap(int reference) {
+        String[] keysAndValues = maps[reference - 1];
+        Map<String, String> map = new LinkedHashMap<>(capacity(keysAndValues.length / 2));
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    private String readString() {
+        int reference = readVarInt();
+        if (reference == 0) {
+            return null;
+        }
+        if (reference > strings.length) {
+            throw malformed("string reference");
+        }
+        return strings[reference - 1];
+    }
+
+    private boolean readBoolean() {
+        byte value = in.get();
+        if (value != 0 && value != 1) {
+            throw malformed("boolean");
+        }
+        return value == 1;
+    }
+
+    /*
+     * A list or map size, written as the size plus one. Returns -1 for null.
+     */
+    private int readSize() {
+        int size = readVarInt() - 1;
+        if (size > in.remaining()) {
+            throw malformed("size");
+        }
+        return size;
+    }
+
+    /*
+     * The number of entries in a table, or the length of a string. Every entry takes at least one byte,
+     * so a count larger than the rest of the buffer can only come from corrupted input.
+     */
+    private int readCount() {
+        int count = readVarInt();
+        if (count > in.remaining()) {
+            throw malformed("length");
+        }
+        return count;
+    }
+
+    private long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private int readVarInt() {
+        long value = readVarLong();
+        if (value > Integer.MAX_VALUE) {
+            throw malformed("varint");
+        }
+        return (int) value;
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw malformed("varint");
+    }
+
+    private static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    private static IllegalArgumentException malformed(String what) {
+        return new IllegalArgumentException("Malformed encoded ruleset: invalid " + what);
+    }
+}
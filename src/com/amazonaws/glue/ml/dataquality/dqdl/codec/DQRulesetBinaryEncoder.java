@@ -0,0 +1,528 @@
+/*
+ * DQRulesetBinaryEncoder.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQAnalyzer;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.Condition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateExpression;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.NullDateExpression;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.Duration;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.DurationBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.AtomicNumberOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.BinaryExpressionOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.ConstantExpressionOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.FunctionCallOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NullNumericOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumberBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumericOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.size.Size;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.size.SizeBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.KeywordStringOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Labels;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.QuotedStringOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.StringBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.StringOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Tag;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.variable.VariableReferenceOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterConstantValue;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterValue;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterVariableValue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.amazonaws.glue.ml.dataquality.dqdl.codec.DQRulesetBinaryCodec.*;
+
+/*
+ * Writes a ruleset or a rule in the format described in DQRulesetBinaryCodec. The strings and maps are only known once
+ * the rules have been written, so the rules go to their own buffer, and the tables are written in front of it.
+ */
+final class DQRulesetBinaryEncoder {
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final Map<List<String>, Integer> mapIndexes = new HashMap<>();
+    private final List<List<String>> maps = new ArrayList<>();
+    private final Map<DQRule, Integer> ruleIndexes = new IdentityHashMap<>();
+    private final List<DQRule> rules = new ArrayList<>();
+
+    private ByteWriter out = new ByteWriter();
+
+    byte[] encode(DQRuleset ruleset) {
+        if (ruleset.getRules() != null) {
+            for (DQRule rule : ruleset.getRules()) {
+                collectRules(rule);
+            }
+        }
+        writeRuleTable();
+
+        writeStringMap(ruleset.getMetadata());
+        writeString(ruleset.getPrimarySourceName());
+        writeStrings(ruleset.getAdditionalDataSourcesNames());
+        writeStringMap(ruleset.getDefaultLabels());
+        writeRuleReferences(ruleset.getRules());
+        writeSize(ruleset.getAnalyzers());
+        if (ruleset.getAnalyzers() != null) {
+            for (DQAnalyzer analyzer : ruleset.getAnalyzers()) {
+                writeAnalyzer(analyzer);
+            }
+        }
+        return finish(RULESET);
+    }
+
+    byte[] encode(DQRule rule) {
+        collectRules(rule);
+        writeRuleTable();
+        writeRuleReference(rule);
+        return finish(RULE);
+    }
+
+    private void writeRuleTable() {
+        out.writeVarInt(rules.size());
+        for (DQRule rule : rules) {
+            writeRule(rule);
+        }
+    }
+
+    /*
+     * Writes the header and the tables in front of the body written so far.
+     */
+    private byte[] finish(int contentKind) {
+        ByteWriter body = out;
+
+        // The map table refers to strings, so it is written before the string table is complete.
+        out = new ByteWriter();
+        out.writeVarInt(maps.size());
+        for (List<String> map : maps) {
+            out.writeVarInt(map.size() / 2);
+            for (String keyOrValue : map) {
+                writeString(keyOrValue);
+            }
+        }
+        ByteWriter mapTable = out;
+
+        out = new ByteWriter();
+        out.writeBytes(MAGIC, 0, MAGIC.length);
+        out.writeVarInt(FORMAT_VERSION);
+        out.writeVarInt(contentKind);
+        out.writeVarInt(strings.size());
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeVarInt(bytes.length);
+            out.writeBytes(bytes, 0, bytes.length);
+        }
+        out.writeBytes(mapTable.bytes, 0, mapTable.size);
+        out.writeBytes(body.bytes, 0, body.size);
+        return out.toByteArray();
+    }
+
+    /*
+     * Adds the rule and the rules nested in it to the rule table, nested rules first.
+     * A rule nested in several composite rules is added once.
+     */
+    private void collectRules(DQRule root) {
+        if (root == null || ruleIndexes.containsKey(root)) {
+            return;
+        }
+
+        Set<DQRule> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Iterator<DQRule>> nestedRules = new ArrayDeque<>();
+        Deque<DQRule> path = new ArrayDeque<>();
+        path.push(root);
+        inProgress.add(root);
+        nestedRules.push(nestedRulesOf(root));
+
+        while (!path.isEmpty()) {
+            Iterator<DQRule> remaining = nestedRules.peek();
+            if (remaining.hasNext()) {
+                DQRule nestedRule = remaining.next();
+                if (nestedRule == null || ruleIndexes.containsKey(nestedRule)) {
+                    continue;
+                }
+                if (!inProgress.add(nestedRule)) {
+                    throw new IllegalArgumentException("Cannot encode a rule that is nested in itself");
+                }
+                path.push(nestedRule);
+                nestedRules.push(nestedRulesOf(nestedRule));
+            } else {
+                DQRule rule = path.pop();
+                nestedRules.pop();
+                inProgress.remove(rule);
+                ruleIndexes.put(rule, rules.size());
+                rules.add(rule);
+            }
+        }
+    }
+
+    private static Iterator<DQRule> nestedRulesOf(DQRule rule) {
+        return rule.getNestedRules() == null
+            ? Collections.emptyIterator()
+            : rule.getNestedRules().iterator();
+    }
+
+    private void writeRule(DQRule rule) {
+        writeString(rule.getRuleType());
+        writeParameters(rule.getParameters(), rule.getParameterValueMap());
+        writeCondition(rule.getCondition());
+        writeCondition(rule.getThresholdCondition());
+        writeEnum(rule.getOperator());
+        writeRuleReferences(rule.getNestedRules());
+        writeString(rule.getWhereClause());
+
+        Labels labels = rule.getRawLabels();
+        out.writeBoolean(labels != null);
+        if (labels != null) {
+            writeStringMap(labels.getRulesetDefaultLabels());
+            writeStringMap(labels.getRuleLabels());
+        }
+
+        Boolean isExcluded = rule.getIsExcludedAtRowLevelInCompositeRules();
+        out.writeVarInt(isExcluded == null ? 0 : isExcluded ? 2 : 1);
+
+        Map<String, Tag> tags = rule.getRawTags();
+        writeSize(tags);
+        if (tags != null) {
+            for (Map.Entry<String, Tag> entry : tags.entrySet()) {
+                writeString(entry.getKey());
+                Tag tag = entry.getValue();
+                out.writeBoolean(tag != null);
+                if (tag != null) {
+                    writeString(tag.getRawKey());
+                    writeString(tag.getRawValue());
+                }
+            }
+        }
+    }
+
+    private void writeRuleReferences(List<DQRule> references) {
+        writeSize(references);
+        if (references != null) {
+            for (DQRule rule : references) {
+                writeRuleReference(rule);
+            }
+        }
+    }
+
+    private void writeRuleReference(DQRule rule) {
+        out.writeVarInt(rule == null ? 0 : ruleIndexes.get(rule) + 1);
+    }
+
+    private void writeAnalyzer(DQAnalyzer analyzer) {
+        out.writeBoolean(analyzer != null);
+        if (analyzer != null) {
+            writeString(analyzer.getRuleType());
+            writeParameters(analyzer.getParameters(), analyzer.getParameterValueMap());
+        }
+    }
+
+    /*
+     * The parameters are usually derived from the parameter values, in which case only the values are written.
+     */
+    private void writeParameters(Map<String, String> parameters, Map<String, DQRuleParameterValue> values) {
+        writeSize(values);
+        if (values != null) {
+            for (Map.Entry<String, DQRuleParameterValue> entry : values.entrySet()) {
+                writeString(entry.getKey());
+                writeParameterValue(entry.getValue());
+            }
+        }
+
+        if (parameters == null) {
+            out.writeVarInt(0);
+        } else if (values != null && hasSameEntriesInOrder(parameters, DQRuleParameterValue.createParameterMap(values))) {
+            out.writeVarInt(PARAMETERS_FROM_VALUES);
+        } else {
+            out.writeVarInt(PARAMETERS_AS_MAP);
+            writeStringMap(parameters);
+        }
+    }
+
+    private static boolean hasSameEntriesInOrder(Map<String, String> map, Map<String, String> other) {
+        return map.size() == other.size() && new ArrayList<>(map.entrySet()).equals(new ArrayList<>(other.entrySet()));
+    }
+
+    private void writeParameterValue(DQRuleParameterValue value) {
+        if (value == null) {
+            out.writeVarInt(0);
+        } else if (value.getClass() == DQRuleParameterConstantValue.class) {
+            DQRuleParameterConstantValue constant = (DQRuleParameterConstantValue) value;
+            out.writeVarInt(constant.isQuoted() ? QUOTED_CONSTANT_VALUE : CONSTANT_VALUE);
+            writeString(constant.getValue());
+            writeString(constant.getConnectorWord());
+            writeString(constant.getUnresolvedValue());
+        } else if (value.getClass() == DQRuleParameterVariableValue.class) {
+            DQRuleParameterVariableValue variable = (DQRuleParameterVariableValue) value;
+            out.writeVarInt(VARIABLE_VALUE);
+            writeString(variable.getUnresolvedValue());
+            writeString(variable.getConnectorWord());
+        } else {
+            throw unsupported(value);
+        }
+    }
+
+    private void writeCondition(Condition condition) {
+        if (condition == null) {
+            out.writeVarInt(0);
+        } else if (condition.getClass() == Condition.class) {
+            out.writeVarInt(CONDITION);
+            writeString(condition.getConditionAsString());
+        } else if (condition.getClass() == NumberBasedCondition.class) {
+            NumberBasedCondition numberBasedCondition = (NumberBasedCondition) condition;
+            out.writeVarInt(NUMBER_BASED_CONDITION);
+            writeString(condition.getConditionAsString());
+            writeEnum(numberBasedCondition.getOperator());
+            writeSize(numberBasedCondition.getOperands());
+            if (numberBasedCondition.getOperands() != null) {
+                for (NumericOperand operand : numberBasedCondition.getOperands()) {
+                    writeNumericOperand(operand);
+                }
+            }
+        } else if (condition.getClass() == StringBasedCondition.class) {
+            StringBasedCondition stringBasedCondition = (StringBasedCondition) condition;
+            out.writeVarInt(STRING_BASED_CONDITION);
+            writeString(condition.getConditionAsString());
+            writeEnum(stringBasedCondition.getOperator());
+            writeStringOperands(stringBasedCondition.getOperands());
+            writeStringOperands(stringBasedCondition.getUnresolvedOperands());
+        } else if (condition.getClass() == DateBasedCondition.class) {
+            DateBasedCondition dateBasedCondition = (DateBasedCondition) condition;
+            out.writeVarInt(DATE_BASED_CONDITION);
+            writeString(condition.getConditionAsString());
+            writeEnum(dateBasedCondition.getOperator());
+            writeSize(dateBasedCondition.getOperands());
+            if (dateBasedCondition.getOperands() != null) {
+                for (DateExpression operand : dateBasedCondition.getOperands()) {
+                    writeDateExpression(operand);
+                }
+            }
+        } else if (condition.getClass() == DurationBasedCondition.class) {
+            DurationBasedCondition durationBasedCondition = (DurationBasedCondition) condition;
+            out.writeVarInt(DURATION_BASED_CONDITION);
+            writeString(condition.getConditionAsString());
+            writeEnum(durationBasedCondition.getOperator());
+            writeSize(durationBasedCondition.getOperands());
+            if (durationBasedCondition.getOperands() != null) {
+                for (Duration operand : durationBasedCondition.getOperands()) {
+                    writeDuration(operand);
+                }
+            }
+        } else if (condition.getClass() == SizeBasedCondition.class) {
+            SizeBasedCondition sizeBasedCondition = (SizeBasedCondition) condition;
+            out.writeVarInt(SIZE_BASED_CONDITION);
+            writeString(condition.getConditionAsString());
+            writeEnum(sizeBasedCondition.getOperator());
+            writeSize(sizeBasedCondition.getOperands());
+            if (sizeBasedCondition.getOperands() != null) {
+                for (Size operand : sizeBasedCondition.getOperands()) {
+                    writeSizeOperand(operand);
+                }
+            }
+        } else {
+            throw unsupported(condition);
+        }
+    }
+
+    private void writeNumericOperand(NumericOperand operand) {
+        if (operand == null) {
+            out.writeVarInt(0);
+        } else if (operand.getClass() == ConstantExpressionOperand.class) {
+            // Decoding folds the expression again.
+            writeNumericOperand(((ConstantExpressionOperand) operand).getExpression());
+        } else if (operand.getClass() == AtomicNumberOperand.class) {
+            out.writeVarInt(ATOMIC_NUMBER_OPERAND);
+            writeString(operand.getOperand());
+        } else if (operand.getClass() == NullNumericOperand.class) {
+            out.writeVarInt(NULL_NUMERIC_OPERAND);
+            writeString(operand.getOperand());
+        } else if (operand.getClass() == BinaryExpressionOperand.class) {
+            BinaryExpressionOperand binaryExpression = (BinaryExpressionOperand) operand;
+            out.writeVarInt(BINARY_EXPRESSION_OPERAND);
+            writeString(operand.getOperand());
+            writeString(binaryExpression.getOperator());
+            out.writeBoolean(operand.isParenthesized());
+            writeNumericOperand(binaryExpression.getOperand1());
+            writeNumericOperand(binaryExpression.getOperand2());
+        } else if (operand.getClass() == FunctionCallOperand.class) {
+            FunctionCallOperand functionCall = (FunctionCallOperand) operand;
+            out.writeVarInt(FUNCTION_CALL_OPERAND);
+            writeString(operand.getOperand());
+            writeString(functionCall.getFunctionName());
+            writeSize(functionCall.getOperands());
+            if (functionCall.getOperands() != null) {
+                for (NumericOperand argument : functionCall.getOperands()) {
+                    writeNumericOperand(argument);
+                }
+            }
+        } else {
+            throw unsupported(operand);
+        }
+    }
+
+    private void writeStringOperands(List<StringOperand> operands) {
+        writeSize(operands);
+        if (operands == null) {
+            return;
+        }
+
+        for (StringOperand operand : operands) {
+            if (operand == null) {
+                out.writeVarInt(0);
+            } else if (operand.getClass() == QuotedStringOperand.class) {
+                out.writeVarInt(QUOTED_STRING_OPERAND);
+                writeString(operand.getOperand());
+            } else if (operand.getClass() == KeywordStringOperand.class) {
+                out.writeVarInt(KEYWORD_STRING_OPERAND);
+                writeString(operand.getOperand());
+            } else if (operand.getClass() == VariableReferenceOperand.class) {
+                out.writeVarInt(VARIABLE_REFERENCE_OPERAND);
+                writeString(((VariableReferenceOperand) operand).getVariableName());
+            } else {
+                throw unsupported(operand);
+            }
+        }
+    }
+
+    private void writeDateExpression(DateExpression expression) {
+        if (expression == null) {
+            out.writeVarInt(0);
+        } else if (expression.getClass() == DateExpression.StaticDate.class) {
+            out.writeVarInt(STATIC_DATE);
+            writeString(((DateExpression.StaticDate) expression).getDate());
+        } else if (expression.getClass() == DateExpression.CurrentDate.class) {
+            out.writeVarInt(CURRENT_DATE);
+        } else if (expression.getClass() == DateExpression.StaticDateTime.class) {
+            DateExpression.StaticDateTime staticDateTime = (DateExpression.StaticDateTime) expression;
+            if (staticDateTime.getTime() == null) {
+                LocalDateTime dateTime = staticDateTime.getDateTime();
+                out.writeVarInt(STATIC_DATE_TIME);
+                out.writeBoolean(dateTime != null);
+                if (dateTime != null) {
+                    out.writeSignedVarLong(dateTime.toLocalDate().toEpochDay());
+                    out.writeVarLong(dateTime.toLocalTime().toNanoOfDay());
+                }
+            } else {
+                out.writeVarInt(STATIC_TIME);
+                out.writeVarLong(staticDateTime.getTime().toNanoOfDay());
+                writeString(staticDateTime.getZoneId() == null ? null : staticDateTime.getZoneId().getId());
+            }
+            writeString(staticDateTime.getDateTimeString());
+        } else if (expression.getClass() == DateExpression.CurrentDateExpression.class) {
+            DateExpression.CurrentDateExpression currentDateExpression =
+                (DateExpression.CurrentDateExpression) expression;
+            out.writeVarInt(CURRENT_DATE_EXPRESSION);
+            writeEnum(currentDateExpression.getOperator());
+            writeDuration(currentDateExpression.getDuration());
+        } else if (expression.getClass() == NullDateExpression.class) {
+            out.writeVarInt(NULL_DATE_EXPRESSION);
+        } else {
+            throw unsupported(expression);
+        }
+    }
+
+    private void writeDuration(Duration duration) {
+        out.writeBoolean(duration != null);
+        if (duration != null) {
+            writeInteger(duration.getAmount());
+            writeEnum(duration.getUnit());
+        }
+    }
+
+    private void writeSizeOperand(Size size) {
+        out.writeBoolean(size != null);
+        if (size != null) {
+            writeInteger(size.getAmount());
+            writeEnum(size.getUnit());
+        }
+    }
+
+    private void writeInteger(Integer value) {
+        if (value == null) {
+            out.writeVarInt(0);
+        } else {
+            out.writeVarLong(ByteWriter.zigzag(value) + 1);
+        }
+    }
+
+    private void writeEnum(Enum<?> value) {
+        writeString(value == null ? null : value.name());
+    }
+
+    private void writeStrings(List<String> values) {
+        writeSize(values);
+        if (values != null) {
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+    }
+
+    private void writeStringMap(Map<String, String> map) {
+        if (map == null) {
+            out.writeVarInt(0);
+            return;
+        }
+
+        String[] keysAndValues = new String[map.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            keysAndValues[i++] = entry.getKey();
+            keysAndValues[i++] = entry.getValue();
+        }
+        List<String> key = Arrays.asList(keysAndValues);
+        Integer index = mapIndexes.get(key);
+        if (index == null) {
+            index = maps.size();
+            mapIndexes.put(key, index);
+            maps.add(key);
+        }
+        out.writeVarInt(index + 1);
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            out.writeVarInt(0);
+            return;
+        }
+
+        Integer index = stringIndexes.get(value);
+        if (index == null) {
+            index = strings.size();
+            stringIndexes.put(value, index);
+            strings.add(value);
+        }
+        out.writeVarInt(index + 1);
+    }
+
+    private void writeSize(List<?> list) {
+        out.writeVarInt(list == null ? 0 : list.size() + 1);
+    }
+
+    private void writeSize(Map<?, ?> map) {
+        out.writeVarInt(map == null ? 0 : map.size() + 1);
+    }
+
+    private static IllegalArgumentException unsupported(Object value) {
+        return new IllegalArgumentException("Cannot encode values of type " + value.getClass().getName());
+    }
+}
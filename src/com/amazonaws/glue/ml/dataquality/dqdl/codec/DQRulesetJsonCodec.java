@@ -0,0 +1,111 @@
+/*
+ * DQRulesetJsonCodec.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/*
+ * A JSON representation of DQRuleset, for services that store rulesets and would rather not parse DQDL on every read.
+ * Decoding a ruleset gives one that is equal to the encoded one and prints the same DQDL.
+ *
+ * Rulesets are written and read with the Jackson streaming API, one token at a time, so a large ruleset is never
+ * held as a JSON tree. Composite rules are nested in the rules that contain them, and are written and read without
+ * recursion, so they can be of any depth.
+ *
+ * A ruleset looks like:
+ *
+ *     {
+ *       "formatVersion": 1,
+ *       "metadata": { "Version": "1.0" },
+ *       "defaultLabels": { "team": "dq" },
+ *       "rules": [ {
+ *         "ruleType": "ColumnValues",
+ *         "parameters": { "TargetColumn": "colA" },
+ *         "parameterValues": { "TargetColumn": { "type": "constant", "value": "colA", "quoted": true, ... } },
+ *         "condition": { "type": "number", "conditionAsString": "> 10", "operator": "GREATER_THAN",
+ *                        "operands": [ { "type": "atomic", "operand": "10" } ] },
+ *         ...
+ *       } ],
+ *       "analyzers": [ ... ]
+ *     }
+ *
+ * Null fields are left out. Conditions, operands, date expressions and parameter values have a "type" field, which
+ * may appear anywhere in their object. Unknown fields are skipped, so that rulesets written by a later version can
+ * still be read as long as their format version is supported. Conditions and operands of types defined outside
+ * this package cannot be written, and are rejected with IllegalArgumentException. Malformed JSON is reported with
+ * JsonParseException.
+ */
+public final class DQRulesetJsonCodec {
+    public static final int FORMAT_VERSION = 1;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private DQRulesetJsonCodec() {
+    }
+
+    public static void write(DQRuleset ruleset, JsonGenerator generator) throws IOException {
+        new DQRulesetJsonWriter(generator).writeRuleset(ruleset);
+    }
+
+    public static void write(DQRule rule, JsonGenerator generator) throws IOException {
+        new DQRulesetJsonWriter(generator).writeRule(rule);
+    }
+
+    public static void write(DQRuleset ruleset, OutputStream out) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            write(ruleset, generator);
+        }
+    }
+
+    public static String toJson(DQRuleset ruleset) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            write(ruleset, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /*
+     * Reads the ruleset starting at the current token of the parser, or at the next one if there is no current token,
+     * and leaves the parser on the end of the ruleset object.
+     */
+    public static DQRuleset read(JsonParser parser) throws IOException {
+        return new DQRulesetJsonReader(parser).readRuleset();
+    }
+
+    public static DQRule readRule(JsonParser parser) throws IOException {
+        return new DQRulesetJsonReader(parser).readRule();
+    }
+
+    public static DQRuleset read(InputStream in) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            return read(parser);
+        }
+    }
+
+    public static DQRuleset fromJson(String json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return read(parser);
+        }
+    }
+}
@@ -0,0 +1,855 @@
+/*
+ * DQRulesetJsonReader.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQAnalyzer;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleLogicalOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.Condition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateBasedConditionOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateExpression;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.NullDateExpression;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.Duration;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.DurationBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.DurationBasedConditionOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.DurationUnit;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.AtomicNumberOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.BinaryExpressionOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.ConstantExpressionOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.FunctionCallOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NullNumericOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumberBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumberBasedConditionOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumericOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.size.Size;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.size.SizeBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.size.SizeBasedConditionOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.size.SizeUnit;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Keyword;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.KeywordStringOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Labels;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.QuotedStringOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.StringBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.StringBasedConditionOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.StringOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Tag;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.variable.VariableReferenceOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterConstantValue;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterValue;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterVariableValue;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Reads a ruleset in the format described in DQRulesetJsonCodec.
+ *
+ * Every method starts on the first token of the value it reads, and leaves the parser on its last token.
+ */
+final class DQRulesetJsonReader {
+    private final JsonParser in;
+
+    DQRulesetJsonReader(JsonParser in) {
+        this.in = in;
+    }
+
+    DQRuleset readRuleset() throws IOException {
+        if (in.currentToken() == null) {
+            in.nextToken();
+        }
+        expect(in, JsonToken.START_OBJECT, "ruleset");
+
+        Integer formatVersion = null;
+        Map<String, String> metadata = null;
+        String primarySourceName = null;
+        List<String> additionalDataSourcesNames = null;
+        Map<String, String> defaultLabels = null;
+        List<DQRule> rules = null;
+        List<DQAnalyzer> analyzers = null;
+
+        while (nextField(in)) {
+            String field = in.getCurrentName();
+            in.nextToken();
+            switch (field) {
+                case "formatVersion":
+                    formatVersion = readInteger(in);
+                    if (formatVersion == null || formatVersion < 1 || formatVersion > DQRulesetJsonCodec.FORMAT_VERSION) {
+                        throw new JsonParseException(in, "Unsupported ruleset format version: " + formatVersion);
+                    }
+                    break;
+                case "metadata":
+                    metadata = readStringMap(in);
+                    break;
+                case "primarySourceName":
+                    primarySourceName = readString(in);
+                    break;
+                case "additionalDataSourcesNames":
+                    if (in.currentToken() != JsonToken.VALUE_NULL) {
+                        expect(in, JsonToken.START_ARRAY, "data source names");
+                        additionalDataSourcesNames = new ArrayList<>();
+                        while (in.nextToken() != JsonToken.END_ARRAY) {
+                            additionalDataSourcesNames.add(readString(in));
+                        }
+                    }
+                    break;
+                case "defaultLabels":
+                    defaultLabels = readStringMap(in);
+                    break;
+                case "rules":
+                    if (in.currentToken() != JsonToken.VALUE_NULL) {
+                        expect(in, JsonToken.START_ARRAY, "rules");
+                        rules = new ArrayList<>();
+                        while (in.nextToken() != JsonToken.END_ARRAY) {
+                            rules.add(readRule());
+                        }
+                    }
+                    break;
+                case "analyzers":
+                    if (in.currentToken() != JsonToken.VALUE_NULL) {
+                        expect(in, JsonToken.START_ARRAY, "analyzers");
+                        analyzers = new ArrayList<>();
+                        while (in.nextToken() != JsonToken.END_ARRAY) {
+                            analyzers.add(readAnalyzer());
+                        }
+                    }
+                    break;
+                default:
+                    in.skipChildren();
+            }
+        }
+
+        if (formatVersion == null) {
+            throw new JsonParseException(in, "Missing ruleset format version");
+        }
+        return new DQRuleset(
+            metadata, primarySourceName, additionalDataSourcesNames, defaultLabels, rules, analyzers);
+    }
+
+    /*
+     * The fields of a rule being read. When the reader gets to the nested rules of a rule,
+     * it keeps the fields read so far on a stack, and reads the nested rules one after the other.
+     */
+    private static final class RuleFields {
+        private String ruleType;
+        private Map<String, String> parameters;
+        private Map<String, DQRuleParameterValue> parameterValues;
+        private Condition condition;
+        private Condition thresholdCondition;
+        private DQRuleLogicalOperator operator;
+        private List<DQRule> nestedRules;
+        private boolean readingNestedRules;
+        private String whereClause;
+        private Labels labels;
+        private Boolean isExcludedAtRowLevelInCompositeRules;
+        private Map<String, Tag> tags;
+
+        DQRule toRule() {
+            return new DQRule(ruleType, parameters, parameterValues, condition, thresholdCondition, operator,
+                nestedRules, whereClause, labels, isExcludedAtRowLevelInCompositeRules, tags);
+        }
+    }
+
+    DQRule readRule() throws IOException {
+        if (in.currentToken() == null) {
+            in.nextToken();
+        }
+        if (in.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(in, JsonToken.START_OBJECT, "rule");
+
+        Deque<RuleFields> enclosingRules = new ArrayDeque<>();
+        RuleFields rule = new RuleFields();
+        while (true) {
+            if (rule.readingNestedRules) {
+                JsonToken token = in.nextToken();
+                if (token == JsonToken.END_ARRAY) {
+                    rule.readingNestedRules = false;
+                } else if (token == JsonToken.VALUE_NULL) {
+                    rule.nestedRules.add(null);
+                } else {
+                    expect(in, JsonToken.START_OBJECT, "rule");
+                    enclosingRules.push(rule);
+                    rule = new RuleFields();
+                }
+                continue;
+            }
+
+            if (!nextField(in)) {
+                DQRule completed = rule.toRule();
+                if (enclosingRules.isEmpty()) {
+                    return completed;
+                }
+                rule = enclosingRules.pop();
+                rule.nestedRules.add(completed);
+                continue;
+            }
+
+            String field = in.getCurrentName();
+            in.nextToken();
+            switch (field) {
+                case "ruleType":
+                    rule.ruleType = readString(in);
+                    break;
+                case "parameters":
+                    rule.parameters = readStringMap(in);
+                    break;
+                case "parameterValues":
+                    rule.parameterValues = readParameterValues(in);
+                    break;
+                case "condition":
+                    rule.condition = readCondition(in);
+                    break;
+                case "thresholdCondition":
+                    rule.thresholdCondition = readCondition(in);
+                    break;
+                case "operator":
+                    rule.operator = readEnum(in, DQRuleLogicalOperator.class);
+                    break;
+                case "nestedRules":
+                    if (in.currentToken() != JsonToken.VALUE_NULL) {
+                        expect(in, JsonToken.START_ARRAY, "nested rules");
+                        rule.nestedRules = new ArrayList<>();
+                        rule.readingNestedRules = true;
+                    }
+                    break;
+                case "whereClause":
+                    rule.whereClause = readString(in);
+                    break;
+                case "labels":
+                    rule.labels = readLabels(in);
+                    break;
+                case "isExcludedAtRowLevelInCompositeRules":
+                    rule.isExcludedAtRowLevelInCompositeRules = readBoolean(in);
+                    break;
+                case "tags":
+                    rule.tags = readTags(in);
+                    break;
+                default:
+                    in.skipChildren();
+            }
+        }
+    }
+
+    private DQAnalyzer readAnalyzer() throws IOException {
+        if (in.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(in, JsonToken.START_OBJECT, "analyzer");
+
+        String ruleType = null;
+        Map<String, String> parameters = null;
+        Map<String, DQRuleParameterValue> parameterValues = null;
+        while (nextField(in)) {
+            String field = in.getCurrentName();
+            in.nextToken();
+            switch (field) {
+                case "ruleType":
+                    ruleType = readString(in);
+                    break;
+                case "parameters":
+                    parameters = readStringMap(in);
+                    break;
+                case "parameterValues":
+                    parameterValues = readParameterValues(in);
+                    break;
+                default:
+                    in.skipChildren();
+            }
+        }
+        return new DQAnalyzer(ruleType, parameters, parameterValues);
+    }
+
+    private static Labels readLabels(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(p, JsonToken.START_OBJECT, "labels");
+
+        Map<String, String> rulesetDefaultLabels = null;
+        Map<String, String> ruleLabels = null;
+        while (nextField(p)) {
+            String field = p.getCurrentName();
+            p.nextToken();
+            switch (field) {
+                case "rulesetDefaultLabels":
+                    rulesetDefaultLabels = readStringMap(p);
+                    break;
+                case "ruleLabels":
+                    ruleLabels = readStringMap(p);
+                    break;
+                default:
+                    p.skipChildren();
+            }
+        }
+        return new Labels(rulesetDefaultLabels, ruleLabels);
+    }
+
+    private static Map<String, Tag> readTags(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(p, JsonToken.START_OBJECT, "tags");
+
+        Map<String, Tag> tags = new LinkedHashMap<>();
+        while (nextField(p)) {
+            String name = p.getCurrentName();
+            if (p.nextToken() == JsonToken.VALUE_NULL) {
+                tags.put(name, null);
+                continue;
+            }
+            expect(p, JsonToken.START_OBJECT, "tag");
+
+            String key = null;
+            String value = null;
+            while (nextField(p)) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                switch (field) {
+                    case "key":
+                        key = readString(p);
+                        break;
+                    case "value":
+                        value = readString(p);
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+            tags.put(name, new Tag(key, value));
+        }
+        return tags;
+    }
+
+    private static Map<String, DQRuleParameterValue> readParameterValues(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(p, JsonToken.START_OBJECT, "parameter values");
+
+        Map<String, DQRuleParameterValue> values = new LinkedHashMap<>();
+        while (nextField(p)) {
+            String name = p.getCurrentName();
+            p.nextToken();
+            values.put(name, readParameterValue(p));
+        }
+        return values;
+    }
+
+    private static DQRuleParameterValue readParameterValue(JsonParser p) throws IOException {
+        TypedObject object = TypedObject.start(p, "parameter value");
+        if (object == null) {
+            return null;
+        }
+
+        JsonParser fields = object.fields;
+        String value = null;
+        boolean isQuoted = false;
+        String connectorWord = null;
+        String unresolvedValue = null;
+        while (nextField(fields)) {
+            String field = fields.getCurrentName();
+            fields.nextToken();
+            switch (field) {
+                case "value":
+                    value = readString(fields);
+                    break;
+                case "quoted":
+                    isQuoted = Boolean.TRUE.equals(readBoolean(fields));
+                    break;
+                case "connectorWord":
+                    connectorWord = readString(fields);
+                    break;
+                case "unresolvedValue":
+                    unresolvedValue = readString(fields);
+                    break;
+                default:
+                    fields.skipChildren();
+            }
+        }
+
+        switch (object.type) {
+            case "constant":
+                return new DQRuleParameterConstantValue(value, isQuoted, connectorWord, unresolvedValue);
+            case "variable":
+                return new DQRuleParameterVariableValue(unresolvedValue, connectorWord);
+            default:
+                throw object.unknownType(p);
+        }
+    }
+
+    private static Condition readCondition(JsonParser p) throws IOException {
+        TypedObject object = TypedObject.start(p, "condition");
+        if (object == null) {
+            return null;
+        }
+
+        JsonParser fields = object.fields;
+        String conditionAsString = null;
+        String operator = null;
+        List<Object> operands = null;
+        List<Object> unresolvedOperands = null;
+        while (nextField(fields)) {
+            String field = fields.getCurrentName();
+            fields.nextToken();
+            switch (field) {
+                case "conditionAsString":
+                    conditionAsString = readString(fields);
+                    break;
+                case "operator":
+                    operator = readString(fields);
+                    break;
+                case "operands":
+                    operands = readConditionOperands(fields, object.type);
+                    break;
+                case "unresolvedOperands":
+                    unresolvedOperands = readConditionOperands(fields, object.type);
+                    break;
+                default:
+                    fields.skipChildren();
+            }
+        }
+
+        switch (object.type) {
+            case "condition":
+                return new Condition(conditionAsString);
+            case "number":
+                return new NumberBasedCondition(conditionAsString,
+                    toEnum(p, NumberBasedConditionOperator.class, operator), cast(operands));
+            case "string":
+                return new StringBasedCondition(conditionAsString,
+                    toEnum(p, StringBasedConditionOperator.class, operator), cast(operands), cast(unresolvedOperands));
+            case "date":
+                return new DateBasedCondition(conditionAsString,
+                    toEnum(p, DateBasedConditionOperator.class, operator), cast(operands));
+            case "duration":
+                return new DurationBasedCondition(conditionAsString,
+                    toEnum(p, DurationBasedConditionOperator.class, operator), cast(operands));
+            case "size":
+                return new SizeBasedCondition(conditionAsString,
+                    toEnum(p, SizeBasedConditionOperator.class, operator), cast(operands));
+            default:
+                throw object.unknownType(p);
+        }
+    }
+
+    /*
+     * The operands of a condition, whose type depends on the type of the condition.
+     */
+    private static List<Object> readConditionOperands(JsonParser p, String conditionType) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(p, JsonToken.START_ARRAY, "operands");
+
+        List<Object> operands = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            switch (conditionType) {
+                case "number":
+                    operands.add(readNumericOperand(p));
+                    break;
+                case "string":
+                    operands.add(readStringOperand(p));
+                    break;
+                case "date":
+                    operands.add(readDateExpression(p));
+                    break;
+                case "duration":
+                    operands.add(readDuration(p));
+                    break;
+                case "size":
+                    operands.add(readSize(p));
+                    break;
+                default:
+                    throw new JsonParseException(p, "Unexpected operands for condition of type " + conditionType);
+            }
+        }
+        return operands;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> cast(List<Object> operands) {
+        return (List<T>) (List<?>) operands;
+    }
+
+    private static NumericOperand readNumericOperand(JsonParser p) throws IOException {
+        TypedObject object = TypedObject.start(p, "numeric operand");
+        if (object == null) {
+            return null;
+        }
+
+        JsonParser fields = object.fields;
+        String operand = null;
+        String operator = null;
+        boolean isParenthesized = false;
+        NumericOperand operand1 = null;
+        NumericOperand operand2 = null;
+        String functionName = null;
+        List<NumericOperand> arguments = null;
+        while (nextField(fields)) {
+            String field = fields.getCurrentName();
+            fields.nextToken();
+            switch (field) {
+                case "operand":
+                    operand = readString(fields);
+                    break;
+                case "operator":
+                    operator = readString(fields);
+                    break;
+                case "parenthesized":
+                    isParenthesized = Boolean.TRUE.equals(readBoolean(fields));
+                    break;
+                case "operand1":
+                    operand1 = readNumericOperand(fields);
+                    break;
+                case "operand2":
+                    operand2 = readNumericOperand(fields);
+                    break;
+                case "functionName":
+                    functionName = readString(fields);
+                    break;
+                case "operands":
+                    if (fields.currentToken() != JsonToken.VALUE_NULL) {
+                        expect(fields, JsonToken.START_ARRAY, "function arguments");
+                        arguments = new ArrayList<>();
+                        while (fields.nextToken() != JsonToken.END_ARRAY) {
+                            arguments.add(readNumericOperand(fields));
+                        }
+                    }
+                    break;
+                default:
+                    fields.skipChildren();
+            }
+        }
+
+        switch (object.type) {
+            case "atomic":
+                return new AtomicNumberOperand(operand);
+            case "null":
+                return new NullNumericOperand(operand);
+            case "binary":
+                return ConstantExpressionOperand.fold(
+                    new BinaryExpressionOperand(operand, operator, operand1, operand2, isParenthesized));
+            case "function":
+                return new FunctionCallOperand(operand, functionName, arguments);
+            default:
+                throw object.unknownType(p);
+        }
+    }
+
+    private static StringOperand readStringOperand(JsonParser p) throws IOException {
+        TypedObject object = TypedObject.start(p, "string operand");
+        if (object == null) {
+            return null;
+        }
+
+        JsonParser fields = object.fields;
+        String value = null;
+        while (nextField(fields)) {
+            String field = fields.getCurrentName();
+            fields.nextToken();
+            if (field.equals("operand") || field.equals("keyword") || field.equals("variableName")) {
+                value = readString(fields);
+            } else {
+                fields.skipChildren();
+            }
+        }
+
+        switch (object.type) {
+            case "quoted":
+                return new QuotedStringOperand(value);
+            case "keyword":
+                return new KeywordStringOperand(toEnum(p, Keyword.class, value));
+            case "variable":
+                return new VariableReferenceOperand(value);
+            default:
+                throw object.unknownType(p);
+        }
+    }
+
+    private static DateExpression readDateExpression(JsonParser p) throws IOException {
+        TypedObject object = TypedObject.start(p, "date expression");
+        if (object == null) {
+            return null;
+        }
+
+        JsonParser fields = object.fields;
+        String date = null;
+        String dateTime = null;
+        String time = null;
+        String zoneId = null;
+        String dateTimeString = null;
+        String operator = null;
+        Duration duration = null;
+        while (nextField(fields)) {
+            String field = fields.getCurrentName();
+            fields.nextToken();
+            switch (field) {
+                case "date":
+                    date = readString(fields);
+                    break;
+                case "dateTime":
+                    dateTime = readString(fields);
+                    break;
+                case "time":
+                    time = readString(fields);
+                    break;
+                case "zoneId":
+                    zoneId = readString(fields);
+                    break;
+                case "dateTimeString":
+                    dateTimeString = readString(fields);
+                    break;
+                case "operator":
+                    operator = readString(fields);
+                    break;
+                case "duration":
+                    duration = readDuration(fields);
+                    break;
+                default:
+                    fields.skipChildren();
+            }
+        }
+
+        try {
+            switch (object.type) {
+                case "staticDate":
+                    return new DateExpression.StaticDate(date);
+                case "currentDate":
+                    return new DateExpression.CurrentDate();
+                case "staticDateTime":
+                    return new DateExpression.StaticDateTime(
+                        dateTime == null ? null : LocalDateTime.parse(dateTime), dateTimeString);
+                case "staticTime":
+                    if (time == null) {
+                        throw new JsonParseException(p, "Missing time of static time expression");
+                    }
+                    return new DateExpression.StaticDateTime(
+                        LocalTime.parse(time), zoneId == null ? null : ZoneId.of(zoneId), dateTimeString);
+                case "currentDateExpression":
+                    return new DateExpression.CurrentDateExpression(
+                        toEnum(p, DateExpression.DateExpressionOperator.class, operator), duration);
+                case "null":
+                    return new NullDateExpression();
+                default:
+                    throw object.unknownType(p);
+            }
+        } catch (DateTimeException e) {
+            throw new JsonParseException(p, "Invalid date expression: " + e.getMessage(), e);
+        }
+    }
+
+    private static Duration readDuration(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(p, JsonToken.START_OBJECT, "duration");
+
+        Integer amount = null;
+        DurationUnit unit = null;
+        while (nextField(p)) {
+            String field = p.getCurrentName();
+            p.nextToken();
+            switch (field) {
+                case "amount":
+                    amount = readInteger(p);
+                    break;
+                case "unit":
+                    unit = readEnum(p, DurationUnit.class);
+                    break;
+                default:
+                    p.skipChildren();
+            }
+        }
+        return new Duration(amount, unit);
+    }
+
+    private static Size readSize(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(p, JsonToken.START_OBJECT, "size");
+
+        Integer amount = null;
+        SizeUnit unit = null;
+        while (nextField(p)) {
+            String field = p.getCurrentName();
+            p.nextToken();
+            switch (field) {
+                case "amount":
+                    amount = readInteger(p);
+                    break;
+                case "unit":
+                    unit = readEnum(p, SizeUnit.class);
+                    break;
+                default:
+                    p.skipChildren();
+            }
+        }
+        return new Size(amount, unit);
+    }
+
+    /*
+     * An object whose "type" field tells how to read the rest of it. The type usually comes first, in which case
+     * the other fields are read from the parser as they come. Otherwise, they are buffered until the type is found.
+     */
+    private static final class TypedObject {
+        private final String type;
+        private final String description;
+        private final JsonParser fields;
+
+        private TypedObject(String type, String description, JsonParser fields) {
+            this.type = type;
+            this.description = description;
+            this.fields = fields;
+        }
+
+        /*
+         * Returns null for a JSON null. Otherwise, the fields of the returned object are read
+         * with nextField, and the parser given is left on the end of the object.
+         */
+        static TypedObject start(JsonParser p, String description) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            expect(p, JsonToken.START_OBJECT, description);
+
+            JsonToken token = p.nextToken();
+            if (token == JsonToken.FIELD_NAME && p.getCurrentName().equals("type")) {
+                p.nextToken();
+                return new TypedObject(requireType(p, readString(p), description), description, p);
+            }
+
+            TokenBuffer buffer = new TokenBuffer(p, null);
+            buffer.writeStartObject();
+            String type = null;
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                if (field.equals("type")) {
+                    type = readString(p);
+                } else {
+                    buffer.writeFieldName(field);
+                    buffer.copyCurrentStructure(p);
+                }
+            }
+            expect(p, JsonToken.END_OBJECT, description);
+            buffer.writeEndObject();
+
+            JsonParser fields = buffer.asParser(p.getCodec());
+            fields.nextToken();
+            return new TypedObject(requireType(p, type, description), description, fields);
+        }
+
+        private static String requireType(JsonParser p, String type, String description) throws IOException {
+            if (type == null) {
+                throw new JsonParseException(p, "Missing type of " + description);
+            }
+            return type;
+        }
+
+        JsonParseException unknownType(JsonParser p) {
+            return new JsonParseException(p, String.format("Unknown %s type: %s", description, type));
+        }
+    }
+
+    private static boolean nextField(JsonParser p) throws IOException {
+        JsonToken token = p.nextToken();
+        if (token == JsonToken.FIELD_NAME) {
+            return true;
+        }
+        if (token == JsonToken.END_OBJECT) {
+            return false;
+        }
+        throw new JsonParseException(p, "Expected a field name or the end of an object, found " + token);
+    }
+
+    private static Map<String, String> readStringMap(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(p, JsonToken.START_OBJECT, "string map");
+
+        Map<String, String> map = new LinkedHashMap<>();
+        while (nextField(p)) {
+            String key = p.getCurrentName();
+            p.nextToken();
+            map.put(key, readString(p));
+        }
+        return map;
+    }
+
+    private static String readString(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(p, JsonToken.VALUE_STRING, "string");
+        return p.getText();
+    }
+
+    private static Integer readInteger(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(p, JsonToken.VALUE_NUMBER_INT, "integer");
+        return p.getIntValue();
+    }
+
+    private static Boolean readBoolean(JsonParser p) throws IOException {
+        switch (p.currentToken()) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_TRUE:
+                return true;
+            case VALUE_FALSE:
+                return false;
+            default:
+                throw new JsonParseException(p, "Expected a boolean, found " + p.currentToken());
+        }
+    }
+
+    private static <E extends Enum<E>> E readEnum(JsonParser p, Class<E> enumClass) throws IOException {
+        return toEnum(p, enumClass, readString(p));
+    }
+
+    private static <E extends Enum<E>> E toEnum(JsonParser p, Class<E> enumClass, String name) throws IOException {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(enumClass, name);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException(p, String.format("Unknown %s: %s", enumClass.getSimpleName(), name), e);
+        }
+    }
+
+    private static void expect(JsonParser p, JsonToken expected, String description) throws IOException {
+        if (p.currentToken() != expected) {
+            throw new JsonParseException(p,
+                String.format("Expected %s for %s, found %s", expected, description, p.currentToken()));
+        }
+    }
+}
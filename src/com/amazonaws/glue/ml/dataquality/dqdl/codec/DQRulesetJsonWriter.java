@@ -0,0 +1,477 @@
+/*
+ * DQRulesetJsonWriter.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQAnalyzer;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.Condition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateExpression;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.NullDateExpression;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.Duration;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.DurationBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.AtomicNumberOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.BinaryExpressionOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.ConstantExpressionOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.FunctionCallOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NullNumericOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumberBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumericOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.size.Size;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.size.SizeBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.KeywordStringOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Labels;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.QuotedStringOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.StringBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.StringOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Tag;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.variable.VariableReferenceOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterConstantValue;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterValue;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterVariableValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Writes a ruleset in the format described in DQRulesetJsonCodec.
+ */
+final class DQRulesetJsonWriter {
+    private final JsonGenerator out;
+
+    DQRulesetJsonWriter(JsonGenerator out) {
+        this.out = out;
+    }
+
+    void writeRuleset(DQRuleset ruleset) throws IOException {
+        out.writeStartObject();
+        out.writeNumberField("formatVersion", DQRulesetJsonCodec.FORMAT_VERSION);
+        writeStringMap("metadata", ruleset.getMetadata());
+        writeString("primarySourceName", ruleset.getPrimarySourceName());
+        if (ruleset.getAdditionalDataSourcesNames() != null) {
+            out.writeArrayFieldStart("additionalDataSourcesNames");
+            for (String name : ruleset.getAdditionalDataSourcesNames()) {
+                out.writeString(name);
+            }
+            out.writeEndArray();
+        }
+        writeStringMap("defaultLabels", ruleset.getDefaultLabels());
+        if (ruleset.getRules() != null) {
+            out.writeArrayFieldStart("rules");
+            for (DQRule rule : ruleset.getRules()) {
+                writeRule(rule);
+            }
+            out.writeEndArray();
+        }
+        if (ruleset.getAnalyzers() != null) {
+            out.writeArrayFieldStart("analyzers");
+            for (DQAnalyzer analyzer : ruleset.getAnalyzers()) {
+                writeAnalyzer(analyzer);
+            }
+            out.writeEndArray();
+        }
+        out.writeEndObject();
+    }
+
+    /*
+     * Nested rules are written last in each rule, so that once they are all written, the rule can be closed.
+     */
+    void writeRule(DQRule root) throws IOException {
+        if (root == null) {
+            out.writeNull();
+            return;
+        }
+
+        Set<DQRule> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Iterator<DQRule>> nestedRules = new ArrayDeque<>();
+        Deque<DQRule> path = new ArrayDeque<>();
+        startRule(root, path, nestedRules, inProgress);
+
+        while (!path.isEmpty()) {
+            Iterator<DQRule> remaining = nestedRules.peek();
+            if (remaining.hasNext()) {
+                DQRule nestedRule = remaining.next();
+                if (nestedRule == null) {
+                    out.writeNull();
+                } else {
+                    startRule(nestedRule, path, nestedRules, inProgress);
+                }
+            } else {
+                out.writeEndArray();
+                out.writeEndObject();
+                inProgress.remove(path.pop());
+                nestedRules.pop();
+            }
+        }
+    }
+
+    private void startRule(DQRule rule,
+                           Deque<DQRule> path,
+                           Deque<Iterator<DQRule>> nestedRules,
+                           Set<DQRule> inProgress) throws IOException {
+        out.writeStartObject();
+        writeString("ruleType", rule.getRuleType());
+        writeStringMap("parameters", rule.getParameters());
+        writeParameterValues(rule.getParameterValueMap());
+        writeCondition("condition", rule.getCondition());
+        writeCondition("thresholdCondition", rule.getThresholdCondition());
+        writeEnum("operator", rule.getOperator());
+        writeString("whereClause", rule.getWhereClause());
+
+        Labels labels = rule.getRawLabels();
+        if (labels != null) {
+            out.writeObjectFieldStart("labels");
+            writeStringMap("rulesetDefaultLabels", labels.getRulesetDefaultLabels());
+            writeStringMap("ruleLabels", labels.getRuleLabels());
+            out.writeEndObject();
+        }
+
+        if (rule.getIsExcludedAtRowLevelInCompositeRules() != null) {
+            out.writeBooleanField("isExcludedAtRowLevelInCompositeRules",
+                rule.getIsExcludedAtRowLevelInCompositeRules());
+        }
+
+        Map<String, Tag> tags = rule.getRawTags();
+        if (tags != null) {
+            out.writeObjectFieldStart("tags");
+            for (Map.Entry<String, Tag> entry : tags.entrySet()) {
+                out.writeFieldName(entry.getKey());
+                Tag tag = entry.getValue();
+                if (tag == null) {
+                    out.writeNull();
+                } else {
+                    out.writeStartObject();
+                    writeString("key", tag.getRawKey());
+                    writeString("value", tag.getRawValue());
+                    out.writeEndObject();
+                }
+            }
+            out.writeEndObject();
+        }
+
+        if (rule.getNestedRules() == null) {
+            out.writeEndObject();
+            return;
+        }
+        if (!inProgress.add(rule)) {
+            throw new IllegalArgumentException("Cannot write a rule that is nested in itself");
+        }
+        out.writeArrayFieldStart("nestedRules");
+        path.push(rule);
+        nestedRules.push(rule.getNestedRules().iterator());
+    }
+
+    private void writeAnalyzer(DQAnalyzer analyzer) throws IOException {
+        if (analyzer == null) {
+            out.writeNull();
+            return;
+        }
+
+        out.writeStartObject();
+        writeString("ruleType", analyzer.getRuleType());
+        writeStringMap("parameters", analyzer.getParameters());
+        writeParameterValues(analyzer.getParameterValueMap());
+        out.writeEndObject();
+    }
+
+    private void writeParameterValues(Map<String, DQRuleParameterValue> values) throws IOException {
+        if (values == null) {
+            return;
+        }
+
+        out.writeObjectFieldStart("parameterValues");
+        for (Map.Entry<String, DQRuleParameterValue> entry : values.entrySet()) {
+            out.writeFieldName(entry.getKey());
+            DQRuleParameterValue value = entry.getValue();
+            if (value == null) {
+                out.writeNull();
+            } else if (value.getClass() == DQRuleParameterConstantValue.class) {
+                DQRuleParameterConstantValue constant = (DQRuleParameterConstantValue) value;
+                out.writeStartObject();
+                out.writeStringField("type", "constant");
+                writeString("value", constant.getValue());
+                out.writeBooleanField("quoted", constant.isQuoted());
+                writeString("connectorWord", constant.getConnectorWord());
+                writeString("unresolvedValue", constant.getUnresolvedValue());
+                out.writeEndObject();
+            } else if (value.getClass() == DQRuleParameterVariableValue.class) {
+                DQRuleParameterVariableValue variable = (DQRuleParameterVariableValue) value;
+                out.writeStartObject();
+                out.writeStringField("type", "variable");
+                writeString("unresolvedValue", variable.getUnresolvedValue());
+                writeString("connectorWord", variable.getConnectorWord());
+                out.writeEndObject();
+            } else {
+                throw unsupported(value);
+            }
+        }
+        out.writeEndObject();
+    }
+
+    private void writeCondition(String fieldName, Condition condition) throws IOException {
+        if (condition == null) {
+            return;
+        }
+
+        out.writeObjectFieldStart(fieldName);
+        if (condition.getClass() == Condition.class) {
+            out.writeStringField("type", "condition");
+            writeString("conditionAsString", condition.getConditionAsString());
+        } else if (condition.getClass() == NumberBasedCondition.class) {
+            NumberBasedCondition numberBasedCondition = (NumberBasedCondition) condition;
+            out.writeStringField("type", "number");
+            writeString("conditionAsString", condition.getConditionAsString());
+            writeEnum("operator", numberBasedCondition.getOperator());
+            if (numberBasedCondition.getOperands() != null) {
+                out.writeArrayFieldStart("operands");
+                for (NumericOperand operand : numberBasedCondition.getOperands()) {
+                    writeNumericOperand(operand);
+                }
+                out.writeEndArray();
+            }
+        } else if (condition.getClass() == StringBasedCondition.class) {
+            StringBasedCondition stringBasedCondition = (StringBasedCondition) condition;
+            out.writeStringField("type", "string");
+            writeString("conditionAsString", condition.getConditionAsString());
+            writeEnum("operator", stringBasedCondition.getOperator());
+            writeStringOperands("operands", stringBasedCondition.getOperands());
+            writeStringOperands("unresolvedOperands", stringBasedCondition.getUnresolvedOperands());
+        } else if (condition.getClass() == DateBasedCondition.class) {
+            DateBasedCondition dateBasedCondition = (DateBasedCondition) condition;
+            out.writeStringField("type", "date");
+            writeString("conditionAsString", condition.getConditionAsString());
+            writeEnum("operator", dateBasedCondition.getOperator());
+            if (dateBasedCondition.getOperands() != null) {
+                out.writeArrayFieldStart("operands");
+                for (DateExpression operand : dateBasedCondition.getOperands()) {
+                    writeDateExpression(operand);
+                }
+                out.writeEndArray();
+            }
+        } else if (condition.getClass() == DurationBasedCondition.class) {
+            DurationBasedCondition durationBasedCondition = (DurationBasedCondition) condition;
+            out.writeStringField("type", "duration");
+            writeString("conditionAsString", condition.getConditionAsString());
+            writeEnum("operator", durationBasedCondition.getOperator());
+            if (durationBasedCondition.getOperands() != null) {
+                out.writeArrayFieldStart("operands");
+                for (Duration operand : durationBasedCondition.getOperands()) {
+                    writeDuration(operand);
+                }
+                out.writeEndArray();
+            }
+        } else if (condition.getClass() == SizeBasedCondition.class) {
+            SizeBasedCondition sizeBasedCondition = (SizeBasedCondition) condition;
+            out.writeStringField("type", "size");
+            writeString("conditionAsString", condition.getConditionAsString());
+            writeEnum("operator", sizeBasedCondition.getOperator());
+            if (sizeBasedCondition.getOperands() != null) {
+                out.writeArrayFieldStart("operands");
+                for (Size operand : sizeBasedCondition.getOperands()) {
+                    writeSize(operand);
+                }
+                out.writeEndArray();
+            }
+        } else {
+            throw unsupported(condition);
+        }
+        out.writeEndObject();
+    }
+
+    private void writeNumericOperand(NumericOperand operand) throws IOException {
+        if (operand == null) {
+            out.writeNull();
+            return;
+        }
+        if (operand.getClass() == ConstantExpressionOperand.class) {
+            // Reading folds the expression again.
+            writeNumericOperand(((ConstantExpressionOperand) operand).getExpression());
+            return;
+        }
+
+        out.writeStartObject();
+        if (operand.getClass() == AtomicNumberOperand.class) {
+            out.writeStringField("type", "atomic");
+            writeString("operand", operand.getOperand());
+        } else if (operand.getClass() == NullNumericOperand.class) {
+            out.writeStringField("type", "null");
+            writeString("operand", operand.getOperand());
+        } else if (operand.getClass() == BinaryExpressionOperand.class) {
+            BinaryExpressionOperand binaryExpression = (BinaryExpressionOperand) operand;
+            out.writeStringField("type", "binary");
+            writeString("operand", operand.getOperand());
+            writeString("operator", binaryExpression.getOperator());
+            out.writeBooleanField("parenthesized", operand.isParenthesized());
+            if (binaryExpression.getOperand1() != null) {
+                out.writeFieldName("operand1");
+                writeNumericOperand(binaryExpression.getOperand1());
+            }
+            if (binaryExpression.getOperand2() != null) {
+                out.writeFieldName("operand2");
+                writeNumericOperand(binaryExpression.getOperand2());
+            }
+        } else if (operand.getClass() == FunctionCallOperand.class) {
+            FunctionCallOperand functionCall = (FunctionCallOperand) operand;
+            out.writeStringField("type", "function");
+            writeString("operand", operand.getOperand());
+            writeString("functionName", functionCall.getFunctionName());
+            if (functionCall.getOperands() != null) {
+                out.writeArrayFieldStart("operands");
+                for (NumericOperand argument : functionCall.getOperands()) {
+                    writeNumericOperand(argument);
+                }
+                out.writeEndArray();
+            }
+        } else {
+            throw unsupported(operand);
+        }
+        out.writeEndObject();
+    }
+
+    private void writeStringOperands(String fieldName, List<StringOperand> operands) throws IOException {
+        if (operands == null) {
+            return;
+        }
+
+        out.writeArrayFieldStart(fieldName);
+        for (StringOperand operand : operands) {
+            if (operand == null) {
+                out.writeNull();
+                continue;
+            }
+
+            out.writeStartObject();
+            if (operand.getClass() == QuotedStringOperand.class) {
+                out.writeStringField("type", "quoted");
+                writeString("operand", operand.getOperand());
+            } else if (operand.getClass() == KeywordStringOperand.class) {
+                out.writeStringField("type", "keyword");
+                writeString("keyword", operand.getOperand());
+            } else if (operand.getClass() == VariableReferenceOperand.class) {
+                out.writeStringField("type", "variable");
+                writeString("variableName", ((VariableReferenceOperand) operand).getVariableName());
+            } else {
+                throw unsupported(operand);
+            }
+            out.writeEndObject();
+        }
+        out.writeEndArray();
+    }
+
+    private void writeDateExpression(DateExpression expression) throws IOException {
+        if (expression == null) {
+            out.writeNull();
+            return;
+        }
+
+        out.writeStartObject();
+        if (expression.getClass() == DateExpression.StaticDate.class) {
+            out.writeStringField("type", "staticDate");
+            writeString("date", ((DateExpression.StaticDate) expression).getDate());
+        } else if (expression.getClass() == DateExpression.CurrentDate.class) {
+            out.writeStringField("type", "currentDate");
+        } else if (expression.getClass() == DateExpression.StaticDateTime.class) {
+            DateExpression.StaticDateTime staticDateTime = (DateExpression.StaticDateTime) expression;
+            if (staticDateTime.getTime() == null) {
+                out.writeStringField("type", "staticDateTime");
+                if (staticDateTime.getDateTime() != null) {
+                    out.writeStringField("dateTime", staticDateTime.getDateTime().toString());
+                }
+            } else {
+                out.writeStringField("type", "staticTime");
+                out.writeStringField("time", staticDateTime.getTime().toString());
+                if (staticDateTime.getZoneId() != null) {
+                    out.writeStringField("zoneId", staticDateTime.getZoneId().getId());
+                }
+            }
+            writeString("dateTimeString", staticDateTime.getDateTimeString());
+        } else if (expression.getClass() == DateExpression.CurrentDateExpression.class) {
+            DateExpression.CurrentDateExpression currentDateExpression =
+                (DateExpression.CurrentDateExpression) expression;
+            out.writeStringField("type", "currentDateExpression");
+            writeEnum("operator", currentDateExpression.getOperator());
+            if (currentDateExpression.getDuration() != null) {
+                out.writeFieldName("duration");
+                writeDuration(currentDateExpression.getDuration());
+            }
+        } else if (expression.getClass() == NullDateExpression.class) {
+            out.writeStringField("type", "null");
+        } else {
+            throw unsupported(expression);
+        }
+        out.writeEndObject();
+    }
+
+    private void writeDuration(Duration duration) throws IOException {
+        if (duration == null) {
+            out.writeNull();
+            return;
+        }
+
+        out.writeStartObject();
+        if (duration.getAmount() != null) {
+            out.writeNumberField("amount", duration.getAmount());
+        }
+        writeEnum("unit", duration.getUnit());
+        out.writeEndObject();
+    }
+
+    private void writeSize(Size size) throws IOException {
+        if (size == null) {
+            out.writeNull();
+            return;
+        }
+
+        out.writeStartObject();
+        if (size.getAmount() != null) {
+            out.writeNumberField("amount", size.getAmount());
+        }
+        writeEnum("unit", size.getUnit());
+        out.writeEndObject();
+    }
+
+    private void writeStringMap(String fieldName, Map<String, String> map) throws IOException {
+        if (map == null) {
+            return;
+        }
+
+        out.writeObjectFieldStart(fieldName);
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            out.writeStringField(entry.getKey(), entry.getValue());
+        }
+        out.writeEndObject();
+    }
+
+    private void writeEnum(String fieldName, Enum<?> value) throws IOException {
+        if (value != null) {
+            out.writeStringField(fieldName, value.name());
+        }
+    }
+
+    private void writeString(String fieldName, String value) throws IOException {
+        if (value != null) {
+            out.writeStringField(fieldName, value);
+        }
+    }
+
+    private static IllegalArgumentException unsupported(Object value) {
+        return new IllegalArgumentException("Cannot write values of type " + value.getClass().getName());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * DQRulesetLoader.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Loads rulesets from the classpath, as written by DQRulesetPrecompiler.
+ *
+ * Rulesets are named after their DQDL file, for example "dqdl/orders.dqdl". The precompiled ruleset,
+ * "dqdl/orders.dqdlb", is loaded when it is on the classpath. Otherwise, or when it was written in a format
+ * version this library does not read, the DQDL file itself is parsed if it is on the classpath.
+ */
+@Slf4j
+public final class DQRulesetLoader {
+    private DQRulesetLoader() {
+    }
+
+    public static DQRuleset load(String name) throws IOException, InvalidDataQualityRulesetException {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return load(classLoader != null ? classLoader : DQRulesetLoader.class.getClassLoader(), name);
+    }
+
+    public static DQRuleset load(ClassLoader classLoader, String name)
+        throws IOException, InvalidDataQualityRulesetException {
+        String precompiledName = DQRulesetPrecompiler.precompiledName(name);
+        byte[] precompiled = readResource(classLoader, precompiledName);
+        if (precompiled != null) {
+            try {
+                return DQRulesetBinaryCodec.decode(precompiled);
+            } catch (IllegalArgumentException e) {
+                log.warn("Cannot decode precompiled ruleset {}, parsing {} instead: {}",
+                    precompiledName, name, e.getMessage());
+            }
+        }
+
+        byte[] dqdl = readResource(classLoader, name);
+        if (dqdl == null) {
+            if (precompiled != null) {
+                throw new InvalidDataQualityRulesetException(
+                    String.format("Precompiled ruleset %s cannot be decoded, and %s was not found", precompiledName, name));
+            }
+            throw new FileNotFoundException(String.format("Neither %s nor %s was found", precompiledName, name));
+        }
+        return new DQDLParser().parse(new String(dqdl, StandardCharsets.UTF_8));
+    }
+
+    private static byte[] readResource(ClassLoader classLoader, String name) throws IOException {
+        try (InputStream in = classLoader.getResourceAsStream(name)) {
+            return in == null ? null : in.readAllBytes();
+        }
+    }
+}
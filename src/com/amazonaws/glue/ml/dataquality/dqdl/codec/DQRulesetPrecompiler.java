@@ -0,0 +1,112 @@
+/*
+ * DQRulesetPrecompiler.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import com.amazonaws.glue.ml.dataquality.dqdl.util.Either;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * Parses the .dqdl files of a directory at build time, and writes each ruleset in the format of
+ * DQRulesetBinaryCodec, so that services can load it with DQRulesetLoader instead of parsing it at startup.
+ *
+ * A file at some path under the source directory is written to the same path under the output directory,
+ * with the .dqdlb extension. Every file is parsed before anything is written: if any of them is invalid,
+ * the errors of all invalid files are reported together, and no output is written.
+ *
+ * It is run as a program, for example from exec-maven-plugin in the process-resources phase,
+ * with the classes directory as the output so that the precompiled rulesets end up on the classpath:
+ *
+ *     java -cp <dqdl and its dependencies> com.amazonaws.glue.ml.dataquality.dqdl.codec.DQRulesetPrecompiler \
+ *         src/main/dqdl target/classes/dqdl
+ */
+public final class DQRulesetPrecompiler {
+    public static final String SOURCE_EXTENSION = ".dqdl";
+    public static final String PRECOMPILED_EXTENSION = ".dqdlb";
+
+    private final DQDLParser parser;
+
+    public DQRulesetPrecompiler() {
+        this(new DQDLParser());
+    }
+
+    public DQRulesetPrecompiler(DQDLParser parser) {
+        this.parser = parser;
+    }
+
+    public static void main(String[] args) throws IOException, InvalidDataQualityRulesetException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: DQRulesetPrecompiler <source dir> <output dir>");
+        }
+
+        List<Path> written = new DQRulesetPrecompiler().precompile(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.printf("Precompiled %d DQDL rulesets into %s%n", written.size(), args[1]);
+    }
+
+    /*
+     * Returns the files written, in the order of the source files they were written from.
+     */
+    public List<Path> precompile(Path sourceDir, Path outputDir) throws IOException, InvalidDataQualityRulesetException {
+        List<Path> sources;
+        try (Stream<Path> files = Files.walk(sourceDir)) {
+            sources = files
+                .filter(file -> Files.isRegularFile(file) && file.getFileName().toString().endsWith(SOURCE_EXTENSION))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+
+        List<String> dqdls = new ArrayList<>(sources.size());
+        for (Path source : sources) {
+            dqdls.add(new String(Files.readAllBytes(source), StandardCharsets.UTF_8));
+        }
+        List<Either<String, DQRuleset>> results = parser.parseAll(dqdls);
+
+        StringBuilder errors = new StringBuilder();
+        for (int i = 0; i < sources.size(); i++) {
+            if (results.get(i).isLeft()) {
+                errors.append(String.format("%n%s: %s", sources.get(i), results.get(i).getLeft()));
+            }
+        }
+        if (errors.length() > 0) {
+            throw new InvalidDataQualityRulesetException("Invalid DQDL rulesets:" + errors);
+        }
+
+        List<Path> written = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            Path output = outputDir.resolve(precompiledName(sourceDir.relativize(sources.get(i)).toString()));
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            Files.write(output, DQRulesetBinaryCodec.encode(results.get(i).getRight()));
+            written.add(output);
+        }
+        return written;
+    }
+
+    /*
+     * The name of the precompiled ruleset for a DQDL file: "rules/orders.dqdl" gives "rules/orders.dqdlb".
+     */
+    public static String precompiledName(String sourceName) {
+        String baseName = sourceName.endsWith(SOURCE_EXTENSION)
+            ? sourceName.substring(0, sourceName.length() - SOURCE_EXTENSION.length())
+            : sourceName;
+        return baseName + PRECOMPILED_EXTENSION;
+    }
+}
@@ -14,12 +14,14 @@ import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterVal
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.io.Serializable;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 @AllArgsConstructor
 @Getter
-public class DQAnalyzer implements HasRuleTypeAndParameters {
+public class DQAnalyzer implements Serializable, HasRuleTypeAndParameters {
     private final String ruleType;
     private final Map<String, String> parameters;
     private final Map<String, DQRuleParameterValue> parameterValueMap;
@@ -36,6 +38,21 @@ public class DQAnalyzer implements HasRuleTypeAndParameters {
         return new DQAnalyzer(ruleType, DQRuleParameterValue.createParameterMap(parameters), parameters);
     }
 
+    DQAnalyzer toUnmodifiableAnalyzer() {
+        return new DQAnalyzer(
+            ruleType,
+            parameters == null ? null : Collections.unmodifiableMap(parameters),
+            parameterValueMap == null ? null : Collections.unmodifiableMap(parameterValueMap)
+        );
+    }
+
+    /*
+     * The datasets and columns this analyzer reads.
+     */
+    public DQRuleDependencies getDependencies() {
+        return DQRuleDependencyExtractor.extract(this);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
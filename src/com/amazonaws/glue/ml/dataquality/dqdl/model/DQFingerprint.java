@@ -0,0 +1,56 @@
+/*
+ * DQFingerprint.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/*
+ * A 128-bit fingerprint of the content of a rule or a ruleset, as returned by DQRule.getFingerprint and
+ * DQRuleset.getFingerprint. Two rules with the same fingerprint check the same thing, so the fingerprint can be
+ * used as the key of cached results and metrics, in memory or persisted across runs.
+ *
+ * Fingerprints are stable across JVMs and releases of this library, and toString gives a 32 character hex string
+ * that can be turned back into the fingerprint with fromString.
+ */
+@Getter
+@EqualsAndHashCode
+public final class DQFingerprint implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+
+    public DQFingerprint(final long mostSignificantBits, final long leastSignificantBits) {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
+    }
+
+    public static DQFingerprint fromString(String hex) {
+        if (hex == null || hex.length() != 32) {
+            throw new IllegalArgumentException("Not a fingerprint: " + hex);
+        }
+        try {
+            return new DQFingerprint(
+                Long.parseUnsignedLong(hex.substring(0, 16), 16),
+                Long.parseUnsignedLong(hex.substring(16), 16));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a fingerprint: " + hex, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", mostSignificantBits, leastSignificantBits);
+    }
+}
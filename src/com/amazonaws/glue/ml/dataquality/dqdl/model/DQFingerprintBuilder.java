@@ -0,0 +1,159 @@
+/*
+ * DQFingerprintBuilder.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Writes the fields of a rule or ruleset in a canonical form, and hashes them with the 128-bit x64 variant of
+ * MurmurHash3. Every value is written with its length or a marker for null, so that different sequences of values
+ * never produce the same bytes. Changing how a value is written changes every fingerprint, and invalidates the
+ * results cached under them.
+ */
+final class DQFingerprintBuilder {
+    private static final int NULL = -1;
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private byte[] bytes = new byte[256];
+    private int length;
+
+    DQFingerprintBuilder putInt(int value) {
+        ensureCapacity(4);
+        bytes[length++] = (byte) value;
+        bytes[length++] = (byte) (value >>> 8);
+        bytes[length++] = (byte) (value >>> 16);
+        bytes[length++] = (byte) (value >>> 24);
+        return this;
+    }
+
+    DQFingerprintBuilder putString(String value) {
+        if (value == null) {
+            return putInt(NULL);
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        putInt(utf8.length);
+        ensureCapacity(utf8.length);
+        System.arraycopy(utf8, 0, bytes, length, utf8.length);
+        length += utf8.length;
+        return this;
+    }
+
+    /*
+     * The entries sorted by key, so that the order of the map does not matter. Null and empty maps are the same.
+     */
+    DQFingerprintBuilder putSortedMap(Map<String, String> map) {
+        if (map == null || map.isEmpty()) {
+            return putInt(0);
+        }
+        Map<String, String> sorted = map instanceof TreeMap ? map : new TreeMap<>(map);
+        putInt(sorted.size());
+        sorted.forEach((key, value) -> putString(key).putString(value));
+        return this;
+    }
+
+    DQFingerprintBuilder putFingerprint(DQFingerprint fingerprint) {
+        if (fingerprint == null) {
+            return putInt(NULL);
+        }
+        putInt(0);
+        long high = fingerprint.getMostSignificantBits();
+        long low = fingerprint.getLeastSignificantBits();
+        return putInt((int) (high >>> 32)).putInt((int) high).putInt((int) (low >>> 32)).putInt((int) low);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+
+    DQFingerprint build() {
+        long h1 = 0;
+        long h2 = 0;
+
+        int blocks = length / 16;
+        for (int i = 0; i < blocks; i++) {
+            long k1 = getLong(i * 16);
+            long k2 = getLong(i * 16 + 8);
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        int tail = blocks * 16;
+        int remaining = length - tail;
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = remaining - 1; i >= 8; i--) {
+            k2 ^= (bytes[tail + i] & 0xffL) << ((i - 8) * 8);
+        }
+        for (int i = Math.min(remaining, 8) - 1; i >= 0; i--) {
+            k1 ^= (bytes[tail + i] & 0xffL) << (i * 8);
+        }
+        if (remaining > 8) {
+            h2 ^= mixK2(k2);
+        }
+        if (remaining > 0) {
+            h1 ^= mixK1(k1);
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        return new DQFingerprint(h1, h2);
+    }
+
+    private long getLong(int offset) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = (value << 8) | (bytes[offset + i] & 0xffL);
+        }
+        return value;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
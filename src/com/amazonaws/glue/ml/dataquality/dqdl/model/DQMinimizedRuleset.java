@@ -0,0 +1,53 @@
+/*
+ * DQMinimizedRuleset.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * A ruleset without its duplicate rules and analyzers, as returned by DQRuleRedundancyAnalyzer.minimize, with the
+ * position of the rule that gives the result of each rule of the original ruleset.
+ */
+public final class DQMinimizedRuleset {
+    @Getter
+    private final DQRuleset ruleset;
+    private final int[] minimizedRuleIndexes;
+
+    DQMinimizedRuleset(final DQRuleset ruleset, final int[] minimizedRuleIndexes) {
+        this.ruleset = ruleset;
+        this.minimizedRuleIndexes = minimizedRuleIndexes;
+    }
+
+    /*
+     * The position in the minimized ruleset of the rule that gives the result of the given rule of the original.
+     */
+    public int getMinimizedRuleIndex(int ruleIndex) {
+        return minimizedRuleIndexes[ruleIndex];
+    }
+
+    /*
+     * The results of the rules of the original ruleset, in order, from the results of the minimized ruleset.
+     */
+    public <T> List<T> expandResults(List<T> minimizedResults) {
+        if (minimizedResults.size() != ruleset.getRules().size()) {
+            throw new IllegalArgumentException(String.format("Expected %d results, got %d",
+                ruleset.getRules().size(), minimizedResults.size()));
+        }
+        List<T> results = new ArrayList<>(minimizedRuleIndexes.length);
+        for (int minimizedRuleIndex : minimizedRuleIndexes) {
+            results.add(minimizedResults.get(minimizedRuleIndex));
+        }
+        return results;
+    }
+}
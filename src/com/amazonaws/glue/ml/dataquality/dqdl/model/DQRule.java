@@ -15,25 +15,27 @@ import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Tag;
 import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Labels;
 import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterValue;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 import static com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Tag.convertToStringMap;
 import static com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Labels.convertToStringMap;
 import static com.amazonaws.glue.ml.dataquality.dqdl.util.StringUtils.isBlank;
 
-@AllArgsConstructor
 @Getter
-@EqualsAndHashCode
-@Builder(toBuilder = true, access = AccessLevel.PRIVATE)
 public class DQRule implements Serializable, HasRuleTypeAndParameters {
     private final String ruleType;
     private final Map<String, String> parameters;
@@ -43,10 +45,44 @@ public class DQRule implements Serializable, HasRuleTypeAndParameters {
     private final DQRuleLogicalOperator operator;
     private final List<DQRule> nestedRules;
     private final String whereClause;
-    private final Labels labels;
+    private Labels labels;
     private Boolean isExcludedAtRowLevelInCompositeRules = false;
     private Map<String, Tag> tags;
 
+    // Computed on first use. Not constructor parameters, so that rules created with toBuilder compute their own.
+    private transient DQFingerprint fingerprint;
+    @Getter(AccessLevel.NONE)
+    private transient int hash;
+    // Set on the rules of rulesets handed out to several callers, whose labels setLabels must not change.
+    @Getter(AccessLevel.NONE)
+    private transient boolean shared;
+
+    @SuppressWarnings("checkstyle:parameternumber")
+    @Builder(toBuilder = true, access = AccessLevel.PRIVATE)
+    public DQRule(final String ruleType,
+                  final Map<String, String> parameters,
+                  final Map<String, DQRuleParameterValue> parameterValueMap,
+                  final Condition condition,
+                  final Condition thresholdCondition,
+                  final DQRuleLogicalOperator operator,
+                  final List<DQRule> nestedRules,
+                  final String whereClause,
+                  final Labels labels,
+                  final Boolean isExcludedAtRowLevelInCompositeRules,
+                  final Map<String, Tag> tags) {
+        this.ruleType = ruleType;
+        this.parameters = unmodifiableCopy(parameters);
+        this.parameterValueMap = unmodifiableCopy(parameterValueMap);
+        this.condition = condition;
+        this.thresholdCondition = thresholdCondition;
+        this.operator = operator;
+        this.nestedRules = unmodifiableCopy(nestedRules);
+        this.whereClause = whereClause;
+        this.labels = Labels.unmodifiableLabels(labels);
+        this.isExcludedAtRowLevelInCompositeRules = isExcludedAtRowLevelInCompositeRules;
+        this.tags = unmodifiableCopy(tags);
+    }
+
     // Adding this constructor so as to not break the Data Quality ETL package.
     @SuppressWarnings("checkstyle:parameternumber")
     public DQRule(final String ruleType,
@@ -58,14 +94,14 @@ public class DQRule implements Serializable, HasRuleTypeAndParameters {
                   final String whereClause,
                   final Labels labels) {
         this.ruleType = ruleType;
-        this.parameters = parameters;
-        this.parameterValueMap = DQRuleParameterValue.createParameterValueMap(parameters);
+        this.parameters = unmodifiableCopy(parameters);
+        this.parameterValueMap = unmodifiableCopy(DQRuleParameterValue.createParameterValueMap(parameters));
         this.condition = condition;
         this.thresholdCondition = thresholdCondition;
         this.operator = operator;
-        this.nestedRules = nestedRules;
+        this.nestedRules = unmodifiableCopy(nestedRules);
         this.whereClause = whereClause;
-        this.labels = labels;
+        this.labels = Labels.unmodifiableLabels(labels);
     }
 
     public DQRule(final String ruleType,
@@ -76,12 +112,12 @@ public class DQRule implements Serializable, HasRuleTypeAndParameters {
                   final List<DQRule> nestedRules,
                   final String whereClause) {
         this.ruleType = ruleType;
-        this.parameters = parameters;
-        this.parameterValueMap = DQRuleParameterValue.createParameterValueMap(parameters);
+        this.parameters = unmodifiableCopy(parameters);
+        this.parameterValueMap = unmodifiableCopy(DQRuleParameterValue.createParameterValueMap(parameters));
         this.condition = condition;
         this.thresholdCondition = thresholdCondition;
         this.operator = operator;
-        this.nestedRules = nestedRules;
+        this.nestedRules = unmodifiableCopy(nestedRules);
         this.whereClause = whereClause;
         this.labels = null;
     }
@@ -93,12 +129,12 @@ public class DQRule implements Serializable, HasRuleTypeAndParameters {
                   final DQRuleLogicalOperator operator,
                   final List<DQRule> nestedRules) {
         this.ruleType = ruleType;
-        this.parameters = parameters;
-        this.parameterValueMap = DQRuleParameterValue.createParameterValueMap(parameters);
+        this.parameters = unmodifiableCopy(parameters);
+        this.parameterValueMap = unmodifiableCopy(DQRuleParameterValue.createParameterValueMap(parameters));
         this.condition = condition;
         this.thresholdCondition = thresholdCondition;
         this.operator = operator;
-        this.nestedRules = nestedRules;
+        this.nestedRules = unmodifiableCopy(nestedRules);
         this.whereClause = null;
         this.labels = null;
     }
@@ -107,12 +143,12 @@ public class DQRule implements Serializable, HasRuleTypeAndParameters {
                   final Map<String, String> parameters,
                   final Condition condition) {
         this.ruleType = ruleType;
-        this.parameters = parameters;
-        this.parameterValueMap = DQRuleParameterValue.createParameterValueMap(parameters);
+        this.parameters = unmodifiableCopy(parameters);
+        this.parameterValueMap = unmodifiableCopy(DQRuleParameterValue.createParameterValueMap(parameters));
         this.condition = condition;
         this.thresholdCondition = null;
         this.operator = DQRuleLogicalOperator.AND;
-        this.nestedRules = new ArrayList<>();
+        this.nestedRules = Collections.emptyList();
         this.whereClause = null;
         this.labels = null;
     }
@@ -129,13 +165,13 @@ public class DQRule implements Serializable, HasRuleTypeAndParameters {
                   final Condition condition,
                   final Condition thresholdCondition) {
         this.ruleType = ruleType;
-        this.parameters = parameters;
-        this.parameterValueMap = DQRuleParameterValue.createParameterValueMap(parameters);
+        this.parameters = unmodifiableCopy(parameters);
+        this.parameterValueMap = unmodifiableCopy(DQRuleParameterValue.createParameterValueMap(parameters));
         this.condition = condition;
         this.thresholdCondition = thresholdCondition;
         this.labels = null;
         this.operator = DQRuleLogicalOperator.AND;
-        this.nestedRules = new ArrayList<>();
+        this.nestedRules = Collections.emptyList();
         this.whereClause = null;
     }
 
@@ -173,115 +209,441 @@ public class DQRule implements Serializable, HasRuleTypeAndParameters {
         return this.toBuilder().condition(condition).build();
     }
 
+    /*
+     * Rules cannot be modified once built: their collections are copied when they are built, and the copies cannot
+     * be modified. This is what lets them cache their hash code, fingerprint and string form, and be shared.
+     * Empty collections are not copied.
+     */
+    private static <K, V> Map<K, V> unmodifiableCopy(Map<K, V> map) {
+        if (map == null) {
+            return null;
+        }
+        return map.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(new LinkedHashMap<>(map));
+    }
+
+    private static <T> List<T> unmodifiableCopy(List<T> list) {
+        if (list == null) {
+            return null;
+        }
+        return list.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    /*
+     * The labels and tags as stored in the rule. getLabels and getTags return them as string maps.
+     */
+    public Labels getRawLabels() {
+        return labels;
+    }
+
+    public Map<String, Tag> getRawTags() {
+        return tags;
+    }
+
     public Map<String, String> getTags() {
         return convertToStringMap(tags);
     }
 
+    /*
+     * The ruleset default labels merged with the rule labels, as a new map that the caller may change.
+     */
     public Map<String, String> getLabels() {
         return labels == null ? null : convertToStringMap(labels);
     }
 
+    /*
+     * Same as getLabels, without copying them: an unmodifiable map, built once per rule.
+     */
+    public Map<String, String> getUnmodifiableLabels() {
+        return labels == null ? null : Labels.unmodifiableStringMap(labels);
+    }
+
+    /*
+     * The value of one label, looked up without building the merged labels.
+     */
+    public String getLabel(String key) {
+        return labels == null ? null : labels.getLabel(key);
+    }
+
+    /*
+     * Replaces the rule labels, keeping the ruleset default labels. Use withLabels, which returns a copy, instead:
+     * this resets the cached hash code and fingerprint of this rule, but not those of the rules containing it,
+     * and a rule whose hash code changes is lost in the maps and sets it is in.
+     * Rules of rulesets shared between callers, such as the ones served by DQDLParseCache, cannot be changed.
+     */
+    @Deprecated
     public void setLabels(Map<String, String> newLabels) {
-        labels.setRuleLabels(newLabels);
+        if (shared) {
+            throw new UnsupportedOperationException("Rules of a shared ruleset cannot be modified");
+        }
+        labels = Labels.unmodifiableLabels(new Labels(
+            labels == null ? new HashMap<>() : labels.getRulesetDefaultLabels(),
+            newLabels == null ? new HashMap<>() : newLabels));
+        fingerprint = null;
+        hash = 0;
+    }
+
+    /*
+     * Makes setLabels throw for this rule and the rules nested in it.
+     */
+    void markShared() {
+        for (DQRule rule : getRulesInPostOrder()) {
+            rule.shared = true;
+        }
+    }
+
+    /*
+     * A copy of this rule with the given rule labels, and the same ruleset default labels.
+     */
+    public DQRule withLabels(final Map<String, String> ruleLabels) {
+        Labels newLabels = new Labels(
+            labels == null ? new HashMap<>() : labels.getRulesetDefaultLabels(),
+            ruleLabels == null ? new HashMap<>() : new HashMap<>(ruleLabels));
+        return this.toBuilder().labels(newLabels).build();
+    }
+
+    /*
+     * A fingerprint of what this rule checks: its rule type, parameters, conditions, where clause, labels, tags,
+     * and the fingerprints of its nested rules in order. Two rules that differ only in the order of the values of
+     * an "in" condition, or in the order of their labels, parameters or tags, have the same fingerprint.
+     *
+     * It is computed once, with the fingerprints of the nested rules, and cached.
+     */
+    public DQFingerprint getFingerprint() {
+        DQFingerprint result = fingerprint;
+        if (result == null) {
+            // Nested rules are fingerprinted before the rules that contain them.
+            for (DQRule rule : getRulesInPostOrder(r -> r.fingerprint != null)) {
+                rule.fingerprint = rule.computeFingerprint();
+            }
+            result = fingerprint;
+        }
+        return result;
+    }
+
+    /*
+     * The datasets and columns this rule reads, with those of its nested rules.
+     */
+    public DQRuleDependencies getDependencies() {
+        return DQRuleDependencyExtractor.extract(this);
+    }
+
+    private DQFingerprint computeFingerprint() {
+        DQFingerprintBuilder builder = new DQFingerprintBuilder()
+            .putString(ruleType)
+            .putSortedMap(parameters)
+            .putString(condition == null ? null : condition.getSortedFormattedCondition())
+            .putString(thresholdCondition == null ? null : thresholdCondition.getSortedFormattedCondition())
+            .putString(whereClause)
+            .putSortedMap(getUnmodifiableLabels())
+            .putSortedMap(getTags())
+            .putString(String.valueOf(isExcludedAtRowLevelInCompositeRules));
+
+        if (isLeaf()) {
+            return builder.putInt(0).build();
+        }
+        builder.putInt(nestedRules.size()).putString(operator == null ? null : operator.name());
+        for (DQRule nestedRule : nestedRules) {
+            builder.putFingerprint(nestedRule == null ? null : nestedRule.fingerprint);
+        }
+        return builder.build();
     }
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
+        if (isLeaf()) {
+            return leafToString();
+        }
 
-        if (nestedRules == null || nestedRules.isEmpty()) {
-            sb.append(ruleType);
+        // Rendered with an explicit stack, as composite rules can be nested thousands of levels deep.
+        Map<DQRule, Boolean> usesSameOperator = getCompositesUsingSameOperator();
+        StringBuilder sb = new StringBuilder();
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(this);
+
+        while (!pending.isEmpty()) {
+            Object next = pending.pop();
+            if (next instanceof String) {
+                sb.append((String) next);
+                continue;
+            }
 
-            if (parameterValueMap != null) {
-                parameterValueMap.values().forEach(p -> sb.append(" ").append(p.toString()));
+            DQRule rule = (DQRule) next;
+            if (rule.isLeaf()) {
+                sb.append(rule.leafToString());
+                continue;
             }
 
-            if (condition != null) {
-                String formattedCondition = condition.getFormattedCondition();
-                if (!isBlank(formattedCondition)) sb.append(" ").append(condition.getFormattedCondition());
+            List<DQRule> operands = usesSameOperator.get(rule)
+                ? rule.getNestedRulesAsFlattenedList()
+                : rule.nestedRules;
+            String separator = ") " + rule.operator.toString() + " (";
+            pending.push(")");
+            for (int i = operands.size() - 1; i >= 0; i--) {
+                pending.push(operands.get(i));
+                if (i > 0) {
+                    pending.push(separator);
+                }
             }
+            pending.push("(");
+        }
+
+        return sb.toString();
+    }
+
+    private String leafToString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(ruleType);
+
+        if (parameterValueMap != null) {
+            parameterValueMap.values().forEach(p -> sb.append(" ").append(p.toString()));
+        }
+
+        if (condition != null) {
+            String formattedCondition = condition.getFormattedCondition();
+            if (!isBlank(formattedCondition)) sb.append(" ").append(condition.getFormattedCondition());
+        }
+
+        // where clause syntax should go before threshold
+        if (whereClause != null) {
+            if (!isBlank(whereClause)) sb.append(" where ").append("\"").append(whereClause).append("\"");
+        }
 
-            // where clause syntax should go before threshold
-            if (whereClause != null) {
-                if (!isBlank(whereClause)) sb.append(" where ").append("\"").append(whereClause).append("\"");
+        if (thresholdCondition != null) {
+            String formattedCondition = thresholdCondition.getFormattedCondition();
+            if (!isBlank(formattedCondition)) sb.append(" with threshold ").append(formattedCondition);
+        }
+
+        if (tags != null) {
+            for (Map.Entry<String, Tag> entry : tags.entrySet()) {
+                sb.append(entry.getValue());
             }
+        }
+
+        if (labels != null && !labels.getRuleLabels().isEmpty()) {
+            sb.append(" labels=[");
+
+            labels.getRuleLabels().forEach((key, value) ->
+                    sb.append(String.format("\"%s\"", key)).append("=")
+                            .append(String.format("\"%s\"", value)).append(", "));
+            sb.setLength(sb.length() - 2);
+            sb.append("]");
+        }
+
+        return sb.toString().trim();
+    }
+
+    boolean isLeaf() {
+        return nestedRules == null || nestedRules.isEmpty();
+    }
 
-            if (thresholdCondition != null) {
-                String formattedCondition = thresholdCondition.getFormattedCondition();
-                if (!isBlank(formattedCondition)) sb.append(" with threshold ").append(formattedCondition);
+    /*
+     * For every composite rule in this tree, whether the same operator is used across all its nested rules.
+     * Example: (RuleA) or (RuleB) or (RuleC) / (RuleA) and (RuleB) and (RuleC)
+     *
+     * If that is the case, in order to maintain backwards compatibility, toString() flattens the nested rules,
+     * so that we do not add additional parentheses.
+     */
+    private Map<DQRule, Boolean> getCompositesUsingSameOperator() {
+        Map<DQRule, Boolean> usesSameOperator = new IdentityHashMap<>();
+        for (DQRule rule : getRulesInPostOrder()) {
+            if (rule.isLeaf()) {
+                continue;
             }
 
-            if (tags != null) {
-                for (Map.Entry<String, Tag> entry : tags.entrySet()) {
-                    sb.append(entry.getValue());
+            boolean same = true;
+            for (DQRule nestedRule : rule.nestedRules) {
+                if (!nestedRule.isLeaf()
+                    && (nestedRule.operator != rule.operator || !usesSameOperator.get(nestedRule))) {
+                    same = false;
+                    break;
                 }
             }
+            usesSameOperator.put(rule, same);
+        }
+        return usesSameOperator;
+    }
 
-            if (labels != null && !labels.getRuleLabels().isEmpty()) {
-                sb.append(" labels=[");
+    public List<DQRule> getNestedRulesAsFlattenedList() {
+        List<DQRule> ret = new ArrayList<>();
+        Deque<DQRule> pending = new ArrayDeque<>();
+        pending.push(this);
 
-                labels.getRuleLabels().forEach((key, value) ->
-                        sb.append(String.format("\"%s\"", key)).append("=")
-                                .append(String.format("\"%s\"", value)).append(", "));
-                sb.setLength(sb.length() - 2);
-                sb.append("]");
+        while (!pending.isEmpty()) {
+            DQRule rule = pending.pop();
+            if (rule.isLeaf()) {
+                ret.add(rule);
+            } else {
+                for (int i = rule.nestedRules.size() - 1; i >= 0; i--) {
+                    pending.push(rule.nestedRules.get(i));
+                }
             }
+        }
+        return ret;
+    }
 
-            return sb.toString().trim();
-        } else {
-            boolean canBeFlattened = usesSameOperator(operator);
-
-            if (canBeFlattened) {
-                List<DQRule> flattenedListOfRules = getNestedRulesAsFlattenedList();
-                for (int i = 0; i < flattenedListOfRules.size(); i++) {
-                    sb.append("(").append(flattenedListOfRules.get(i).toString()).append(")");
-                    if (i != flattenedListOfRules.size() - 1) {
-                        sb.append(" ").append(operator.toString()).append(" ");
-                    }
+    /*
+     * Every distinct rule in this tree, each one after all of its nested rules.
+     */
+    List<DQRule> getRulesInPostOrder() {
+        return getRulesInPostOrder(rule -> false);
+    }
+
+    /*
+     * Same as getRulesInPostOrder, without the rules for which skip is true and the rules nested in them.
+     */
+    private List<DQRule> getRulesInPostOrder(Predicate<DQRule> skip) {
+        List<DQRule> ret = new ArrayList<>();
+        if (skip.test(this)) {
+            return ret;
+        }
+
+        Map<DQRule, Boolean> visited = new IdentityHashMap<>();
+        Deque<DQRule> pending = new ArrayDeque<>();
+        pending.push(this);
+
+        while (!pending.isEmpty()) {
+            DQRule rule = pending.peek();
+            if (visited.containsKey(rule)) {
+                pending.pop();
+                if (!visited.put(rule, true)) {
+                    ret.add(rule);
                 }
-            } else {
-                for (int i = 0; i < nestedRules.size(); i++) {
-                    sb.append("(").append(nestedRules.get(i).toString()).append(")");
-                    if (i != nestedRules.size() - 1) {
-                        sb.append(" ").append(operator.toString()).append(" ");
+                continue;
+            }
+
+            visited.put(rule, false);
+            if (rule.nestedRules != null) {
+                for (int i = rule.nestedRules.size() - 1; i >= 0; i--) {
+                    DQRule nestedRule = rule.nestedRules.get(i);
+                    if (nestedRule != null && !visited.containsKey(nestedRule) && !skip.test(nestedRule)) {
+                        pending.push(nestedRule);
                     }
                 }
             }
         }
-
-        return sb.toString();
+        return ret;
     }
 
     /*
-     * This function checks if the same operator is used across all the nested rules.
-     * Example: (RuleA) or (RuleB) or (RuleC) / (RuleA) and (RuleB) and (RuleC)
-     *
-     * If that is the case, in order to maintain backwards compatibility, we will update
-     * toString() method so that we do not add additional parentheses.
+     * Same fields and semantics as the equals and hashCode Lombok generated before,
+     * but the nested rules are compared with an explicit stack instead of recursion.
      */
-    private boolean usesSameOperator(DQRuleLogicalOperator op) {
-        if (nestedRules.isEmpty()) return true;
-        if (operator != op) return false;
-
-        for (DQRule nestedRule : nestedRules) {
-            if (!nestedRule.usesSameOperator(op)) {
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (!(o instanceof DQRule)) return false;
+
+        Deque<DQRule> pending = new ArrayDeque<>();
+        pending.push(this);
+        pending.push((DQRule) o);
+
+        while (!pending.isEmpty()) {
+            DQRule other = pending.pop();
+            DQRule rule = pending.pop();
+            if (rule == other) {
+                continue;
+            }
+            if (rule.hash != 0 && other.hash != 0 && rule.hash != other.hash) {
+                return false;
+            }
+            if (!other.canEqual(rule) || !rule.equalsIgnoringNestedRules(other)) {
                 return false;
             }
-        }
 
+            if (rule.getNestedRules() == null || other.getNestedRules() == null) {
+                if (rule.getNestedRules() != other.getNestedRules()) return false;
+                continue;
+            }
+            if (rule.getNestedRules().size() != other.getNestedRules().size()) return false;
+
+            for (int i = 0; i < rule.getNestedRules().size(); i++) {
+                DQRule nestedRule = rule.getNestedRules().get(i);
+                DQRule otherNestedRule = other.getNestedRules().get(i);
+                if (nestedRule == null || otherNestedRule == null) {
+                    if (nestedRule != otherNestedRule) return false;
+                    continue;
+                }
+                pending.push(nestedRule);
+                pending.push(otherNestedRule);
+            }
+        }
         return true;
     }
 
-    public List<DQRule> getNestedRulesAsFlattenedList() {
-        List<DQRule> ret = new ArrayList<>();
-        if (nestedRules.isEmpty()) {
-            ret.add(this);
+    private boolean equalsIgnoringNestedRules(DQRule other) {
+        return Objects.equals(getIsExcludedAtRowLevelInCompositeRules(),
+                other.getIsExcludedAtRowLevelInCompositeRules())
+            && Objects.equals(getRuleType(), other.getRuleType())
+            && Objects.equals(getParameters(), other.getParameters())
+            && Objects.equals(getParameterValueMap(), other.getParameterValueMap())
+            && Objects.equals(getCondition(), other.getCondition())
+            && Objects.equals(getThresholdCondition(), other.getThresholdCondition())
+            && Objects.equals(getOperator(), other.getOperator())
+            && Objects.equals(getWhereClause(), other.getWhereClause())
+            && Objects.equals(getUnmodifiableLabels(), other.getUnmodifiableLabels())
+            && Objects.equals(getTags(), other.getTags());
+    }
+
+    protected boolean canEqual(Object other) {
+        return other instanceof DQRule;
+    }
+
+    /*
+     * Computed once and cached, like the hash code of a String. A hash code of zero is computed again on every call.
+     */
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            // Nested rules are hashed before the rules that contain them, and keep their hash code.
+            for (DQRule rule : getRulesInPostOrder(r -> r.hash != 0)) {
+                rule.hash = rule.computeHashCode();
+            }
+            result = hash;
+        }
+        return result;
+    }
+
+    private int computeHashCode() {
+        final int prime = 59;
+        int result = 1;
+        result = result * prime + hashCodeOf(getIsExcludedAtRowLevelInCompositeRules());
+        result = result * prime + hashCodeOf(getRuleType());
+        result = result * prime + hashCodeOf(getParameters());
+        result = result * prime + hashCodeOf(getParameterValueMap());
+        result = result * prime + hashCodeOf(getCondition());
+        result = result * prime + hashCodeOf(getThresholdCondition());
+        result = result * prime + hashCodeOf(getOperator());
+
+        if (getNestedRules() == null) {
+            result = result * prime + hashCodeOf(null);
         } else {
-            for (DQRule nestedRule: nestedRules) {
-                List<DQRule> nestedRet = nestedRule.getNestedRulesAsFlattenedList();
-                ret.addAll(nestedRet);
+            // Same as List.hashCode()
+            int nestedRulesHashCode = 1;
+            for (DQRule nestedRule : getNestedRules()) {
+                nestedRulesHashCode = 31 * nestedRulesHashCode
+                    + (nestedRule == null ? 0 : nestedRule.hash);
             }
+            result = result * prime + nestedRulesHashCode;
         }
-        return ret;
+
+        result = result * prime + hashCodeOf(getWhereClause());
+        result = result * prime + hashCodeOf(getUnmodifiableLabels());
+        result = result * prime + hashCodeOf(getTags());
+        return result;
+    }
+
+    private static int hashCodeOf(Object value) {
+        return value == null ? 43 : value.hashCode();
+    }
+
+    /*
+     * Rules are serialized in the compact form of the DQSerializationCodec on the class path, such as the binary
+     * format of the codec package, with the rules nested in them, rather than field by field. A rule that the codec
+     * cannot encode, such as one holding conditions of types defined elsewhere, falls back to the default
+     * serialization.
+     */
+    private Object writeReplace() {
+        return DQSerialization.writeReplace(this);
     }
 }
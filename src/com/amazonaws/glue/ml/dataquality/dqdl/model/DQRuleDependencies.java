@@ -0,0 +1,119 @@
+/*
+ * DQRuleDependencies.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+ * The datasets and columns a rule, analyzer or ruleset reads, as returned by their getDependencies methods,
+ * so that readers can skip every other column. The primary dataset is named PRIMARY_DATASET, and other datasets
+ * by the alias they are referenced with, as in ReferenceDatasetAlias or "reference.colA".
+ *
+ * Some dependencies cannot be known without running the rule: a where clause or a CustomSql statement can read
+ * any column, and some rule types, such as ColumnCount or SchemaMatch, look at every column. The dependencies
+ * found are then incomplete, isStaticallyDetermined returns false and getUndeterminedReasons says why.
+ */
+@EqualsAndHashCode
+public final class DQRuleDependencies {
+    public static final String PRIMARY_DATASET = "primary";
+
+    private final Map<String, Set<String>> columnsByDataset;
+    private final List<String> undeterminedReasons;
+
+    private DQRuleDependencies(Map<String, Set<String>> columnsByDataset, List<String> undeterminedReasons) {
+        this.columnsByDataset = columnsByDataset;
+        this.undeterminedReasons = undeterminedReasons;
+    }
+
+    /*
+     * The datasets read, in the order they are first referenced.
+     */
+    public Set<String> getDatasets() {
+        return columnsByDataset.keySet();
+    }
+
+    /*
+     * The columns read from the given dataset. A dataset can be read without any of its columns, by RowCount.
+     */
+    public Set<String> getColumns(String dataset) {
+        return columnsByDataset.getOrDefault(dataset, Collections.emptySet());
+    }
+
+    public Map<String, Set<String>> getColumnsByDataset() {
+        return columnsByDataset;
+    }
+
+    public boolean isStaticallyDetermined() {
+        return undeterminedReasons.isEmpty();
+    }
+
+    public List<String> getUndeterminedReasons() {
+        return undeterminedReasons;
+    }
+
+    @Override
+    public String toString() {
+        String columns = columnsByDataset.entrySet().stream()
+            .map(e -> e.getKey() + e.getValue().stream()
+                .map(column -> "\"" + column + "\"")
+                .collect(Collectors.joining(", ", "[", "]")))
+            .collect(Collectors.joining(", "));
+        return undeterminedReasons.isEmpty()
+            ? columns
+            : columns + " (undetermined: " + String.join(", ", undeterminedReasons) + ")";
+    }
+
+    static final class Builder {
+        private final Map<String, Set<String>> columnsByDataset = new LinkedHashMap<>();
+        private final Set<String> undeterminedReasons = new LinkedHashSet<>();
+
+        Builder dataset(String dataset) {
+            columnsByDataset.computeIfAbsent(dataset, d -> new LinkedHashSet<>());
+            return this;
+        }
+
+        Builder column(String dataset, String column) {
+            columnsByDataset.computeIfAbsent(dataset, d -> new LinkedHashSet<>()).add(column);
+            return this;
+        }
+
+        Builder undetermined(String reason) {
+            undeterminedReasons.add(reason);
+            return this;
+        }
+
+        Builder add(DQRuleDependencies dependencies) {
+            dependencies.columnsByDataset.forEach((dataset, columns) -> {
+                dataset(dataset);
+                columns.forEach(column -> column(dataset, column));
+            });
+            undeterminedReasons.addAll(dependencies.undeterminedReasons);
+            return this;
+        }
+
+        DQRuleDependencies build() {
+            Map<String, Set<String>> columns = new LinkedHashMap<>();
+            columnsByDataset.forEach((dataset, datasetColumns) ->
+                columns.put(dataset, Collections.unmodifiableSet(new LinkedHashSet<>(datasetColumns))));
+            return new DQRuleDependencies(Collections.unmodifiableMap(columns),
+                Collections.unmodifiableList(new ArrayList<>(undeterminedReasons)));
+        }
+    }
+}
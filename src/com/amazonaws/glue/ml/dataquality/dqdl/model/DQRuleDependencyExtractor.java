@@ -0,0 +1,223 @@
+/*
+ * DQRuleDependencyExtractor.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterConstantValue;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterValue;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterVariableValue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleDependencies.PRIMARY_DATASET;
+
+/*
+ * Finds the dependencies of rules and analyzers from the names of their parameters, as declared in
+ * rules-config.json: TargetColumn, TargetColumn1 to N, ReferenceDatasetAlias and the column lists and mappings
+ * of ReferentialIntegrity, DatasetMatch and AggregateMatch. Parameters it does not know are reported as
+ * undetermined rather than ignored, so that rule types registered later are never pruned by mistake.
+ */
+final class DQRuleDependencyExtractor {
+    private static final Pattern TARGET_COLUMN = Pattern.compile("TargetColumn\\d*");
+    private static final Pattern AGGREGATE_EXPRESSION = Pattern.compile("AggregateExpression\\d*");
+
+    // An aggregate function of a column, such as sum(colA) or avg(reference.colA).
+    private static final Pattern AGGREGATE = Pattern.compile("\\s*\\w+\\s*\\(\\s*(.*?)\\s*\\)\\s*");
+
+    // The columns of a dataset, such as reference.colA or reference.{colA,colB}.
+    private static final Pattern QUALIFIED_COLUMNS = Pattern.compile("([^.{}]+)\\.(?:\\{(.*)}|(.+))");
+
+    private static final String ALL_COLUMNS = "AllColumns";
+    private static final String FILE_SCOPE = "file";
+
+    // Rule types that look at the names or schema of every column of the datasets they read.
+    private static final Set<String> ALL_COLUMNS_RULE_TYPES = Collections.unmodifiableSet(new HashSet<>(
+        Arrays.asList("ColumnCount", "ColumnNamesMatchPattern", "SchemaMatch")));
+
+    private DQRuleDependencyExtractor() {
+    }
+
+    static DQRuleDependencies extract(DQRuleset ruleset) {
+        DQRuleDependencies.Builder builder = new DQRuleDependencies.Builder();
+        if (ruleset.getRules() != null) {
+            ruleset.getRules().forEach(rule -> builder.add(extract(rule)));
+        }
+        if (ruleset.getAnalyzers() != null) {
+            ruleset.getAnalyzers().forEach(analyzer -> builder.add(extract(analyzer)));
+        }
+        return builder.build();
+    }
+
+    static DQRuleDependencies extract(DQRule rule) {
+        DQRuleDependencies.Builder builder = new DQRuleDependencies.Builder();
+        if (rule == null) {
+            return builder.build();
+        }
+        // A composite rule reads what its nested rules read, whatever the operator.
+        for (DQRule leaf : rule.getNestedRulesAsFlattenedList()) {
+            extract(builder, leaf.getRuleType(), leaf.getParameterValueMap(), leaf.getWhereClause());
+        }
+        return builder.build();
+    }
+
+    static DQRuleDependencies extract(DQAnalyzer analyzer) {
+        DQRuleDependencies.Builder builder = new DQRuleDependencies.Builder();
+        if (analyzer != null) {
+            extract(builder, analyzer.getRuleType(), analyzer.getParameterValueMap(), null);
+        }
+        return builder.build();
+    }
+
+    private static void extract(DQRuleDependencies.Builder builder,
+                                String ruleType,
+                                Map<String, DQRuleParameterValue> parameters,
+                                String whereClause) {
+        Map<String, DQRuleParameterValue> parameterValues = parameters == null ? Collections.emptyMap() : parameters;
+
+        Optional<DQRuleType> type = DQRuleType.getRuleType(ruleType, parameterValues.size());
+        if (!type.isPresent()) {
+            builder.undetermined("unknown rule type " + ruleType);
+        } else if (FILE_SCOPE.equals(type.get().getScope())) {
+            // File rules look at files, not at the rows of a dataset.
+            return;
+        }
+
+        builder.dataset(PRIMARY_DATASET);
+        String referenceDataset = constantValue(parameterValues.get("ReferenceDatasetAlias"));
+
+        for (Map.Entry<String, DQRuleParameterValue> parameter : parameterValues.entrySet()) {
+            String name = parameter.getKey();
+            if (parameter.getValue() instanceof DQRuleParameterVariableValue) {
+                builder.undetermined(String.format("%s parameter %s is the variable $%s", ruleType, name,
+                    ((DQRuleParameterVariableValue) parameter.getValue()).getUnresolvedValue()));
+                continue;
+            }
+            String value = constantValue(parameter.getValue());
+
+            if (TARGET_COLUMN.matcher(name).matches()) {
+                if ("AllStatistics".equals(ruleType) && ALL_COLUMNS.equals(value)) {
+                    builder.undetermined(ruleType + " of " + ALL_COLUMNS);
+                } else {
+                    builder.column(PRIMARY_DATASET, value);
+                }
+            } else if (AGGREGATE_EXPRESSION.matcher(name).matches()) {
+                addAggregateExpression(builder, ruleType, value);
+            } else {
+                switch (name) {
+                    case "ReferenceDatasetAlias":
+                        builder.dataset(value);
+                        break;
+                    case "PrimaryDatasetColumns":
+                        addColumns(builder, PRIMARY_DATASET, value);
+                        break;
+                    case "ReferenceDatasetColumns":
+                        addQualifiedColumns(builder, ruleType, value);
+                        break;
+                    case "KeyColumnMappings":
+                    case "MatchColumnMappings":
+                        addColumnMappings(builder, referenceDataset, value);
+                        break;
+                    case "CustomSqlStatement":
+                        builder.undetermined(ruleType + " statement");
+                        break;
+                    case "PatternToMatch":
+                    case "DataPath":
+                    case "CompareDataPath":
+                        break;
+                    default:
+                        builder.undetermined(String.format("%s parameter %s", ruleType, name));
+                }
+            }
+        }
+
+        if (ALL_COLUMNS_RULE_TYPES.contains(ruleType)) {
+            builder.undetermined(ruleType + " reads every column");
+        }
+        if ("DatasetMatch".equals(ruleType) && !parameterValues.containsKey("MatchColumnMappings")) {
+            builder.undetermined(ruleType + " without match columns compares every column");
+        }
+        if (whereClause != null) {
+            builder.undetermined(String.format("%s where clause \"%s\"", ruleType, whereClause));
+        }
+    }
+
+    private static String constantValue(DQRuleParameterValue value) {
+        return value instanceof DQRuleParameterConstantValue ? ((DQRuleParameterConstantValue) value).getValue() : null;
+    }
+
+    /*
+     * A comma separated list of columns, such as "colA,colB".
+     */
+    private static void addColumns(DQRuleDependencies.Builder builder, String dataset, String columns) {
+        for (String column : columns.split(",")) {
+            builder.column(dataset, column.trim());
+        }
+    }
+
+    /*
+     * Columns of a dataset, such as "reference.colA" or "reference.{colA,colB}".
+     */
+    private static void addQualifiedColumns(DQRuleDependencies.Builder builder, String ruleType, String value) {
+        Matcher matcher = QUALIFIED_COLUMNS.matcher(value.trim());
+        if (!matcher.matches()) {
+            builder.undetermined(String.format("%s columns \"%s\"", ruleType, value));
+            return;
+        }
+        String dataset = matcher.group(1).trim();
+        builder.dataset(dataset);
+        addColumns(builder, dataset, matcher.group(2) != null ? matcher.group(2) : matcher.group(3));
+    }
+
+    /*
+     * Pairs of primary and reference columns, such as "ID1->ID11,ID2->ID22". A column without a mapping has the
+     * same name in both datasets.
+     */
+    private static void addColumnMappings(DQRuleDependencies.Builder builder, String referenceDataset,
+                                          String mappings) {
+        for (String mapping : mappings.split(",")) {
+            int arrow = mapping.indexOf("->");
+            String primaryColumn = (arrow < 0 ? mapping : mapping.substring(0, arrow)).trim();
+            String referenceColumn = (arrow < 0 ? mapping : mapping.substring(arrow + 2)).trim();
+            builder.column(PRIMARY_DATASET, primaryColumn);
+            if (referenceDataset != null) {
+                builder.column(referenceDataset, referenceColumn);
+            }
+        }
+    }
+
+    /*
+     * An aggregate of a column of the primary dataset, such as "sum(colA)", or of another dataset, such as
+     * "sum(reference.colA)". count(*) reads no column.
+     */
+    private static void addAggregateExpression(DQRuleDependencies.Builder builder, String ruleType, String value) {
+        Matcher matcher = AGGREGATE.matcher(value);
+        if (!matcher.matches() || matcher.group(1).isEmpty()) {
+            builder.undetermined(String.format("%s expression \"%s\"", ruleType, value));
+            return;
+        }
+        String argument = matcher.group(1);
+        if ("*".equals(argument)) {
+            return;
+        }
+        Matcher qualified = QUALIFIED_COLUMNS.matcher(argument);
+        if (qualified.matches() && qualified.group(3) != null) {
+            builder.column(qualified.group(1).trim(), qualified.group(3).trim());
+        } else {
+            builder.column(PRIMARY_DATASET, argument);
+        }
+    }
+}
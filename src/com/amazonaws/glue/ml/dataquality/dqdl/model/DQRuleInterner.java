@@ -0,0 +1,127 @@
+/*
+ * DQRuleInterner.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.Condition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string.Tag;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * Replaces equal rules and conditions with a single shared instance, so that a rule that appears several times
+ * in a ruleset, on its own or nested in composite rules, is held and hashed once. Since hash codes are cached,
+ * comparing shared rules, or composite rules made of shared rules, is then cheap.
+ *
+ * Rules are only shared when they also print the same, that is when their rule labels and tags were written
+ * the same way. The rules given are not changed: a composite rule whose nested rules or conditions are replaced
+ * is copied. An interner can be used for several rulesets, which then share their rules. It is not thread safe.
+ */
+public final class DQRuleInterner {
+    private final Map<DQRule, DQRule> rules = new HashMap<>();
+    private final Map<Condition, Condition> conditions = new HashMap<>();
+
+    public DQRuleset intern(DQRuleset ruleset) {
+        if (ruleset.getRules() == null) {
+            return ruleset;
+        }
+
+        List<DQRule> internedRules = new ArrayList<>(ruleset.getRules().size());
+        for (DQRule rule : ruleset.getRules()) {
+            internedRules.add(intern(rule));
+        }
+        return new DQRuleset(ruleset.getMetadata(), ruleset.getPrimarySourceName(),
+            ruleset.getAdditionalDataSourcesNames(), ruleset.getDefaultLabels(), internedRules, ruleset.getAnalyzers());
+    }
+
+    public DQRule intern(DQRule rule) {
+        if (rule == null) {
+            return null;
+        }
+
+        // Nested rules are interned before the rules that contain them.
+        Map<DQRule, DQRule> interned = new IdentityHashMap<>();
+        for (DQRule next : rule.getRulesInPostOrder()) {
+            interned.put(next, internWithNestedRulesInterned(next, interned));
+        }
+        return interned.get(rule);
+    }
+
+    public Condition intern(Condition condition) {
+        if (condition == null) {
+            return null;
+        }
+        Condition existing = conditions.putIfAbsent(condition, condition);
+        return existing == null ? condition : existing;
+    }
+
+    private DQRule internWithNestedRulesInterned(DQRule rule, Map<DQRule, DQRule> interned) {
+        boolean changed = false;
+
+        List<DQRule> nestedRules = rule.getNestedRules();
+        if (nestedRules != null) {
+            List<DQRule> internedNestedRules = new ArrayList<>(nestedRules.size());
+            for (DQRule nestedRule : nestedRules) {
+                DQRule internedNestedRule = nestedRule == null ? null : interned.get(nestedRule);
+                changed |= internedNestedRule != nestedRule;
+                internedNestedRules.add(internedNestedRule);
+            }
+            if (changed) {
+                nestedRules = internedNestedRules;
+            }
+        }
+
+        Condition condition = intern(rule.getCondition());
+        Condition thresholdCondition = intern(rule.getThresholdCondition());
+        changed |= condition != rule.getCondition() || thresholdCondition != rule.getThresholdCondition();
+
+        DQRule candidate = !changed ? rule : new DQRule(rule.getRuleType(), rule.getParameters(),
+            rule.getParameterValueMap(), condition, thresholdCondition, rule.getOperator(), nestedRules,
+            rule.getWhereClause(), rule.getRawLabels(), rule.getIsExcludedAtRowLevelInCompositeRules(),
+            rule.getRawTags());
+
+        DQRule existing = rules.putIfAbsent(candidate, candidate);
+        return existing == null || !printsSameLabelsAndTags(existing, candidate) ? candidate : existing;
+    }
+
+    /*
+     * Rules compare their labels as a whole, but print the rule labels only, and compare their tags
+     * without the quotes they were written with.
+     */
+    private static boolean printsSameLabelsAndTags(DQRule rule, DQRule other) {
+        if (!Objects.equals(ruleLabels(rule), ruleLabels(other))) {
+            return false;
+        }
+
+        Map<String, Tag> tags = rule.getRawTags() == null ? new HashMap<>() : rule.getRawTags();
+        Map<String, Tag> otherTags = other.getRawTags() == null ? new HashMap<>() : other.getRawTags();
+        if (tags.size() != otherTags.size()) {
+            return false;
+        }
+        Iterator<Tag> otherTagIterator = otherTags.values().iterator();
+        for (Tag tag : tags.values()) {
+            if (!String.valueOf(tag).equals(String.valueOf(otherTagIterator.next()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, String> ruleLabels(DQRule rule) {
+        Map<String, String> ruleLabels = rule.getRawLabels() == null ? null : rule.getRawLabels().getRuleLabels();
+        return ruleLabels == null ? new HashMap<>() : ruleLabels;
+    }
+}
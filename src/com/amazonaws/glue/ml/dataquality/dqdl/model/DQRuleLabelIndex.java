@@ -0,0 +1,127 @@
+/*
+ * DQRuleLabelIndex.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/*
+ * An inverted index from the labels of the rules of a ruleset to the positions of those rules, as bitmaps.
+ * Label queries are answered by combining the bitmaps of the labels asked for, without looking at the rules.
+ * The labels of a rule are its merged labels, including the default labels of the ruleset.
+ *
+ * Built by DQRuleset.getLabelIndex, from the rules the ruleset has at the time. The index is immutable,
+ * and the bitmaps it returns are copies that callers are free to modify and combine.
+ */
+public final class DQRuleLabelIndex {
+    // The rules themselves are not copied, only the references to them, so that later changes to the list
+    // of rules of the ruleset do not change the index.
+    private final DQRule[] rules;
+    private final Map<String, Map<String, BitSet>> rulesByLabel = new HashMap<>();
+
+    DQRuleLabelIndex(List<DQRule> rules) {
+        this.rules = rules.toArray(new DQRule[0]);
+        for (int i = 0; i < this.rules.length; i++) {
+            DQRule rule = this.rules[i];
+            Map<String, String> labels = rule == null ? null : rule.getUnmodifiableLabels();
+            if (labels == null) {
+                continue;
+            }
+            for (Map.Entry<String, String> label : labels.entrySet()) {
+                rulesByLabel.computeIfAbsent(label.getKey(), key -> new HashMap<>())
+                    .computeIfAbsent(label.getValue(), value -> new BitSet(this.rules.length))
+                    .set(i);
+            }
+        }
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    /*
+     * The positions of the rules that have the given label.
+     */
+    public BitSet rulesWithLabel(String key, String value) {
+        BitSet matching = rulesByLabel.getOrDefault(key, Collections.emptyMap()).get(value);
+        return matching == null ? new BitSet() : (BitSet) matching.clone();
+    }
+
+    /*
+     * The positions of the rules that have all the given labels. No labels match every rule.
+     */
+    public BitSet rulesWithAllLabels(Map<String, String> labels) {
+        BitSet matching = new BitSet(rules.length);
+        matching.set(0, rules.length);
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            BitSet withLabel = rulesByLabel.getOrDefault(label.getKey(), Collections.emptyMap()).get(label.getValue());
+            if (withLabel == null) {
+                return new BitSet();
+            }
+            matching.and(withLabel);
+        }
+        return matching;
+    }
+
+    /*
+     * The positions of the rules that have at least one of the given labels. No labels match no rule.
+     */
+    public BitSet rulesWithAnyLabel(Map<String, String> labels) {
+        BitSet matching = new BitSet(rules.length);
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            BitSet withLabel = rulesByLabel.getOrDefault(label.getKey(), Collections.emptyMap()).get(label.getValue());
+            if (withLabel != null) {
+                matching.or(withLabel);
+            }
+        }
+        return matching;
+    }
+
+    /*
+     * The rules at the given positions, in order, as a read-only view over the indexed rules.
+     */
+    public List<DQRule> select(BitSet positions) {
+        if (positions.length() > rules.length) {
+            throw new IndexOutOfBoundsException(
+                String.format("Position %d is out of %d rules", positions.length() - 1, rules.length));
+        }
+        return new SelectedRules(rules, positions.stream().toArray());
+    }
+
+    private static final class SelectedRules extends AbstractList<DQRule> implements RandomAccess {
+        private final DQRule[] rules;
+        private final int[] positions;
+
+        SelectedRules(DQRule[] rules, int[] positions) {
+            this.rules = rules;
+            this.positions = positions;
+        }
+
+        @Override
+        public DQRule get(int index) {
+            if (index < 0 || index >= positions.length) {
+                throw new IndexOutOfBoundsException(
+                    String.format("Index %d is out of %d selected rules", index, positions.length));
+            }
+            return rules[positions[index]];
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * DQRuleRedundancy.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/*
+ * A rule or analyzer found by DQRuleRedundancyAnalyzer to add nothing to a ruleset, or to contradict another
+ * rule. Rules and analyzers are identified by their position in the rules or analyzers of the ruleset.
+ */
+@Getter
+@EqualsAndHashCode
+public final class DQRuleRedundancy {
+    public enum Kind {
+        // The rule checks the same values as an earlier rule, and always has the same outcome.
+        DUPLICATE,
+        // The rule passes whenever the other rule does, as Completeness "a" > 0.9 does for Completeness "a" > 0.95.
+        SUBSUMED,
+        // The rule and the other rule cannot both pass.
+        CONTRADICTION,
+        // The condition of the rule cannot pass. The other index is the rule itself.
+        UNSATISFIABLE,
+        // The analyzer computes the same metric as an earlier analyzer.
+        DUPLICATE_ANALYZER
+    }
+
+    private final Kind kind;
+    private final int index;
+    private final int otherIndex;
+
+    public DQRuleRedundancy(final Kind kind, final int index, final int otherIndex) {
+        this.kind = kind;
+        this.index = index;
+        this.otherIndex = otherIndex;
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case DUPLICATE:
+                return String.format("Rule %d duplicates rule %d", index, otherIndex);
+            case SUBSUMED:
+                return String.format("Rule %d passes whenever rule %d passes", index, otherIndex);
+            case CONTRADICTION:
+                return String.format("Rule %d contradicts rule %d", index, otherIndex);
+            case UNSATISFIABLE:
+                return String.format("Rule %d cannot pass", index);
+            case DUPLICATE_ANALYZER:
+                return String.format("Analyzer %d duplicates analyzer %d", index, otherIndex);
+            default:
+                return kind.name();
+        }
+    }
+}
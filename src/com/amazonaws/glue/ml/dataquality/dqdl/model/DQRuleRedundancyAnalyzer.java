@@ -0,0 +1,218 @@
+/*
+ * DQRuleRedundancyAnalyzer.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleRedundancy.Kind;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.Condition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumberBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumberIntervals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/*
+ * Finds rules that add nothing to a ruleset before it is run: rules that check the same thing as an earlier rule,
+ * rules implied by another rule, rules that contradict each other or cannot pass, and analyzers that compute
+ * the same metric twice.
+ *
+ * Rules are compared when they have the same rule type, parameters, where clause and threshold. Number based
+ * conditions with constant operands are compared as NumberIntervals, so "= 1" duplicates "in [1]", and
+ * Completeness "a" > 0.95 implies Completeness "a" > 0.9. Other conditions are only found to be duplicates, when
+ * they are written the same, up to the order of the values of "in". Rules with a threshold are only compared for
+ * duplicates, and composite rules are not compared. Labels and tags do not change the outcome of a rule, and are
+ * not compared.
+ *
+ * Row level rules, such as ColumnValues, pass when every row passes their condition. Two of them that contradict
+ * each other can then still both pass on a dataset without rows.
+ */
+public final class DQRuleRedundancyAnalyzer {
+
+    /*
+     * The redundant rules and analyzers of the ruleset, ordered by their position.
+     */
+    public List<DQRuleRedundancy> analyze(DQRuleset ruleset) {
+        return new Analysis(ruleset).redundancies;
+    }
+
+    /*
+     * The ruleset without its duplicate rules and analyzers. Each duplicate rule gets the result of the first rule
+     * it duplicates, which is kept with its labels and tags. Subsumed and contradicting rules are kept: their
+     * outcome can differ from that of the other rule.
+     */
+    public DQMinimizedRuleset minimize(DQRuleset ruleset) {
+        Analysis analysis = new Analysis(ruleset);
+
+        List<DQRule> rules = ruleset.getRules() == null ? Collections.emptyList() : ruleset.getRules();
+        List<DQRule> minimizedRules = new ArrayList<>();
+        int[] minimizedRuleIndexes = new int[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            int representative = analysis.ruleRepresentatives[i];
+            if (representative == i) {
+                minimizedRuleIndexes[i] = minimizedRules.size();
+                minimizedRules.add(rules.get(i));
+            } else {
+                // Duplicates always come after the rule they duplicate.
+                minimizedRuleIndexes[i] = minimizedRuleIndexes[representative];
+            }
+        }
+
+        List<DQAnalyzer> minimizedAnalyzers = null;
+        if (ruleset.getAnalyzers() != null) {
+            minimizedAnalyzers = new ArrayList<>();
+            for (int i = 0; i < ruleset.getAnalyzers().size(); i++) {
+                if (analysis.analyzerRepresentatives[i] == i) {
+                    minimizedAnalyzers.add(ruleset.getAnalyzers().get(i));
+                }
+            }
+        }
+
+        DQRuleset minimized = new DQRuleset(ruleset.getMetadata(), ruleset.getPrimarySourceName(),
+            ruleset.getAdditionalDataSourcesNames(), ruleset.getDefaultLabels(), minimizedRules, minimizedAnalyzers);
+        return new DQMinimizedRuleset(minimized, minimizedRuleIndexes);
+    }
+
+    private static final class Analysis {
+        private final List<DQRuleRedundancy> redundancies = new ArrayList<>();
+        // For each rule or analyzer, the position of the first one it duplicates, or its own.
+        private final int[] ruleRepresentatives;
+        private final int[] analyzerRepresentatives;
+
+        Analysis(DQRuleset ruleset) {
+            List<DQRule> rules = ruleset.getRules() == null ? Collections.emptyList() : ruleset.getRules();
+            ruleRepresentatives = new int[rules.size()];
+
+            Map<List<Object>, List<Integer>> groups = new LinkedHashMap<>();
+            for (int i = 0; i < rules.size(); i++) {
+                ruleRepresentatives[i] = i;
+                DQRule rule = rules.get(i);
+                if (rule != null && rule.isLeaf()) {
+                    groups.computeIfAbsent(groupKey(rule), key -> new ArrayList<>()).add(i);
+                }
+            }
+            for (List<Integer> group : groups.values()) {
+                analyzeGroup(rules, group);
+            }
+
+            List<DQAnalyzer> analyzers = ruleset.getAnalyzers() == null
+                ? Collections.emptyList()
+                : ruleset.getAnalyzers();
+            analyzerRepresentatives = new int[analyzers.size()];
+            Map<List<Object>, Integer> firstAnalyzers = new HashMap<>();
+            for (int i = 0; i < analyzers.size(); i++) {
+                DQAnalyzer analyzer = analyzers.get(i);
+                Integer first = analyzer == null ? null : firstAnalyzers.putIfAbsent(
+                    Arrays.asList(analyzer.getRuleType(), sorted(analyzer.getParameters())), i);
+                analyzerRepresentatives[i] = first == null ? i : first;
+                if (first != null) {
+                    redundancies.add(new DQRuleRedundancy(Kind.DUPLICATE_ANALYZER, i, first));
+                }
+            }
+
+            redundancies.sort(Comparator.comparing((DQRuleRedundancy r) -> r.getKind() == Kind.DUPLICATE_ANALYZER)
+                .thenComparingInt(DQRuleRedundancy::getIndex)
+                .thenComparingInt(DQRuleRedundancy::getOtherIndex));
+        }
+
+        /*
+         * Compares rules of the same rule type, parameters, where clause and threshold. Only the first rule of
+         * each set of duplicates is compared to the others.
+         */
+        private void analyzeGroup(List<DQRule> rules, List<Integer> group) {
+            boolean hasThreshold = rules.get(group.get(0)).getThresholdCondition() != null;
+            List<Integer> kept = new ArrayList<>();
+            List<NumberIntervals> keptIntervals = new ArrayList<>();
+
+            for (int index : group) {
+                DQRule rule = rules.get(index);
+                NumberIntervals intervals = intervals(rule.getCondition());
+
+                int duplicated = -1;
+                for (int k = 0; k < kept.size() && duplicated < 0; k++) {
+                    if (haveSameOutcome(rules.get(kept.get(k)), keptIntervals.get(k), rule, intervals)) {
+                        duplicated = kept.get(k);
+                    }
+                }
+                if (duplicated >= 0) {
+                    ruleRepresentatives[index] = duplicated;
+                    redundancies.add(new DQRuleRedundancy(Kind.DUPLICATE, index, duplicated));
+                    continue;
+                }
+
+                if (intervals != null && !hasThreshold) {
+                    if (intervals.isEmpty()) {
+                        redundancies.add(new DQRuleRedundancy(Kind.UNSATISFIABLE, index, index));
+                    } else {
+                        compare(index, intervals, kept, keptIntervals);
+                    }
+                }
+                kept.add(index);
+                keptIntervals.add(intervals);
+            }
+        }
+
+        private void compare(int index, NumberIntervals intervals, List<Integer> kept,
+                             List<NumberIntervals> keptIntervals) {
+            for (int k = 0; k < kept.size(); k++) {
+                NumberIntervals other = keptIntervals.get(k);
+                if (other == null || other.isEmpty()) {
+                    continue;
+                }
+                if (!intervals.intersects(other)) {
+                    redundancies.add(new DQRuleRedundancy(Kind.CONTRADICTION, index, kept.get(k)));
+                } else if (intervals.containsAll(other)) {
+                    redundancies.add(new DQRuleRedundancy(Kind.SUBSUMED, index, kept.get(k)));
+                } else if (other.containsAll(intervals)) {
+                    redundancies.add(new DQRuleRedundancy(Kind.SUBSUMED, kept.get(k), index));
+                }
+            }
+        }
+
+        private static boolean haveSameOutcome(DQRule rule, NumberIntervals intervals,
+                                               DQRule other, NumberIntervals otherIntervals) {
+            if (intervals != null && otherIntervals != null) {
+                return intervals.equals(otherIntervals);
+            }
+            return Objects.equals(sortedCondition(rule.getCondition()), sortedCondition(other.getCondition()));
+        }
+
+        private static List<Object> groupKey(DQRule rule) {
+            Condition condition = rule.getCondition();
+            return Arrays.asList(
+                rule.getRuleType(),
+                sorted(rule.getParameters()),
+                rule.getWhereClause(),
+                sortedCondition(rule.getThresholdCondition()),
+                condition == null ? null : condition.getClass());
+        }
+
+        private static NumberIntervals intervals(Condition condition) {
+            return condition instanceof NumberBasedCondition
+                ? ((NumberBasedCondition) condition).getIntervals().orElse(null)
+                : null;
+        }
+
+        private static String sortedCondition(Condition condition) {
+            return condition == null ? null : condition.getSortedFormattedCondition();
+        }
+
+        private static Map<String, String> sorted(Map<String, String> parameters) {
+            return parameters == null ? Collections.emptyMap() : new TreeMap<>(parameters);
+        }
+    }
+}
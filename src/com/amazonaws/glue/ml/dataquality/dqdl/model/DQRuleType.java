@@ -18,9 +18,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
@@ -55,7 +57,7 @@ public class DQRuleType {
                       @JsonProperty(value = "experimental") boolean isExperimental) {
         this.ruleTypeName = ruleTypeName;
         this.description = description;
-        this.parameters = parameters;
+        this.parameters = Collections.unmodifiableList(parameters);
         this.returnType = returnType;
         this.isThresholdSupported = isThresholdSupported;
         this.isExcludedAtRowLevelInCompositeRules = isExcludedAtRowLevelInCompositeRules;
@@ -80,11 +82,18 @@ public class DQRuleType {
 
     public Optional<String> verifyParameters(List<DQRuleParameter> expectedParameters,
                                              List<DQRuleParameterValue> actualParameters) {
+        return verifyParameters(expectedParameters, actualParameters.size());
+    }
+
+    /*
+     * Same as verifyParameters, for when only the number of parameters is known.
+     */
+    public Optional<String> verifyParameters(List<DQRuleParameter> expectedParameters, int actualParameterCount) {
         if (!expectedParameters.isEmpty()) {
             boolean isVarArg = expectedParameters.get(expectedParameters.size() - 1).isVarArg();
 
             if (isVarArg) {
-                if (expectedParameters.size() > actualParameters.size()) {
+                if (expectedParameters.size() > actualParameterCount) {
                     return Optional.of("VarArgs needs at least one parameter");
                 }
 
@@ -92,7 +101,7 @@ public class DQRuleType {
             }
         }
 
-        if (expectedParameters.size() != actualParameters.size()) {
+        if (expectedParameters.size() != actualParameterCount) {
             return Optional.of("Unexpected number of parameters");
         }
 
@@ -141,37 +150,27 @@ public class DQRuleType {
         private List<DQRuleType> ruleTypes;
     }
 
-    private static final List<DQRuleType> ALL_RULES = generateRuleTypes("/rules/rules-config.json");
-
     static List<DQRuleType> generateRuleTypes(final String rulesConfigPath) {
-        try (
-            InputStream inputStream = DQRuleType.class.getResourceAsStream(rulesConfigPath);
-            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))
-        ) {
-            String rulesConfig = reader.lines().collect(Collectors.joining("\n"));
-            DQRuleTypes ruleTypes = new ObjectMapper().readValue(rulesConfig, DQRuleTypes.class);
-            return ruleTypes.ruleTypes;
+        try (InputStream inputStream = DQRuleType.class.getResourceAsStream(rulesConfigPath)) {
+            return readRuleTypes(inputStream);
         } catch (Exception e) {
             e.printStackTrace();
             throw new IllegalArgumentException("Failed to load rule types", e);
         }
     }
 
+    /*
+     * Reads rule types in the format of rules-config.json, for example to register them in DQRuleTypeRegistry.
+     */
+    public static List<DQRuleType> readRuleTypes(final InputStream rulesConfig) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(rulesConfig, StandardCharsets.UTF_8))) {
+            String config = reader.lines().collect(Collectors.joining("\n"));
+            DQRuleTypes ruleTypes = new ObjectMapper().readValue(config, DQRuleTypes.class);
+            return ruleTypes.ruleTypes;
+        }
+    }
+
     public static Optional<DQRuleType> getRuleType(String ruleTypeName, int parameterCount) {
-        return ALL_RULES.stream()
-            .filter(ruleType -> {
-                int ruleTypeParameterCount = ruleType.getParameters().size();
-                boolean containsVarArg =
-                    ruleTypeParameterCount > 0 &&
-                    ruleType.getParameters().get(ruleTypeParameterCount - 1).isVarArg();
-
-                boolean ruleTypeNameMatches = ruleType.getRuleTypeName().equals(ruleTypeName);
-                boolean parameterCountMatches = containsVarArg
-                    ? parameterCount >= ruleTypeParameterCount
-                    : parameterCount == ruleTypeParameterCount;
-
-                return ruleTypeNameMatches && parameterCountMatches;
-            })
-            .findFirst();
+        return DQRuleTypeRegistry.getDefault().getRuleType(ruleTypeName, parameterCount);
     }
 }
@@ -0,0 +1,184 @@
+/*
+ * DQRuleTypeRegistry.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/*
+ * The rule types known to the parser, indexed by name and number of parameters.
+ *
+ * The registry starts with the built-in rule types from rules-config.json. The default registry creates them from
+ * GeneratedRuleTypeCatalog, which is generated from rules-config.json at build time, so that no JSON is parsed at
+ * startup. Reloading reads rules-config.json from the classpath with Jackson. Additional rule types can be
+ * registered at runtime, and the registry can be reloaded without restarting the JVM. Every change builds a new
+ * index, which is then published with a single volatile write: lookups never block and always see a complete index,
+ * either the one before or the one after the change. Changes themselves are serialized.
+ *
+ * Two rule types with the same name cannot accept the same number of parameters,
+ * so a lookup matches at most one rule type.
+ */
+public final class DQRuleTypeRegistry {
+    static final String BUILT_IN_RULES_CONFIG = "/rules/rules-config.json";
+
+    private static final class DefaultRegistryHolder {
+        private static final DQRuleTypeRegistry DEFAULT_REGISTRY = new DQRuleTypeRegistry(
+            GeneratedRuleTypeCatalog.getRuleTypes(), () -> DQRuleType.generateRuleTypes(BUILT_IN_RULES_CONFIG));
+    }
+
+    private final Supplier<List<DQRuleType>> builtInRuleTypesLoader;
+    private volatile Index index;
+
+    DQRuleTypeRegistry(Supplier<List<DQRuleType>> builtInRuleTypesLoader) {
+        this(builtInRuleTypesLoader.get(), builtInRuleTypesLoader);
+    }
+
+    DQRuleTypeRegistry(List<DQRuleType> builtInRuleTypes, Supplier<List<DQRuleType>> builtInRuleTypesLoader) {
+        this.builtInRuleTypesLoader = builtInRuleTypesLoader;
+        this.index = new Index(builtInRuleTypes, Collections.emptyList(), 0);
+    }
+
+    /*
+     * The registry used by DQDLParser.
+     */
+    public static DQRuleTypeRegistry getDefault() {
+        return DefaultRegistryHolder.DEFAULT_REGISTRY;
+    }
+
+    public Optional<DQRuleType> getRuleType(String ruleTypeName, int parameterCount) {
+        return index.getRuleType(ruleTypeName, parameterCount);
+    }
+
+    /*
+     * All the rule types in the registry: the built-in ones, in the order of rules-config.json,
+     * followed by the registered ones, in the order they were registered.
+     */
+    public List<DQRuleType> getRuleTypes() {
+        return index.ruleTypes;
+    }
+
+    /*
+     * Incremented every time the registry changes. Used to tell whether a ruleset was parsed
+     * with the current rule types, for example by DQDLParseCache.
+     */
+    public long getGeneration() {
+        return index.generation;
+    }
+
+    /*
+     * Adds rule types to the registry. If any of them conflicts with a rule type already in the registry,
+     * or with another one in the list, none are added and IllegalArgumentException is thrown.
+     */
+    public synchronized void register(List<DQRuleType> ruleTypes) {
+        List<DQRuleType> additionalRuleTypes = new ArrayList<>(index.additionalRuleTypes);
+        additionalRuleTypes.addAll(ruleTypes);
+        index = new Index(index.builtInRuleTypes, additionalRuleTypes, index.generation + 1);
+    }
+
+    /*
+     * Replaces every registered rule type with the given ones, in a single step.
+     * The built-in rule types are kept.
+     */
+    public synchronized void replaceRegisteredRuleTypes(List<DQRuleType> ruleTypes) {
+        index = new Index(index.builtInRuleTypes, ruleTypes, index.generation + 1);
+    }
+
+    /*
+     * Loads the built-in rule types again, and keeps the registered ones.
+     */
+    public synchronized void reload() {
+        index = new Index(builtInRuleTypesLoader.get(), index.additionalRuleTypes, index.generation + 1);
+    }
+
+    /*
+     * The rule types sharing a name. Fixed arity rule types are indexed by their number of parameters.
+     * A name has at most one var arg rule type, which accepts any number of parameters from its minimum upwards.
+     */
+    private static final class Overloads {
+        private DQRuleType[] byParameterCount = new DQRuleType[0];
+        private DQRuleType varArgRuleType;
+        private int varArgMinimumParameterCount = Integer.MAX_VALUE;
+
+        DQRuleType get(int parameterCount) {
+            if (parameterCount >= varArgMinimumParameterCount) {
+                return varArgRuleType;
+            }
+            return parameterCount >= 0 && parameterCount < byParameterCount.length
+                ? byParameterCount[parameterCount]
+                : null;
+        }
+
+        void add(DQRuleType ruleType) {
+            List<DQRuleParameter> parameters = ruleType.getParameters();
+            int parameterCount = parameters.size();
+            boolean isVarArg = parameterCount > 0 && parameters.get(parameterCount - 1).isVarArg();
+
+            if (isVarArg) {
+                boolean overlapsFixedArity = false;
+                for (int i = parameterCount; i < byParameterCount.length; i++) {
+                    overlapsFixedArity |= byParameterCount[i] != null;
+                }
+                if (varArgRuleType != null || overlapsFixedArity) {
+                    throw conflict(ruleType);
+                }
+                varArgRuleType = ruleType;
+                varArgMinimumParameterCount = parameterCount;
+            } else {
+                if (get(parameterCount) != null) {
+                    throw conflict(ruleType);
+                }
+                if (parameterCount >= byParameterCount.length) {
+                    byParameterCount = Arrays.copyOf(byParameterCount, parameterCount + 1);
+                }
+                byParameterCount[parameterCount] = ruleType;
+            }
+        }
+
+        private static IllegalArgumentException conflict(DQRuleType ruleType) {
+            return new IllegalArgumentException(String.format(
+                "Rule type %s with %d parameters conflicts with a rule type already registered",
+                ruleType.getRuleTypeName(), ruleType.getParameters().size()));
+        }
+    }
+
+    private static final class Index {
+        private final List<DQRuleType> builtInRuleTypes;
+        private final List<DQRuleType> additionalRuleTypes;
+        private final List<DQRuleType> ruleTypes;
+        private final Map<String, Overloads> overloadsByName = new HashMap<>();
+        private final long generation;
+
+        Index(List<DQRuleType> builtInRuleTypes, List<DQRuleType> additionalRuleTypes, long generation) {
+            this.generation = generation;
+            this.builtInRuleTypes = Collections.unmodifiableList(new ArrayList<>(builtInRuleTypes));
+            this.additionalRuleTypes = Collections.unmodifiableList(new ArrayList<>(additionalRuleTypes));
+
+            List<DQRuleType> allRuleTypes = new ArrayList<>(builtInRuleTypes);
+            allRuleTypes.addAll(additionalRuleTypes);
+            this.ruleTypes = Collections.unmodifiableList(allRuleTypes);
+
+            for (DQRuleType ruleType : ruleTypes) {
+                overloadsByName.computeIfAbsent(ruleType.getRuleTypeName(), name -> new Overloads()).add(ruleType);
+            }
+        }
+
+        Optional<DQRuleType> getRuleType(String ruleTypeName, int parameterCount) {
+            Overloads overloads = overloadsByName.get(ruleTypeName);
+            return overloads == null ? Optional.empty() : Optional.ofNullable(overloads.get(parameterCount));
+        }
+    }
+}
@@ -10,11 +10,14 @@
 
 package com.amazonaws.glue.ml.dataquality.dqdl.model;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,10 +25,9 @@ import java.util.stream.Collectors;
 
 import static com.amazonaws.glue.ml.dataquality.dqdl.util.StringUtils.isNotBlank;
 
-@AllArgsConstructor
 @Getter
 @EqualsAndHashCode
-public class DQRuleset {
+public class DQRuleset implements Serializable {
     private final Map<String, String> metadata;
     private final String primarySourceName;
     private final List<String> additionalDataSourcesNames;
@@ -33,8 +35,27 @@ public class DQRuleset {
     private final List<DQRule> rules;
     private final List<DQAnalyzer> analyzers;
 
+    // Built on first use.
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private transient volatile DQRuleLabelIndex labelIndex;
+
     private static final String LINE_SEP = System.lineSeparator();
 
+    public DQRuleset(final Map<String, String> metadata,
+                     final String primarySourceName,
+                     final List<String> additionalDataSourcesNames,
+                     final Map<String, String> defaultLabels,
+                     final List<DQRule> rules,
+                     final List<DQAnalyzer> analyzers) {
+        this.metadata = metadata;
+        this.primarySourceName = primarySourceName;
+        this.additionalDataSourcesNames = additionalDataSourcesNames;
+        this.defaultLabels = defaultLabels;
+        this.rules = rules;
+        this.analyzers = analyzers;
+    }
+
     public DQRuleset(final List<DQRule> rules) {
         this(rules, new ArrayList<>());
     }
@@ -48,6 +69,113 @@ public class DQRuleset {
         this.analyzers = analyzers;
     }
 
+    /*
+     * Returns a copy of the given ruleset whose collections, rules and labels cannot be modified.
+     * Such a ruleset can safely be handed out to several callers at once. Its rules are the rules of the given
+     * ruleset, whose labels can no longer be changed through setLabels either.
+     */
+    public static DQRuleset unmodifiableRuleset(DQRuleset ruleset) {
+        if (ruleset.rules != null) {
+            for (DQRule rule : ruleset.rules) {
+                if (rule != null) {
+                    rule.markShared();
+                }
+            }
+        }
+        return new DQRuleset(
+            ruleset.metadata == null ? null : Collections.unmodifiableMap(ruleset.metadata),
+            ruleset.primarySourceName,
+            ruleset.additionalDataSourcesNames == null
+                ? null : Collections.unmodifiableList(ruleset.additionalDataSourcesNames),
+            ruleset.defaultLabels == null ? null : Collections.unmodifiableMap(ruleset.defaultLabels),
+            ruleset.rules == null ? null : Collections.unmodifiableList(new ArrayList<>(ruleset.rules)),
+            ruleset.analyzers == null ? null : Collections.unmodifiableList(
+                ruleset.analyzers.stream().map(DQAnalyzer::toUnmodifiableAnalyzer).collect(Collectors.toList()))
+        );
+    }
+
+    /*
+     * An index of the rules of this ruleset by their labels, built the first time it is asked for.
+     * Rulesets are not meant to be changed once queried: the index does not see rules added later.
+     */
+    public DQRuleLabelIndex getLabelIndex() {
+        DQRuleLabelIndex index = labelIndex;
+        if (index == null) {
+            index = new DQRuleLabelIndex(rules == null ? Collections.emptyList() : rules);
+            labelIndex = index;
+        }
+        return index;
+    }
+
+    /*
+     * A view of this ruleset with only the rules that have all the given labels, such as team=payments and
+     * tier=critical. The rules are shared with this ruleset, not copied, and so are its other sections.
+     */
+    public DQRuleset withRulesMatchingAllLabels(Map<String, String> labels) {
+        return withRulesAt(getLabelIndex().rulesWithAllLabels(labels));
+    }
+
+    /*
+     * A view of this ruleset with only the rules that have at least one of the given labels.
+     */
+    public DQRuleset withRulesMatchingAnyLabel(Map<String, String> labels) {
+        return withRulesAt(getLabelIndex().rulesWithAnyLabel(labels));
+    }
+
+    /*
+     * A view of this ruleset with only the rules at the given positions, for example the result of combining
+     * several queries of the label index.
+     */
+    public DQRuleset withRulesAt(BitSet positions) {
+        return new DQRuleset(metadata, primarySourceName, additionalDataSourcesNames, defaultLabels,
+            getLabelIndex().select(positions), analyzers);
+    }
+
+    /*
+     * The datasets and columns read by all the rules and analyzers of this ruleset, for example to read only
+     * those columns. getDependencies of each rule gives the same for one rule.
+     */
+    public DQRuleDependencies getDependencies() {
+        return DQRuleDependencyExtractor.extract(this);
+    }
+
+    /*
+     * A fingerprint of the ruleset, composed of the fingerprints of its rules in order, and of its metadata,
+     * data sources, default labels and analyzers. It is cheap to compute once the rules are fingerprinted,
+     * since the fingerprint of each rule is cached, so it is not cached itself.
+     */
+    public DQFingerprint getFingerprint() {
+        DQFingerprintBuilder builder = new DQFingerprintBuilder()
+            .putSortedMap(metadata)
+            .putString(primarySourceName)
+            .putSortedMap(defaultLabels);
+
+        if (additionalDataSourcesNames == null) {
+            builder.putInt(0);
+        } else {
+            builder.putInt(additionalDataSourcesNames.size());
+            additionalDataSourcesNames.forEach(builder::putString);
+        }
+
+        if (rules == null) {
+            builder.putInt(0);
+        } else {
+            builder.putInt(rules.size());
+            rules.forEach(rule -> builder.putFingerprint(rule == null ? null : rule.getFingerprint()));
+        }
+
+        if (analyzers == null) {
+            builder.putInt(0);
+        } else {
+            builder.putInt(analyzers.size());
+            for (DQAnalyzer analyzer : analyzers) {
+                builder.putString(analyzer == null ? null : analyzer.getRuleType())
+                    .putSortedMap(analyzer == null ? null : analyzer.getParameters());
+            }
+        }
+        return builder.build();
+    }
+
     @Override
     public String toString() {
         String metadataStr = "";
@@ -130,4 +258,13 @@ public class DQRuleset {
 
         return sb.toString();
     }
+
+    /*
+     * Serialized in the compact form of the DQSerializationCodec on the class path, such as the binary format of
+     * the codec package, which writes each string and label map once for the whole ruleset.
+     * Falls back to the default serialization when a rule cannot be encoded.
+     */
+    private Object writeReplace() {
+        return DQSerialization.writeReplace(this);
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * DQSerialization.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/*
+ * The serialization proxies of DQRule and DQRuleset, written through the DQSerializationCodec found on the
+ * class path, if any.
+ */
+final class DQSerialization {
+    private DQSerialization() {
+    }
+
+    // Looked up once, the first time a rule or ruleset is serialized.
+    private static final class CodecHolder {
+        private static final DQSerializationCodec CODEC = load();
+
+        private static DQSerializationCodec load() {
+            Iterator<DQSerializationCodec> codecs =
+                ServiceLoader.load(DQSerializationCodec.class, DQSerializationCodec.class.getClassLoader()).iterator();
+            return codecs.hasNext() ? codecs.next() : null;
+        }
+    }
+
+    /*
+     * The proxy written in place of the rule, or the rule itself when it cannot be encoded.
+     */
+    static Object writeReplace(DQRule rule) {
+        DQSerializationCodec codec = CodecHolder.CODEC;
+        if (codec == null) {
+            return rule;
+        }
+        try {
+            return new SerializedRule(codec.encode(rule));
+        } catch (IllegalArgumentException e) {
+            return rule;
+        }
+    }
+
+    /*
+     * The proxy written in place of the ruleset, or the ruleset itself when it cannot be encoded.
+     */
+    static Object writeReplace(DQRuleset ruleset) {
+        DQSerializationCodec codec = CodecHolder.CODEC;
+        if (codec == null) {
+            return ruleset;
+        }
+        try {
+            return new SerializedRuleset(codec.encode(ruleset));
+        } catch (IllegalArgumentException e) {
+            return ruleset;
+        }
+    }
+
+    private static DQSerializationCodec codecForReading() throws InvalidObjectException {
+        DQSerializationCodec codec = CodecHolder.CODEC;
+        if (codec == null) {
+            throw new InvalidObjectException("No DQSerializationCodec to decode the serialized form with");
+        }
+        return codec;
+    }
+
+    private static InvalidObjectException invalid(IllegalArgumentException e) {
+        InvalidObjectException invalid = new InvalidObjectException(e.getMessage());
+        invalid.initCause(e);
+        return invalid;
+    }
+
+    private static final class SerializedRule implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] encoded;
+
+        SerializedRule(byte[] encoded) {
+            this.encoded = encoded;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            try {
+                return codecForReading().decodeRule(encoded);
+            } catch (IllegalArgumentException e) {
+                throw invalid(e);
+            }
+        }
+    }
+
+    private static final class SerializedRuleset implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] encoded;
+
+        SerializedRuleset(byte[] encoded) {
+            this.encoded = encoded;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            try {
+                return codecForReading().decodeRuleset(encoded);
+            } catch (IllegalArgumentException e) {
+                throw invalid(e);
+            }
+        }
+    }
+}
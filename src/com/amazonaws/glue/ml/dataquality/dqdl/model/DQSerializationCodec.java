@@ -0,0 +1,29 @@
+/*
+ * DQSerializationCodec.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+/*
+ * The compact form DQRule and DQRuleset are written in by Java serialization. The model does not depend on the
+ * package implementing it: the implementation is found with ServiceLoader. Without one, rules and rulesets are
+ * serialized field by field.
+ *
+ * Encoding throws IllegalArgumentException for a rule or ruleset that cannot be encoded, which is then serialized
+ * field by field too. Decoding throws IllegalArgumentException for malformed input.
+ */
+public interface DQSerializationCodec {
+    byte[] encode(DQRule rule);
+
+    DQRule decodeRule(byte[] encoded);
+
+    byte[] encode(DQRuleset ruleset);
+
+    DQRuleset decodeRuleset(byte[] encoded);
+}
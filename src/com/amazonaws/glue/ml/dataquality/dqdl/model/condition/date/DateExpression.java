@@ -16,14 +16,19 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import java.io.Serializable;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 
 @EqualsAndHashCode
 public abstract class DateExpression implements Serializable {
     public abstract String getFormattedExpression();
     public abstract LocalDateTime getEvaluatedExpression();
 
+    @Getter
     @AllArgsConstructor
     public static class StaticDate extends DateExpression {
         private final String date;
@@ -51,10 +56,31 @@ public abstract class DateExpression implements Serializable {
         }
     }
 
-    @AllArgsConstructor
+    @Getter
     public static class StaticDateTime extends DateExpression {
         private final LocalDateTime dateTime;
         private final String dateTimeString;
+        private final LocalTime time;
+        private final ZoneId zoneId;
+
+        public StaticDateTime(final LocalDateTime dateTime, final String dateTimeString) {
+            this.dateTime = dateTime;
+            this.dateTimeString = dateTimeString;
+            this.time = null;
+            this.zoneId = null;
+        }
+
+        /*
+         * A time of day, such as "9:30 AM", in the given zone.
+         * It is anchored to the current date in that zone every time it is evaluated,
+         * so a ruleset that outlives the day it was parsed on still evaluates correctly.
+         */
+        public StaticDateTime(final LocalTime time, final ZoneId zoneId, final String dateTimeString) {
+            this.dateTime = null;
+            this.dateTimeString = dateTimeString;
+            this.time = time;
+            this.zoneId = zoneId;
+        }
 
         @Override
         public String getFormattedExpression() {
@@ -63,7 +89,12 @@ public abstract class DateExpression implements Serializable {
 
         @Override
         public LocalDateTime getEvaluatedExpression() {
-            return dateTime;
+            if (time == null) {
+                return dateTime;
+            }
+            return ZonedDateTime.of(LocalDate.now(zoneId), time, zoneId)
+                .withZoneSameInstant(ZoneOffset.UTC)
+                .toLocalDateTime();
         }
     }
 
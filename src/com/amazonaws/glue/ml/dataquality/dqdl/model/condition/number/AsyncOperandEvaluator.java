@@ -0,0 +1,57 @@
+/*
+ * AsyncOperandEvaluator.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/*
+ * Resolves the function calls of dynamic rules, such as avg(last(10)), many at a time, for backends where a round
+ * trip for each function call is too slow. ResolvedOperandEvaluator.resolve collects every function call of a
+ * ruleset, and passes them all to one call of evaluate.
+ */
+public abstract class AsyncOperandEvaluator {
+
+    /*
+     * Resolves function calls. The future completes with the value of each function call, in the same order,
+     * and null for a function call without a value.
+     */
+    public abstract CompletableFuture<List<Double>> evaluate(List<RuleFunctionCall> functionCalls);
+
+    /*
+     * An AsyncOperandEvaluator that passes each function call to a synchronous OperandEvaluator on the executor,
+     * all at once. The executor bounds the number of concurrent calls, as Executors.newFixedThreadPool does.
+     */
+    public static AsyncOperandEvaluator concurrent(final OperandEvaluator evaluator, final Executor executor) {
+        Objects.requireNonNull(evaluator, "evaluator");
+        Objects.requireNonNull(executor, "executor");
+        return new AsyncOperandEvaluator() {
+            @Override
+            public CompletableFuture<List<Double>> evaluate(List<RuleFunctionCall> functionCalls) {
+                List<CompletableFuture<Double>> values = new ArrayList<>(functionCalls.size());
+                for (RuleFunctionCall functionCall : functionCalls) {
+                    values.add(CompletableFuture.supplyAsync(
+                        () -> evaluator.evaluate(functionCall.getRule(), functionCall.getFunctionCall()), executor));
+                }
+                return CompletableFuture.allOf(values.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+                    List<Double> results = new ArrayList<>(values.size());
+                    for (CompletableFuture<Double> value : values) {
+                        results.add(value.join());
+                    }
+                    return results;
+                });
+            }
+        };
+    }
+}
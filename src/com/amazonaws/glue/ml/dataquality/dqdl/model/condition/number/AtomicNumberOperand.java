@@ -19,6 +19,10 @@ public class AtomicNumberOperand extends NumericOperand {
         super(operand);
     }
 
+    protected AtomicNumberOperand(final String operand, final boolean isParenthesized) {
+        super(operand, isParenthesized);
+    }
+
     @Override
     public String toString() {
         if (this.isParenthesized()) {
@@ -0,0 +1,452 @@
+/*
+ * CompiledNumberCondition.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * A number based condition ready to be evaluated against primitive metrics, as returned by
+ * NumberBasedCondition.compile. Numbers, and expressions of numbers such as 100 * 0.95, are parsed and computed
+ * once, when compiling. Only the function calls of the remaining dynamic operands, such as avg(last(10)) in
+ * avg(last(10)) * 0.9, go to the OperandEvaluator, and only when the outcome depends on them. Testing a metric
+ * against constant operands allocates nothing.
+ *
+ * Metrics are compared to operands as NumberBasedCondition.evaluate does: "=" and "in" use Double.equals,
+ * so NaN equals NaN and 0.0 does not equal -0.0.
+ *
+ * testAll evaluates many metrics at once, such as the metric of every partition, into a bitset of one bit per
+ * metric in a long[], bit i of word i / 64 for metric i. Dynamic operands are evaluated once for the whole batch.
+ */
+public final class CompiledNumberCondition implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final NumberBasedConditionOperator operator;
+    // Whether the number of operands suits the operator. Conditions that do not never pass.
+    private final boolean isValid;
+    private final double[] constants;
+    // The operands that are not constant, at the same positions. Null for constant operands.
+    private final DynamicOperand[] dynamicOperands;
+    private final boolean isConstant;
+
+    private CompiledNumberCondition(NumberBasedConditionOperator operator, boolean isValid,
+                                    double[] constants, DynamicOperand[] dynamicOperands) {
+        this.operator = operator;
+        this.isValid = isValid;
+        this.constants = constants;
+        this.dynamicOperands = dynamicOperands;
+
+        boolean allConstant = true;
+        for (DynamicOperand operand : dynamicOperands) {
+            allConstant &= operand == null;
+        }
+        this.isConstant = allConstant;
+    }
+
+    static CompiledNumberCondition compile(NumberBasedConditionOperator operator, List<NumericOperand> operands) {
+        int size = operands == null ? 0 : operands.size();
+        double[] constants = new double[size];
+        DynamicOperand[] dynamicOperands = new DynamicOperand[size];
+        for (int i = 0; i < size; i++) {
+            Double constant = constantValue(operands.get(i));
+            if (constant == null) {
+                dynamicOperands[i] = DynamicOperand.of(operands.get(i));
+            } else {
+                constants[i] = constant;
+            }
+        }
+        return new CompiledNumberCondition(operator, operands != null && hasValidArity(operator, size),
+            constants, dynamicOperands);
+    }
+
+    private static boolean hasValidArity(NumberBasedConditionOperator operator, int size) {
+        if (operator == null) {
+            return false;
+        }
+        switch (operator) {
+            case BETWEEN:
+            case NOT_BETWEEN:
+                return size == 2;
+            case IN:
+            case NOT_IN:
+                return true;
+            default:
+                return size == 1;
+        }
+    }
+
+    /*
+     * The value of an operand made only of numbers, or null if it depends on a function call or NULL.
+     */
+    static Double constantValue(NumericOperand operand) {
+        if (operand instanceof AtomicNumberOperand) {
+            try {
+                return Double.parseDouble(operand.getOperand());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        if (operand instanceof BinaryExpressionOperand) {
+            BinaryExpressionOperand expression = (BinaryExpressionOperand) operand;
+            Double left = constantValue(expression.getOperand1());
+            Double right = left == null ? null : constantValue(expression.getOperand2());
+            if (right == null) {
+                return null;
+            }
+            return isArithmetic(expression.getOperator())
+                ? compute(expression.getOperator(), left, right)
+                : null;
+        }
+        return null;
+    }
+
+    /*
+     * The value of an arithmetic expression, computed the way the dynamic operands of compiled conditions are:
+     * only its function calls and NULL are given to the evaluator, and an operand that evaluates to null makes
+     * the expression null.
+     */
+    static Double evaluateArithmetic(BinaryExpressionOperand expression, DQRule rule, OperandEvaluator evaluator) {
+        DynamicOperand dynamicOperand = DynamicOperand.of(expression);
+        if (dynamicOperand.operand == expression) {
+            throw new IllegalArgumentException("Unknown operator: " + expression.getOperator());
+        }
+        return dynamicOperand.evaluate(rule, evaluator);
+    }
+
+    private static boolean isArithmetic(String operator) {
+        return "+".equals(operator) || "-".equals(operator) || "*".equals(operator) || "/".equals(operator);
+    }
+
+    private static double compute(String operator, double left, double right) {
+        switch (operator) {
+            case "+":
+                return left + right;
+            case "-":
+                return left - right;
+            case "*":
+                return left * right;
+            default:
+                return left / right;
+        }
+    }
+
+    /*
+     * Whether all the operands are constant, in which case the rule and evaluator given to test are not used.
+     */
+    public boolean isConstant() {
+        return isConstant;
+    }
+
+    /*
+     * Tests a metric against a condition whose operands are all constant.
+     */
+    public boolean test(double metric) {
+        if (!isConstant) {
+            throw new IllegalStateException("The condition has dynamic operands and needs an OperandEvaluator");
+        }
+        return test(metric, null, null);
+    }
+
+    public boolean test(double metric, DQRule rule, OperandEvaluator evaluator) {
+        if (!isValid) {
+            return false;
+        }
+        switch (operator) {
+            case BETWEEN:
+                return metric > operand(0, rule, evaluator) && metric < operand(1, rule, evaluator);
+            case NOT_BETWEEN:
+                return metric <= operand(0, rule, evaluator) || metric >= operand(1, rule, evaluator);
+            case GREATER_THAN_EQUAL_TO:
+                return metric >= operand(0, rule, evaluator);
+            case GREATER_THAN:
+                return metric > operand(0, rule, evaluator);
+            case LESS_THAN_EQUAL_TO:
+                return metric <= operand(0, rule, evaluator);
+            case LESS_THAN:
+                return metric < operand(0, rule, evaluator);
+            case EQUALS:
+                return isEqualToOperand(metric, 0, rule, evaluator);
+            case NOT_EQUALS:
+                return !isEqualToOperand(metric, 0, rule, evaluator);
+            case IN:
+                return isIn(metric, rule, evaluator);
+            case NOT_IN:
+                return !isIn(metric, rule, evaluator);
+            default:
+                return false;
+        }
+    }
+
+    private boolean isIn(double metric, DQRule rule, OperandEvaluator evaluator) {
+        for (int i = 0; i < constants.length; i++) {
+            if (isEqualToOperand(metric, i, rule, evaluator)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Tests every metric of a condition whose operands are all constant, and returns the bitset of those passing.
+     */
+    public long[] testAll(double[] metrics) {
+        if (!isConstant) {
+            throw new IllegalStateException("The condition has dynamic operands and needs an OperandEvaluator");
+        }
+        long[] results = new long[words(metrics.length)];
+        testAll(metrics, null, null, null, results);
+        return results;
+    }
+
+    /*
+     * Tests every metric and writes the bitset of those passing into results, which needs one word for every
+     * 64 metrics. Bits past the last metric are cleared. Metrics whose bit is set in the optional null mask are
+     * missing, and never pass.
+     */
+    public void testAll(double[] metrics, long[] nullMask, DQRule rule, OperandEvaluator evaluator,
+                        long[] results) {
+        int words = words(metrics.length);
+        if (results.length < words) {
+            throw new IllegalArgumentException(String.format(
+                "%d metrics need %d words of results, got %d", metrics.length, words, results.length));
+        }
+        if (nullMask != null && nullMask.length < words) {
+            throw new IllegalArgumentException(String.format(
+                "%d metrics need %d words of null mask, got %d", metrics.length, words, nullMask.length));
+        }
+
+        if (!isValid) {
+            Arrays.fill(results, 0, words, 0L);
+        } else {
+            switch (operator) {
+                case BETWEEN:
+                    between(metrics, operand(0, rule, evaluator), operand(1, rule, evaluator), results);
+                    break;
+                case NOT_BETWEEN:
+                    notBetween(metrics, operand(0, rule, evaluator), operand(1, rule, evaluator), results);
+                    break;
+                case GREATER_THAN_EQUAL_TO:
+                    greaterThanOrEqual(metrics, operand(0, rule, evaluator), results);
+                    break;
+                case GREATER_THAN:
+                    greaterThan(metrics, operand(0, rule, evaluator), results);
+                    break;
+                case LESS_THAN_EQUAL_TO:
+                    lessThanOrEqual(metrics, operand(0, rule, evaluator), results);
+                    break;
+                case LESS_THAN:
+                    lessThan(metrics, operand(0, rule, evaluator), results);
+                    break;
+                case EQUALS:
+                case IN:
+                    in(metrics, operandBits(rule, evaluator), false, results);
+                    break;
+                case NOT_EQUALS:
+                case NOT_IN:
+                    in(metrics, operandBits(rule, evaluator), true, results);
+                    break;
+                default:
+                    Arrays.fill(results, 0, words, 0L);
+            }
+        }
+
+        if (nullMask != null) {
+            for (int word = 0; word < words; word++) {
+                results[word] &= ~nullMask[word];
+            }
+        }
+        if (words > 0 && metrics.length % 64 != 0) {
+            results[words - 1] &= (1L << metrics.length) - 1;
+        }
+    }
+
+    private static int words(int metrics) {
+        return (metrics + 63) >>> 6;
+    }
+
+    // Each loop below fills the bitset a word at a time, with no branch on the metric, so that the JIT can
+    // unroll it and compile each comparison to a conditional move.
+
+    private static void between(double[] metrics, double lower, double upper, long[] results) {
+        for (int word = 0, base = 0; base < metrics.length; word++, base += 64) {
+            int end = Math.min(64, metrics.length - base);
+            long bits = 0L;
+            for (int bit = 0; bit < end; bit++) {
+                double metric = metrics[base + bit];
+                bits |= (metric > lower & metric < upper ? 1L : 0L) << bit;
+            }
+            results[word] = bits;
+        }
+    }
+
+    private static void notBetween(double[] metrics, double lower, double upper, long[] results) {
+        for (int word = 0, base = 0; base < metrics.length; word++, base += 64) {
+            int end = Math.min(64, metrics.length - base);
+            long bits = 0L;
+            for (int bit = 0; bit < end; bit++) {
+                double metric = metrics[base + bit];
+                bits |= (metric <= lower | metric >= upper ? 1L : 0L) << bit;
+            }
+            results[word] = bits;
+        }
+    }
+
+    private static void greaterThanOrEqual(double[] metrics, double operand, long[] results) {
+        for (int word = 0, base = 0; base < metrics.length; word++, base += 64) {
+            int end = Math.min(64, metrics.length - base);
+            long bits = 0L;
+            for (int bit = 0; bit < end; bit++) {
+                bits |= (metrics[base + bit] >= operand ? 1L : 0L) << bit;
+            }
+            results[word] = bits;
+        }
+    }
+
+    private static void greaterThan(double[] metrics, double operand, long[] results) {
+        for (int word = 0, base = 0; base < metrics.length; word++, base += 64) {
+            int end = Math.min(64, metrics.length - base);
+            long bits = 0L;
+            for (int bit = 0; bit < end; bit++) {
+                bits |= (metrics[base + bit] > operand ? 1L : 0L) << bit;
+            }
+            results[word] = bits;
+        }
+    }
+
+    private static void lessThanOrEqual(double[] metrics, double operand, long[] results) {
+        for (int word = 0, base = 0; base < metrics.length; word++, base += 64) {
+            int end = Math.min(64, metrics.length - base);
+            long bits = 0L;
+            for (int bit = 0; bit < end; bit++) {
+                bits |= (metrics[base + bit] <= operand ? 1L : 0L) << bit;
+            }
+            results[word] = bits;
+        }
+    }
+
+    private static void lessThan(double[] metrics, double operand, long[] results) {
+        for (int word = 0, base = 0; base < metrics.length; word++, base += 64) {
+            int end = Math.min(64, metrics.length - base);
+            long bits = 0L;
+            for (int bit = 0; bit < end; bit++) {
+                bits |= (metrics[base + bit] < operand ? 1L : 0L) << bit;
+            }
+            results[word] = bits;
+        }
+    }
+
+    /*
+     * "=", "!=", "in" and "not in", comparing the bits of the metrics to the sorted bits of the operands,
+     * as Double.equals does.
+     */
+    private static void in(double[] metrics, long[] sortedOperandBits, boolean negate, long[] results) {
+        for (int word = 0, base = 0; base < metrics.length; word++, base += 64) {
+            int end = Math.min(64, metrics.length - base);
+            long bits = 0L;
+            for (int bit = 0; bit < end; bit++) {
+                boolean isIn = Arrays.binarySearch(sortedOperandBits,
+                    Double.doubleToLongBits(metrics[base + bit])) >= 0;
+                bits |= (isIn != negate ? 1L : 0L) << bit;
+            }
+            results[word] = bits;
+        }
+    }
+
+    private long[] operandBits(DQRule rule, OperandEvaluator evaluator) {
+        long[] bits = new long[constants.length];
+        int size = 0;
+        for (int i = 0; i < constants.length; i++) {
+            DynamicOperand dynamicOperand = dynamicOperands[i];
+            Double value = dynamicOperand == null ? (Double) constants[i] : dynamicOperand.evaluate(rule, evaluator);
+            if (value != null) {
+                bits[size++] = Double.doubleToLongBits(value);
+            }
+        }
+        Arrays.sort(bits, 0, size);
+        return size == bits.length ? bits : Arrays.copyOf(bits, size);
+    }
+
+    private double operand(int index, DQRule rule, OperandEvaluator evaluator) {
+        DynamicOperand dynamicOperand = dynamicOperands[index];
+        return dynamicOperand == null ? constants[index] : dynamicOperand.evaluate(rule, evaluator);
+    }
+
+    private boolean isEqualToOperand(double metric, int index, DQRule rule, OperandEvaluator evaluator) {
+        DynamicOperand dynamicOperand = dynamicOperands[index];
+        if (dynamicOperand == null) {
+            return isEqual(metric, constants[index]);
+        }
+        // NULL, as in "in [ 1, NULL ]", equals no metric.
+        Double value = dynamicOperand.evaluate(rule, evaluator);
+        return value != null && isEqual(metric, value);
+    }
+
+    // Double.equals, without boxing.
+    private static boolean isEqual(double metric, double operand) {
+        return Double.doubleToLongBits(metric) == Double.doubleToLongBits(operand);
+    }
+
+    /*
+     * An operand that depends on function calls or NULL. The arithmetic around them is computed here, so that
+     * only the function calls and NULL go to the OperandEvaluator.
+     */
+    private static final class DynamicOperand implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        // The operand given to the evaluator, or null for constants and arithmetic.
+        private final NumericOperand operand;
+        private final double constant;
+        // The arithmetic operator of left and right, or null.
+        private final String operator;
+        private final DynamicOperand left;
+        private final DynamicOperand right;
+
+        private DynamicOperand(NumericOperand operand, double constant, String operator,
+                               DynamicOperand left, DynamicOperand right) {
+            this.operand = operand;
+            this.constant = constant;
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        static DynamicOperand of(NumericOperand operand) {
+            Double constant = constantValue(operand);
+            if (constant != null) {
+                return new DynamicOperand(null, constant, null, null, null);
+            }
+            if (operand instanceof BinaryExpressionOperand) {
+                BinaryExpressionOperand expression = (BinaryExpressionOperand) operand;
+                if (isArithmetic(expression.getOperator())
+                    && expression.getOperand1() != null && expression.getOperand2() != null) {
+                    return new DynamicOperand(null, 0, expression.getOperator(),
+                        of(expression.getOperand1()), of(expression.getOperand2()));
+                }
+            }
+            return new DynamicOperand(operand, 0, null, null, null);
+        }
+
+        /*
+         * The value of the operand, or null if a function call or NULL evaluates to null.
+         */
+        Double evaluate(DQRule rule, OperandEvaluator evaluator) {
+            if (operator != null) {
+                Double leftValue = left.evaluate(rule, evaluator);
+                Double rightValue = leftValue == null ? null : right.evaluate(rule, evaluator);
+                return rightValue == null ? null : compute(operator, leftValue, rightValue);
+            }
+            return operand == null ? (Double) constant : evaluator.evaluate(rule, operand);
+        }
+    }
+}
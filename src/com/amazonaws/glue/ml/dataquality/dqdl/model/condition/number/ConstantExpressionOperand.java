@@ -0,0 +1,43 @@
+/*
+ * ConstantExpressionOperand.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/*
+ * A binary expression made only of numbers, such as 100 * 0.95, folded into the number it computes when parsed.
+ * Its operand is that number, so it is used like any other atomic number operand, while it is still printed
+ * and encoded as the expression it was written as.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class ConstantExpressionOperand extends AtomicNumberOperand {
+    private final BinaryExpressionOperand expression;
+
+    public ConstantExpressionOperand(final double value, final BinaryExpressionOperand expression) {
+        super(Double.toString(value), expression.isParenthesized());
+        this.expression = expression;
+    }
+
+    /*
+     * The expression folded into a constant if all of its operands are numbers, or the expression itself.
+     */
+    public static NumericOperand fold(final BinaryExpressionOperand expression) {
+        Double value = CompiledNumberCondition.constantValue(expression);
+        return value == null ? expression : new ConstantExpressionOperand(value, expression);
+    }
+
+    @Override
+    public String toString() {
+        return expression.toString();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * MemoizingOperandEvaluator.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * The evaluation context of one run of a ruleset. It passes operands to another OperandEvaluator, and remembers
+ * the result of each function call, so that a function call repeated across rules and operands, such as
+ * avg(last(10)), is only evaluated once. Create one for each run: results are never refreshed.
+ *
+ * Function calls are the same when they have the same function name and arguments, numbers among the arguments
+ * being compared by value, so avg(last(10)) * 0.8 and avg(last(10.0)) > 0 share a result. The result of most
+ * functions depends on the rule, such as the history of its metric for last, and is only shared by calls for
+ * the same rule instance. Functions named as rule independent share their results across all rules.
+ *
+ * Other operands are passed on every time. It is safe to use from several threads; a function call evaluated
+ * concurrently by two threads may be evaluated twice.
+ */
+public class MemoizingOperandEvaluator extends OperandEvaluator {
+    private static final long serialVersionUID = 1L;
+
+    private final OperandEvaluator delegate;
+    private final Set<String> ruleIndependentFunctions;
+    // Null results are remembered too, as a Result holding null.
+    private final Map<FunctionCall, Result> results = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public MemoizingOperandEvaluator(final OperandEvaluator delegate) {
+        this(delegate, Collections.emptySet());
+    }
+
+    public MemoizingOperandEvaluator(final OperandEvaluator delegate, final Set<String> ruleIndependentFunctions) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.ruleIndependentFunctions = Collections.unmodifiableSet(new HashSet<>(ruleIndependentFunctions));
+    }
+
+    @Override
+    public Double evaluate(DQRule rule, NumericOperand operand) {
+        if (!(operand instanceof FunctionCallOperand)) {
+            return delegate.evaluate(rule, operand);
+        }
+
+        FunctionCallOperand functionCall = (FunctionCallOperand) operand;
+        DQRule ruleOfCall = ruleIndependentFunctions.contains(functionCall.getFunctionName()) ? null : rule;
+        FunctionCall key = new FunctionCall(ruleOfCall, functionCall.getFunctionName(),
+            arguments(functionCall.getOperands()));
+
+        Result result = results.get(key);
+        if (result != null) {
+            hits.increment();
+            return result.value;
+        }
+        misses.increment();
+        Double value = delegate.evaluate(rule, operand);
+        results.putIfAbsent(key, new Result(value));
+        return value;
+    }
+
+    /*
+     * The number of function calls answered with a remembered result.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /*
+     * The number of function calls passed to the other OperandEvaluator.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /*
+     * The number of distinct function calls remembered.
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /*
+     * The arguments of a function call as compared between calls: numbers by value, and function calls by name
+     * and arguments, whatever their text.
+     */
+    private static List<Object> arguments(List<NumericOperand> operands) {
+        if (operands == null) {
+            return Collections.emptyList();
+        }
+        List<Object> arguments = new ArrayList<>(operands.size());
+        for (NumericOperand operand : operands) {
+            Double constant = CompiledNumberCondition.constantValue(operand);
+            if (constant != null) {
+                arguments.add(constant);
+            } else if (operand instanceof FunctionCallOperand) {
+                FunctionCallOperand functionCall = (FunctionCallOperand) operand;
+                arguments.add(new FunctionCall(null, functionCall.getFunctionName(),
+                    arguments(functionCall.getOperands())));
+            } else {
+                arguments.add(operand == null ? null : operand.toString());
+            }
+        }
+        return arguments;
+    }
+
+    /*
+     * The result of a function call, which may be null. Unlike Optional, it can be serialized with the evaluator.
+     */
+    private static final class Result implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Double value;
+
+        Result(Double value) {
+            this.value = value;
+        }
+    }
+
+    /*
+     * A function call, for the rule instance it was evaluated for when its result depends on the rule.
+     */
+    private static final class FunctionCall implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final DQRule rule;
+        private final String functionName;
+        private final List<Object> arguments;
+
+        FunctionCall(DQRule rule, String functionName, List<Object> arguments) {
+            this.rule = rule;
+            this.functionName = functionName;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FunctionCall)) {
+                return false;
+            }
+            FunctionCall other = (FunctionCall) o;
+            return rule == other.rule
+                && Objects.equals(functionName, other.functionName)
+                && arguments.equals(other.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            // Rules are compared by identity: hashing a rule would cost more than most function calls save.
+            return 31 * (31 * System.identityHashCode(rule) + Objects.hashCode(functionName)) + arguments.hashCode();
+        }
+    }
+}
@@ -13,12 +13,14 @@ package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
 import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
 import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.Condition;
 import com.amazonaws.glue.ml.dataquality.dqdl.util.StringUtils;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.text.DecimalFormat;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Getter
@@ -30,6 +32,12 @@ public class NumberBasedCondition extends Condition {
 
     private static final DecimalFormat OP_FORMAT = new DecimalFormat("#.###");
 
+    // Computed on first use. Transient fields are not compared by equals.
+    @Getter(AccessLevel.NONE)
+    private transient Optional<NumberIntervals> intervals;
+    @Getter(AccessLevel.NONE)
+    private transient CompiledNumberCondition compiled;
+
     public NumberBasedCondition(final String conditionAsString,
                                 final NumberBasedConditionOperator operator,
                                 final List<NumericOperand> operands) {
@@ -42,88 +50,97 @@ public class NumberBasedCondition extends Condition {
     public Boolean evaluate(Double metric, DQRule dqRule, OperandEvaluator evaluator) {
         if (operands == null) return false;
 
+        // Subclasses may compare metrics to operands in their own way, through isOperandEqualToMetric.
+        boolean result = getClass() == NumberBasedCondition.class
+            ? compile().test(metric, dqRule, evaluator)
+            : evaluateOperands(metric, dqRule, evaluator);
+
+        // At debug level: rendering the rule for every metric would cost more than evaluating the condition.
+        if (log.isDebugEnabled()) {
+            log.debug("Evaluating condition for rule: {}", dqRule);
+            log.debug("{} {}? {}", metric, getFormattedCondition(), result);
+        }
+        return result;
+    }
+
+    /*
+     * Evaluates every metric at once, and returns the bitset of those passing, bit i of word i / 64 for metric i.
+     * Metrics whose bit is set in the optional null mask are missing, and never pass.
+     */
+    public long[] evaluateAll(double[] metrics, long[] nullMask, DQRule dqRule, OperandEvaluator evaluator) {
+        long[] results = new long[(metrics.length + 63) >>> 6];
+        if (operands == null) return results;
+
+        if (getClass() == NumberBasedCondition.class) {
+            compile().testAll(metrics, nullMask, dqRule, evaluator, results);
+        } else {
+            for (int i = 0; i < metrics.length; i++) {
+                boolean isNull = nullMask != null && (nullMask[i >>> 6] & 1L << i) != 0;
+                if (!isNull && evaluateOperands(metrics[i], dqRule, evaluator)) {
+                    results[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        return results;
+    }
+
+    /*
+     * This condition compiled for repeated evaluation against primitive metrics. It is compiled once, on first use.
+     */
+    public CompiledNumberCondition compile() {
+        CompiledNumberCondition result = compiled;
+        if (result == null) {
+            result = CompiledNumberCondition.compile(operator, operands);
+            compiled = result;
+        }
+        return result;
+    }
+
+    private boolean evaluateOperands(Double metric, DQRule dqRule, OperandEvaluator evaluator) {
         List<Double> operandsAsDouble = operands.stream()
             .map(operand -> evaluator.evaluate(dqRule, operand)).collect(Collectors.toList());
 
-        log.info(String.format("Evaluating condition for rule: %s", dqRule));
-
         switch (operator) {
             case BETWEEN:
-                if (operands.size() != 2) return false;
-                else {
-                    boolean result = metric > operandsAsDouble.get(0) && metric < operandsAsDouble.get(1);
-                    log.info("{} between {} and {}? {}",
-                            metric, operandsAsDouble.get(0), operandsAsDouble.get(1), result);
-                    return result;
-                }
+                return operands.size() == 2
+                    && metric > operandsAsDouble.get(0) && metric < operandsAsDouble.get(1);
             case NOT_BETWEEN:
-                if (operands.size() != 2) return false;
-                else {
-                    boolean result = metric <= operandsAsDouble.get(0) || metric >= operandsAsDouble.get(1);
-                    log.info("{} not between {} and {}? {}",
-                            metric, operandsAsDouble.get(0), operandsAsDouble.get(1), result);
-                    return result;
-                }
+                return operands.size() == 2
+                    && (metric <= operandsAsDouble.get(0) || metric >= operandsAsDouble.get(1));
             case GREATER_THAN_EQUAL_TO:
-                if (operands.size() != 1) return false;
-                else {
-                    boolean result = metric >= operandsAsDouble.get(0);
-                    log.info("{} >= {}? {}", metric, operandsAsDouble.get(0), result);
-                    return result;
-                }
+                return operands.size() == 1 && metric >= operandsAsDouble.get(0);
             case GREATER_THAN:
-                if (operands.size() != 1) return false;
-                else {
-                    boolean result = metric > operandsAsDouble.get(0);
-                    log.info("{} > {}? {}", metric, operandsAsDouble.get(0), result);
-                    return result;
-                }
+                return operands.size() == 1 && metric > operandsAsDouble.get(0);
             case LESS_THAN_EQUAL_TO:
-                if (operands.size() != 1) return false;
-                else {
-                    boolean result = metric <= operandsAsDouble.get(0);
-                    log.info("{} <= {}? {}", metric, operandsAsDouble.get(0), result);
-                    return result;
-                }
+                return operands.size() == 1 && metric <= operandsAsDouble.get(0);
             case LESS_THAN:
-                if (operands.size() != 1) return false;
-                else {
-                    boolean result = metric < operandsAsDouble.get(0);
-                    log.info("{} < {}? {}", metric, operandsAsDouble.get(0), result);
-                    return result;
-                }
+                return operands.size() == 1 && metric < operandsAsDouble.get(0);
             case EQUALS:
-                if (operands.size() != 1) return false;
-                else {
-                    boolean result = isOperandEqualToMetric(metric, operandsAsDouble.get(0));
-                    log.info("{} == {}? {}", metric, operandsAsDouble.get(0), result);
-                    return result;
-                }
+                return operands.size() == 1 && isOperandEqualToMetric(metric, operandsAsDouble.get(0));
             case NOT_EQUALS:
-                if (operands.size() != 1) return false;
-                else {
-                    boolean result = !isOperandEqualToMetric(metric, operandsAsDouble.get(0));
-                    log.info("{} != {}? {}", metric, operandsAsDouble.get(0), result);
-                    return result;
-                }
-            case IN: {
-                boolean result = operandsAsDouble.stream().anyMatch(operand ->
-                    isOperandEqualToMetric(metric, operand));
-                log.info("{} in {}? {}", metric, operandsAsDouble, result);
-                return result;
-            }
-            case NOT_IN: {
-                boolean result = !operandsAsDouble.stream().anyMatch(operand ->
-                    isOperandEqualToMetric(metric, operand));
-                log.info("{} not in {}? {}", metric, operandsAsDouble, result);
-                return result;
-            }
+                return operands.size() == 1 && !isOperandEqualToMetric(metric, operandsAsDouble.get(0));
+            case IN:
+                return operandsAsDouble.stream().anyMatch(operand -> isOperandEqualToMetric(metric, operand));
+            case NOT_IN:
+                return operandsAsDouble.stream().noneMatch(operand -> isOperandEqualToMetric(metric, operand));
             default:
                 log.error("Unknown operator");
                 return false;
         }
     }
 
+    /*
+     * The values that pass this condition as NumberIntervals, when all of its operands are numbers.
+     */
+    public Optional<NumberIntervals> getIntervals() {
+        Optional<NumberIntervals> result = intervals;
+        if (result == null) {
+            result = NumberIntervals.of(this);
+            intervals = result;
+        }
+        return result;
+    }
+
     @Override
     public String getFormattedCondition() {
         if (StringUtils.isBlank(conditionAsString)) return "";
@@ -178,21 +195,35 @@ public class NumberBasedCondition extends Condition {
 
     private String getSortedFormattedOperands() {
         return operands.stream()
+                .sorted(NumberBasedCondition::compareOperands)
                 .map(NumericOperand::toString)
-                .sorted((s1, s2) -> {
-                    if (s1.equalsIgnoreCase("NULL") && s2.equalsIgnoreCase("NULL")) {
-                        return 0; // Treat both NULLs as equal
-                    } else if (s1.equalsIgnoreCase("NULL")) {
-                        return 1; // Treat NULL as greater than any other value
-                    } else if (s2.equalsIgnoreCase("NULL")) {
-                        return -1; // Treat NULL as greater than any other value
-                    } else {
-                        return Double.compare(Double.parseDouble(s1), Double.parseDouble(s2));
-                    }
-                })
                 .collect(Collectors.joining(","));
     }
 
+    /*
+     * Orders numbers and constant expressions by value, then dynamic operands such as avg(last(3)) by text,
+     * then NULL.
+     */
+    private static int compareOperands(NumericOperand o1, NumericOperand o2) {
+        Double value1 = CompiledNumberCondition.constantValue(o1);
+        Double value2 = CompiledNumberCondition.constantValue(o2);
+        int group = Integer.compare(sortGroup(o1, value1), sortGroup(o2, value2));
+        if (group != 0) {
+            return group;
+        }
+        if (value1 != null) {
+            return Double.compare(value1, value2);
+        }
+        return o1.toString().compareTo(o2.toString());
+    }
+
+    private static int sortGroup(NumericOperand operand, Double value) {
+        if (value != null) {
+            return 0;
+        }
+        return operand instanceof NullNumericOperand ? 2 : 1;
+    }
+
     protected boolean isOperandEqualToMetric(Double metric, Double operand) {
         return metric.equals(operand);
     }
@@ -0,0 +1,389 @@
+/*
+ * NumberIntervals.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/*
+ * The set of metric values that pass a number based condition, as a union of disjoint open or closed intervals
+ * in increasing order, such as [-inf, 1) U (1, +inf] U {NaN} for "!= 1". Points are closed intervals of one value.
+ * Infinite metrics pass "> 1", so the intervals include the infinities. NaN is tracked apart, since it passes "!="
+ * and "not in" but no other operator.
+ *
+ * The form is canonical: two conditions pass the same values exactly when their intervals are equal,
+ * whatever operators they are written with, so "= 1" and "in [1]" have equal intervals. Conditions on the same
+ * metric can be combined with intersect and union, and the result checked with a single binary search by contains.
+ * The one difference with NumberBasedCondition.evaluate is that -0.0 is taken to be equal to 0.0.
+ */
+public final class NumberIntervals implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final NumberIntervals EMPTY = new NumberIntervals(new ArrayList<>(), false);
+    private static final NumberIntervals ALL = EMPTY.complement();
+
+    // The bounds of interval i are at 2 * i and 2 * i + 1.
+    private final double[] bounds;
+    private final boolean[] closed;
+    private final boolean containsNaN;
+
+    private NumberIntervals(List<Interval> intervals, boolean containsNaN) {
+        this.bounds = new double[intervals.size() * 2];
+        this.closed = new boolean[intervals.size() * 2];
+        for (int i = 0; i < intervals.size(); i++) {
+            Interval interval = intervals.get(i);
+            bounds[2 * i] = interval.lower;
+            bounds[2 * i + 1] = interval.upper;
+            closed[2 * i] = interval.lowerClosed;
+            closed[2 * i + 1] = interval.upperClosed;
+        }
+        this.containsNaN = containsNaN;
+    }
+
+    /*
+     * The intervals of a condition whose operands are all numbers. Conditions with dynamic operands, such as
+     * avg(last(3)), or NULL operands have none.
+     */
+    public static Optional<NumberIntervals> of(NumberBasedCondition condition) {
+        List<NumericOperand> operands = condition.getOperands();
+        if (condition.getOperator() == null || operands == null) {
+            return Optional.empty();
+        }
+        double[] values = new double[operands.size()];
+        for (int i = 0; i < values.length; i++) {
+            if (!(operands.get(i) instanceof AtomicNumberOperand)) {
+                return Optional.empty();
+            }
+            try {
+                values[i] = Double.parseDouble(operands.get(i).getOperand());
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(of(condition.getOperator(), values));
+    }
+
+    /*
+     * The intervals of an operator applied to the given operands.
+     */
+    public static NumberIntervals of(NumberBasedConditionOperator operator, double... operands) {
+        double inf = Double.POSITIVE_INFINITY;
+        List<Interval> intervals = new ArrayList<>();
+
+        // Operators with the wrong number of operands never pass, as in NumberBasedCondition.evaluate.
+        switch (operator) {
+            case BETWEEN:
+                if (operands.length == 2) {
+                    intervals.add(new Interval(operands[0], false, operands[1], false));
+                }
+                return normalize(intervals, false);
+            case NOT_BETWEEN:
+                if (operands.length == 2) {
+                    intervals.add(new Interval(-inf, true, operands[0], true));
+                    intervals.add(new Interval(operands[1], true, inf, true));
+                }
+                return normalize(intervals, false);
+            case GREATER_THAN:
+                if (operands.length == 1) {
+                    intervals.add(new Interval(operands[0], false, inf, true));
+                }
+                return normalize(intervals, false);
+            case GREATER_THAN_EQUAL_TO:
+                if (operands.length == 1) {
+                    intervals.add(new Interval(operands[0], true, inf, true));
+                }
+                return normalize(intervals, false);
+            case LESS_THAN:
+                if (operands.length == 1) {
+                    intervals.add(new Interval(-inf, true, operands[0], false));
+                }
+                return normalize(intervals, false);
+            case LESS_THAN_EQUAL_TO:
+                if (operands.length == 1) {
+                    intervals.add(new Interval(-inf, true, operands[0], true));
+                }
+                return normalize(intervals, false);
+            case EQUALS:
+                if (operands.length == 1) {
+                    intervals.add(new Interval(operands[0], true, operands[0], true));
+                }
+                return normalize(intervals, false);
+            case NOT_EQUALS:
+                if (operands.length != 1) {
+                    return EMPTY;
+                }
+                return points(operands).complement();
+            case IN:
+                return points(operands);
+            case NOT_IN:
+                return points(operands).complement();
+            default:
+                return EMPTY;
+        }
+    }
+
+    public static NumberIntervals empty() {
+        return EMPTY;
+    }
+
+    /*
+     * Every value, including the infinities and NaN.
+     */
+    public static NumberIntervals all() {
+        return ALL;
+    }
+
+    /*
+     * The set of the given values.
+     */
+    public static NumberIntervals points(double... values) {
+        List<Interval> intervals = new ArrayList<>();
+        for (double value : values) {
+            intervals.add(new Interval(value, true, value, true));
+        }
+        return normalize(intervals, false);
+    }
+
+    /*
+     * The values that are not in these intervals.
+     */
+    public NumberIntervals complement() {
+        List<Interval> intervals = new ArrayList<>();
+        double lower = Double.NEGATIVE_INFINITY;
+        boolean lowerClosed = true;
+        for (int i = 0; i < size(); i++) {
+            intervals.add(new Interval(lower, lowerClosed, lower(i), !closed[2 * i]));
+            lower = upper(i);
+            lowerClosed = !closed[2 * i + 1];
+        }
+        intervals.add(new Interval(lower, lowerClosed, Double.POSITIVE_INFINITY, true));
+        return normalize(intervals, !containsNaN);
+    }
+
+    /*
+     * Sorts the intervals, drops the empty ones and merges the ones that overlap or touch.
+     */
+    private static NumberIntervals normalize(List<Interval> intervals, boolean containsNaN) {
+        List<Interval> sorted = new ArrayList<>();
+        for (Interval interval : intervals) {
+            if (!interval.isEmpty()) {
+                sorted.add(interval);
+            }
+        }
+        sorted.sort(Comparator.<Interval>comparingDouble(interval -> interval.lower)
+            .thenComparing(interval -> !interval.lowerClosed));
+
+        List<Interval> merged = new ArrayList<>();
+        for (Interval interval : sorted) {
+            Interval last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            boolean touches = last != null && (interval.lower < last.upper
+                || interval.lower == last.upper && (interval.lowerClosed || last.upperClosed));
+            if (!touches) {
+                merged.add(interval);
+            } else if (interval.upper > last.upper) {
+                merged.set(merged.size() - 1, new Interval(last.lower, last.lowerClosed,
+                    interval.upper, interval.upperClosed));
+            } else if (interval.upper == last.upper && interval.upperClosed && !last.upperClosed) {
+                merged.set(merged.size() - 1, new Interval(last.lower, last.lowerClosed, last.upper, true));
+            }
+        }
+        return merged.isEmpty() && !containsNaN ? EMPTY : new NumberIntervals(merged, containsNaN);
+    }
+
+    /*
+     * The values in both sets of intervals.
+     */
+    public NumberIntervals intersect(NumberIntervals other) {
+        List<Interval> intervals = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < size() && j < other.size()) {
+            double lower = Math.max(lower(i), other.lower(j));
+            boolean lowerClosed = includesLower(lower, i) && other.includesLower(lower, j);
+            double upper = Math.min(upper(i), other.upper(j));
+            boolean upperClosed = includesUpper(upper, i) && other.includesUpper(upper, j);
+            intervals.add(new Interval(lower, lowerClosed, upper, upperClosed));
+
+            // Moves past the interval that ends first, or both if they end together.
+            int comparison = Double.compare(upper(i), other.upper(j));
+            if (comparison <= 0) {
+                i++;
+            }
+            if (comparison >= 0) {
+                j++;
+            }
+        }
+        return normalize(intervals, containsNaN && other.containsNaN);
+    }
+
+    /*
+     * The values in either set of intervals.
+     */
+    public NumberIntervals union(NumberIntervals other) {
+        List<Interval> intervals = new ArrayList<>(size() + other.size());
+        addIntervals(intervals);
+        other.addIntervals(intervals);
+        return normalize(intervals, containsNaN || other.containsNaN);
+    }
+
+    private void addIntervals(List<Interval> intervals) {
+        for (int i = 0; i < size(); i++) {
+            intervals.add(new Interval(lower(i), isLowerClosed(i), upper(i), isUpperClosed(i)));
+        }
+    }
+
+    /*
+     * Whether the value passes the condition of these intervals, found with a binary search over the intervals.
+     */
+    public boolean contains(double value) {
+        if (Double.isNaN(value)) {
+            return containsNaN;
+        }
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (value < lower(middle) || value == lower(middle) && !isLowerClosed(middle)) {
+                high = middle - 1;
+            } else if (value > upper(middle) || value == upper(middle) && !isUpperClosed(middle)) {
+                low = middle + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean intersects(NumberIntervals other) {
+        return !intersect(other).isEmpty();
+    }
+
+    /*
+     * Whether every value in the other intervals is also in these, that is whether a metric that passes the
+     * condition of the other intervals always passes the condition of these.
+     */
+    public boolean containsAll(NumberIntervals other) {
+        return intersect(other).equals(other);
+    }
+
+    public boolean isEmpty() {
+        return bounds.length == 0 && !containsNaN;
+    }
+
+    public boolean isAll() {
+        return equals(ALL);
+    }
+
+    public boolean containsNaN() {
+        return containsNaN;
+    }
+
+    /*
+     * The number of disjoint intervals.
+     */
+    public int size() {
+        return bounds.length / 2;
+    }
+
+    public double lower(int interval) {
+        return bounds[2 * interval];
+    }
+
+    public double upper(int interval) {
+        return bounds[2 * interval + 1];
+    }
+
+    public boolean isLowerClosed(int interval) {
+        return closed[2 * interval];
+    }
+
+    public boolean isUpperClosed(int interval) {
+        return closed[2 * interval + 1];
+    }
+
+    // Whether interval i includes a lower bound at the given value, which is at least its own lower bound.
+    private boolean includesLower(double value, int interval) {
+        return value != lower(interval) || isLowerClosed(interval);
+    }
+
+    private boolean includesUpper(double value, int interval) {
+        return value != upper(interval) || isUpperClosed(interval);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NumberIntervals)) {
+            return false;
+        }
+        NumberIntervals other = (NumberIntervals) o;
+        return containsNaN == other.containsNaN
+            && Arrays.equals(bounds, other.bounds)
+            && Arrays.equals(closed, other.closed);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(bounds) + Arrays.hashCode(closed)) + Boolean.hashCode(containsNaN);
+    }
+
+    @Override
+    public String toString() {
+        List<String> intervals = new ArrayList<>();
+        for (int i = 0; i < size(); i++) {
+            if (lower(i) == upper(i)) {
+                intervals.add(String.format("{%s}", format(lower(i))));
+            } else {
+                intervals.add(String.format("%s%s, %s%s", isLowerClosed(i) ? "[" : "(", format(lower(i)),
+                    format(upper(i)), isUpperClosed(i) ? "]" : ")"));
+            }
+        }
+        if (containsNaN) {
+            intervals.add("{NaN}");
+        }
+        return intervals.isEmpty() ? "{}" : String.join(" U ", intervals);
+    }
+
+    private static String format(double value) {
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+inf" : "-inf";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+            ? String.valueOf((long) value)
+            : String.valueOf(value);
+    }
+
+    private static final class Interval {
+        private final double lower;
+        private final boolean lowerClosed;
+        private final double upper;
+        private final boolean upperClosed;
+
+        Interval(double lower, boolean lowerClosed, double upper, boolean upperClosed) {
+            // -0.0 is the same bound as 0.0.
+            this.lower = lower + 0.0;
+            this.lowerClosed = lowerClosed;
+            this.upper = upper + 0.0;
+            this.upperClosed = upperClosed;
+        }
+
+        boolean isEmpty() {
+            return Double.isNaN(lower) || Double.isNaN(upper) || lower > upper
+                || lower == upper && !(lowerClosed && upperClosed);
+        }
+    }
+}
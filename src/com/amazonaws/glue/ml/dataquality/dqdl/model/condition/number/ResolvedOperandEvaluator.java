@@ -0,0 +1,130 @@
+/*
+ * ResolvedOperandEvaluator.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.Condition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * An OperandEvaluator answering from the function calls of a ruleset, resolved beforehand by an
+ * AsyncOperandEvaluator. The conditions of the ruleset are then evaluated without any round trip:
+ *
+ *   ResolvedOperandEvaluator evaluator = ResolvedOperandEvaluator.resolve(ruleset, asyncEvaluator).join();
+ *   condition.evaluate(metric, rule, evaluator);
+ *
+ * Numbers and the arithmetic around function calls are computed as compiled conditions compute them.
+ * NULL evaluates to null.
+ */
+public final class ResolvedOperandEvaluator extends OperandEvaluator {
+    private static final long serialVersionUID = 1L;
+
+    // The value of each function call of each rule. Values may be null.
+    private final Map<DQRule, Map<FunctionCallOperand, Double>> values;
+
+    private ResolvedOperandEvaluator(Map<DQRule, Map<FunctionCallOperand, Double>> values) {
+        this.values = values;
+    }
+
+    /*
+     * Resolves every function call of the conditions and threshold conditions of the rules of the ruleset,
+     * composite rules included, with one call to the AsyncOperandEvaluator. A function call repeated in a rule
+     * is resolved once.
+     */
+    public static CompletableFuture<ResolvedOperandEvaluator> resolve(DQRuleset ruleset,
+                                                                      AsyncOperandEvaluator evaluator) {
+        List<RuleFunctionCall> functionCalls = collectFunctionCalls(ruleset);
+        if (functionCalls.isEmpty()) {
+            return CompletableFuture.completedFuture(new ResolvedOperandEvaluator(Collections.emptyMap()));
+        }
+
+        return evaluator.evaluate(functionCalls).thenApply(results -> {
+            if (results == null || results.size() != functionCalls.size()) {
+                throw new IllegalStateException(String.format("Resolved %s values for %d function calls",
+                    results == null ? "no" : String.valueOf(results.size()), functionCalls.size()));
+            }
+            Map<DQRule, Map<FunctionCallOperand, Double>> values = new HashMap<>();
+            for (int i = 0; i < functionCalls.size(); i++) {
+                RuleFunctionCall functionCall = functionCalls.get(i);
+                values.computeIfAbsent(functionCall.getRule(), rule -> new HashMap<>())
+                    .put(functionCall.getFunctionCall(), results.get(i));
+            }
+            return new ResolvedOperandEvaluator(values);
+        });
+    }
+
+    /*
+     * The distinct function calls of the rules of the ruleset, in the order of the rules.
+     */
+    public static List<RuleFunctionCall> collectFunctionCalls(DQRuleset ruleset) {
+        Map<RuleFunctionCall, Boolean> functionCalls = new LinkedHashMap<>();
+        if (ruleset.getRules() != null) {
+            for (DQRule rule : ruleset.getRules()) {
+                if (rule == null) {
+                    continue;
+                }
+                for (DQRule leaf : rule.getNestedRulesAsFlattenedList()) {
+                    collect(leaf, leaf.getCondition(), functionCalls);
+                    collect(leaf, leaf.getThresholdCondition(), functionCalls);
+                }
+            }
+        }
+        return new ArrayList<>(functionCalls.keySet());
+    }
+
+    private static void collect(DQRule rule, Condition condition, Map<RuleFunctionCall, Boolean> functionCalls) {
+        if (condition instanceof NumberBasedCondition && ((NumberBasedCondition) condition).getOperands() != null) {
+            for (NumericOperand operand : ((NumberBasedCondition) condition).getOperands()) {
+                collect(rule, operand, functionCalls);
+            }
+        }
+    }
+
+    private static void collect(DQRule rule, NumericOperand operand, Map<RuleFunctionCall, Boolean> functionCalls) {
+        if (operand instanceof FunctionCallOperand) {
+            functionCalls.put(new RuleFunctionCall(rule, (FunctionCallOperand) operand), Boolean.TRUE);
+        } else if (operand instanceof BinaryExpressionOperand) {
+            collect(rule, ((BinaryExpressionOperand) operand).getOperand1(), functionCalls);
+            collect(rule, ((BinaryExpressionOperand) operand).getOperand2(), functionCalls);
+        }
+    }
+
+    @Override
+    public Double evaluate(DQRule rule, NumericOperand operand) {
+        if (operand instanceof FunctionCallOperand) {
+            Map<FunctionCallOperand, Double> valuesOfRule = values.getOrDefault(rule, Collections.emptyMap());
+            if (!valuesOfRule.containsKey(operand)) {
+                throw new IllegalArgumentException(
+                    String.format("Function call %s of rule %s was not resolved", operand, rule));
+            }
+            return valuesOfRule.get(operand);
+        }
+        if (operand instanceof BinaryExpressionOperand) {
+            return CompiledNumberCondition.evaluateArithmetic((BinaryExpressionOperand) operand, rule, this);
+        }
+        if (operand instanceof NullNumericOperand) {
+            return null;
+        }
+        Double constant = CompiledNumberCondition.constantValue(operand);
+        if (constant == null) {
+            throw new IllegalArgumentException("Cannot evaluate operand: " + operand);
+        }
+        return constant;
+    }
+}
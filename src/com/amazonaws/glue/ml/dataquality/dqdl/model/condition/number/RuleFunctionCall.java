@@ -0,0 +1,33 @@
+/*
+ * RuleFunctionCall.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/*
+ * A function call operand of a rule, such as avg(last(10)) in RowCount > avg(last(10)) * 0.8, to be resolved
+ * by an AsyncOperandEvaluator.
+ */
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class RuleFunctionCall {
+    private final DQRule rule;
+    private final FunctionCallOperand functionCall;
+
+    @Override
+    public String toString() {
+        return String.format("%s for %s", functionCall, rule);
+    }
+}
@@ -1,22 +1,28 @@
 package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.string;
 
-import lombok.AllArgsConstructor;
-
 import com.amazonaws.glue.ml.dataquality.dqdl.DataQualityDefinitionLanguageParser;
 import org.antlr.v4.runtime.ParserRuleContext;
 
 import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.HashMap;
 import java.util.List;
 
-@AllArgsConstructor
+/*
+ * The labels of a rule: the default labels of its ruleset, with the labels of the rule layered on top.
+ * The parser gives every rule of a ruleset the same, unmodifiable map of default labels, rather than a copy.
+ * The merged labels are computed on first use and cached until one of the setters is called.
+ */
 public class Labels implements Serializable {
     private Map<String, String> rulesetDefaultLabels;
     private Map<String, String> ruleLabels;
 
+    private transient Map<String, String> combinedLabels;
+
     private static final int MAX_LABEL_KEY_LENGTH = 128;
     private static final int MAX_LABEL_VALUE_LENGTH = 256;
     private static final int MAX_LABELS_PER_RULE = 10;
@@ -26,10 +32,42 @@ public class Labels implements Serializable {
         this.ruleLabels = new HashMap<>();
     }
 
+    /*
+     * Keeps the given maps as they are, without copying them, so that several rules can share the same defaults.
+     */
+    public Labels(Map<String, String> rulesetDefaultLabels, Map<String, String> ruleLabels) {
+        this.rulesetDefaultLabels = rulesetDefaultLabels;
+        this.ruleLabels = ruleLabels;
+    }
+
+    /*
+     * The value of a label, from the rule labels or else from the default labels, without merging them.
+     */
+    public String getLabel(String key) {
+        String value = ruleLabels == null ? null : ruleLabels.get(key);
+        if (value == null && rulesetDefaultLabels != null) {
+            value = rulesetDefaultLabels.get(key);
+        }
+        return value;
+    }
+
+    /*
+     * Unmodifiable. When only one of the two maps has labels, it is returned as is, without merging.
+     */
     private Map<String, String> getCombinedLabels() {
-        Map<String, String> combined = new HashMap<>();
-        if (rulesetDefaultLabels != null) combined.putAll(rulesetDefaultLabels);
-        if (ruleLabels != null) combined.putAll(ruleLabels);
+        Map<String, String> combined = combinedLabels;
+        if (combined == null) {
+            if (ruleLabels == null || ruleLabels.isEmpty()) {
+                combined = rulesetDefaultLabels == null ? Collections.emptyMap() : rulesetDefaultLabels;
+            } else if (rulesetDefaultLabels == null || rulesetDefaultLabels.isEmpty()) {
+                combined = ruleLabels;
+            } else {
+                combined = new HashMap<>(rulesetDefaultLabels);
+                combined.putAll(ruleLabels);
+            }
+            combined = Collections.unmodifiableMap(combined);
+            combinedLabels = combined;
+        }
         return combined;
     }
 
@@ -37,12 +75,14 @@ public class Labels implements Serializable {
         this.rulesetDefaultLabels = rulesetDefaultLabels != null
                 ? new HashMap<>(rulesetDefaultLabels)
                 : new HashMap<>();
+        this.combinedLabels = null;
     }
 
     public void setRuleLabels(Map<String, String> ruleLabels) {
         this.ruleLabels = ruleLabels != null
                 ? new HashMap<>(ruleLabels)
                 : new HashMap<>();
+        this.combinedLabels = null;
     }
 
     public Map<String, String> getRulesetDefaultLabels() {
@@ -53,13 +93,61 @@ public class Labels implements Serializable {
         return ruleLabels;
     }
 
+    /*
+     * Returns a copy of the given labels that cannot be modified through its setters.
+     * Every DQRule keeps its labels as such a copy.
+     */
+    public static Labels unmodifiableLabels(Labels labels) {
+        if (labels == null || labels instanceof UnmodifiableLabels) {
+            return labels;
+        }
+        return new UnmodifiableLabels(labels);
+    }
+
+    /*
+     * An unmodifiable copy of the given labels, that Labels built from it keep as is rather than copy.
+     * The parser and decoders give every rule of a ruleset the same such copy of the default labels.
+     */
+    public static Map<String, String> sharedLabels(Map<String, String> labels) {
+        if (labels == null || labels instanceof SharedLabels) {
+            return labels;
+        }
+        return new SharedLabels(labels);
+    }
+
+    /*
+     * The merged labels, as a new map that the caller may change.
+     */
     public static Map<String, String> convertToStringMap(Labels labels) {
+        return new HashMap<>(unmodifiableStringMap(labels));
+    }
+
+    /*
+     * The merged labels, as an unmodifiable map that is only built once per Labels, so that reading them
+     * repeatedly allocates nothing.
+     */
+    public static Map<String, String> unmodifiableStringMap(Labels labels) {
         if (labels == null) {
-            return new HashMap<>();
+            return Collections.emptyMap();
         }
         return labels.getCombinedLabels();
     }
 
+    /*
+     * Counted without caching the merged labels, since the parser keeps changing the maps of its Labels.
+     */
+    private static int countCombinedLabels(Labels labels) {
+        int count = labels.ruleLabels == null ? 0 : labels.ruleLabels.size();
+        if (labels.rulesetDefaultLabels != null) {
+            for (String key : labels.rulesetDefaultLabels.keySet()) {
+                if (labels.ruleLabels == null || !labels.ruleLabels.containsKey(key)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
     private static String removeQuotes(String quotedString) {
         if (quotedString.startsWith("\"") && quotedString.endsWith("\"")) {
             quotedString = quotedString.substring(1);
@@ -111,7 +199,7 @@ public class Labels implements Serializable {
             return output;
         }
 
-        int labelSize = (labels != null ? labels.getCombinedLabels().size() : 0) + ctx.size();
+        int labelSize = (labels != null ? countCombinedLabels(labels) : 0) + ctx.size();
         if (labelSize > MAX_LABELS_PER_RULE) {
             errorMessages.add("Number of labels exceed maximum allowed (MAX: 10)");
             return output;
@@ -131,9 +219,70 @@ public class Labels implements Serializable {
 
             if (validateLabel(key, value, errorMessages)) {
                 seenKeys.add(key);
-                output.put(key, value);
+                // The same labels are usually written on many rules, so a single copy of each string is kept.
+                output.put(key.intern(), value.intern());
             }
         }
         return output;
     }
+
+    private static final class UnmodifiableLabels extends Labels {
+        private UnmodifiableLabels(Labels labels) {
+            super(unmodifiableCopy(labels.rulesetDefaultLabels), unmodifiableCopy(labels.ruleLabels));
+        }
+
+        /*
+         * Only maps made by sharedLabels, such as the default labels the parser gives every rule of a ruleset,
+         * are kept as they are: any other map may still be changed by whoever holds it.
+         */
+        private static Map<String, String> unmodifiableCopy(Map<String, String> map) {
+            if (map == null || map.isEmpty()) {
+                return map == null ? null : Collections.emptyMap();
+            }
+            return sharedLabels(map);
+        }
+
+        @Override
+        public void setRulesetDefaultLabels(Map<String, String> rulesetDefaultLabels) {
+            throw new UnsupportedOperationException("Labels of a rule cannot be modified once it is built");
+        }
+
+        @Override
+        public void setRuleLabels(Map<String, String> ruleLabels) {
+            throw new UnsupportedOperationException("Labels of a rule cannot be modified once it is built");
+        }
+    }
+
+    /*
+     * A copy of a map of labels that nothing can change, and so that can be shared without copying it again.
+     */
+    private static final class SharedLabels extends AbstractMap<String, String> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, String> labels;
+
+        private SharedLabels(Map<String, String> labels) {
+            this.labels = Collections.unmodifiableMap(new HashMap<>(labels));
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return labels.entrySet();
+        }
+
+        @Override
+        public String get(Object key) {
+            return labels.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return labels.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return labels.size();
+        }
+    }
 }
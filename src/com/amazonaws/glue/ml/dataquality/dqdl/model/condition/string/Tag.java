@@ -31,6 +31,20 @@ public class Tag implements Serializable {
         return removeQuotes(this.value);
     }
 
+    /*
+     * The key as written in the ruleset, including any quotes.
+     */
+    public String getRawKey() {
+        return this.key;
+    }
+
+    /*
+     * The value as written in the ruleset, including any quotes.
+     */
+    public String getRawValue() {
+        return this.value;
+    }
+
     @Override
     public String toString() {
         return String.format(" with %s = %s", key, value);
@@ -0,0 +1,49 @@
+/*
+ * DQDLDiagnostic.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.parser;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/*
+ * A problem found in a DQDL document by DQDLParser.validate.
+ * Lines start at 1 and columns at 0, as reported by ANTLR.
+ * Semantic diagnostics are reported at the start of the construct they apply to, such as the rule or the labels.
+ */
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class DQDLDiagnostic {
+    public enum Kind {
+        SYNTAX,
+        SEMANTIC
+    }
+
+    private final Kind kind;
+    private final int line;
+    private final int column;
+    private final String message;
+
+    /*
+     * The message as it appears in the InvalidDataQualityRulesetException thrown by DQDLParser.parse.
+     */
+    public String getFormattedMessage() {
+        return kind == Kind.SYNTAX
+            ? String.format("line %d:%d %s", line, column, message)
+            : message;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d:%d %s", line, column, message);
+    }
+}
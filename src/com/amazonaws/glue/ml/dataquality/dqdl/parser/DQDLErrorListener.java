@@ -21,6 +21,7 @@ import java.util.List;
 @Getter
 public class DQDLErrorListener extends BaseErrorListener {
     private final List<String> errorMessages = new ArrayList<>();
+    private final List<DQDLDiagnostic> diagnostics = new ArrayList<>();
 
     @Override
     public void syntaxError(Recognizer<?, ?> recognizer,
@@ -31,5 +32,6 @@ public class DQDLErrorListener extends BaseErrorListener {
                             RecognitionException e) {
         String errorMessage = String.format("line %d:%d %s", line, charPositionInLine, msg);
         errorMessages.add(errorMessage);
+        diagnostics.add(new DQDLDiagnostic(DQDLDiagnostic.Kind.SYNTAX, line, charPositionInLine, msg));
     }
 }
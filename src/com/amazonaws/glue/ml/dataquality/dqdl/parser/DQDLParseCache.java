@@ -0,0 +1,166 @@
+/*
+ * DQDLParseCache.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.parser;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleTypeRegistry;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * An LRU cache of parsed rulesets, keyed by the SHA-256 digest of the DQDL text and of the parser options that
+ * change the parsed model, flattenCompositeRules and shareIdenticalRules.
+ * Enable it by setting it on DQDLParserOptions. A single cache can be shared by any number of parsers and threads,
+ * whatever their options: a parser is only served rulesets parsed with the same options as its own.
+ *
+ * Rulesets served by the cache are shared between callers, so they are unmodifiable:
+ * see DQRuleset.unmodifiableRuleset. Documents that fail to parse are never cached.
+ *
+ * Rules with now() or time-of-day expressions are safe to cache, as those expressions are evaluated
+ * against the current time whenever getEvaluatedExpression is called, not when the document is parsed.
+ * Rulesets parsed before a change to DQRuleTypeRegistry are not served after it: they are parsed again.
+ *
+ * The cache is bounded by entry count and by an estimate of the memory retained by the cached rulesets.
+ * The estimate is proportional to the length of the DQDL text, as the size of the parsed model grows linearly
+ * with the size of the document.
+ */
+public class DQDLParseCache {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    // Rough per-entry and per-character costs of a cached ruleset, including its key and map entry.
+    static final long ENTRY_OVERHEAD_BYTES = 256;
+    static final long BYTES_PER_DQDL_CHAR = 24;
+
+    private final int maxEntries;
+    private final long maxRetainedBytes;
+    private final LinkedHashMap<ByteBuffer, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long retainedBytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public DQDLParseCache(final int maxEntries, final long maxRetainedBytes) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0");
+        }
+        if (maxRetainedBytes <= 0) {
+            throw new IllegalArgumentException("maxRetainedBytes must be greater than 0");
+        }
+        this.maxEntries = maxEntries;
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    DQRuleset getOrParse(final String dqdl, final DQDLParser parser) throws InvalidDataQualityRulesetException {
+        ByteBuffer key = digest(dqdl, parser.getOptions());
+
+        synchronized (this) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && entry.ruleTypesGeneration == DQRuleTypeRegistry.getDefault().getGeneration()) {
+                hitCount++;
+                return entry.ruleset;
+            }
+            missCount++;
+        }
+
+        // Read before parsing, so that a ruleset parsed while the registry changes is not served afterwards.
+        long ruleTypesGeneration = DQRuleTypeRegistry.getDefault().getGeneration();
+
+        // Parse outside the lock. Two threads missing on the same document both parse it, and the last one wins.
+        DQRuleset ruleset = DQRuleset.unmodifiableRuleset(parser.parseUncached(dqdl));
+        put(key, new CacheEntry(ruleset, estimateRetainedBytes(dqdl), ruleTypesGeneration));
+        return ruleset;
+    }
+
+    private synchronized void put(final ByteBuffer key, final CacheEntry entry) {
+        if (entry.retainedBytes > maxRetainedBytes) {
+            return;
+        }
+
+        CacheEntry previous = entries.put(key, entry);
+        if (previous != null) {
+            retainedBytes -= previous.retainedBytes;
+        }
+        retainedBytes += entry.retainedBytes;
+
+        Iterator<Map.Entry<ByteBuffer, CacheEntry>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || retainedBytes > maxRetainedBytes) && it.hasNext()) {
+            CacheEntry eldest = it.next().getValue();
+            if (eldest == entry) {
+                continue;
+            }
+            it.remove();
+            retainedBytes -= eldest.retainedBytes;
+            evictionCount++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        retainedBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    static long estimateRetainedBytes(final String dqdl) {
+        return ENTRY_OVERHEAD_BYTES + BYTES_PER_DQDL_CHAR * dqdl.length();
+    }
+
+    private static ByteBuffer digest(final String dqdl, final DQDLParserOptions options) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            // The prediction mode changes how a document is parsed, not what it is parsed into.
+            messageDigest.update((byte) ((options.isFlattenCompositeRules() ? 1 : 0)
+                | (options.isShareIdenticalRules() ? 2 : 0)));
+            return ByteBuffer.wrap(messageDigest.digest(dqdl.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CacheEntry {
+        private final DQRuleset ruleset;
+        private final long retainedBytes;
+        private final long ruleTypesGeneration;
+
+        private CacheEntry(final DQRuleset ruleset, final long retainedBytes, final long ruleTypesGeneration) {
+            this.ruleset = ruleset;
+            this.retainedBytes = retainedBytes;
+            this.ruleTypesGeneration = ruleTypesGeneration;
+        }
+    }
+}
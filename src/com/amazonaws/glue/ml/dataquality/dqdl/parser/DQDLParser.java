@@ -11,51 +11,261 @@
 package com.amazonaws.glue.ml.dataquality.dqdl.parser;
 
 import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleInterner;
 import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
 import com.amazonaws.glue.ml.dataquality.dqdl.DataQualityDefinitionLanguageLexer;
 import com.amazonaws.glue.ml.dataquality.dqdl.DataQualityDefinitionLanguageParser;
 import com.amazonaws.glue.ml.dataquality.dqdl.util.Either;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenFactory;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.NoViableAltException;
+import org.antlr.v4.runtime.Parser;
 import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.UnbufferedCharStream;
+import org.antlr.v4.runtime.UnbufferedTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.IterativeParseTreeWalker;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
+/*
+ * DQDLParser is thread-safe: it holds no mutable state, and every call to parse creates its own lexer, parser and
+ * listener. A single instance can be shared by any number of threads. The state that is shared between calls is:
+ *  - the DFA and prediction context caches that ANTLR keeps in static fields of the generated lexer and parser.
+ *    The ANTLR runtime synchronizes every update to those caches, so concurrent parses are safe and
+ *    the caches warm up for every thread at once.
+ *  - the rule types in DQRuleTypeRegistry. Registering or reloading rule types publishes a new, complete index,
+ *    so lookups made during a parse never see a partially updated registry.
+ *  - the optional DQDLParseCache, which is synchronized.
+ */
 @Slf4j
 public class DQDLParser {
     private static final String PARSING_ERROR_MESSAGE_PREFIX = "Parsing Error";
 
+    // A chain of "and" or "or" terms is a parse tree as deep as the chain is long,
+    // which would overflow the stack of the recursive ParseTreeWalker.DEFAULT.
+    private static final ParseTreeWalker WALKER = new IterativeParseTreeWalker();
+
+    @Getter
+    private final DQDLParserOptions options;
+
+    public DQDLParser() {
+        this(DQDLParserOptions.DEFAULT);
+    }
+
+    public DQDLParser(DQDLParserOptions options) {
+        this.options = options;
+    }
+
     public DQRuleset parse(String dqdl) throws InvalidDataQualityRulesetException {
+        DQDLParseCache parseCache = options.getParseCache();
+        if (parseCache != null) {
+            return parseCache.getOrParse(dqdl, this);
+        }
+        return parseUncached(dqdl);
+    }
 
-        CharStream input = CharStreams.fromString(dqdl);
+    /*
+     * Parses every document on the common ForkJoinPool. See parseAll(Collection, Executor).
+     */
+    public List<Either<String, DQRuleset>> parseAll(Collection<String> dqdls) {
+        return parseAll(dqdls, ForkJoinPool.commonPool());
+    }
+
+    /*
+     * Parses every document on the given executor, and waits for all of them to complete.
+     * The results are in the same order as the input: either the error message of the
+     * InvalidDataQualityRulesetException thrown for the document, or its ruleset.
+     * Any executor can be used, for example a ForkJoinPool sized to the number of cores,
+     * or a virtual thread per task executor on Java 21 and above.
+     */
+    public List<Either<String, DQRuleset>> parseAll(Collection<String> dqdls, Executor executor) {
+        List<CompletableFuture<Either<String, DQRuleset>>> futures = new ArrayList<>(dqdls.size());
+        for (String dqdl : dqdls) {
+            futures.add(CompletableFuture.supplyAsync(() -> parseToEither(dqdl), executor));
+        }
+
+        List<Either<String, DQRuleset>> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<Either<String, DQRuleset>> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    private Either<String, DQRuleset> parseToEither(String dqdl) {
+        try {
+            return Either.fromRight(parse(dqdl));
+        } catch (InvalidDataQualityRulesetException e) {
+            return Either.fromLeft(e.getMessage());
+        }
+    }
+
+    DQRuleset parseUncached(String dqdl) throws InvalidDataQualityRulesetException {
         DQDLErrorListener errorListener = new DQDLErrorListener();
+        DataQualityDefinitionLanguageParser.DocumentContext document = parseDocument(dqdl, errorListener);
 
-        DataQualityDefinitionLanguageLexer lexer = new DataQualityDefinitionLanguageLexer(input);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(errorListener);
-        TokenStream tokens = new CommonTokenStream(lexer);
+        DQDLParserListener listener = new DQDLParserListener(errorListener, options);
+        try {
+            WALKER.walk(listener, document);
+        } catch (StringIndexOutOfBoundsException e) {
+            log.error(e.getMessage(), e);
+            throw new InvalidDataQualityRulesetException("Invalid DQDL.");
+        }
+        return getParsedRuleset(listener);
+    }
 
-        DataQualityDefinitionLanguageParser parser = new DataQualityDefinitionLanguageParser(tokens);
-        parser.removeErrorListeners();
-        parser.addErrorListener(errorListener);
+    /*
+     * Runs the same checks as parse without building the ruleset, using the check only mode of the listener.
+     * Returns every error that parse would report, in the same order, with the line and column of the clause
+     * it was found in, such as the condition or where clause of a rule. An empty list means that parse would succeed.
+     * The parse cache is not used.
+     */
+    public List<DQDLDiagnostic> validate(String dqdl) {
+        DQDLErrorListener errorListener = new DQDLErrorListener();
+        DataQualityDefinitionLanguageParser.DocumentContext document = parseDocument(dqdl, errorListener);
 
-        DQDLParserListener listener = new DQDLParserListener(errorListener);
+        DQDLParserListener listener = new DQDLParserListener(errorListener, options, true);
         try {
-            ParseTreeWalker.DEFAULT.walk(listener, parser.document());
+            WALKER.walk(listener, document);
+        } catch (StringIndexOutOfBoundsException e) {
+            log.error(e.getMessage(), e);
+            return Collections.singletonList(DQDLParserListener.diagnostic("Invalid DQDL.", document.getStart()));
+        }
+        return listener.getDiagnostics(document.getStart());
+    }
+
+    public DQRuleset parse(InputStream dqdl, DQDLStreamHandler handler)
+        throws InvalidDataQualityRulesetException, IOException {
+        return parse(new InputStreamReader(dqdl, StandardCharsets.UTF_8), handler);
+    }
+
+    /*
+     * Parses a document in streaming mode. The document is read and tokenized incrementally,
+     * and every rule and analyzer is handed to the handler as soon as it has been parsed, instead of being collected.
+     * Memory use is therefore proportional to the largest rule in the document, rather than to the whole document.
+     *
+     * Returns the rest of the ruleset: its metadata, data sources and default labels, with no rules or analyzers.
+     * Streaming always uses LL prediction, and does not use the parse cache.
+     */
+    public DQRuleset parse(Reader dqdl, DQDLStreamHandler handler)
+        throws InvalidDataQualityRulesetException, IOException {
+        DQDLErrorListener errorListener = new DQDLErrorListener();
+        DQDLParserListener listener =
+            new DQDLParserListener(errorListener, options, handler::onRule, handler::onAnalyzer);
+        try {
+            DataQualityDefinitionLanguageLexer lexer =
+                new DataQualityDefinitionLanguageLexer(new UnbufferedCharStream(dqdl));
+            // Characters are discarded once tokenized, so tokens must hold a copy of their text.
+            lexer.setTokenFactory(new CommonTokenFactory(true));
+            lexer.removeErrorListeners();
+            lexer.addErrorListener(errorListener);
+
+            DataQualityDefinitionLanguageParser parser =
+                new DataQualityDefinitionLanguageParser(new UnbufferedTokenStream<>(lexer));
+            parser.removeErrorListeners();
+            parser.addErrorListener(errorListener);
+            parser.setErrorHandler(new UnbufferedErrorStrategy());
+            parser.addParseListener(new DQDLStreamingParseListener(listener));
+
+            parser.streamingDocument();
         } catch (StringIndexOutOfBoundsException e) {
             log.error(e.getMessage(), e);
             throw new InvalidDataQualityRulesetException("Invalid DQDL.");
+        } catch (RuntimeException e) {
+            // UnbufferedCharStream wraps failures to read from the reader.
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
         }
+        return getParsedRuleset(listener);
+    }
+
+    private DQRuleset getParsedRuleset(DQDLParserListener listener) throws InvalidDataQualityRulesetException {
         Either<List<String>, DQRuleset> dqRulesetEither = listener.getParsedRuleset();
         if (dqRulesetEither.isLeft()) {
             throw new InvalidDataQualityRulesetException(generateExceptionMessage(dqRulesetEither.getLeft()));
         }
+        if (options.isShareIdenticalRules()) {
+            return new DQRuleInterner().intern(dqRulesetEither.getRight());
+        }
         return dqRulesetEither.getRight();
+    }
+
+    private DataQualityDefinitionLanguageParser.DocumentContext parseDocument(String dqdl,
+                                                                              DQDLErrorListener errorListener) {
+        if (options.getPredictionMode() == DQDLParserOptions.PredictionMode.SLL_THEN_LL) {
+            DataQualityDefinitionLanguageParser.DocumentContext document = parseDocumentWithSLL(dqdl);
+            if (document != null) {
+                return document;
+            }
+            log.debug("SLL prediction failed, parsing again with full LL prediction");
+        }
+
+        DataQualityDefinitionLanguageParser parser = createParser(dqdl, errorListener);
+        return parser.document();
+    }
 
+    /*
+     * Returns null if the document cannot be parsed with SLL prediction.
+     * Nothing is reported to the caller's error listener here: when SLL fails, the document is parsed again
+     * from scratch in LL mode, so lexer and parser errors are reported once, in the same order as before.
+     */
+    private DataQualityDefinitionLanguageParser.DocumentContext parseDocumentWithSLL(String dqdl) {
+        DQDLErrorListener sllErrorListener = new DQDLErrorListener();
+        DataQualityDefinitionLanguageParser parser = createParser(dqdl, sllErrorListener);
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+
+        try {
+            DataQualityDefinitionLanguageParser.DocumentContext document = parser.document();
+            // The lexer recovers from errors on its own, so check it did not report any.
+            return sllErrorListener.getErrorMessages().isEmpty() ? document : null;
+        } catch (ParseCancellationException e) {
+            return null;
+        }
+    }
+
+    private DataQualityDefinitionLanguageParser createParser(String dqdl, DQDLErrorListener errorListener) {
+        CharStream input = CharStreams.fromString(dqdl);
+
+        DataQualityDefinitionLanguageLexer lexer = new DataQualityDefinitionLanguageLexer(input);
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errorListener);
+        TokenStream tokens = new CommonTokenStream(lexer);
+
+        DataQualityDefinitionLanguageParser parser = new DataQualityDefinitionLanguageParser(tokens);
+        parser.removeErrorListeners();
+        parser.addErrorListener(errorListener);
+        return parser;
     }
 
     private String generateExceptionMessage(List<String> errorMessages) {
@@ -67,4 +277,21 @@ public class DQDLParser {
 
         return message;
     }
+
+    /*
+     * An UnbufferedTokenStream only keeps the tokens that are still needed by the parser. The default strategy
+     * reports a syntax error with the text of all the tokens from the start of the failed decision,
+     * which may no longer be available. In that case, only the offending token is reported.
+     */
+    private static class UnbufferedErrorStrategy extends DefaultErrorStrategy {
+        @Override
+        protected void reportNoViableAlternative(Parser recognizer, NoViableAltException e) {
+            try {
+                super.reportNoViableAlternative(recognizer, e);
+            } catch (UnsupportedOperationException ex) {
+                String msg = "no viable alternative at input " + escapeWSAndQuote(e.getOffendingToken().getText());
+                recognizer.notifyErrorListeners(e.getOffendingToken(), msg, e);
+            }
+        }
+    }
 }
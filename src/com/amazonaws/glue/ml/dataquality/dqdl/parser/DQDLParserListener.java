@@ -28,6 +28,7 @@ import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.DurationB
 import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.duration.DurationUnit;
 import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.AtomicNumberOperand;
 import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.BinaryExpressionOperand;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.ConstantExpressionOperand;
 import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.FunctionCallOperand;
 import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NullNumericOperand;
 import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumberBasedCondition;
@@ -53,20 +54,20 @@ import com.amazonaws.glue.ml.dataquality.dqdl.model.variable.DQVariable;
 import com.amazonaws.glue.ml.dataquality.dqdl.model.variable.VariableResolutionResult;
 import com.amazonaws.glue.ml.dataquality.dqdl.util.Either;
 import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.zone.ZoneRulesException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -74,6 +75,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -83,15 +87,28 @@ import static com.amazonaws.glue.ml.dataquality.dqdl.util.StringUtils.removeEsca
 public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListener {
     private final DQDLErrorListener errorListener;
     private final List<String> errorMessages = new ArrayList<>();
+    // The start of the construct each error message was found in, such as its rule, for DQDLParser.validate.
+    private final List<Token> errorPositions = new ArrayList<>();
     private final Map<String, String> metadata = new HashMap<>();
 
     private String primarySource;
     private List<String> additionalSources;
     private Labels labels = new Labels();
+    // A read-only view of the default labels, given to every rule instead of a copy. See getSharedDefaultLabels.
+    private Map<String, String> sharedDefaultLabels;
     private final List<DQRule> dqRules = new ArrayList<>();
     private final List<DQAnalyzer> dqAnalyzers = new ArrayList<>();
+    private final Consumer<DQRule> ruleConsumer;
+    private final Consumer<DQAnalyzer> analyzerConsumer;
+    private final boolean flattenCompositeRules;
+    private final boolean checkOnly;
+    // The clause the error of the current rule or analyzer was found in. Only recorded in check only mode.
+    private ParserRuleContext errorClause;
+    private int ruleCount = 0;
+    private int analyzerCount = 0;
     private final Map<String, DQVariable> dqVariables = new HashMap<>();
 
+    private static final String NO_RULES_MESSAGE = "No rules or analyzers provided.";
     private static final String METADATA_VERSION_KEY = "Version";
     private static final Set<String> ALLOWED_METADATA_KEYS;
 
@@ -102,6 +119,10 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
 
     private static final String MILITARY_TIME_FORMAT = "HH:mm";
     private static final String AMPM_TIME_FORMAT = "h:mm a";
+    private static final DateTimeFormatter MILITARY_TIME_FORMATTER = DateTimeFormatter.ofPattern(MILITARY_TIME_FORMAT);
+    private static final DateTimeFormatter AMPM_TIME_FORMATTER = DateTimeFormatter.ofPattern(AMPM_TIME_FORMAT);
+
+    private static final Pattern VARIABLE_REFERENCE_PATTERN = Pattern.compile("\\$[a-zA-Z_][a-zA-Z0-9_.]*");
 
     static {
         ALLOWED_METADATA_KEYS = new HashSet<>();
@@ -113,13 +134,45 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
     }
 
     public DQDLParserListener(DQDLErrorListener errorListener) {
+        this(errorListener, DQDLParserOptions.DEFAULT);
+    }
+
+    DQDLParserListener(DQDLErrorListener errorListener, DQDLParserOptions options) {
+        this(errorListener, options, false);
+    }
+
+    /*
+     * In check only mode, used by DQDLParser.validate, every check made when parsing is run and reports the same
+     * errors, but the ruleset is not built: no rules, analyzers, conditions, rule labels or parameter maps
+     * are created, and variables are looked up without being substituted. Use getDiagnostics for the result.
+     */
+    DQDLParserListener(DQDLErrorListener errorListener, DQDLParserOptions options, boolean checkOnly) {
         this.errorListener = errorListener;
+        this.ruleConsumer = dqRules::add;
+        this.analyzerConsumer = dqAnalyzers::add;
+        this.flattenCompositeRules = options.isFlattenCompositeRules();
+        this.checkOnly = checkOnly;
+    }
+
+    /*
+     * Used when streaming: rules and analyzers are handed to the consumers as they are parsed,
+     * instead of being collected into the ruleset.
+     */
+    DQDLParserListener(DQDLErrorListener errorListener,
+                       DQDLParserOptions options,
+                       Consumer<DQRule> ruleConsumer,
+                       Consumer<DQAnalyzer> analyzerConsumer) {
+        this.errorListener = errorListener;
+        this.ruleConsumer = ruleConsumer;
+        this.analyzerConsumer = analyzerConsumer;
+        this.flattenCompositeRules = options.isFlattenCompositeRules();
+        this.checkOnly = false;
     }
 
     public Either<List<String>, DQRuleset> getParsedRuleset() {
         // Only add this error message if we did not walk the tree due to empty rules or analyzers sections.
-        if (errorMessages.isEmpty() && dqRules.isEmpty() && dqAnalyzers.isEmpty()) {
-            errorMessages.add("No rules or analyzers provided.");
+        if (errorMessages.isEmpty() && ruleCount == 0 && analyzerCount == 0) {
+            errorMessages.add(NO_RULES_MESSAGE);
         }
 
         if (errorMessages.isEmpty() && errorListener.getErrorMessages().isEmpty()) {
@@ -139,8 +192,62 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
         }
     }
 
+    /*
+     * The errors that getParsedRuleset would return, with the line and column they were found at.
+     */
+    List<DQDLDiagnostic> getDiagnostics(Token documentStart) {
+        List<DQDLDiagnostic> diagnostics = new ArrayList<>();
+        if (errorMessages.isEmpty() && ruleCount == 0 && analyzerCount == 0) {
+            diagnostics.add(diagnostic(NO_RULES_MESSAGE, documentStart));
+        }
+        for (int i = 0; i < errorMessages.size(); i++) {
+            Token position = i < errorPositions.size() ? errorPositions.get(i) : documentStart;
+            diagnostics.add(diagnostic(errorMessages.get(i), position));
+        }
+        diagnostics.addAll(errorListener.getDiagnostics());
+        return diagnostics;
+    }
+
+    static DQDLDiagnostic diagnostic(String message, Token position) {
+        return new DQDLDiagnostic(DQDLDiagnostic.Kind.SEMANTIC,
+            position.getLine(), position.getCharPositionInLine(), message);
+    }
+
+    /*
+     * Positions the errors added since the last call at the start of the given construct.
+     */
+    private void positionErrors(ParserRuleContext ctx) {
+        while (errorPositions.size() < errorMessages.size()) {
+            errorPositions.add(ctx.getStart());
+        }
+    }
+
+    /*
+     * Positions the errors of a rule or analyzer at the clause its error was found in if known, or else at its start.
+     */
+    private void positionRuleErrors(ParserRuleContext ctx) {
+        positionErrors(errorClause != null ? errorClause : ctx);
+        errorClause = null;
+    }
+
+    /*
+     * Records the clause of the rule or analyzer that an error was found in, and returns the error.
+     * Only the first one is kept: a composite rule fails with the first error of its nested rules.
+     */
+    private String failAt(ParserRuleContext clause, String message) {
+        if (errorClause == null) {
+            errorClause = clause;
+        }
+        return message;
+    }
+
     @Override
     public void enterMetadata(DataQualityDefinitionLanguageParser.MetadataContext ctx) {
+        parseMetadata(ctx);
+        positionErrors(ctx);
+    }
+
+    private void parseMetadata(DataQualityDefinitionLanguageParser.MetadataContext ctx) {
         // The logic below, just above the loop is a guard against an NPE caused by empty dictionaries.
         // Need to investigate why dictionaryContext.pair() returns 1 element,
         // which is an empty string, for an empty dictionary.
@@ -156,16 +263,22 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
             String key = removeEscapes(removeQuotes(pairContext.QUOTED_STRING().getText()));
             if (!ALLOWED_METADATA_KEYS.contains(key)) {
                 errorMessages.add("Unsupported key provided in Metadata section");
+                positionErrors(pairContext);
                 return;
             }
 
-            String value = pairContext.pairValue().getText().replaceAll("\"", "");
+            String value = getText(pairContext.pairValue()).replace("\"", "");
             metadata.put(key, value);
         }
     }
 
     @Override
     public void enterDataSources(DataQualityDefinitionLanguageParser.DataSourcesContext ctx) {
+        parseDataSources(ctx);
+        positionErrors(ctx);
+    }
+
+    private void parseDataSources(DataQualityDefinitionLanguageParser.DataSourcesContext ctx) {
         DataQualityDefinitionLanguageParser.DictionaryContext dictionaryContext = ctx.dictionary();
         List<String> dictionaryErrors = validateDictionary(dictionaryContext);
         if (!dictionaryErrors.isEmpty()) {
@@ -178,24 +291,26 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
 
             if (!ALLOWED_SOURCES_KEYS.contains(key)) {
                 errorMessages.add("Unsupported key provided in Sources section");
+                positionErrors(pairContext);
                 return;
             }
 
             if (PRIMARY_SOURCE_KEY.equals(key)) {
-                primarySource = pairContext.pairValue().getText().replaceAll("\"", "");
+                primarySource = getText(pairContext.pairValue()).replace("\"", "");
             }
 
             if (ADDITIONAL_SOURCES_KEY.equals(key)) {
                 if (pairContext.pairValue().array() == null) {
                     errorMessages.add("Additional sources must be an array of values.");
+                    positionErrors(pairContext);
                 } else {
                     additionalSources = new ArrayList<>();
                     String cleanedSources =
-                        pairContext.pairValue().getText()
+                        getText(pairContext.pairValue())
                             .replace("[", "")
                             .replace("]", "")
-                            .replaceAll(" ", "")
-                            .replaceAll("\"", "");
+                            .replace(" ", "")
+                            .replace("\"", "");
 
                     Collections.addAll(additionalSources, cleanedSources.split(","));
                 }
@@ -210,20 +325,181 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
         }
 
         for (DataQualityDefinitionLanguageParser.TopLevelRuleContext tlc: dqRulesContext.topLevelRule()) {
-            Either<String, DQRule> dqRuleEither = parseTopLevelRule(tlc);
-            if (dqRuleEither.isLeft()) {
-                errorMessages.add(dqRuleEither.getLeft());
+            String error = handleTopLevelRule(tlc);
+            if (error != null) {
+                errorMessages.add(error);
+                positionRuleErrors(tlc);
                 return;
+            }
+            positionRuleErrors(tlc);
+        }
+    }
+
+    /*
+     * Streaming counterpart of enterDqRules, called for each top level rule as soon as it is complete.
+     */
+    void processTopLevelRule(DataQualityDefinitionLanguageParser.TopLevelRuleContext tlc) {
+        if (!errorMessages.isEmpty()) {
+            return;
+        }
+
+        String error = handleTopLevelRule(tlc);
+        if (error != null) {
+            errorMessages.add(error);
+        }
+        positionRuleErrors(tlc);
+    }
+
+    /*
+     * Streaming counterpart of enterDqAnalyzers, called for each analyzer as soon as it is complete.
+     */
+    void processAnalyzer(DataQualityDefinitionLanguageParser.DqAnalyzerContext dac) {
+        if (!errorMessages.isEmpty()) {
+            return;
+        }
+
+        String error = handleAnalyzer(dac);
+        if (error != null) {
+            errorMessages.add(error);
+        }
+        positionRuleErrors(dac);
+    }
+
+    /*
+     * Converts the rule and hands it to the rule consumer or, in check only mode, only checks it.
+     * Returns the error the rule fails with, or null.
+     */
+    private String handleTopLevelRule(DataQualityDefinitionLanguageParser.TopLevelRuleContext tlc) {
+        if (checkOnly) {
+            String error = convertTopLevelRule(tlc, this::checkTopLevelRule);
+            if (error == null) {
+                ruleCount++;
+            }
+            return error;
+        }
+
+        Either<String, DQRule> dqRuleEither = convertTopLevelRule(tlc, this::completeTopLevelRule);
+        if (dqRuleEither.isLeft()) {
+            return dqRuleEither.getLeft();
+        }
+        ruleCount++;
+        ruleConsumer.accept(dqRuleEither.getRight());
+        return null;
+    }
+
+    private String handleAnalyzer(DataQualityDefinitionLanguageParser.DqAnalyzerContext dac) {
+        if (checkOnly) {
+            String error = checkDQAnalyzer(dac);
+            if (error == null) {
+                analyzerCount++;
+            }
+            return error;
+        }
+
+        Either<String, DQAnalyzer> dqAnalyzerEither = getDQAnalyzer(dac);
+        if (dqAnalyzerEither.isLeft()) {
+            return dqAnalyzerEither.getLeft();
+        }
+        analyzerCount++;
+        analyzerConsumer.accept(dqAnalyzerEither.getRight());
+        return null;
+    }
+
+    /*
+     * topLevelRule is left recursive, so a chain of n "and" or "or" terms is a parse tree n levels deep.
+     * The tree is converted with an explicit stack of frames rather than by recursion:
+     * every nested rule is converted, in order, before the rule that contains it.
+     * The result of each rule is computed by the given function from the results of its nested rules.
+     */
+    private <R> R convertTopLevelRule(
+        DataQualityDefinitionLanguageParser.TopLevelRuleContext tlc,
+        BiFunction<DataQualityDefinitionLanguageParser.TopLevelRuleContext, List<R>, R> complete) {
+        Deque<TopLevelRuleFrame<R>> frames = new ArrayDeque<>();
+        frames.push(new TopLevelRuleFrame<>(tlc, getOperands(tlc)));
+
+        while (true) {
+            TopLevelRuleFrame<R> frame = frames.peek();
+            if (frame.nextOperand < frame.operands.size()) {
+                DataQualityDefinitionLanguageParser.TopLevelRuleContext operand =
+                    frame.operands.get(frame.nextOperand++);
+                frames.push(new TopLevelRuleFrame<>(operand, getOperands(operand)));
+                continue;
+            }
+
+            R result = complete.apply(frame.tlc, frame.results);
+            frames.pop();
+            if (frames.isEmpty()) {
+                return result;
+            }
+            frames.peek().results.add(result);
+        }
+    }
+
+    private static final class TopLevelRuleFrame<R> {
+        private final DataQualityDefinitionLanguageParser.TopLevelRuleContext tlc;
+        private final List<DataQualityDefinitionLanguageParser.TopLevelRuleContext> operands;
+        private final List<R> results;
+        private int nextOperand = 0;
+
+        TopLevelRuleFrame(DataQualityDefinitionLanguageParser.TopLevelRuleContext tlc,
+                          List<DataQualityDefinitionLanguageParser.TopLevelRuleContext> operands) {
+            this.tlc = tlc;
+            this.operands = operands;
+            this.results = new ArrayList<>(operands.size());
+        }
+    }
+
+    private static DQRuleLogicalOperator getOperator(DataQualityDefinitionLanguageParser.TopLevelRuleContext tlc) {
+        if (tlc.LPAREN() != null && tlc.RPAREN() != null) {
+            return null;
+        } else if (tlc.AND() != null) {
+            return DQRuleLogicalOperator.AND;
+        } else if (tlc.OR() != null) {
+            return DQRuleLogicalOperator.OR;
+        }
+        return null;
+    }
+
+    /*
+     * The rules that have to be converted before the given one. When composite rules are flattened,
+     * a chain of rules joined by the same operator is collected, in order, into the operands of its first link.
+     * Parenthesized rules are kept as they are, as they can carry their own labels.
+     */
+    private List<DataQualityDefinitionLanguageParser.TopLevelRuleContext> getOperands(
+        DataQualityDefinitionLanguageParser.TopLevelRuleContext tlc) {
+        if (tlc.LPAREN() != null && tlc.RPAREN() != null) {
+            return Collections.singletonList(tlc.topLevelRule(0));
+        }
+
+        DQRuleLogicalOperator op = getOperator(tlc);
+        if (op == null) {
+            return Collections.emptyList();
+        } else if (!flattenCompositeRules) {
+            return tlc.topLevelRule();
+        }
+
+        List<DataQualityDefinitionLanguageParser.TopLevelRuleContext> operands = new ArrayList<>();
+        Deque<DataQualityDefinitionLanguageParser.TopLevelRuleContext> pending = new ArrayDeque<>();
+        pending.push(tlc);
+        while (!pending.isEmpty()) {
+            DataQualityDefinitionLanguageParser.TopLevelRuleContext next = pending.pop();
+            if (next == tlc || getOperator(next) == op) {
+                List<DataQualityDefinitionLanguageParser.TopLevelRuleContext> nested = next.topLevelRule();
+                for (int i = nested.size() - 1; i >= 0; i--) {
+                    pending.push(nested.get(i));
+                }
             } else {
-                dqRules.add(dqRuleEither.getRight());
+                operands.add(next);
             }
         }
+        return operands;
     }
 
-    private Either<String, DQRule> parseTopLevelRule(DataQualityDefinitionLanguageParser.TopLevelRuleContext tlc) {
+    private Either<String, DQRule> completeTopLevelRule(DataQualityDefinitionLanguageParser.TopLevelRuleContext tlc,
+                                                        List<Either<String, DQRule>> operandResults) {
         if (tlc.LPAREN() != null && tlc.RPAREN() != null) {
             // Handle parenthesized rule with optional labels
-            Either<String, DQRule> innerRuleResult = parseTopLevelRule(tlc.topLevelRule(0));
+            Either<String, DQRule> innerRuleResult = operandResults.get(0);
 
             if (innerRuleResult.isLeft()) {
                 return innerRuleResult;
@@ -240,22 +516,19 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
                 enterLabels(tlc.labels());
                 parenthesesLabels.setRuleLabels(labels.getRuleLabels());
 
-                // Apply labels to the inner rule (now labels is never null)
-                innerRule.setLabels(Labels.convertToStringMap(parenthesesLabels));
-                return Either.fromRight(innerRule);
+                // Apply labels to a copy of the inner rule, as rules are not changed once built
+                return Either.fromRight(innerRule.withLabels(Labels.unmodifiableStringMap(parenthesesLabels)));
             } else {
                 // No labels, return inner rule as-is
                 return innerRuleResult;
             }
         } else if (tlc.AND() != null || tlc.OR() != null) {
             DQRuleLogicalOperator op = tlc.AND() != null ? DQRuleLogicalOperator.AND : DQRuleLogicalOperator.OR;
-            List<Either<String, DQRule>> nestedRuleEitherList =
-                tlc.topLevelRule().stream().map(this::parseTopLevelRule).collect(Collectors.toList());
 
             List<String> allErrorMessages = new ArrayList<>();
             List<DQRule> allRules = new ArrayList<>();
 
-            nestedRuleEitherList.forEach(arg -> {
+            operandResults.forEach(arg -> {
                 if (arg.isLeft()) {
                     allErrorMessages.add(arg.getLeft());
                 } else {
@@ -265,8 +538,7 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
 
             if (allErrorMessages.isEmpty()) {
                 // Create composite rule with default labels initialized
-                Labels compositeLabels = new Labels();
-                compositeLabels.setRulesetDefaultLabels(labels.getRulesetDefaultLabels());
+                Labels compositeLabels = new Labels(getSharedDefaultLabels(), Collections.emptyMap());
 
                 return Either.fromRight(
                     new DQRule("Composite", null, null, null, op, allRules, null, compositeLabels)
@@ -281,10 +553,36 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
         }
     }
 
+    /*
+     * Check only counterpart of completeTopLevelRule. Returns the error the rule fails with, or null.
+     */
+    private String checkTopLevelRule(DataQualityDefinitionLanguageParser.TopLevelRuleContext tlc,
+                                     List<String> operandErrors) {
+        if (tlc.LPAREN() != null && tlc.RPAREN() != null) {
+            String innerRuleError = operandErrors.get(0);
+            if (innerRuleError == null && tlc.labels() != null) {
+                enterLabels(tlc.labels());
+            }
+            return innerRuleError;
+        } else if (tlc.AND() != null || tlc.OR() != null) {
+            for (String operandError : operandErrors) {
+                if (operandError != null) {
+                    return operandError;
+                }
+            }
+            return null;
+        } else if (tlc.dqRule() != null) {
+            return checkDQRule(tlc.dqRule());
+        } else {
+            return failAt(tlc, "No valid rule found");
+        }
+    }
+
     @Override
     public void enterLabels(DataQualityDefinitionLanguageParser.LabelsContext ctx) {
         labels.setRuleLabels(new HashMap<>());
         labels.setRuleLabels(Labels.parseLabels(labels, ctx, labels.getRuleLabels(), errorMessages));
+        positionErrors(ctx);
     }
 
     @Override
@@ -292,6 +590,15 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
         labels.setRulesetDefaultLabels(new HashMap<>());
         Map<String, String> rulesetDefaultLabels = labels.getRulesetDefaultLabels();
         labels.setRulesetDefaultLabels(Labels.parseLabels(labels, ctx, rulesetDefaultLabels, errorMessages));
+        sharedDefaultLabels = null;
+        positionErrors(ctx);
+    }
+
+    private Map<String, String> getSharedDefaultLabels() {
+        if (sharedDefaultLabels == null) {
+            sharedDefaultLabels = Labels.sharedLabels(labels.getRulesetDefaultLabels());
+        }
+        return sharedDefaultLabels;
     }
 
     @Override
@@ -301,18 +608,23 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
         }
 
         for (DataQualityDefinitionLanguageParser.DqAnalyzerContext dac: dqAnalyzersContext.dqAnalyzer()) {
-            Either<String, DQAnalyzer> dqAnalyzerEither = getDQAnalyzer(dac);
-            if (dqAnalyzerEither.isLeft()) {
-                errorMessages.add(dqAnalyzerEither.getLeft());
+            String error = handleAnalyzer(dac);
+            if (error != null) {
+                errorMessages.add(error);
+                positionRuleErrors(dac);
                 return;
-            } else {
-                dqAnalyzers.add(dqAnalyzerEither.getRight());
             }
+            positionRuleErrors(dac);
         }
     }
 
     @Override
     public void enterVariableDeclaration(DataQualityDefinitionLanguageParser.VariableDeclarationContext ctx) {
+        declareVariable(ctx);
+        positionErrors(ctx);
+    }
+
+    private void declareVariable(DataQualityDefinitionLanguageParser.VariableDeclarationContext ctx) {
         if (!errorMessages.isEmpty()) {
             return;
         }
@@ -359,7 +671,7 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
     }
 
     private boolean containsVariableReference(String value) {
-        return Pattern.compile("\\$[a-zA-Z_][a-zA-Z0-9_.]*").matcher(value).find();
+        return value.indexOf('$') >= 0 && VARIABLE_REFERENCE_PATTERN.matcher(value).find();
     }
 
     private Either<String, DQRule> getDQRule(
@@ -393,11 +705,12 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
         if (dqRuleContext.whereClause() != null) {
             if (dqRuleType.isWhereClauseSupported()) {
                 DataQualityDefinitionLanguageParser.WhereClauseContext ctx = dqRuleContext.whereClause();
-                if (ctx.quotedString().getText().isEmpty() || ctx.quotedString().getText().equals("\"\"")) {
+                String quotedWhereClause = getText(ctx.quotedString());
+                if (quotedWhereClause.isEmpty() || quotedWhereClause.equals("\"\"")) {
                     return Either.fromLeft(
                             String.format("Empty where condition provided for rule type: %s", ruleType));
                 } else {
-                    whereClause = removeQuotes(ctx.quotedString().getText());
+                    whereClause = removeQuotes(quotedWhereClause);
                 }
             } else {
                 return Either.fromLeft(String.format("Where clause is not supported for rule type: %s", ruleType));
@@ -444,13 +757,12 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
             }
         }
 
-        Labels ruleLabels = new Labels();
-        ruleLabels.setRulesetDefaultLabels(labels.getRulesetDefaultLabels());
-
+        Labels ruleLabels;
         if (dqRuleContext.labels() != null) {
             enterLabels(dqRuleContext.labels());
-            ruleLabels.setRuleLabels(labels.getRuleLabels());
+            ruleLabels = new Labels(getSharedDefaultLabels(), new HashMap<>(labels.getRuleLabels()));
         } else {
+            ruleLabels = new Labels(getSharedDefaultLabels(), Collections.emptyMap());
             if (!errorMessages.isEmpty()) {
                 return Either.fromLeft(String.join("; ", errorMessages));
             }
@@ -501,6 +813,146 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
         );
     }
 
+    /*
+     * Check only counterpart of getDQRule: runs the same checks in the same order, and returns the error
+     * the rule fails with, or null. Tags other than the threshold are still built, as a time zone tag changes
+     * how time conditions are checked, but rules with tags are rare.
+     */
+    private String checkDQRule(DataQualityDefinitionLanguageParser.DqRuleContext dqRuleContext) {
+        String ruleType = dqRuleContext.ruleType().getText();
+        List<DataQualityDefinitionLanguageParser.ParameterWithConnectorWordContext> parameters =
+            dqRuleContext.parameterWithConnectorWord();
+
+        Optional<DQRuleType> optionalDQRuleType = DQRuleType.getRuleType(ruleType, parameters.size());
+
+        if (!optionalDQRuleType.isPresent()) {
+            return failAt(dqRuleContext.ruleType(), String.format("Rule Type: %s is not valid", ruleType));
+        }
+
+        DQRuleType dqRuleType = optionalDQRuleType.get();
+
+        if (dqRuleType.isAnalyzerOnly()) {
+            return failAt(dqRuleContext.ruleType(),
+                String.format("Analyzer Type: %s is not supported in rules section", ruleType));
+        }
+
+        Optional<String> errorMessage = dqRuleType.verifyParameters(dqRuleType.getParameters(), parameters.size());
+
+        if (errorMessage.isPresent()) {
+            return failAt(dqRuleContext, String.format(errorMessage.get() + ": %s", ruleType));
+        }
+
+        DataQualityDefinitionLanguageParser.WhereClauseContext whereClause = dqRuleContext.whereClause();
+        if (whereClause != null) {
+            if (!dqRuleType.isWhereClauseSupported()) {
+                return failAt(whereClause,
+                    String.format("Where clause is not supported for rule type: %s", ruleType));
+            }
+            String quotedWhereClause = getText(whereClause.quotedString());
+            if (quotedWhereClause.isEmpty() || quotedWhereClause.equals("\"\"")) {
+                return failAt(whereClause,
+                    String.format("Empty where condition provided for rule type: %s", ruleType));
+            }
+        }
+
+        boolean hasThresholdCondition = false;
+        Map<String, Tag> tags = null;
+        for (DataQualityDefinitionLanguageParser.TagWithConditionContext tagContext
+            : dqRuleContext.tagWithCondition()) {
+            Either<String, Tag> outcome;
+            if (tagContext.stringBasedCondition() != null) {
+                outcome = processStringTag(tagContext);
+            } else if (tagContext.numberBasedCondition() != null) {
+                final String tagName = tagContext.tagValues().getText();
+                if (tagName.equalsIgnoreCase(THRESHOLD_KEY)) {
+                    String thresholdError = checkThresholdTag(dqRuleType, hasThresholdCondition, tagContext, ruleType);
+                    if (thresholdError != null) {
+                        return failAt(tagContext, thresholdError);
+                    }
+                    hasThresholdCondition = true;
+                    continue;
+                }
+                outcome = processNumberTag(tagContext, tagName);
+            } else {
+                return failAt(tagContext, String.format("Invalid tag provided for rule type: %s", ruleType));
+            }
+
+            if (outcome.isLeft()) {
+                return failAt(tagContext, outcome.getLeft());
+            }
+            if (tags == null) {
+                tags = new HashMap<>();
+            }
+            tags.put(outcome.getRight().getKey(), outcome.getRight());
+        }
+
+        if (dqRuleContext.labels() != null) {
+            enterLabels(dqRuleContext.labels());
+        } else if (!errorMessages.isEmpty()) {
+            return failAt(dqRuleContext, String.join("; ", errorMessages));
+        }
+
+        // As when parsing, every return type is checked, and the rule has the condition of the first that matches.
+        Map<String, String> tagValues = convertToStringMap(tags);
+        String conditionError = null;
+        String conditionReturnType = null;
+        for (String returnType : dqRuleType.getReturnType().split("\\|")) {
+            String error = checkCondition(dqRuleType, returnType, dqRuleContext, tagValues);
+            if (error == null && conditionReturnType == null) {
+                conditionReturnType = returnType;
+            } else if (error != null && conditionError == null) {
+                conditionError = error;
+            }
+        }
+
+        DataQualityDefinitionLanguageParser.ConditionContext condition = dqRuleContext.condition();
+        if (conditionReturnType == null) {
+            return failAt(condition != null ? condition : dqRuleContext, conditionError != null
+                ? conditionError
+                : String.format("Error while parsing condition for rule with rule type: %s", ruleType));
+        }
+
+        for (DataQualityDefinitionLanguageParser.ParameterWithConnectorWordContext pc : parameters) {
+            DataQualityDefinitionLanguageParser.ParameterContext parameter = pc.parameter();
+            if (parameter.QUOTED_STRING() == null && parameter.IDENTIFIER() == null
+                && parameter.variableDereference() != null && parameter.variableDereference().IDENTIFIER() != null) {
+                String error = DQDLVariableResolver.checkStringVariable(
+                    parameter.variableDereference().IDENTIFIER().getText(), dqVariables);
+                if (error != null) {
+                    return failAt(pc, "Error resolving parameters: " + error);
+                }
+            }
+        }
+
+        // Only string conditions can refer to variables.
+        if (conditionReturnType.equals("STRING") || conditionReturnType.equals("STRING_ARRAY")) {
+            DataQualityDefinitionLanguageParser.VariableDereferenceContext variable =
+                condition.stringBasedCondition().variableDereference();
+            if (variable != null) {
+                String error = DQDLVariableResolver.checkVariableOperand(variable.IDENTIFIER().getText(), dqVariables);
+                if (error != null) {
+                    return failAt(condition, "Error resolving condition: " + error);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private String checkThresholdTag(DQRuleType dqRuleType,
+                                     boolean hasThresholdCondition,
+                                     DataQualityDefinitionLanguageParser.TagWithConditionContext tagContext,
+                                     String ruleType) {
+        if (!dqRuleType.isThresholdSupported()) {
+            return String.format("Threshold condition not supported for rule type: %s", ruleType);
+        } else if (hasThresholdCondition) {
+            return "Only one threshold condition at a time is supported.";
+        } else if (!isValidNumberBasedCondition(tagContext.numberBasedCondition())) {
+            return String.format("Unable to parse threshold condition provided for rule type: %s", ruleType);
+        }
+        return null;
+    }
+
     private Either<String, Condition> processThresholdTag(DQRuleType dqRuleType,
                                                           Condition thresholdCondition,
                                                           DataQualityDefinitionLanguageParser
@@ -525,7 +977,7 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
         final List<DataQualityDefinitionLanguageParser.NumberContext> numberContexts =
                 tagContext.numberBasedCondition().number();
         if (numberContexts != null && !numberContexts.isEmpty()) {
-            final String tagValue = numberContexts.get(0).getText();
+            final String tagValue = getText(numberContexts.get(0));
             return Either.fromRight(new Tag(tagName, tagValue));
         } else {
             return Either.fromLeft(String.format("Error Parsing Tag %s", tagName));
@@ -607,14 +1059,43 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
         return Either.fromRight(DQAnalyzer.createFromValueMap(analyzerType, parameterMap));
     }
 
+    /*
+     * Check only counterpart of getDQAnalyzer. Returns the error the analyzer fails with, or null.
+     */
+    private String checkDQAnalyzer(DataQualityDefinitionLanguageParser.DqAnalyzerContext dqAnalyzerContext) {
+        String analyzerType = dqAnalyzerContext.analyzerType().getText();
+        int parameterCount = dqAnalyzerContext.parameterWithConnectorWord().size();
+
+        Optional<DQRuleType> optionalDQAnalyzerType = DQRuleType.getRuleType(analyzerType, parameterCount);
+
+        if (!optionalDQAnalyzerType.isPresent()) {
+            return failAt(dqAnalyzerContext.analyzerType(),
+                String.format("Analyzer Type: %s is not valid", analyzerType));
+        }
+
+        DQRuleType dqRuleType = optionalDQAnalyzerType.get();
+
+        if (dqRuleType.getReturnType().equals("BOOLEAN")) {
+            return failAt(dqAnalyzerContext.analyzerType(),
+                String.format("Analyzer Type: %s is not supported", analyzerType));
+        }
+
+        Optional<String> errorMessage = dqRuleType.verifyParameters(dqRuleType.getParameters(), parameterCount);
+
+        if (errorMessage.isPresent()) {
+            return failAt(dqAnalyzerContext, String.format(errorMessage.get() + ": %s", analyzerType));
+        }
+        return null;
+    }
+
     private Either<String, Condition> parseCondition(
         DQRuleType ruleType,
         String returnType,
         DataQualityDefinitionLanguageParser.DqRuleContext dqRuleContext,
         Map<String, String> tags) {
 
-        Either<String, Condition> response =
-            Either.fromLeft(String.format("Error parsing condition for return type: %s", returnType));
+        // The error is only formatted if no other response was set.
+        Either<String, Condition> response = null;
 
         switch (returnType) {
             case "BOOLEAN":
@@ -719,7 +1200,220 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
                 break;
         }
 
-        return response;
+        return response != null
+            ? response
+            : Either.fromLeft(String.format("Error parsing condition for return type: %s", returnType));
+    }
+
+    /*
+     * Check only counterpart of parseCondition. Returns the error that parseCondition returns, or null.
+     * The isValid methods below accept exactly what the matching parse methods build a condition for,
+     * and like them, check every operand, as checking a time can record an error.
+     */
+    private String checkCondition(
+        DQRuleType ruleType,
+        String returnType,
+        DataQualityDefinitionLanguageParser.DqRuleContext dqRuleContext,
+        Map<String, String> tags) {
+
+        DataQualityDefinitionLanguageParser.ConditionContext cx = dqRuleContext.condition();
+        boolean valid;
+
+        switch (returnType) {
+            case "BOOLEAN":
+                if (cx != null) {
+                    return String.format("Unexpected condition for rule of type %s with boolean return type",
+                        ruleType.getRuleTypeName());
+                }
+                return null;
+            case "NUMBER":
+            case "NUMBER_ARRAY":
+                if (cx == null || cx.numberBasedCondition() == null) {
+                    return String.format("Unexpected condition for rule of type %s with number return type",
+                        ruleType.getRuleTypeName());
+                }
+                valid = isValidNumberBasedCondition(cx.numberBasedCondition());
+                break;
+            case "STRING":
+            case "STRING_ARRAY":
+                if (cx == null || cx.stringBasedCondition() == null) {
+                    return String.format("Unexpected condition for rule of type %s with string return type",
+                        ruleType.getRuleTypeName());
+                }
+                valid = isValidStringBasedCondition(cx.stringBasedCondition());
+                break;
+            case "DATE":
+            case "DATE_ARRAY":
+                if (cx == null || cx.dateBasedCondition() == null) {
+                    return String.format("Unexpected condition for rule of type %s with date return type",
+                        ruleType.getRuleTypeName());
+                }
+                valid = isValidDateBasedCondition(cx.dateBasedCondition(), tags);
+                break;
+            case "DURATION":
+            case "DURATION_ARRAY":
+                if (cx == null || cx.durationBasedCondition() == null) {
+                    return String.format("Unexpected condition for rule of type %s with duration return type",
+                        ruleType.getRuleTypeName());
+                }
+                valid = isValidDurationBasedCondition(cx.durationBasedCondition());
+                break;
+            case "SIZE":
+            case "SIZE_ARRAY":
+                if (cx == null || (cx.sizeBasedCondition() == null && cx.numberBasedCondition() == null)) {
+                    return String.format("Unexpected condition for rule of type %s with size return type",
+                        ruleType.getRuleTypeName());
+                }
+                valid = cx.sizeBasedCondition() != null
+                    ? isValidSizeBasedCondition(cx.sizeBasedCondition())
+                    : isValidNumberAsSizeCondition(cx.numberBasedCondition());
+                break;
+            default:
+                valid = false;
+                break;
+        }
+
+        return valid ? null : String.format("Error parsing condition for return type: %s", returnType);
+    }
+
+    private static <T> boolean allValid(List<T> operands, Predicate<T> isValid) {
+        boolean valid = true;
+        for (T operand : operands) {
+            valid &= isValid.test(operand);
+        }
+        return valid;
+    }
+
+    private boolean isValidNumberBasedCondition(DataQualityDefinitionLanguageParser.NumberBasedConditionContext ctx) {
+        if (ctx.BETWEEN() != null && ctx.number().size() == 2) {
+            return allValid(ctx.number(), this::isValidNumber);
+        } else if ((ctx.GREATER_THAN_EQUAL_TO() != null || ctx.GREATER_THAN() != null || ctx.LESS_THAN() != null
+            || ctx.LESS_THAN_EQUAL_TO() != null || ctx.EQUAL_TO() != null) && ctx.number().size() == 1) {
+            return isValidNumber(ctx.number(0));
+        } else if (ctx.IN() != null && ctx.numberArray() != null && ctx.numberArray().number().size() > 0) {
+            return allValid(ctx.numberArray().number(), this::isValidNumber);
+        }
+        return false;
+    }
+
+    private boolean isValidNumber(DataQualityDefinitionLanguageParser.NumberContext numberContext) {
+        if (numberContext.numberOp() != null) {
+            return allValid(numberContext.number(), this::isValidNumber);
+        } else if (numberContext.functionCall() != null) {
+            DataQualityDefinitionLanguageParser.FunctionParametersContext parameters =
+                numberContext.functionCall().functionParameters();
+            return parameters == null || allValid(parameters.number(), this::isValidNumber);
+        } else if (numberContext.LPAREN() != null) {
+            return isValidNumber(numberContext.number(0));
+        }
+        return numberContext.atomicNumber() != null || numberContext.NULL() != null;
+    }
+
+    /*
+     * convertNumberToSizeCondition only keeps number conditions whose operands are all whole numbers,
+     * and fails, as here, on a whole number that does not fit in an int.
+     */
+    private boolean isValidNumberAsSizeCondition(DataQualityDefinitionLanguageParser.NumberBasedConditionContext ctx) {
+        if (!isValidNumberBasedCondition(ctx)) {
+            return false;
+        }
+        List<DataQualityDefinitionLanguageParser.NumberContext> operands =
+            ctx.IN() != null ? ctx.numberArray().number() : ctx.number();
+        return allValid(operands, operand -> {
+            while (operand.LPAREN() != null) {
+                operand = operand.number(0);
+            }
+            if (operand.atomicNumber() == null) {
+                return false;
+            }
+            String number = getText(operand);
+            if (Double.parseDouble(number) % 1 != 0) {
+                return false;
+            }
+            Integer.parseInt(number);
+            return true;
+        });
+    }
+
+    private boolean isValidStringBasedCondition(DataQualityDefinitionLanguageParser.StringBasedConditionContext ctx) {
+        if (ctx.EQUAL_TO() != null) {
+            return ctx.variableDereference() != null || ctx.stringValues() != null;
+        } else if (ctx.IN() != null) {
+            return ctx.variableDereference() != null
+                || (ctx.stringValuesArray() != null && ctx.stringValuesArray().stringValues().size() > 0);
+        }
+        return ctx.matchesRegexCondition() != null;
+    }
+
+    private boolean isValidDateBasedCondition(DataQualityDefinitionLanguageParser.DateBasedConditionContext ctx,
+                                              Map<String, String> tags) {
+        if (ctx.BETWEEN() != null && ctx.dateExpression().size() == 2) {
+            return allValid(ctx.dateExpression(), x -> isValidDateExpression(x, tags));
+        } else if ((ctx.GREATER_THAN_EQUAL_TO() != null || ctx.GREATER_THAN() != null || ctx.LESS_THAN() != null
+            || ctx.LESS_THAN_EQUAL_TO() != null || ctx.EQUAL_TO() != null) && ctx.dateExpression().size() == 1) {
+            return isValidDateExpression(ctx.dateExpression(0), tags);
+        } else if (ctx.IN() != null &&
+            ctx.dateExpressionArray() != null &&
+            ctx.dateExpressionArray().dateExpression().size() > 0) {
+            return allValid(ctx.dateExpressionArray().dateExpression(), x -> isValidDateExpression(x, tags));
+        }
+        return false;
+    }
+
+    private boolean isValidDateExpression(DataQualityDefinitionLanguageParser.DateExpressionContext ctx,
+                                          Map<String, String> tags) {
+        if (ctx.durationExpression() != null) {
+            return isValidDuration(ctx.durationExpression());
+        } else if (ctx.timeExpression() != null) {
+            // Times are parsed, as parseTime records why a time or its time zone is not valid.
+            return parseDateExpression(ctx, tags).isPresent();
+        }
+        return true;
+    }
+
+    private boolean isValidDurationBasedCondition(
+        DataQualityDefinitionLanguageParser.DurationBasedConditionContext ctx) {
+        if (ctx.BETWEEN() != null && ctx.durationExpression().size() == 2) {
+            return allValid(ctx.durationExpression(), this::isValidDuration);
+        } else if ((ctx.GREATER_THAN_EQUAL_TO() != null || ctx.GREATER_THAN() != null || ctx.LESS_THAN() != null
+            || ctx.LESS_THAN_EQUAL_TO() != null || ctx.EQUAL_TO() != null) && ctx.durationExpression().size() == 1) {
+            return isValidDuration(ctx.durationExpression(0));
+        } else if (ctx.IN() != null &&
+            ctx.durationExpressionArray() != null &&
+            ctx.durationExpressionArray().durationExpression().size() > 0) {
+            return allValid(ctx.durationExpressionArray().durationExpression(), this::isValidDuration);
+        }
+        return false;
+    }
+
+    private boolean isValidSizeBasedCondition(DataQualityDefinitionLanguageParser.SizeBasedConditionContext ctx) {
+        if (ctx.BETWEEN() != null && ctx.sizeExpression().size() == 2) {
+            return allValid(ctx.sizeExpression(), this::isValidSize);
+        } else if ((ctx.GREATER_THAN_EQUAL_TO() != null || ctx.GREATER_THAN() != null || ctx.LESS_THAN() != null
+            || ctx.LESS_THAN_EQUAL_TO() != null || ctx.EQUAL_TO() != null) && ctx.sizeExpression().size() == 1) {
+            return isValidSize(ctx.sizeExpression(0));
+        } else if (ctx.IN() != null &&
+            ctx.sizeExpressionArray() != null &&
+            ctx.sizeExpressionArray().sizeExpression().size() > 0) {
+            return allValid(ctx.sizeExpressionArray().sizeExpression(), this::isValidSize);
+        }
+        return false;
+    }
+
+    /*
+     * Like parseDuration, fails on an amount that does not fit in an int.
+     */
+    private boolean isValidDuration(DataQualityDefinitionLanguageParser.DurationExpressionContext ctx) {
+        Integer.parseInt(ctx.INT() != null ? ctx.INT().getText() : ctx.DIGIT().getText());
+        return ctx.durationUnit().exception == null;
+    }
+
+    /*
+     * Like parseSize, fails on an amount that does not fit in an int.
+     */
+    private boolean isValidSize(DataQualityDefinitionLanguageParser.SizeExpressionContext ctx) {
+        Integer.parseInt(ctx.INT() != null ? ctx.INT().getText() : ctx.DIGIT().getText());
+        return ctx.sizeUnit().exception == null;
     }
 
     private Optional<SizeBasedCondition> convertNumberToSizeCondition(Optional<Condition> in) {
@@ -730,7 +1424,7 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
         final String conditionAsString = input.getConditionAsString();
         final SizeBasedConditionOperator operator = SizeBasedConditionOperator.valueOf(input.getOperator().name());
         final List<Size> operands = input.getOperands().stream()
-                .filter(x -> x instanceof AtomicNumberOperand)
+                .filter(x -> x.getClass() == AtomicNumberOperand.class)
                 .filter(x -> Double.parseDouble(x.getOperand()) % 1 == 0) // filter only integer
                 .map(x -> new Size(Integer.parseInt(x.getOperand()), SizeUnit.B))
                 .collect(Collectors.toList());
@@ -743,7 +1437,7 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
     private Optional<Condition> parseNumberBasedCondition(
         DataQualityDefinitionLanguageParser.NumberBasedConditionContext ctx) {
 
-        String exprStr = ctx.getText();
+        String exprStr = getText(ctx);
         Condition condition = null;
 
         if (ctx.BETWEEN() != null && ctx.number().size() == 2) {
@@ -819,12 +1513,12 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
             Optional<NumericOperand> operand2 = parseNumericOperand(numberContext.number(1), false);
             if (operand1.isPresent() && operand2.isPresent()) {
                 return Optional.of(
-                    new BinaryExpressionOperand(
-                        numberContext.getText(),
+                    ConstantExpressionOperand.fold(new BinaryExpressionOperand(
+                        getText(numberContext),
                         numberContext.numberOp().getText(),
                         operand1.get(), operand2.get(),
                         isParenthesized
-                    )
+                    ))
                 );
             } else {
                 return Optional.empty();
@@ -843,21 +1537,21 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
                 if (parameters.stream().allMatch(Optional::isPresent)) {
                     functionParameters = parameters.stream().map(Optional::get).collect(Collectors.toList());
                     return Optional.of(
-                        new FunctionCallOperand(fcc.getText(), functionName, functionParameters)
+                        new FunctionCallOperand(getText(fcc), functionName, functionParameters)
                     );
                 }
             } else {
                 // No parameter function
                 return Optional.of(
-                    new FunctionCallOperand(fcc.getText(), functionName, functionParameters)
+                    new FunctionCallOperand(getText(fcc), functionName, functionParameters)
                 );
             }
         } else if (numberContext.LPAREN() != null) {
             return parseNumericOperand(numberContext.number(0), true);
         } else if (numberContext.atomicNumber() != null) {
-            return Optional.of(new AtomicNumberOperand(numberContext.getText()));
+            return Optional.of(new AtomicNumberOperand(getText(numberContext)));
         } else if (numberContext.NULL() != null) {
-            return Optional.of(new NullNumericOperand(numberContext.getText()));
+            return Optional.of(new NullNumericOperand(getText(numberContext)));
         }
 
         return Optional.empty();
@@ -866,7 +1560,7 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
     private Optional<Condition> parseStringBasedCondition(
         DataQualityDefinitionLanguageParser.StringBasedConditionContext ctx
     ) {
-        String exprStr = ctx.getText();
+        String exprStr = getText(ctx);
         Condition condition = null;
 
         if (ctx.EQUAL_TO() != null) {
@@ -960,7 +1654,7 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
     private Optional<Condition> parseDateBasedCondition(
         DataQualityDefinitionLanguageParser.DateBasedConditionContext ctx, Map<String, String> tags) {
 
-        String exprStr = ctx.getText();
+        String exprStr = getText(ctx);
         Condition condition = null;
 
         if (ctx.BETWEEN() != null && ctx.dateExpression().size() == 2) {
@@ -1036,7 +1730,7 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
         DataQualityDefinitionLanguageParser.DurationBasedConditionContext ctx
     ) {
 
-        String exprStr = ctx.getText();
+        String exprStr = getText(ctx);
         Condition condition = null;
 
         if (ctx.BETWEEN() != null && ctx.durationExpression().size() == 2) {
@@ -1119,7 +1813,7 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
             DataQualityDefinitionLanguageParser.SizeBasedConditionContext ctx
     ) {
 
-        String exprStr = ctx.getText();
+        String exprStr = getText(ctx);
         Condition condition = null;
 
         if (ctx.BETWEEN() != null && ctx.sizeExpression().size() == 2) {
@@ -1216,25 +1910,23 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
             final String time = removeQuotes(ctx.timeExpression().MIL_TIME() != null
                     ? ctx.timeExpression().MIL_TIME().getText()
                     : ctx.timeExpression().TIME().getText());
-            final String pattern = ctx.timeExpression().MIL_TIME() != null
-                    ? MILITARY_TIME_FORMAT
-                    : AMPM_TIME_FORMAT;
+            final DateTimeFormatter formatter = ctx.timeExpression().MIL_TIME() != null
+                    ? MILITARY_TIME_FORMATTER
+                    : AMPM_TIME_FORMATTER;
             final String timeZone = tags.getOrDefault("timeZone", "UTC");
-            return parseTime(time, pattern, timeZone);
+            return parseTime(time, formatter, timeZone);
         } else {
             return Optional.of(new DateExpression.StaticDate(removeQuotes(ctx.DATE().getText())));
         }
     }
 
-    private Optional<DateExpression> parseTime(final String in, final String pattern, final String timeZone) {
+    private Optional<DateExpression> parseTime(final String in,
+                                               final DateTimeFormatter formatter,
+                                               final String timeZone) {
         try {
             final ZoneId zoneId = ZoneId.of(timeZone); // https://docs.oracle.com/javase/8/docs/api/java/time/ZoneId.html
-            final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
             final LocalTime time = LocalTime.parse(in, formatter);
-            final LocalDate today = LocalDate.now(zoneId);
-            final ZonedDateTime localDateTime = ZonedDateTime.of(today, time, zoneId);
-            final ZonedDateTime utcTime = localDateTime.withZoneSameInstant(ZoneOffset.UTC);
-            return Optional.of(new DateExpression.StaticDateTime(utcTime.toLocalDateTime(), in));
+            return Optional.of(new DateExpression.StaticDateTime(time, zoneId, in));
         } catch (final DateTimeParseException e) {
             errorMessages.add(String.format("Error Parsing Date: %s. %s.", in, e.getMessage()));
             return Optional.empty();
@@ -1266,10 +1958,41 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
         }
     }
 
+    /*
+     * Same as ParseTree.getText(), which builds a new string at every level of the tree, and is called again
+     * for the operands of every expression. Here, the text of the terminals is appended to a single builder,
+     * and single terminals, like numbers and quoted strings, return their token text without copying.
+     */
+    private static String getText(ParseTree tree) {
+        if (tree instanceof TerminalNode) {
+            return tree.getText();
+        }
+        switch (tree.getChildCount()) {
+            case 0:
+                return "";
+            case 1:
+                return getText(tree.getChild(0));
+            default:
+                StringBuilder sb = new StringBuilder();
+                appendText(tree, sb);
+                return sb.toString();
+        }
+    }
+
+    private static void appendText(ParseTree tree, StringBuilder sb) {
+        if (tree instanceof TerminalNode) {
+            sb.append(tree.getText());
+            return;
+        }
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            appendText(tree.getChild(i), sb);
+        }
+    }
+
     private String removeQuotes(String quotedString) {
         if (quotedString.startsWith("\"") && quotedString.endsWith("\"")) {
-            quotedString = quotedString.substring(1);
-            quotedString = quotedString.substring(0, quotedString.length() - 1);
+            // A lone quote has no closing quote to remove, and fails like it did before.
+            return quotedString.substring(1, quotedString.length() - 1);
         }
         return quotedString;
     }
@@ -1295,7 +2018,7 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
             String varName = pc.parameter().variableDereference().IDENTIFIER().getText();
             return new DQRuleParameterVariableValue(varName, connectorWord);
         } else {
-            return new DQRuleParameterConstantValue(pc.parameter().getText(), true, connectorWord);
+            return new DQRuleParameterConstantValue(getText(pc.parameter()), true, connectorWord);
         }
     }
 
@@ -1309,30 +2032,14 @@ public class DQDLParserListener extends DataQualityDefinitionLanguageBaseListene
 
     private Keyword parseKeyword(
         DataQualityDefinitionLanguageParser.StringValuesContext stringValuesContext) {
-        Keyword keyword = null;
-        try {
-            String operand = stringValuesContext.getText().toUpperCase();
-            if (isValidEnumValue(operand)) {
-                Method method = stringValuesContext.getClass().getMethod(operand);
-                Object result = method.invoke(stringValuesContext);
-                if (result != null) {
-                    keyword = Keyword.valueOf(operand);
-                }
-            }
-        } catch (IllegalArgumentException | IllegalAccessException | NoSuchMethodException |
-                 InvocationTargetException e) {
-            errorMessages.add(e.getMessage());
-        }
-        return keyword;
-    }
-
-    private boolean isValidEnumValue(String value) {
-        try {
-            Enum.valueOf(Keyword.class, value);
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
+        if (stringValuesContext.NULL() != null) {
+            return Keyword.NULL;
+        } else if (stringValuesContext.EMPTY() != null) {
+            return Keyword.EMPTY;
+        } else if (stringValuesContext.WHITESPACES_ONLY() != null) {
+            return Keyword.WHITESPACES_ONLY;
         }
+        return null;
     }
 
     private String processStringValues(DataQualityDefinitionLanguageParser.StringValuesContext sv) {
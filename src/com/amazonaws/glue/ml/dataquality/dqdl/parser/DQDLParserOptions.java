@@ -0,0 +1,62 @@
+/*
+ * DQDLParserOptions.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.parser;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/*
+ * Options that control how DQDLParser parses a DQDL document.
+ * Instances are immutable and can be shared across parsers and threads.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class DQDLParserOptions {
+    public static final DQDLParserOptions DEFAULT = DQDLParserOptions.builder().build();
+
+    @Builder.Default
+    private final PredictionMode predictionMode = PredictionMode.LL;
+
+    /*
+     * When set, parsed rulesets are cached and served from this cache.
+     * Rulesets served by the cache are unmodifiable. Null, the default, disables caching.
+     */
+    private final DQDLParseCache parseCache;
+
+    /*
+     * When set, a chain of rules joined by the same operator, like (A) and (B) and (C), is parsed into a single
+     * composite rule with all the rules of the chain as its nested rules, instead of nested composite rules with
+     * two nested rules each. Parenthesized groups are kept as composite rules of their own.
+     * A chain that uses a single operator prints the same either way.
+     */
+    private final boolean flattenCompositeRules;
+
+    /*
+     * When set, rules and conditions that appear several times in a ruleset are parsed into a single shared
+     * instance, with DQRuleInterner. This saves memory, and makes hashing and comparing composite rules cheaper.
+     * Callers that change the rules they are given, rather than copying them, should leave this unset.
+     */
+    private final boolean shareIdenticalRules;
+
+    public enum PredictionMode {
+        /*
+         * ANTLR's full-context LL prediction. This is the behaviour DQDLParser has always had.
+         */
+        LL,
+
+        /*
+         * Parse with ANTLR's faster SLL prediction first, bailing out on the first syntax error.
+         * If SLL cannot parse the document, it is parsed again with full LL prediction,
+         * so the errors reported for an invalid document are exactly the ones LL reports.
+         */
+        SLL_THEN_LL
+    }
+}
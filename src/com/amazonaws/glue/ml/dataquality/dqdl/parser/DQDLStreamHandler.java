@@ -0,0 +1,28 @@
+/*
+ * DQDLStreamHandler.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.parser;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQAnalyzer;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+
+/*
+ * Receives rules and analyzers from DQDLParser as soon as each of them has been parsed,
+ * when parsing a document in streaming mode.
+ *
+ * A document can turn out to be invalid after some of its rules have been handed to the handler.
+ * In that case, parsing still fails with an InvalidDataQualityRulesetException once the document has been read.
+ */
+public interface DQDLStreamHandler {
+    void onRule(DQRule rule);
+
+    default void onAnalyzer(DQAnalyzer analyzer) {
+    }
+}
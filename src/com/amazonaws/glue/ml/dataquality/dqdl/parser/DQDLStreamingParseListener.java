@@ -0,0 +1,86 @@
+/*
+ * DQDLStreamingParseListener.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.parser;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.DataQualityDefinitionLanguageParser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+/*
+ * A parse listener, which is notified while the parse tree is being built rather than once it is complete.
+ * It hands every section of the document to DQDLParserListener as soon as the section is complete,
+ * and detaches rules and analyzers from the tree once they have been converted,
+ * so that the tree never holds more than one rule or analyzer at a time.
+ *
+ * Top level rules are left recursive, and ANTLR only attaches a left recursive context to its parent
+ * after it has fired its exit events. So a top level rule is known to be complete when the comma after it
+ * is consumed, or when the enclosing rules list is exited.
+ */
+class DQDLStreamingParseListener implements ParseTreeListener {
+    private final DQDLParserListener listener;
+
+    DQDLStreamingParseListener(DQDLParserListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void visitTerminal(TerminalNode node) {
+        if (node.getSymbol().getType() == DataQualityDefinitionLanguageParser.COMMA
+            && node.getParent() instanceof DataQualityDefinitionLanguageParser.DqRulesContext) {
+            processCompletedRules((DataQualityDefinitionLanguageParser.DqRulesContext) node.getParent());
+        }
+    }
+
+    @Override
+    public void visitErrorNode(ErrorNode node) {
+    }
+
+    @Override
+    public void enterEveryRule(ParserRuleContext ctx) {
+    }
+
+    @Override
+    public void exitEveryRule(ParserRuleContext ctx) {
+        if (ctx instanceof DataQualityDefinitionLanguageParser.MetadataContext) {
+            listener.enterMetadata((DataQualityDefinitionLanguageParser.MetadataContext) ctx);
+        } else if (ctx instanceof DataQualityDefinitionLanguageParser.DataSourcesContext) {
+            listener.enterDataSources((DataQualityDefinitionLanguageParser.DataSourcesContext) ctx);
+        } else if (ctx instanceof DataQualityDefinitionLanguageParser.VariableDeclarationContext) {
+            listener.enterVariableDeclaration((DataQualityDefinitionLanguageParser.VariableDeclarationContext) ctx);
+        } else if (ctx instanceof DataQualityDefinitionLanguageParser.DefaultLabelsContext) {
+            listener.enterDefaultLabels((DataQualityDefinitionLanguageParser.DefaultLabelsContext) ctx);
+        } else if (ctx instanceof DataQualityDefinitionLanguageParser.DqRulesContext) {
+            processCompletedRules((DataQualityDefinitionLanguageParser.DqRulesContext) ctx);
+        } else if (ctx instanceof DataQualityDefinitionLanguageParser.DqAnalyzerContext) {
+            listener.processAnalyzer((DataQualityDefinitionLanguageParser.DqAnalyzerContext) ctx);
+            ParserRuleContext parent = ctx.getParent();
+            if (parent != null && parent.getChildCount() > 0 && parent.getChild(parent.getChildCount() - 1) == ctx) {
+                parent.removeLastChild();
+            }
+        }
+    }
+
+    private void processCompletedRules(DataQualityDefinitionLanguageParser.DqRulesContext ctx) {
+        if (ctx.children == null) {
+            return;
+        }
+
+        for (ParseTree child : ctx.children) {
+            if (child instanceof DataQualityDefinitionLanguageParser.TopLevelRuleContext) {
+                listener.processTopLevelRule((DataQualityDefinitionLanguageParser.TopLevelRuleContext) child);
+            }
+        }
+        ctx.children.clear();
+    }
+}
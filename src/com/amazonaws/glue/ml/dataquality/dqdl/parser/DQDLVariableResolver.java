@@ -95,43 +95,64 @@ public final class DQDLVariableResolver {
 
     private static Either<String, List<StringOperand>> resolveVariableOperand(String varName,
                                                                               Map<String, DQVariable> variables) {
-        DQVariable variable = variables.get(varName);
-        if (variable == null) {
-            return Either.fromLeft("Variable not found: " + varName);
+        String error = checkVariableOperand(varName, variables);
+        if (error != null) {
+            return Either.fromLeft(error);
         }
 
+        DQVariable variable = variables.get(varName);
         List<StringOperand> resolvedOperands = new ArrayList<>();
-        switch (variable.getType()) {
-            case STRING:
-                resolvedOperands.add(createEscapedStringOperand(variable.getValue().toString()));
-                break;
-            case STRING_ARRAY:
-                List<String> values = (List<String>) variable.getValue();
-                for (String value : values) {
-                    resolvedOperands.add(createEscapedStringOperandWithPreprocessing(value));
-                }
-                break;
-            default:
-                return Either.fromLeft(
-                        String.format("Invalid variable type for '%s': expected STRING or STRING_ARRAY, but got %s",
-                                varName, variable.getType()));
+        if (variable.getType() == DQVariable.VariableType.STRING) {
+            resolvedOperands.add(createEscapedStringOperand(variable.getValue().toString()));
+        } else {
+            List<String> values = (List<String>) variable.getValue();
+            for (String value : values) {
+                resolvedOperands.add(createEscapedStringOperandWithPreprocessing(value));
+            }
         }
         return Either.fromRight(resolvedOperands);
     }
 
     private static Either<String, String> resolveStringVariable(String varName, Map<String, DQVariable> variables) {
+        String error = checkStringVariable(varName, variables);
+        if (error != null) {
+            return Either.fromLeft(error);
+        }
+
+        return Either.fromRight(variables.get(varName).getValue().toString());
+    }
+
+    /*
+     * The error that resolving the variable as an operand of a string condition fails with, or null if it resolves.
+     */
+    static String checkVariableOperand(String varName, Map<String, DQVariable> variables) {
         DQVariable variable = variables.get(varName);
         if (variable == null) {
-            return Either.fromLeft("Variable not found: " + varName);
+            return "Variable not found: " + varName;
         }
 
-        if (variable.getType() != DQVariable.VariableType.STRING) {
-            return Either.fromLeft(
-                    String.format("Invalid variable type for '%s': expected STRING, but got %s",
-                            varName, variable.getType()));
+        if (variable.getType() != DQVariable.VariableType.STRING
+            && variable.getType() != DQVariable.VariableType.STRING_ARRAY) {
+            return String.format("Invalid variable type for '%s': expected STRING or STRING_ARRAY, but got %s",
+                varName, variable.getType());
+        }
+        return null;
+    }
+
+    /*
+     * The error that resolving the variable as a rule parameter fails with, or null if it resolves.
+     */
+    static String checkStringVariable(String varName, Map<String, DQVariable> variables) {
+        DQVariable variable = variables.get(varName);
+        if (variable == null) {
+            return "Variable not found: " + varName;
         }
 
-        return Either.fromRight(variable.getValue().toString());
+        if (variable.getType() != DQVariable.VariableType.STRING) {
+            return String.format("Invalid variable type for '%s': expected STRING, but got %s",
+                varName, variable.getType());
+        }
+        return null;
     }
 
     public static Either<String, VariableResolutionResult> resolveVariables(
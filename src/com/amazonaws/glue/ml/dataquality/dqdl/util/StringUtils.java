@@ -31,8 +31,28 @@ public final class StringUtils {
         return !isBlank(cs);
     }
 
+    // Removes the backslash in front of any character but a line terminator,
+    // same as replaceAll("\\\\(.)", "$1"), without compiling a regex on every call.
     public static String removeEscapes(String stringWithEscapes) {
-        stringWithEscapes = stringWithEscapes.replaceAll("\\\\(.)", "$1");
-        return stringWithEscapes;
+        int firstBackslash = stringWithEscapes.indexOf('\\');
+        if (firstBackslash < 0) {
+            return stringWithEscapes;
+        }
+
+        int length = stringWithEscapes.length();
+        StringBuilder sb = new StringBuilder(length);
+        sb.append(stringWithEscapes, 0, firstBackslash);
+        for (int i = firstBackslash; i < length; i++) {
+            char c = stringWithEscapes.charAt(i);
+            if (c == '\\' && i + 1 < length && !isLineTerminator(stringWithEscapes.charAt(i + 1))) {
+                c = stringWithEscapes.charAt(++i);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
 }
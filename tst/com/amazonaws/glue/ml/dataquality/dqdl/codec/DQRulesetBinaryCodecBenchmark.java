@@ -0,0 +1,93 @@
+/*
+ * DQRulesetBinaryCodecBenchmark.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Compares the time it takes to load a ruleset by parsing its DQDL, and by decoding its binary encoding.
+ *
+ * Not run as part of the tests. Run it from the test classpath, for example:
+ *
+ *     mvn test-compile
+ *     java -cp target/classes:target/test-classes:<dependencies> \
+ *         com.amazonaws.glue.ml.dataquality.dqdl.codec.DQRulesetBinaryCodecBenchmark
+ */
+public final class DQRulesetBinaryCodecBenchmark {
+    private static final int RULE_REPETITIONS = 50;
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int MEASURED_ITERATIONS = 500;
+
+    private static final List<String> RULES = Arrays.asList(
+        "IsComplete \"colA\"",
+        "ColumnValues \"colB\" in [ \"a\", \"b\\\"c\", NULL, EMPTY ]",
+        "ColumnValues \"colC\" between (avg(last(10)) - 3) and ((avg(last(10)) + 3) * 2)",
+        "ColumnValues \"colD\" > 10 where \"colA > 5\" with threshold >= 0.9",
+        "ColumnLength \"colE\" <= 20 labels=[\"team\"=\"dq\", \"severity\"=\"high\"]",
+        "ColumnValues \"colF\" <= (now() - 3 days)",
+        "CustomSql \"select count(*) from primary\" between 10 and 20",
+        "ColumnValues \"colG\" matches \"[a-z]+\" with threshold > 0.5",
+        "(IsComplete \"colH\") or (IsUnique \"colH\")",
+        "FileSize > 10 MB"
+    );
+
+    private DQRulesetBinaryCodecBenchmark() {
+    }
+
+    public static void main(String[] args) throws InvalidDataQualityRulesetException {
+        StringBuilder sb = new StringBuilder("DefaultLabels = [\"owner\"=\"benchmark\"]\nRules = [\n");
+        for (int i = 0; i < RULE_REPETITIONS; i++) {
+            for (String rule : RULES) {
+                sb.append("    ").append(rule).append(",\n");
+            }
+        }
+        sb.setLength(sb.length() - 2);
+        String dqdl = sb.append("\n]").toString();
+        DQDLParser parser = new DQDLParser();
+        byte[] encoded = DQRulesetBinaryCodec.encode(parser.parse(dqdl));
+
+        long parseNanos = 0;
+        long decodeNanos = 0;
+        for (int round = 0; round < 2; round++) {
+            int iterations = round == 0 ? WARMUP_ITERATIONS : MEASURED_ITERATIONS;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                consume(parser.parse(dqdl));
+            }
+            parseNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                consume(DQRulesetBinaryCodec.decode(encoded));
+            }
+            decodeNanos = System.nanoTime() - start;
+        }
+
+        System.out.printf("Rules per document:          %d%n", RULE_REPETITIONS * RULES.size());
+        System.out.printf("DQDL bytes:                  %d%n", dqdl.getBytes(StandardCharsets.UTF_8).length);
+        System.out.printf("Encoded bytes:               %d%n", encoded.length);
+        System.out.printf("Microseconds per parse:      %d%n", parseNanos / MEASURED_ITERATIONS / 1000);
+        System.out.printf("Microseconds per decode:     %d%n", decodeNanos / MEASURED_ITERATIONS / 1000);
+    }
+
+    private static void consume(DQRuleset ruleset) {
+        if (ruleset.getRules().isEmpty()) {
+            throw new IllegalStateException("No rules loaded");
+        }
+    }
+}
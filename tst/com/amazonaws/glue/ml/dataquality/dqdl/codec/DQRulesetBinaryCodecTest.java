@@ -0,0 +1,233 @@
+/*
+ * DQRulesetBinaryCodecTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQAnalyzer;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleLogicalOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQSerializationCodec;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.Condition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateBasedConditionOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateExpression;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DQRulesetBinaryCodecTest {
+    private final DQDLParser parser = new DQDLParser();
+
+    @ParameterizedTest
+    @MethodSource("com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleTest#provideRawRules")
+    void test_roundTripRule(String rule) throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse(String.format("Rules = [ %s ]", rule));
+        DQRuleset decoded = roundTrip(ruleset);
+
+        assertEquals(ruleset.toString(), decoded.toString());
+        assertEquals(ruleset.getRules(), decoded.getRules());
+        assertEquals(ruleset.getRules().get(0).getTags(), decoded.getRules().get(0).getTags());
+    }
+
+    @Test
+    void test_roundTripRulesetWithAllSections() throws InvalidDataQualityRulesetException {
+        String dqdl = "Metadata = { \"Version\": \"1.0\" }\n" +
+            "DataSources = { \"Primary\": \"orders\", \"AdditionalDataSources\": [ \"customers\", \"items\" ] }\n" +
+            "allowed = [ \"a\", \"b\" ]\n" +
+            "DefaultLabels = [ \"team\" = \"dq\" ]\n" +
+            "Rules = [\n" +
+            "    ColumnValues \"colA\" in $allowed labels = [ \"severity\" = \"high\" ],\n" +
+            "    ColumnValues \"colB\" between (avg(last(10)) - 3) and ((avg(last(10)) + 3) * 2),\n" +
+            "    (IsComplete \"colC\") and ((IsUnique \"colC\") or (ColumnValues \"colC\" > 2 with threshold > 0.9)),\n" +
+            "    ColumnValues \"colD\" <= (now() - 3 days) where \"colA > 5\",\n" +
+            "    FileMatch \"S3://PATH1\" in [\"a\"] with tag1 = \"sampom\" with tag2 = \"pomsam\"\n" +
+            "]\n" +
+            "Analyzers = [ Completeness \"colA\", ColumnCorrelation \"colA\" \"colB\" ]";
+        DQRuleset ruleset = parser.parse(dqdl);
+        DQRuleset decoded = roundTrip(ruleset);
+
+        assertEquals(ruleset.toString(), decoded.toString());
+        assertEquals(ruleset.getRules(), decoded.getRules());
+        assertEquals(ruleset.getMetadata(), decoded.getMetadata());
+        assertEquals(ruleset.getPrimarySourceName(), decoded.getPrimarySourceName());
+        assertEquals(ruleset.getAdditionalDataSourcesNames(), decoded.getAdditionalDataSourcesNames());
+        assertEquals(ruleset.getDefaultLabels(), decoded.getDefaultLabels());
+        for (int i = 0; i < ruleset.getRules().size(); i++) {
+            DQRule rule = ruleset.getRules().get(i);
+            DQRule decodedRule = decoded.getRules().get(i);
+            assertEquals(rule.getLabels(), decodedRule.getLabels());
+            assertEquals(rule.getTags(), decodedRule.getTags());
+            assertEquals(rule.getParameterValueMap(), decodedRule.getParameterValueMap());
+        }
+        assertEquals(ruleset.getAnalyzers().size(), decoded.getAnalyzers().size());
+        for (int i = 0; i < ruleset.getAnalyzers().size(); i++) {
+            DQAnalyzer analyzer = ruleset.getAnalyzers().get(i);
+            DQAnalyzer decodedAnalyzer = decoded.getAnalyzers().get(i);
+            assertEquals(analyzer.toString(), decodedAnalyzer.toString());
+            assertEquals(analyzer.getParameters(), decodedAnalyzer.getParameters());
+            assertEquals(analyzer.getParameterValueMap(), decodedAnalyzer.getParameterValueMap());
+        }
+    }
+
+    @Test
+    void test_decodedRulesShareDefaultLabels() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("DefaultLabels = [ \"team\" = \"dq\" ]\n" +
+            "Rules = [ IsComplete \"colA\", IsUnique \"colA\" labels = [ \"severity\" = \"high\" ] ]");
+
+        DQRuleset decoded = roundTrip(ruleset);
+
+        assertSame(decoded.getRules().get(0).getRawLabels().getRulesetDefaultLabels(),
+            decoded.getRules().get(1).getRawLabels().getRulesetDefaultLabels());
+        assertEquals(ruleset.getRules().get(1).getLabels(), decoded.getRules().get(1).getLabels());
+    }
+
+    @Test
+    void test_roundTripLongCompositeChain() throws InvalidDataQualityRulesetException {
+        StringBuilder sb = new StringBuilder("Rules = [ ");
+        for (int i = 0; i < 20000; i++) {
+            sb.append(i > 0 ? " and " : "").append("(IsComplete \"col").append(i).append("\")");
+        }
+        DQRuleset ruleset = parser.parse(sb.append(" ]").toString());
+        DQRuleset decoded = roundTrip(ruleset);
+
+        assertEquals(ruleset, decoded);
+        assertEquals(20000, decoded.getRules().get(0).getNestedRulesAsFlattenedList().size());
+    }
+
+    @Test
+    void test_roundTripRulesBuiltWithoutParser() {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("TargetColumn", "colA");
+        DQRule legacyRule = new DQRule("IsComplete", parameters, new Condition("> 0.5"));
+        DQRule dateTimeRule = new DQRule("ColumnValues", Collections.singletonMap("TargetColumn", "colB"),
+            new DateBasedCondition("between \"9:00 AM\" and \"2024-01-01 10:00\"", DateBasedConditionOperator.BETWEEN,
+                Arrays.asList(
+                    new DateExpression.StaticDateTime(LocalTime.of(9, 0), ZoneId.of("America/New_York"), "9:00 AM"),
+                    new DateExpression.StaticDateTime(LocalDateTime.of(2024, 1, 1, 10, 0), "2024-01-01 10:00"))));
+        DQRule composite = new DQRule("Composite", null, null, null, DQRuleLogicalOperator.AND,
+            Arrays.asList(legacyRule, dateTimeRule, legacyRule));
+        DQRuleset ruleset = new DQRuleset(Arrays.asList(legacyRule, dateTimeRule, composite));
+
+        DQRuleset decoded = roundTrip(ruleset);
+
+        assertEquals(ruleset.toString(), decoded.toString());
+        assertEquals(ruleset.getRules(), decoded.getRules());
+        assertEquals(parameters, decoded.getRules().get(0).getParameters());
+        assertSame(decoded.getRules().get(0), decoded.getRules().get(2).getNestedRules().get(0));
+        assertSame(decoded.getRules().get(0), decoded.getRules().get(2).getNestedRules().get(2));
+        DateExpression.StaticDateTime time = (DateExpression.StaticDateTime)
+            ((DateBasedCondition) decoded.getRules().get(1).getCondition()).getOperands().get(0);
+        assertEquals(ZoneId.of("America/New_York"), time.getZoneId());
+        assertEquals(LocalTime.of(9, 0), time.getTime());
+    }
+
+    @Test
+    void test_encodingIsSmallerThanDqdl() throws InvalidDataQualityRulesetException {
+        StringBuilder sb = new StringBuilder("DefaultLabels = [ \"team\" = \"dq\" ]\nRules = [\n");
+        for (int i = 0; i < 100; i++) {
+            sb.append(i > 0 ? ",\n" : "")
+                .append("    ColumnValues \"col").append(i % 10).append("\" between 10 and 20 where \"colA > 5\"");
+        }
+        String dqdl = sb.append("\n]").toString();
+
+        byte[] encoded = DQRulesetBinaryCodec.encode(parser.parse(dqdl));
+
+        assertTrue(encoded.length < dqdl.getBytes(StandardCharsets.UTF_8).length / 2,
+            "Encoded ruleset takes " + encoded.length + " bytes");
+    }
+
+    @Test
+    void test_decodeFromDirectBufferLeavesPositionAfterRuleset() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ IsComplete \"colA\", ColumnValues \"colB\" in [ \"\\u00e9\" ] ]");
+        byte[] encoded = DQRulesetBinaryCodec.encode(ruleset);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(encoded.length + 3);
+        buffer.put(encoded).put(new byte[] { 1, 2, 3 }).flip();
+
+        DQRuleset decoded = DQRulesetBinaryCodec.decode(buffer);
+
+        assertEquals(ruleset.toString(), decoded.toString());
+        assertEquals(encoded.length, buffer.position());
+        assertThrows(IllegalArgumentException.class,
+            () -> DQRulesetBinaryCodec.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+    }
+
+    @Test
+    void test_decodeRejectsMalformedInput() throws InvalidDataQualityRulesetException {
+        byte[] encoded = DQRulesetBinaryCodec.encode(parser.parse(
+            "Rules = [ (IsComplete \"colA\") or (ColumnValues \"colB\" > (now() - 3 days)) labels = [ \"a\" = \"b\" ] ]"));
+
+        for (int length = 0; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThrows(IllegalArgumentException.class, () -> DQRulesetBinaryCodec.decode(truncated));
+        }
+
+        byte[] badMagic = encoded.clone();
+        badMagic[0] = 'X';
+        assertEquals("Not an encoded ruleset",
+            assertThrows(IllegalArgumentException.class, () -> DQRulesetBinaryCodec.decode(badMagic)).getMessage());
+
+        byte[] newerVersion = encoded.clone();
+        newerVersion[4] = (byte) (DQRulesetBinaryCodec.FORMAT_VERSION + 1);
+        assertEquals("Unsupported encoded ruleset version: 2",
+            assertThrows(IllegalArgumentException.class, () -> DQRulesetBinaryCodec.decode(newerVersion)).getMessage());
+    }
+
+    @Test
+    void test_encodeRejectsUnknownConditionTypes() {
+        Condition custom = new Condition("> 1") {
+        };
+        DQRuleset ruleset = new DQRuleset(Collections.singletonList(
+            new DQRule("RowCount", Collections.emptyMap(), custom)));
+
+        assertThrows(IllegalArgumentException.class, () -> DQRulesetBinaryCodec.encode(ruleset));
+    }
+
+    @Test
+    void test_javaSerializationUsesTheBinaryFormat() throws InvalidDataQualityRulesetException, IOException {
+        Iterator<DQSerializationCodec> codecs = ServiceLoader.load(DQSerializationCodec.class).iterator();
+        assertTrue(codecs.hasNext());
+        assertInstanceOf(DQBinarySerializationCodec.class, codecs.next());
+
+        DQRuleset ruleset = parser.parse("Rules = [ IsComplete \"colA\", RowCount > 10 ]");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(ruleset);
+        }
+        assertTrue(new String(bytes.toByteArray(), StandardCharsets.ISO_8859_1).contains("DQDB"));
+    }
+
+    private static DQRuleset roundTrip(DQRuleset ruleset) {
+        return DQRulesetBinaryCodec.decode(DQRulesetBinaryCodec.encode(ruleset));
+    }
+}
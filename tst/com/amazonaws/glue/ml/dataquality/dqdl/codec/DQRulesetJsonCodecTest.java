@@ -0,0 +1,184 @@
+/*
+ * DQRulesetJsonCodecTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQAnalyzer;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleLogicalOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.Condition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateBasedConditionOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateExpression;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumberBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DQRulesetJsonCodecTest {
+    private final DQDLParser parser = new DQDLParser();
+
+    @ParameterizedTest
+    @MethodSource("com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleTest#provideRawRules")
+    void test_roundTripRule(String rule) throws InvalidDataQualityRulesetException, IOException {
+        DQRuleset ruleset = parser.parse(String.format("Rules = [ %s ]", rule));
+        DQRuleset decoded = roundTrip(ruleset);
+
+        assertEquals(ruleset.toString(), decoded.toString());
+        assertEquals(ruleset.getRules(), decoded.getRules());
+        assertEquals(ruleset.getRules().get(0).getTags(), decoded.getRules().get(0).getTags());
+    }
+
+    @Test
+    void test_roundTripRulesetWithAllSections() throws InvalidDataQualityRulesetException, IOException {
+        String dqdl = "Metadata = { \"Version\": \"1.0\" }\n" +
+            "DataSources = { \"Primary\": \"orders\", \"AdditionalDataSources\": [ \"customers\", \"items\" ] }\n" +
+            "allowed = [ \"a\", \"b\" ]\n" +
+            "DefaultLabels = [ \"team\" = \"dq\" ]\n" +
+            "Rules = [\n" +
+            "    ColumnValues \"colA\" in $allowed labels = [ \"severity\" = \"high\" ],\n" +
+            "    ColumnValues \"colB\" between (avg(last(10)) - 3) and ((avg(last(10)) + 3) * 2),\n" +
+            "    (IsComplete \"colC\") and ((IsUnique \"colC\") or (ColumnValues \"colC\" > 2 with threshold > 0.9)),\n" +
+            "    ColumnValues \"colD\" <= (now() - 3 days) where \"colA > 5\",\n" +
+            "    FileMatch \"S3://PATH1\" in [\"a\"] with tag1 = \"sampom\" with tag2 = \"pomsam\"\n" +
+            "]\n" +
+            "Analyzers = [ Completeness \"colA\", ColumnCorrelation \"colA\" \"colB\" ]";
+        DQRuleset ruleset = parser.parse(dqdl);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DQRulesetJsonCodec.write(ruleset, out);
+        DQRuleset decoded = DQRulesetJsonCodec.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(ruleset.toString(), decoded.toString());
+        assertEquals(ruleset.getRules(), decoded.getRules());
+        assertEquals(ruleset.getMetadata(), decoded.getMetadata());
+        assertEquals(ruleset.getPrimarySourceName(), decoded.getPrimarySourceName());
+        assertEquals(ruleset.getAdditionalDataSourcesNames(), decoded.getAdditionalDataSourcesNames());
+        assertEquals(ruleset.getDefaultLabels(), decoded.getDefaultLabels());
+        for (int i = 0; i < ruleset.getRules().size(); i++) {
+            DQRule rule = ruleset.getRules().get(i);
+            DQRule decodedRule = decoded.getRules().get(i);
+            assertEquals(rule.getLabels(), decodedRule.getLabels());
+            assertEquals(rule.getTags(), decodedRule.getTags());
+            assertEquals(rule.getParameterValueMap(), decodedRule.getParameterValueMap());
+        }
+        assertEquals(ruleset.getAnalyzers().size(), decoded.getAnalyzers().size());
+        for (int i = 0; i < ruleset.getAnalyzers().size(); i++) {
+            DQAnalyzer analyzer = ruleset.getAnalyzers().get(i);
+            DQAnalyzer decodedAnalyzer = decoded.getAnalyzers().get(i);
+            assertEquals(analyzer.toString(), decodedAnalyzer.toString());
+            assertEquals(analyzer.getParameters(), decodedAnalyzer.getParameters());
+            assertEquals(analyzer.getParameterValueMap(), decodedAnalyzer.getParameterValueMap());
+        }
+    }
+
+    @Test
+    void test_roundTripLongCompositeChain() throws InvalidDataQualityRulesetException, IOException {
+        StringBuilder sb = new StringBuilder("Rules = [ ");
+        for (int i = 0; i < 20000; i++) {
+            sb.append(i > 0 ? " and " : "").append("(IsComplete \"col").append(i).append("\")");
+        }
+        DQRuleset ruleset = parser.parse(sb.append(" ]").toString());
+        DQRuleset decoded = roundTrip(ruleset);
+
+        assertEquals(ruleset, decoded);
+        assertEquals(20000, decoded.getRules().get(0).getNestedRulesAsFlattenedList().size());
+    }
+
+    @Test
+    void test_roundTripRulesBuiltWithoutParser() throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("TargetColumn", "colA");
+        DQRule legacyRule = new DQRule("IsComplete", parameters, new Condition("> 0.5"));
+        DQRule dateTimeRule = new DQRule("ColumnValues", Collections.singletonMap("TargetColumn", "colB"),
+            new DateBasedCondition("between \"9:00 AM\" and \"2024-01-01 10:00\"", DateBasedConditionOperator.BETWEEN,
+                Arrays.asList(
+                    new DateExpression.StaticDateTime(LocalTime.of(9, 0), ZoneId.of("America/New_York"), "9:00 AM"),
+                    new DateExpression.StaticDateTime(LocalDateTime.of(2024, 1, 1, 10, 0), "2024-01-01 10:00"))));
+        DQRule composite = new DQRule("Composite", null, null, null, DQRuleLogicalOperator.AND,
+            Arrays.asList(legacyRule, dateTimeRule, legacyRule));
+        DQRuleset ruleset = new DQRuleset(Arrays.asList(legacyRule, dateTimeRule, composite));
+
+        DQRuleset decoded = roundTrip(ruleset);
+
+        assertEquals(ruleset.toString(), decoded.toString());
+        assertEquals(ruleset.getRules(), decoded.getRules());
+        assertEquals(parameters, decoded.getRules().get(0).getParameters());
+        DateExpression.StaticDateTime time = (DateExpression.StaticDateTime)
+            ((DateBasedCondition) decoded.getRules().get(1).getCondition()).getOperands().get(0);
+        assertEquals(ZoneId.of("America/New_York"), time.getZoneId());
+        assertEquals(LocalTime.of(9, 0), time.getTime());
+    }
+
+    @Test
+    void test_readFieldsInAnyOrder() throws IOException {
+        String json = "{ \"rules\": [ {" +
+            "  \"condition\": { \"operands\": [ { \"operand\": \"10\", \"type\": \"atomic\" } ]," +
+            "                   \"operator\": \"GREATER_THAN\", \"unknown\": [ { \"a\": 1 } ]," +
+            "                   \"conditionAsString\": \"> 10\", \"type\": \"number\" }," +
+            "  \"parameters\": { \"TargetColumn\": \"colA\" }," +
+            "  \"ruleType\": \"ColumnValues\"" +
+            "} ], \"formatVersion\": 1 }";
+
+        DQRuleset decoded = DQRulesetJsonCodec.fromJson(json);
+
+        DQRule rule = decoded.getRules().get(0);
+        assertEquals("ColumnValues", rule.getRuleType());
+        assertEquals("colA", rule.getParameters().get("TargetColumn"));
+        assertTrue(rule.getCondition() instanceof NumberBasedCondition);
+        assertEquals("> 10", rule.getCondition().getConditionAsString());
+        assertEquals(1, ((NumberBasedCondition) rule.getCondition()).getOperands().size());
+    }
+
+    @Test
+    void test_readRejectsMalformedInput() {
+        assertEquals("Unsupported ruleset format version: 2", assertThrows(JsonParseException.class,
+            () -> DQRulesetJsonCodec.fromJson("{ \"formatVersion\": 2, \"rules\": [] }")).getOriginalMessage());
+        assertEquals("Missing ruleset format version", assertThrows(JsonParseException.class,
+            () -> DQRulesetJsonCodec.fromJson("{ \"rules\": [] }")).getOriginalMessage());
+        assertEquals("Unknown condition type: regex", assertThrows(JsonParseException.class,
+            () -> DQRulesetJsonCodec.fromJson("{ \"formatVersion\": 1, \"rules\": [ { \"ruleType\": \"RowCount\", " +
+                "\"condition\": { \"conditionAsString\": \"> 1\", \"type\": \"regex\" } } ] }")).getOriginalMessage());
+        assertThrows(JsonParseException.class, () -> DQRulesetJsonCodec.fromJson("{ \"formatVersion\": 1, "));
+    }
+
+    @Test
+    void test_writeRejectsUnknownConditionTypes() {
+        Condition custom = new Condition("> 1") {
+        };
+        DQRuleset ruleset = new DQRuleset(Collections.singletonList(
+            new DQRule("RowCount", Collections.emptyMap(), custom)));
+
+        assertThrows(IllegalArgumentException.class, () -> DQRulesetJsonCodec.toJson(ruleset));
+    }
+
+    private static DQRuleset roundTrip(DQRuleset ruleset) throws IOException {
+        return DQRulesetJsonCodec.fromJson(DQRulesetJsonCodec.toJson(ruleset));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * DQRulesetLoaderTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DQRulesetLoaderTest {
+    private static final String DQDL = "Rules = [ IsComplete \"id\", ColumnValues \"amount\" between 1 and 10 ]";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void test_loadPrecompiledRuleset() throws Exception {
+        Files.createDirectories(dir.resolve("dqdl"));
+        // The DQDL file is not on the classpath, so the ruleset can only come from the precompiled one.
+        Files.write(dir.resolve("dqdl/orders.dqdlb"), DQRulesetBinaryCodec.encode(new DQDLParser().parse(DQDL)));
+
+        try (URLClassLoader classLoader = classLoader()) {
+            DQRuleset ruleset = DQRulesetLoader.load(classLoader, "dqdl/orders.dqdl");
+
+            assertEquals(new DQDLParser().parse(DQDL).toString(), ruleset.toString());
+        }
+    }
+
+    @Test
+    void test_loadParsesDqdlWhenPrecompiledRulesetIsMissingOrUnreadable() throws Exception {
+        Files.createDirectories(dir.resolve("dqdl"));
+        Files.write(dir.resolve("dqdl/orders.dqdl"), DQDL.getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader classLoader = classLoader()) {
+            assertEquals(new DQDLParser().parse(DQDL).toString(),
+                DQRulesetLoader.load(classLoader, "dqdl/orders.dqdl").toString());
+
+            Files.write(dir.resolve("dqdl/orders.dqdlb"), new byte[] { 'D', 'Q', 'D', 'B', 99 });
+            assertEquals(new DQDLParser().parse(DQDL).toString(),
+                DQRulesetLoader.load(classLoader, "dqdl/orders.dqdl").toString());
+        }
+    }
+
+    @Test
+    void test_loadFailsWhenNothingCanBeLoaded() throws IOException {
+        try (URLClassLoader classLoader = classLoader()) {
+            assertThrows(FileNotFoundException.class, () -> DQRulesetLoader.load(classLoader, "dqdl/missing.dqdl"));
+
+            Files.write(dir.resolve("broken.dqdlb"), new byte[] { 1, 2, 3 });
+            assertThrows(InvalidDataQualityRulesetException.class,
+                () -> DQRulesetLoader.load(classLoader, "broken.dqdl"));
+        }
+    }
+
+    private URLClassLoader classLoader() throws IOException {
+        return new URLClassLoader(new URL[] { dir.toUri().toURL() }, null);
+    }
+}
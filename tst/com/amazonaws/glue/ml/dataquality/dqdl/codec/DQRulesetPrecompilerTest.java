@@ -0,0 +1,83 @@
+/*
+ * DQRulesetPrecompilerTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.codec;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DQRulesetPrecompilerTest {
+    private static final String ORDERS = "Rules = [ IsComplete \"id\", ColumnValues \"amount\" > 0 ]";
+    private static final String ITEMS = "DefaultLabels = [ \"team\" = \"dq\" ]\n" +
+        "Rules = [ (IsUnique \"sku\") or (ColumnLength \"sku\" = 8) ]";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void test_precompileWritesEveryRulesetUnderTheSamePath() throws Exception {
+        Path source = dir.resolve("src");
+        write(source.resolve("orders.dqdl"), ORDERS);
+        write(source.resolve("catalog/items.dqdl"), ITEMS);
+        write(source.resolve("catalog/README.md"), "Not a ruleset");
+        Path output = dir.resolve("out");
+
+        List<Path> written = new DQRulesetPrecompiler().precompile(source, output);
+
+        assertEquals(Arrays.asList(output.resolve("catalog/items.dqdlb"), output.resolve("orders.dqdlb")), written);
+        DQDLParser parser = new DQDLParser();
+        assertEquals(parser.parse(ORDERS).toString(),
+            DQRulesetBinaryCodec.decode(Files.readAllBytes(output.resolve("orders.dqdlb"))).toString());
+        assertEquals(parser.parse(ITEMS).toString(),
+            DQRulesetBinaryCodec.decode(Files.readAllBytes(output.resolve("catalog/items.dqdlb"))).toString());
+    }
+
+    @Test
+    void test_precompileReportsEveryInvalidRulesetAndWritesNothing() throws IOException {
+        Path source = dir.resolve("src");
+        write(source.resolve("a.dqdl"), "Rules = [ IsComplete ]");
+        write(source.resolve("b.dqdl"), ORDERS);
+        write(source.resolve("c.dqdl"), "Rules = [ RowCount > ]");
+        Path output = dir.resolve("out");
+
+        InvalidDataQualityRulesetException e = assertThrows(InvalidDataQualityRulesetException.class,
+            () -> new DQRulesetPrecompiler().precompile(source, output));
+
+        assertTrue(e.getMessage().contains(source.resolve("a.dqdl").toString()), e.getMessage());
+        assertTrue(e.getMessage().contains(source.resolve("c.dqdl").toString()), e.getMessage());
+        assertFalse(e.getMessage().contains(source.resolve("b.dqdl").toString()), e.getMessage());
+        assertFalse(Files.exists(output));
+    }
+
+    @Test
+    void test_precompiledName() {
+        assertEquals("rules/orders.dqdlb", DQRulesetPrecompiler.precompiledName("rules/orders.dqdl"));
+        assertEquals("orders.dqdlb", DQRulesetPrecompiler.precompiledName("orders"));
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * DQRuleDependenciesTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.parameter.DQRuleParameterVariableValue;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.stream.Stream;
+
+import static com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleDependencies.PRIMARY_DATASET;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DQRuleDependenciesTest {
+    private final DQDLParser parser = new DQDLParser();
+
+    private static Stream<Arguments> provideRulesWithStaticDependencies() {
+        return Stream.of(
+            Arguments.of("RowCount > 10", "primary[]"),
+            Arguments.of("IsComplete \"colA\"", "primary[\"colA\"]"),
+            Arguments.of("ColumnCorrelation \"colA\" \"colB\" > 0.5", "primary[\"colA\", \"colB\"]"),
+            Arguments.of("IsUnique \"colA\"", "primary[\"colA\"]"),
+            Arguments.of("IsPrimaryKey \"colA\" \"colB\" \"colC\"", "primary[\"colA\", \"colB\", \"colC\"]"),
+            Arguments.of("ColumnValues \"colA\" in [ \"a\", \"b\" ] with threshold > 0.5", "primary[\"colA\"]"),
+            Arguments.of("RowCountMatch \"reference\" >= 0.95", "primary[], reference[]"),
+            Arguments.of("ReferentialIntegrity \"col-A\" \"reference.col-A1\" = 0.99",
+                "primary[\"col-A\"], reference[\"col-A1\"]"),
+            Arguments.of("ReferentialIntegrity \"col-A,col-B\" \"reference.{col-A1,col-A2}\" = 0.99",
+                "primary[\"col-A\", \"col-B\"], reference[\"col-A1\", \"col-A2\"]"),
+            Arguments.of("DatasetMatch \"reference\" \"ID1->ID11,ID2->ID22\" \"colA->colAA\" > 0.9",
+                "primary[\"ID1\", \"ID2\", \"colA\"], reference[\"ID11\", \"ID22\", \"colAA\"]"),
+            Arguments.of("DatasetMatch \"reference\" \"ID\" \"colA,colB\" > 0.9",
+                "primary[\"ID\", \"colA\", \"colB\"], reference[\"ID\", \"colA\", \"colB\"]"),
+            Arguments.of("AggregateMatch \"sum(col-A)\" \"sum(reference.colA)\" > 0.1",
+                "primary[\"col-A\"], reference[\"colA\"]"),
+            Arguments.of("(IsComplete \"colA\") or ((ColumnLength \"colB\" > 1) and (IsComplete \"colA\"))",
+                "primary[\"colA\", \"colB\"]")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideRulesWithStaticDependencies")
+    void test_staticDependencies(String rule, String expected) throws InvalidDataQualityRulesetException {
+        DQRuleDependencies dependencies = parser.parse("Rules = [ " + rule + " ]").getRules().get(0)
+            .getDependencies();
+
+        assertTrue(dependencies.isStaticallyDetermined(), dependencies::toString);
+        assertEquals(expected, dependencies.toString());
+    }
+
+    private static Stream<Arguments> provideRulesWithUndeterminedDependencies() {
+        return Stream.of(
+            Arguments.of("ColumnValues \"colA\" > 1 where \"colB > 2\"", "primary[\"colA\"]",
+                "ColumnValues where clause \"colB > 2\""),
+            Arguments.of("CustomSql \"select count(*) from primary\" > 10", "primary[]",
+                "CustomSql statement"),
+            Arguments.of("ColumnCount > 3", "primary[]", "ColumnCount reads every column"),
+            Arguments.of("SchemaMatch \"ref-1\" >= 0.6", "primary[], ref-1[]", "SchemaMatch reads every column"),
+            Arguments.of("DatasetMatch \"reference\" \"ID\" > 0.9", "primary[\"ID\"], reference[\"ID\"]",
+                "DatasetMatch without match columns compares every column"),
+            Arguments.of("(IsComplete \"colA\") and (CustomSql \"select 1\" > 0)", "primary[\"colA\"]",
+                "CustomSql statement")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideRulesWithUndeterminedDependencies")
+    void test_undeterminedDependencies(String rule, String expectedColumns, String expectedReason)
+        throws InvalidDataQualityRulesetException {
+        DQRuleDependencies dependencies = parser.parse("Rules = [ " + rule + " ]").getRules().get(0)
+            .getDependencies();
+
+        assertFalse(dependencies.isStaticallyDetermined());
+        assertEquals(Collections.singletonList(expectedReason), dependencies.getUndeterminedReasons());
+        assertEquals(expectedColumns + " (undetermined: " + expectedReason + ")", dependencies.toString());
+    }
+
+    @Test
+    void test_variableParameterIsUndetermined() {
+        DQAnalyzer analyzer = new DQAnalyzer("Completeness", Collections.singletonMap("TargetColumn", "column"),
+            Collections.singletonMap("TargetColumn", new DQRuleParameterVariableValue("column", null)));
+
+        DQRuleDependencies dependencies = analyzer.getDependencies();
+
+        assertEquals(Collections.emptySet(), dependencies.getColumns(PRIMARY_DATASET));
+        assertEquals(Collections.singletonList("Completeness parameter TargetColumn is the variable $column"),
+            dependencies.getUndeterminedReasons());
+    }
+
+    @Test
+    void test_rulesetDependenciesIncludeRulesAndAnalyzers() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ IsComplete \"colA\", " +
+            "ReferentialIntegrity \"colB\" \"customers.id\" = 1.0, ColumnValues \"colA\" > 1 ]\n" +
+            "Analyzers = [ Completeness \"colC\", AllStatistics \"AllColumns\" ]");
+
+        DQRuleDependencies dependencies = ruleset.getDependencies();
+
+        assertEquals(new LinkedHashSet<>(Arrays.asList(PRIMARY_DATASET, "customers")), dependencies.getDatasets());
+        assertEquals(new LinkedHashSet<>(Arrays.asList("colA", "colB", "colC")),
+            dependencies.getColumns(PRIMARY_DATASET));
+        assertEquals(Collections.singleton("id"), dependencies.getColumns("customers"));
+        assertEquals(Collections.emptySet(), dependencies.getColumns("orders"));
+        assertEquals(Collections.singletonList("AllStatistics of AllColumns"), dependencies.getUndeterminedReasons());
+        assertEquals(ruleset.getAnalyzers().get(0).getDependencies().getColumnsByDataset(),
+            Collections.singletonMap(PRIMARY_DATASET, Collections.singleton("colC")));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * DQRuleInternerTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DQRuleInternerTest {
+    private final DQDLParser parser = new DQDLParser();
+
+    @Test
+    void test_internSharesEqualRulesAcrossTheRuleset() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ IsComplete \"colA\", " +
+            "(IsComplete \"colA\") and (ColumnValues \"colB\" > 1), " +
+            "(ColumnValues \"colB\" > 1) or (IsComplete \"colA\"), " +
+            "(IsComplete \"colA\") and (ColumnValues \"colB\" > 1) ]");
+
+        DQRuleset interned = new DQRuleInterner().intern(ruleset);
+
+        assertEquals(ruleset, interned);
+        assertEquals(ruleset.toString(), interned.toString());
+        List<DQRule> rules = interned.getRules();
+        assertSame(rules.get(0), rules.get(1).getNestedRules().get(0));
+        assertSame(rules.get(0), rules.get(2).getNestedRules().get(1));
+        assertSame(rules.get(1).getNestedRules().get(1), rules.get(2).getNestedRules().get(0));
+        assertSame(rules.get(1), rules.get(3));
+        // The parsed rules are left as they are.
+        assertNotSame(ruleset.getRules().get(0), ruleset.getRules().get(1).getNestedRules().get(0));
+    }
+
+    @Test
+    void test_internSharesEqualConditions() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ ColumnValues \"colA\" > 1, ColumnValues \"colB\" > 1 ]");
+
+        DQRuleset interned = new DQRuleInterner().intern(ruleset);
+
+        assertEquals(ruleset.toString(), interned.toString());
+        assertSame(interned.getRules().get(0).getCondition(), interned.getRules().get(1).getCondition());
+    }
+
+    @Test
+    void test_internKeepsRulesThatPrintDifferently() throws InvalidDataQualityRulesetException {
+        // Both rules have the label team=dq, but only the first one prints it.
+        DQRuleset ruleset = parser.parse("DefaultLabels = [ \"team\" = \"dq\" ]\n" +
+            "Rules = [ IsComplete \"colA\" labels=[\"team\"=\"dq\"], IsComplete \"colA\" ]");
+
+        DQRuleset interned = new DQRuleInterner().intern(ruleset);
+
+        assertEquals(ruleset.getRules().get(0), ruleset.getRules().get(1));
+        assertNotSame(interned.getRules().get(0), interned.getRules().get(1));
+        assertEquals(ruleset.toString(), interned.toString());
+    }
+
+    @Test
+    void test_internLongCompositeChain() throws InvalidDataQualityRulesetException {
+        StringBuilder sb = new StringBuilder("Rules = [ ");
+        for (int i = 0; i < 20000; i++) {
+            sb.append(i > 0 ? " and " : "").append("(IsComplete \"col").append(i % 10).append("\")");
+        }
+        DQRuleset ruleset = parser.parse(sb.append(" ]").toString());
+
+        DQRuleset interned = new DQRuleInterner().intern(ruleset);
+
+        assertEquals(ruleset, interned);
+        List<DQRule> leaves = interned.getRules().get(0).getNestedRulesAsFlattenedList();
+        assertEquals(20000, leaves.size());
+        assertSame(leaves.get(3), leaves.get(19993));
+    }
+}
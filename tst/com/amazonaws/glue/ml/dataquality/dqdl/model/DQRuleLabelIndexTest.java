@@ -0,0 +1,134 @@
+/*
+ * DQRuleLabelIndexTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DQRuleLabelIndexTest {
+    private final DQDLParser parser = new DQDLParser();
+
+    private DQRuleset ruleset;
+
+    @BeforeEach
+    void setUp() throws InvalidDataQualityRulesetException {
+        ruleset = parser.parse("DefaultLabels = [ \"team\" = \"payments\" ]\n" +
+            "Rules = [ " +
+            "IsComplete \"colA\" labels=[\"tier\"=\"critical\"], " +
+            "IsComplete \"colB\" labels=[\"team\"=\"fraud\", \"tier\"=\"critical\"], " +
+            "IsComplete \"colC\", " +
+            "IsComplete \"colD\" labels=[\"tier\"=\"low\"] ]");
+    }
+
+    @Test
+    void test_rulesWithLabelIncludesDefaultLabels() {
+        DQRuleLabelIndex index = ruleset.getLabelIndex();
+
+        assertEquals(4, index.size());
+        assertEquals(bits(0, 2, 3), index.rulesWithLabel("team", "payments"));
+        assertEquals(bits(1), index.rulesWithLabel("team", "fraud"));
+        assertEquals(bits(), index.rulesWithLabel("owner", "nobody"));
+    }
+
+    @Test
+    void test_rulesWithAllLabels() {
+        DQRuleLabelIndex index = ruleset.getLabelIndex();
+
+        assertEquals(bits(0), index.rulesWithAllLabels(labels("team", "payments", "tier", "critical")));
+        assertEquals(bits(), index.rulesWithAllLabels(labels("team", "fraud", "tier", "low")));
+        assertEquals(bits(), index.rulesWithAllLabels(labels("tier", "critical", "owner", "nobody")));
+        assertEquals(bits(0, 1, 2, 3), index.rulesWithAllLabels(Collections.emptyMap()));
+    }
+
+    @Test
+    void test_rulesWithAnyLabel() {
+        DQRuleLabelIndex index = ruleset.getLabelIndex();
+
+        assertEquals(bits(1, 3), index.rulesWithAnyLabel(labels("team", "fraud", "tier", "low")));
+        assertEquals(bits(1), index.rulesWithAnyLabel(labels("team", "fraud", "owner", "nobody")));
+        assertEquals(bits(), index.rulesWithAnyLabel(Collections.emptyMap()));
+    }
+
+    @Test
+    void test_returnedBitmapsDoNotChangeTheIndex() {
+        DQRuleLabelIndex index = ruleset.getLabelIndex();
+
+        index.rulesWithLabel("tier", "critical").clear();
+
+        assertEquals(bits(0, 1), index.rulesWithLabel("tier", "critical"));
+    }
+
+    @Test
+    void test_viewSharesTheRulesOfTheRuleset() {
+        DQRuleset critical = ruleset.withRulesMatchingAllLabels(labels("tier", "critical"));
+
+        List<DQRule> rules = critical.getRules();
+        assertEquals(2, rules.size());
+        assertSame(ruleset.getRules().get(0), rules.get(0));
+        assertSame(ruleset.getRules().get(1), rules.get(1));
+        assertSame(ruleset.getDefaultLabels(), critical.getDefaultLabels());
+        assertEquals("Rules = [" + System.lineSeparator() +
+            "    IsComplete \"colA\" labels=[\"tier\"=\"critical\"]," + System.lineSeparator() +
+            "    IsComplete \"colB\" labels=[\"tier\"=\"critical\", \"team\"=\"fraud\"]" + System.lineSeparator() +
+            "]", critical.toString());
+        assertThrows(UnsupportedOperationException.class, () -> rules.add(ruleset.getRules().get(2)));
+    }
+
+    @Test
+    void test_viewOfCombinedQueries() {
+        DQRuleLabelIndex index = ruleset.getLabelIndex();
+        BitSet positions = index.rulesWithLabel("team", "payments");
+        positions.andNot(index.rulesWithLabel("tier", "low"));
+
+        DQRuleset view = ruleset.withRulesAt(positions);
+
+        assertEquals(2, view.getRules().size());
+        assertSame(ruleset.getRules().get(0), view.getRules().get(0));
+        assertSame(ruleset.getRules().get(2), view.getRules().get(1));
+        assertTrue(ruleset.withRulesMatchingAnyLabel(labels("owner", "nobody")).getRules().isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> ruleset.withRulesAt(bits(4)));
+    }
+
+    @Test
+    void test_indexIsBuiltOnce() {
+        assertSame(ruleset.getLabelIndex(), ruleset.getLabelIndex());
+        assertEquals(ruleset, ruleset.withRulesAt(bits(0, 1, 2, 3)));
+    }
+
+    private static BitSet bits(int... positions) {
+        BitSet bits = new BitSet();
+        for (int position : positions) {
+            bits.set(position);
+        }
+        return bits;
+    }
+
+    private static Map<String, String> labels(String... keysAndValues) {
+        Map<String, String> labels = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            labels.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * DQRuleRedundancyAnalyzerTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleRedundancy.Kind;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DQRuleRedundancyAnalyzerTest {
+    private final DQDLParser parser = new DQDLParser();
+    private final DQRuleRedundancyAnalyzer analyzer = new DQRuleRedundancyAnalyzer();
+
+    @Test
+    void test_duplicatesSubsumptionAndContradictions() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ " +
+            "Completeness \"a\" > 0.9, " +
+            "Completeness \"a\" > 0.95, " +
+            "IsComplete \"b\", " +
+            "IsComplete \"b\" labels=[\"team\"=\"dq\"], " +
+            "RowCount = 10, " +
+            "RowCount in [ 10 ], " +
+            "RowCount < 5, " +
+            "Completeness \"b\" > 0.9, " +
+            "Completeness \"a\" > 0.9 where \"c > 1\", " +
+            "ColumnValues \"c\" between 5 and 1 ]");
+
+        List<String> redundancies = analyzer.analyze(ruleset).stream()
+            .map(DQRuleRedundancy::toString)
+            .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(
+            "Rule 0 passes whenever rule 1 passes",
+            "Rule 3 duplicates rule 2",
+            "Rule 5 duplicates rule 4",
+            "Rule 6 contradicts rule 4",
+            "Rule 9 cannot pass"), redundancies);
+    }
+
+    @Test
+    void test_conditionsWithoutIntervalsAreOnlyDuplicates() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ " +
+            "RowCount > avg(last(3)), " +
+            "RowCount > avg(last(3)), " +
+            "RowCount > 10, " +
+            "ColumnValues \"a\" in [ \"x\", \"y\" ], " +
+            "ColumnValues \"a\" in [ \"y\", \"x\" ], " +
+            "ColumnValues \"a\" in [ \"x\" ], " +
+            "ColumnValues \"b\" > 1 with threshold > 0.5, " +
+            "ColumnValues \"b\" > 2 with threshold > 0.5, " +
+            "ColumnValues \"b\" in [ 1 ] with threshold > 0.5, " +
+            "ColumnValues \"b\" = 1 with threshold > 0.5 ]");
+
+        assertEquals(Arrays.asList(
+            new DQRuleRedundancy(Kind.DUPLICATE, 1, 0),
+            new DQRuleRedundancy(Kind.DUPLICATE, 4, 3),
+            new DQRuleRedundancy(Kind.DUPLICATE, 9, 8)), analyzer.analyze(ruleset));
+    }
+
+    @Test
+    void test_inListsWithDynamicOperands() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ " +
+            "RowCount in [ avg(last(3)), 5 ], " +
+            "RowCount in [ 5, avg(last(3)) ], " +
+            "RowCount in [ 1 + 2, 5 ], " +
+            "RowCount not in [ avg(last(3)), NULL ] ]");
+
+        assertEquals(Collections.singletonList(new DQRuleRedundancy(Kind.DUPLICATE, 1, 0)),
+            analyzer.analyze(ruleset));
+        assertEquals(3, analyzer.minimize(ruleset).getRuleset().getRules().size());
+    }
+
+    @Test
+    void test_duplicateAnalyzers() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ IsComplete \"a\" ]\n" +
+            "Analyzers = [ Completeness \"a\", RowCount, Completeness \"a\", Completeness \"b\", RowCount ]");
+
+        assertEquals(Arrays.asList(
+            new DQRuleRedundancy(Kind.DUPLICATE_ANALYZER, 2, 0),
+            new DQRuleRedundancy(Kind.DUPLICATE_ANALYZER, 4, 1)), analyzer.analyze(ruleset));
+    }
+
+    @Test
+    void test_compositeRulesAreNotCompared() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ " +
+            "(IsComplete \"a\") and (RowCount > 1), (IsComplete \"a\") and (RowCount > 1), IsComplete \"a\" ]");
+
+        assertEquals(Collections.emptyList(), analyzer.analyze(ruleset));
+    }
+
+    @Test
+    void test_minimizeMapsResultsBackToEveryRule() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ " +
+            "IsComplete \"a\", Completeness \"a\" > 0.9, IsComplete \"a\", RowCount = 1, RowCount in [ 1 ], " +
+            "Completeness \"a\" > 0.95 ]\n" +
+            "Analyzers = [ RowCount, RowCount ]");
+
+        DQMinimizedRuleset minimized = analyzer.minimize(ruleset);
+
+        List<DQRule> rules = minimized.getRuleset().getRules();
+        assertEquals(4, rules.size());
+        assertSame(ruleset.getRules().get(0), rules.get(0));
+        assertSame(ruleset.getRules().get(1), rules.get(1));
+        assertSame(ruleset.getRules().get(3), rules.get(2));
+        assertSame(ruleset.getRules().get(5), rules.get(3));
+        assertEquals(1, minimized.getRuleset().getAnalyzers().size());
+        assertEquals(2, minimized.getMinimizedRuleIndex(4));
+        assertEquals(Arrays.asList("pass a", "fail", "pass a", "pass 1", "pass 1", "fail 0.95"),
+            minimized.expandResults(Arrays.asList("pass a", "fail", "pass 1", "fail 0.95")));
+        assertThrows(IllegalArgumentException.class, () -> minimized.expandResults(Collections.emptyList()));
+    }
+}
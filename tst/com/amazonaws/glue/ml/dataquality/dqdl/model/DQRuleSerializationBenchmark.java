@@ -0,0 +1,106 @@
+/*
+ * DQRuleSerializationBenchmark.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Measures the Java serialization of a ruleset and of its list of rules, as they would be broadcast to Spark
+ * executors: the serialized size, and the time it takes to serialize and deserialize them.
+ *
+ * Not run as part of the tests. Run it from the test classpath, for example:
+ *
+ *     mvn test-compile
+ *     java -cp target/classes:target/test-classes:<dependencies> \
+ *         com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleSerializationBenchmark
+ */
+public final class DQRuleSerializationBenchmark {
+    private static final int RULE_REPETITIONS = 50;
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int MEASURED_ITERATIONS = 500;
+
+    private static final List<String> RULES = Arrays.asList(
+        "IsComplete \"colA\"",
+        "ColumnValues \"colB\" in [ \"a\", \"b\\\"c\", NULL, EMPTY ]",
+        "ColumnValues \"colC\" between (avg(last(10)) - 3) and ((avg(last(10)) + 3) * 2)",
+        "ColumnValues \"colD\" > 10 where \"colA > 5\" with threshold >= 0.9",
+        "ColumnLength \"colE\" <= 20 labels=[\"team\"=\"dq\", \"severity\"=\"high\"]",
+        "ColumnValues \"colF\" <= (now() - 3 days)",
+        "CustomSql \"select count(*) from primary\" between 10 and 20",
+        "ColumnValues \"colG\" matches \"[a-z]+\" with threshold > 0.5",
+        "(IsComplete \"colH\") or (IsUnique \"colH\")",
+        "FileSize > 10 MB"
+    );
+
+    private DQRuleSerializationBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        StringBuilder sb = new StringBuilder("DefaultLabels = [\"owner\"=\"benchmark\"]\nRules = [\n");
+        for (int i = 0; i < RULE_REPETITIONS; i++) {
+            for (String rule : RULES) {
+                sb.append("    ").append(rule).append(",\n");
+            }
+        }
+        sb.setLength(sb.length() - 2);
+        DQRuleset ruleset = new DQDLParser().parse(sb.append("\n]").toString());
+        List<DQRule> rules = new ArrayList<>(ruleset.getRules());
+
+        System.out.printf("Rules:                       %d%n", rules.size());
+        System.out.println("List of rules");
+        measure(rules, rules.size());
+        System.out.println("Ruleset");
+        measure(ruleset, rules.size());
+    }
+
+    private static void measure(Object value, int ruleCount) throws Exception {
+        int size = 0;
+        long nanos = 0;
+        for (int round = 0; round < 2; round++) {
+            int iterations = round == 0 ? WARMUP_ITERATIONS : MEASURED_ITERATIONS;
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                byte[] serialized = serialize(value);
+                size = serialized.length;
+                if (deserialize(serialized).getClass() != value.getClass()) {
+                    throw new IllegalStateException("Unexpected deserialized value");
+                }
+            }
+            nanos = System.nanoTime() - start;
+        }
+
+        System.out.printf("  Serialized bytes:            %d%n", size);
+        System.out.printf("  Bytes per rule:              %d%n", size / ruleCount);
+        System.out.printf("  Microseconds per round trip: %d%n", nanos / MEASURED_ITERATIONS / 1000);
+    }
+
+    private static byte[] serialize(Object value) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] serialized) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+}
@@ -46,15 +46,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumericOperandTest.testEvaluator;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -628,6 +632,46 @@ class DQRuleTest {
         assertFalse(((NumberBasedCondition) deserialized.getCondition()).evaluate(0.9, dqRule, testEvaluator));
     }
 
+    @ParameterizedTest
+    @MethodSource("provideRawRules")
+    void test_serializationDeserializationRoundTrip(String rule)
+        throws InvalidDataQualityRulesetException, IOException, ClassNotFoundException {
+        DQRule dqRule = parser.parse(String.format("Rules = [ %s ]", rule)).getRules().get(0);
+        DQRule deserialized = deserialize(serialize(dqRule), DQRule.class);
+        assertEquals(dqRule, deserialized);
+        assertEquals(dqRule.toString(), deserialized.toString());
+        assertEquals(dqRule.getParameters(), deserialized.getParameters());
+        assertEquals(dqRule.getTags(), deserialized.getTags());
+    }
+
+    @Test
+    void test_serializationDeserializationOfLongCompositeChain()
+        throws InvalidDataQualityRulesetException, IOException, ClassNotFoundException {
+        StringBuilder sb = new StringBuilder("Rules = [ ");
+        for (int i = 0; i < 20000; i++) {
+            sb.append(i > 0 ? " and " : "").append("(IsComplete \"col").append(i).append("\")");
+        }
+        DQRule dqRule = parser.parse(sb.append(" ]").toString()).getRules().get(0);
+        DQRule deserialized = deserialize(serialize(dqRule), DQRule.class);
+        assertEquals(dqRule, deserialized);
+    }
+
+    @Test
+    void test_serializationDeserializationWithCustomCondition() throws IOException, ClassNotFoundException {
+        DQRule dqRule = new DQRule("RowCount", Collections.emptyMap(), new CustomCondition("> 10"));
+        DQRule composite = new DQRule("Composite", null, null, null, DQRuleLogicalOperator.AND,
+            Arrays.asList(dqRule, new DQRule("IsComplete", Collections.singletonMap("TargetColumn", "a"), null)));
+        DQRule deserialized = deserialize(serialize(composite), DQRule.class);
+        assertEquals(composite, deserialized);
+        assertEquals(CustomCondition.class, deserialized.getNestedRules().get(0).getCondition().getClass());
+    }
+
+    private static class CustomCondition extends Condition {
+        CustomCondition(String conditionAsString) {
+            super(conditionAsString);
+        }
+    }
+
     @Test
     void test_compositeRulesAreReparseable() throws InvalidDataQualityRulesetException {
         DQRuleset dqRuleset = parser.parse("Rules = [ (IsComplete \"colA\") and (IsUnique \"colA\")]");
@@ -833,6 +877,77 @@ class DQRuleTest {
         assertEquals(whereClause, rule.getWhereClause());
     }
 
+    @Test
+    void test_rulesCannotBeModifiedOnceBuilt() {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("TargetColumn", "colA");
+        Map<String, String> ruleLabels = new HashMap<>();
+        ruleLabels.put("team", "dq");
+        DQRule leaf = new DQRule("IsComplete", parameters, new Condition(""), null, DQRuleLogicalOperator.AND,
+            new ArrayList<>(), null, new Labels(new HashMap<>(), ruleLabels));
+        List<DQRule> nestedRules = new ArrayList<>(Arrays.asList(leaf, leaf));
+        DQRule composite = new DQRule("Composite", null, null, null, DQRuleLogicalOperator.AND, nestedRules);
+        int hashCode = composite.hashCode();
+        String asString = composite.toString();
+
+        parameters.put("TargetColumn", "colB");
+        ruleLabels.put("team", "other");
+        nestedRules.clear();
+        assertEquals(hashCode, composite.hashCode());
+        assertEquals(asString, composite.toString());
+        assertEquals("colA", leaf.getParameters().get("TargetColumn"));
+        assertEquals(2, composite.getNestedRules().size());
+
+        assertThrows(UnsupportedOperationException.class, () -> leaf.getParameters().clear());
+        assertThrows(UnsupportedOperationException.class, () -> leaf.getParameterValueMap().clear());
+        assertThrows(UnsupportedOperationException.class, () -> leaf.getNestedRules().add(leaf));
+        assertThrows(UnsupportedOperationException.class, () -> composite.getNestedRules().clear());
+        assertThrows(UnsupportedOperationException.class, () -> leaf.getRawLabels().setRuleLabels(null));
+        assertEquals("other", leaf.withLabels(Collections.singletonMap("team", "other")).getLabel("team"));
+    }
+
+    @Test
+    void test_onlySharedLabelMapsAreKeptWithoutCopying() {
+        Map<String, String> defaults = new HashMap<>(Collections.singletonMap("team", "dq"));
+        DQRule rule = new DQRule("IsComplete", Collections.singletonMap("TargetColumn", "colA"), new Condition(""),
+            null, DQRuleLogicalOperator.AND, null, null,
+            new Labels(Collections.unmodifiableMap(defaults), Collections.emptyMap()));
+        int hashCode = rule.hashCode();
+
+        defaults.put("team", "other");
+        assertEquals("dq", rule.getLabel("team"));
+        assertEquals(hashCode, rule.hashCode());
+
+        Map<String, String> shared = Labels.sharedLabels(defaults);
+        DQRule withShared = new DQRule("IsComplete", Collections.singletonMap("TargetColumn", "colA"),
+            new Condition(""), null, DQRuleLogicalOperator.AND, null, null, new Labels(shared, null));
+        assertSame(shared, withShared.getRawLabels().getRulesetDefaultLabels());
+        assertSame(shared, withShared.withLabels(null).getRawLabels().getRulesetDefaultLabels());
+        assertThrows(UnsupportedOperationException.class, () -> shared.put("team", "dq"));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void test_setLabelsReplacesTheRuleLabels() throws InvalidDataQualityRulesetException {
+        DQRule rule = parser.parse("DefaultLabels = [ \"team\" = \"dq\" ]\n" +
+            "Rules = [ IsComplete \"colA\" labels = [ \"severity\" = \"high\" ] ]").getRules().get(0);
+        DQRule copy = rule.withLabels(Collections.singletonMap("severity", "low"));
+        DQFingerprint fingerprint = rule.getFingerprint();
+        int hashCode = rule.hashCode();
+
+        Map<String, String> newLabels = new HashMap<>(Collections.singletonMap("severity", "low"));
+        rule.setLabels(newLabels);
+        newLabels.put("severity", "none");
+
+        assertEquals("low", rule.getLabel("severity"));
+        assertEquals("dq", rule.getLabel("team"));
+        assertEquals(copy, rule);
+        assertEquals(copy.hashCode(), rule.hashCode());
+        assertNotEquals(hashCode, rule.hashCode());
+        assertNotEquals(fingerprint, rule.getFingerprint());
+        assertThrows(UnsupportedOperationException.class, () -> rule.getRawLabels().setRuleLabels(null));
+    }
+
     @Test
     public void test_labels() throws InvalidDataQualityRulesetException {
         String rule = "IsPrimaryKey \"colZ\" labels=[\"key\"=\"value\"]";
@@ -1051,6 +1166,105 @@ class DQRuleTest {
         return ruleIdToRuleMap;
     }
 
+    @ParameterizedTest
+    @MethodSource("provideRawRules")
+    void test_fingerprintIsStableAcrossParsesAndSerialization(String rule) throws Exception {
+        DQRule parsed = parser.parse(String.format("Rules = [ %s ]", rule)).getRules().get(0);
+        DQRule parsedAgain = parser.parse(String.format("Rules = [ %s ]", rule)).getRules().get(0);
+        DQRule deserialized = deserialize(serialize(parsed), DQRule.class);
+
+        assertEquals(parsed.getFingerprint(), parsedAgain.getFingerprint());
+        assertEquals(parsed.getFingerprint(), deserialized.getFingerprint());
+        assertSame(parsed.getFingerprint(), parsed.getFingerprint());
+    }
+
+    @Test
+    void test_fingerprintIgnoresOrderWhereItDoesNotMatter() throws InvalidDataQualityRulesetException {
+        assertEquals(
+            fingerprint("ColumnValues \"colA\" in [ \"a\", \"b\", \"c\" ]"),
+            fingerprint("ColumnValues \"colA\" in [ \"c\", \"a\", \"b\" ]"));
+        assertEquals(
+            fingerprint("IsComplete \"colA\" labels=[\"team\"=\"dq\", \"severity\"=\"high\"]"),
+            fingerprint("IsComplete \"colA\" labels=[\"severity\"=\"high\", \"team\"=\"dq\"]"));
+    }
+
+    @Test
+    void test_fingerprintOfInListsWithExpressionsAndFunctionCalls() throws InvalidDataQualityRulesetException {
+        assertEquals(
+            fingerprint("RowCount in [ 1 + 2, 5 ]"),
+            fingerprint("RowCount in [ 5, 1 + 2 ]"));
+        assertEquals(
+            fingerprint("RowCount in [ avg(last(3)), 5, NULL ]"),
+            fingerprint("RowCount in [ NULL, 5, avg(last(3)) ]"));
+        assertNotEquals(
+            fingerprint("RowCount in [ avg(last(3)), 5 ]"),
+            fingerprint("RowCount in [ avg(last(4)), 5 ]"));
+    }
+
+    @Test
+    void test_fingerprintDependsOnWhatTheRuleChecks() throws InvalidDataQualityRulesetException {
+        List<String> rules = Arrays.asList(
+            "ColumnValues \"colA\" > 10",
+            "ColumnValues \"colA\" >= 10",
+            "ColumnValues \"colB\" > 10",
+            "ColumnValues \"colA\" > 10 with threshold > 0.5",
+            "ColumnValues \"colA\" > 10 where \"colB > 1\"",
+            "ColumnValues \"colA\" > 10 labels=[\"team\"=\"dq\"]",
+            "(ColumnValues \"colA\" > 10) and (IsComplete \"colA\")",
+            "(ColumnValues \"colA\" > 10) or (IsComplete \"colA\")",
+            "(IsComplete \"colA\") or (ColumnValues \"colA\" > 10)");
+
+        Set<DQFingerprint> fingerprints = new HashSet<>();
+        for (String rule : rules) {
+            fingerprints.add(fingerprint(rule));
+        }
+        assertEquals(rules.size(), fingerprints.size());
+    }
+
+    @Test
+    void test_fingerprintDoesNotChangeAcrossReleases() throws InvalidDataQualityRulesetException {
+        // Fingerprints are persisted by callers, so changing this value invalidates their caches.
+        assertEquals("822fb10bba72ed20809980558b32aea1",
+            fingerprint("ColumnValues \"colA\" in [ \"a\", \"b\" ] with threshold > 0.5").toString());
+    }
+
+    @Test
+    void test_fingerprintOfLongCompositeChain() throws InvalidDataQualityRulesetException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append(i > 0 ? " and " : "").append("(IsComplete \"col").append(i).append("\")");
+        }
+        DQRule rule = parser.parse("Rules = [ " + sb + " ]").getRules().get(0);
+        DQRule nestedRule = rule.getNestedRules().get(0);
+
+        DQFingerprint fingerprint = rule.getFingerprint();
+
+        assertSame(nestedRule.getFingerprint(), nestedRule.getFingerprint());
+        assertNotEquals(fingerprint, nestedRule.getFingerprint());
+        assertEquals(fingerprint, DQFingerprint.fromString(fingerprint.toString()));
+    }
+
+    @Test
+    void test_hashCodeOfCompositeRuleIsCached() throws InvalidDataQualityRulesetException {
+        String dqdl = "Rules = [ (IsComplete \"colA\") and ((IsUnique \"colA\") or (ColumnValues \"colA\" > 1)) ]";
+        DQRule rule = parser.parse(dqdl).getRules().get(0);
+        DQRule sameRule = parser.parse(dqdl).getRules().get(0);
+
+        assertEquals(rule.hashCode(), rule.hashCode());
+        assertEquals(rule.hashCode(), sameRule.hashCode());
+        assertEquals(rule, sameRule);
+
+        DQRule relabeled = rule.withLabels(Collections.singletonMap("team", "dq"));
+        assertEquals(Collections.singletonMap("team", "dq"), relabeled.getLabels());
+        assertTrue(rule.getLabels().isEmpty());
+        assertNotEquals(rule, relabeled);
+        assertEquals(rule.getNestedRules(), relabeled.getNestedRules());
+    }
+
+    private DQFingerprint fingerprint(String rule) throws InvalidDataQualityRulesetException {
+        return parser.parse(String.format("Rules = [ %s ]", rule)).getRules().get(0).getFingerprint();
+    }
+
     @Disabled
     void test_nullParametersAreCorrectlyHandled() {
         Map<String, String> parameters = null;
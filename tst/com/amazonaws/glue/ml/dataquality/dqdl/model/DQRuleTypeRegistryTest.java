@@ -0,0 +1,207 @@
+/*
+ * DQRuleTypeRegistryTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DQRuleTypeRegistryTest {
+    private static final List<DQRuleType> BUILT_IN_RULE_TYPES =
+        DQRuleType.generateRuleTypes(DQRuleTypeRegistry.BUILT_IN_RULES_CONFIG);
+
+    @Test
+    public void test_lookupMatchesFirstRuleTypeWithSameNameAndParameterCount() {
+        DQRuleTypeRegistry registry = new DQRuleTypeRegistry(() -> BUILT_IN_RULE_TYPES);
+
+        for (DQRuleType ruleType : BUILT_IN_RULE_TYPES) {
+            for (int parameterCount = 0; parameterCount <= 6; parameterCount++) {
+                assertEquals(
+                    linearLookup(ruleType.getRuleTypeName(), parameterCount),
+                    registry.getRuleType(ruleType.getRuleTypeName(), parameterCount));
+            }
+        }
+        assertFalse(registry.getRuleType("NotARuleType", 1).isPresent());
+        assertEquals(BUILT_IN_RULE_TYPES.size(), registry.getRuleTypes().size());
+    }
+
+    @Test
+    public void test_generatedCatalogMatchesRulesConfig() {
+        List<DQRuleType> generated = GeneratedRuleTypeCatalog.getRuleTypes();
+
+        assertEquals(BUILT_IN_RULE_TYPES.size(), generated.size());
+        for (int i = 0; i < generated.size(); i++) {
+            assertEquals(describe(BUILT_IN_RULE_TYPES.get(i)), describe(generated.get(i)));
+        }
+        assertEquals(
+            BUILT_IN_RULE_TYPES.stream().map(DQRuleTypeRegistryTest::describe).collect(Collectors.toList()),
+            DQRuleTypeRegistry.getDefault().getRuleTypes().stream()
+                .limit(BUILT_IN_RULE_TYPES.size())
+                .map(DQRuleTypeRegistryTest::describe)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void test_varArgRuleTypeMatchesAnyParameterCountFromItsMinimum() {
+        DQRuleTypeRegistry registry = new DQRuleTypeRegistry(() -> Arrays.asList(
+            ruleType("Custom", 1, false), ruleType("Custom", 2, true)));
+
+        assertFalse(registry.getRuleType("Custom", 0).isPresent());
+        assertEquals(1, registry.getRuleType("Custom", 1).get().getParameters().size());
+        for (int parameterCount = 2; parameterCount < 20; parameterCount++) {
+            assertEquals(2, registry.getRuleType("Custom", parameterCount).get().getParameters().size());
+        }
+    }
+
+    @Test
+    public void test_registerAddsRuleTypes() {
+        DQRuleTypeRegistry registry = new DQRuleTypeRegistry(() -> BUILT_IN_RULE_TYPES);
+        DQRuleType inHouse = ruleType("InHouseCheck", 1, false);
+
+        registry.register(Collections.singletonList(inHouse));
+
+        assertSame(inHouse, registry.getRuleType("InHouseCheck", 1).get());
+        assertEquals(BUILT_IN_RULE_TYPES.size() + 1, registry.getRuleTypes().size());
+    }
+
+    @Test
+    public void test_registerRejectsConflictingRuleTypes() {
+        DQRuleTypeRegistry registry = new DQRuleTypeRegistry(() -> BUILT_IN_RULE_TYPES);
+        DQRuleType inHouse = ruleType("InHouseCheck", 1, false);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> registry.register(Collections.singletonList(ruleType("IsComplete", 1, false))));
+        assertThrows(IllegalArgumentException.class,
+            () -> registry.register(Arrays.asList(inHouse, ruleType("InHouseCheck", 1, true))));
+        assertThrows(IllegalArgumentException.class,
+            () -> registry.register(Arrays.asList(inHouse, ruleType("InHouseCheck", 1, false))));
+
+        assertFalse(registry.getRuleType("InHouseCheck", 1).isPresent());
+        assertEquals(BUILT_IN_RULE_TYPES.size(), registry.getRuleTypes().size());
+    }
+
+    @Test
+    public void test_replaceRegisteredRuleTypesKeepsBuiltInRuleTypes() {
+        DQRuleTypeRegistry registry = new DQRuleTypeRegistry(() -> BUILT_IN_RULE_TYPES);
+        registry.register(Collections.singletonList(ruleType("InHouseCheck", 1, false)));
+
+        registry.replaceRegisteredRuleTypes(Collections.singletonList(ruleType("InHouseCheckV2", 2, false)));
+
+        assertFalse(registry.getRuleType("InHouseCheck", 1).isPresent());
+        assertTrue(registry.getRuleType("InHouseCheckV2", 2).isPresent());
+        assertTrue(registry.getRuleType("IsComplete", 1).isPresent());
+    }
+
+    @Test
+    public void test_reloadLoadsBuiltInRuleTypesAgain() {
+        AtomicInteger loads = new AtomicInteger();
+        DQRuleTypeRegistry registry = new DQRuleTypeRegistry(() -> {
+            List<DQRuleType> ruleTypes = new ArrayList<>(BUILT_IN_RULE_TYPES);
+            if (loads.incrementAndGet() > 1) {
+                ruleTypes.add(ruleType("NewBuiltIn", 0, false));
+            }
+            return ruleTypes;
+        });
+        DQRuleType inHouse = ruleType("InHouseCheck", 1, false);
+        registry.register(Collections.singletonList(inHouse));
+        assertFalse(registry.getRuleType("NewBuiltIn", 0).isPresent());
+
+        registry.reload();
+
+        assertEquals(2, loads.get());
+        assertTrue(registry.getRuleType("NewBuiltIn", 0).isPresent());
+        assertSame(inHouse, registry.getRuleType("InHouseCheck", 1).get());
+    }
+
+    @Test
+    public void test_parserUsesRuleTypesRegisteredInDefaultRegistry() throws IOException {
+        String rulesConfig = "{ \"rule_types\": [ {" +
+            "\"rule_type_name\": \"InHouseFreshness\"," +
+            "\"description\": \"In-house rule type\"," +
+            "\"parameters\": [ { \"type\": \"String\", \"name\": \"TargetColumn\", \"description\": \"Column\" } ]," +
+            "\"return_type\": \"NUMBER\"," +
+            "\"is_threshold_supported\": false" +
+            "} ] }";
+        List<DQRuleType> ruleTypes =
+            DQRuleType.readRuleTypes(new ByteArrayInputStream(rulesConfig.getBytes(StandardCharsets.UTF_8)));
+        String dqdl = "Rules = [ InHouseFreshness \"colA\" > 10 ]";
+        DQDLParser parser = new DQDLParser();
+
+        assertThrows(InvalidDataQualityRulesetException.class, () -> parser.parse(dqdl));
+        DQRuleTypeRegistry.getDefault().register(ruleTypes);
+        try {
+            DQRuleset ruleset = parser.parse(dqdl);
+            assertEquals("InHouseFreshness", ruleset.getRules().get(0).getRuleType());
+        } catch (InvalidDataQualityRulesetException e) {
+            throw new RuntimeException(e);
+        } finally {
+            DQRuleTypeRegistry.getDefault().replaceRegisteredRuleTypes(Collections.emptyList());
+        }
+        assertThrows(InvalidDataQualityRulesetException.class, () -> parser.parse(dqdl));
+    }
+
+    private static Optional<DQRuleType> linearLookup(String ruleTypeName, int parameterCount) {
+        return BUILT_IN_RULE_TYPES.stream()
+            .filter(ruleType -> {
+                int ruleTypeParameterCount = ruleType.getParameters().size();
+                boolean containsVarArg = ruleTypeParameterCount > 0 &&
+                    ruleType.getParameters().get(ruleTypeParameterCount - 1).isVarArg();
+                boolean parameterCountMatches = containsVarArg
+                    ? parameterCount >= ruleTypeParameterCount
+                    : parameterCount == ruleTypeParameterCount;
+                return ruleType.getRuleTypeName().equals(ruleTypeName) && parameterCountMatches;
+            })
+            .findFirst();
+    }
+
+    private static String describe(DQRuleType ruleType) {
+        return String.join("|",
+            ruleType.getRuleTypeName(),
+            ruleType.getDescription(),
+            ruleType.getParameters().stream()
+                .map(p -> String.join(",", p.getType(), p.getName(), p.getDescription(), String.valueOf(p.isVarArg())))
+                .collect(Collectors.joining(";")),
+            ruleType.getReturnType(),
+            String.valueOf(ruleType.isThresholdSupported()),
+            String.valueOf(ruleType.isExcludedAtRowLevelInCompositeRules()),
+            String.valueOf(ruleType.isWhereClauseSupported()),
+            String.valueOf(ruleType.isAnalyzerOnly()),
+            String.valueOf(ruleType.getScope()),
+            String.valueOf(ruleType.isExperimental()));
+    }
+
+    private static DQRuleType ruleType(String name, int parameterCount, boolean isVarArg) {
+        List<DQRuleParameter> parameters = new ArrayList<>();
+        for (int i = 0; i < parameterCount; i++) {
+            boolean isLast = i == parameterCount - 1;
+            parameters.add(new DQRuleParameter("String", "Column" + i, "Column", isVarArg && isLast));
+        }
+        return new DQRuleType(name, "Test rule type", parameters, "NUMBER",
+            false, false, false, false, null, false);
+    }
+}
@@ -19,6 +19,11 @@ import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -26,7 +31,10 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -1363,4 +1371,79 @@ public class DQRulesetTest {
 
         return dqRuleset;
     }
+
+    @Test
+    void test_serializationDeserializationRoundTrip() throws IOException, ClassNotFoundException {
+        String dqdl = "Metadata = { \"Version\": \"1.0\" }" +
+            "DataSources = { \"Primary\": \"orders\", \"AdditionalDataSources\": [ \"customers\" ] }" +
+            "DefaultLabels = [ \"team\" = \"dq\" ]" +
+            "Rules = [ IsComplete \"colA\", (IsUnique \"colB\") or (ColumnValues \"colB\" > 3) ]" +
+            "Analyzers = [ Completeness \"colA\" ]";
+        DQRuleset dqRuleset = parseDQDL(dqdl);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(dqRuleset);
+        }
+        DQRuleset deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (DQRuleset) in.readObject();
+        }
+
+        assertEquals(dqRuleset.toString(), deserialized.toString());
+        assertEquals(dqRuleset.getRules(), deserialized.getRules());
+        assertEquals(dqRuleset.getDefaultLabels(), deserialized.getDefaultLabels());
+        assertEquals(dqRuleset.getRules().get(1).getLabels(), deserialized.getRules().get(1).getLabels());
+    }
+
+    @Test
+    void test_fingerprint() {
+        String dqdl = "Metadata = { \"Version\": \"1.0\" }" +
+            "DefaultLabels = [ \"team\" = \"dq\" ]" +
+            "Rules = [ IsComplete \"colA\", (IsUnique \"colB\") or (ColumnValues \"colB\" in [ \"a\", \"b\" ]) ]" +
+            "Analyzers = [ Completeness \"colA\" ]";
+        DQFingerprint fingerprint = parseDQDL(dqdl).getFingerprint();
+
+        assertEquals(fingerprint, parseDQDL(dqdl).getFingerprint());
+        assertEquals(fingerprint, parseDQDL(dqdl.replace("[ \"a\", \"b\" ]", "[ \"b\", \"a\" ]")).getFingerprint());
+        assertNotEquals(fingerprint, parseDQDL(dqdl.replace("1.0", "2.0")).getFingerprint());
+        assertNotEquals(fingerprint, parseDQDL(dqdl.replace("Completeness", "DistinctValuesCount")).getFingerprint());
+        assertNotEquals(fingerprint, parseDQDL(dqdl.replace(
+            "IsComplete \"colA\", (IsUnique \"colB\") or (ColumnValues \"colB\" in [ \"a\", \"b\" ])",
+            "(IsUnique \"colB\") or (ColumnValues \"colB\" in [ \"a\", \"b\" ]), IsComplete \"colA\"")).getFingerprint());
+    }
+
+    @Test
+    void test_defaultLabelsAreSharedByAllRules() {
+        String dqdl = "DefaultLabels = [ \"team\" = \"dq\", \"severity\" = \"low\" ]" +
+            "Rules = [ IsComplete \"colA\", IsUnique \"colA\" labels = [ \"severity\" = \"high\" ], " +
+            "(IsComplete \"colB\") or (IsUnique \"colB\"), IsComplete \"colC\" labels = [ \"severity\" = \"high\" ] ]";
+        DQRuleset dqRuleset = parseDQDL(dqdl);
+        List<DQRule> rules = dqRuleset.getRules();
+
+        Map<String, String> defaultLabels = rules.get(0).getRawLabels().getRulesetDefaultLabels();
+        for (DQRule rule : rules) {
+            assertSame(defaultLabels, rule.getRawLabels().getRulesetDefaultLabels());
+            assertEquals("dq", rule.getLabel("team"));
+        }
+        assertEquals("low", rules.get(0).getLabel("severity"));
+        assertEquals("high", rules.get(1).getLabel("severity"));
+        assertNull(rules.get(0).getLabel("owner"));
+
+        assertSame(defaultLabels, rules.get(0).getRawLabels().getRulesetDefaultLabels());
+        assertSame(rules.get(1).getUnmodifiableLabels(), rules.get(1).getUnmodifiableLabels());
+        assertEquals(2, rules.get(1).getUnmodifiableLabels().size());
+        assertThrows(UnsupportedOperationException.class,
+            () -> rules.get(0).getUnmodifiableLabels().put("owner", "me"));
+
+        // getLabels returns a copy that the caller may change, without changing the rule.
+        Map<String, String> labels = rules.get(0).getLabels();
+        assertNotSame(labels, rules.get(0).getLabels());
+        labels.put("owner", "me");
+        assertNull(rules.get(0).getLabel("owner"));
+
+        // The label strings of different rules are the same instances.
+        String severity = rules.get(1).getRawLabels().getRuleLabels().get("severity");
+        assertSame(severity, rules.get(3).getRawLabels().getRuleLabels().get("severity"));
+    }
 }
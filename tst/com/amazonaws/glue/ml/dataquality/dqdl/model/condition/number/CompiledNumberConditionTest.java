@@ -0,0 +1,194 @@
+/*
+ * CompiledNumberConditionTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumericOperandTest.testEvaluator;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompiledNumberConditionTest {
+    private static final DQDLParser PARSER = new DQDLParser();
+
+    private static final double[] VALUES = {
+        Double.NEGATIVE_INFINITY, -10, -1, -0.0, 0, 0.5, 0.95, 1, 1.5, 2, 3, 5, 10, 20, 95,
+        Double.POSITIVE_INFINITY, Double.NaN
+    };
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "> 0.9", ">= 1", "< 1", "<= 1", "= 1", "= 0", "!= 1", "between 1 and 5", "not between 1 and 5",
+        "in [ 3, 1, 2 ]", "not in [ 2, 1 ]", "> 100 * 0.95", "between (10 + 5) and (20 * 2)",
+        "> avg(2, 4)", "between 1 and avg(2, 4)", "in [ 1, avg(2, 4), 5 ]", "= -1"
+    })
+    void test_compiledConditionMatchesEvaluate(String conditionAsString) throws InvalidDataQualityRulesetException {
+        NumberBasedCondition condition = condition(conditionAsString);
+        DQRule rule = rule(conditionAsString);
+        // Subclasses are evaluated with the list of evaluated operands, as before compilation.
+        NumberBasedCondition uncompiled = new NumberBasedCondition(condition.getConditionAsString(),
+            condition.getOperator(), condition.getOperands()) { };
+
+        for (double value : VALUES) {
+            boolean expected = uncompiled.evaluate(value, rule, testEvaluator);
+            assertEquals(expected, condition.compile().test(value, rule, testEvaluator),
+                String.format("%s %s", value, conditionAsString));
+            assertEquals(expected, condition.evaluate(value, rule, testEvaluator),
+                String.format("%s %s", value, conditionAsString));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "> 0.9", ">= 1", "< 1", "<= 1", "= 1", "= 0", "!= 1", "between 1 and 5", "not between 1 and 5",
+        "in [ 3, 1, 2 ]", "not in [ 2, 1 ]", "> 100 * 0.95", "> avg(2, 4)", "in [ 1, avg(2, 4), 5 ]"
+    })
+    void test_batchMatchesTest(String conditionAsString) throws InvalidDataQualityRulesetException {
+        NumberBasedCondition condition = condition(conditionAsString);
+        DQRule rule = rule(conditionAsString);
+        NumberBasedCondition uncompiled = new NumberBasedCondition(condition.getConditionAsString(),
+            condition.getOperator(), condition.getOperands()) { };
+
+        // Spans several words, the last of them partly.
+        double[] metrics = new double[150];
+        long[] nullMask = new long[3];
+        for (int i = 0; i < metrics.length; i++) {
+            metrics[i] = VALUES[i % VALUES.length];
+            if (i % 7 == 3) {
+                nullMask[i / 64] |= 1L << i;
+            }
+        }
+        long[] results = new long[3];
+        Arrays.fill(results, -1L);
+        condition.compile().testAll(metrics, nullMask, rule, testEvaluator, results);
+
+        for (int i = 0; i < metrics.length; i++) {
+            boolean expected = i % 7 != 3 && condition.compile().test(metrics[i], rule, testEvaluator);
+            assertEquals(expected, (results[i / 64] & 1L << i) != 0,
+                String.format("%s %s", metrics[i], conditionAsString));
+        }
+        assertEquals(0, results[2] >>> (metrics.length - 128));
+        assertArrayEquals(results, condition.evaluateAll(metrics, nullMask, rule, testEvaluator));
+        assertArrayEquals(results, uncompiled.evaluateAll(metrics, nullMask, rule, testEvaluator));
+    }
+
+    @Test
+    void test_batchEvaluatesDynamicOperandsOnce() throws InvalidDataQualityRulesetException {
+        List<NumericOperand> evaluated = new ArrayList<>();
+        OperandEvaluator countingEvaluator = new OperandEvaluator() {
+            @Override
+            public Double evaluate(DQRule rule, NumericOperand operand) {
+                evaluated.add(operand);
+                return testEvaluator.evaluate(rule, operand);
+            }
+        };
+
+        double[] metrics = new double[70];
+        for (int i = 0; i < metrics.length; i++) {
+            metrics[i] = i;
+        }
+        long[] results = new long[2];
+        condition("between 1 and avg(2, 4) * 2").compile().testAll(metrics, null, null, countingEvaluator, results);
+
+        assertEquals(1, evaluated.size());
+        assertArrayEquals(new long[] {0b111100, 0}, results);
+    }
+
+    @Test
+    void test_batchOfConstantCondition() throws InvalidDataQualityRulesetException {
+        CompiledNumberCondition compiled = condition("not in [ 1, 2 ]").compile();
+
+        assertArrayEquals(new long[] {0b1001}, compiled.testAll(new double[] {0, 1, 2, 3}));
+        assertArrayEquals(new long[0], compiled.testAll(new double[0]));
+        assertThrows(IllegalStateException.class,
+            () -> condition("> avg(2, 4)").compile().testAll(new double[] {1}));
+        assertThrows(IllegalArgumentException.class,
+            () -> compiled.testAll(new double[65], null, null, null, new long[1]));
+        assertThrows(IllegalArgumentException.class,
+            () -> compiled.testAll(new double[65], new long[1], null, null, new long[2]));
+    }
+
+    @Test
+    void test_onlyDynamicOperandsAreEvaluated() throws InvalidDataQualityRulesetException {
+        List<NumericOperand> evaluated = new ArrayList<>();
+        OperandEvaluator countingEvaluator = new OperandEvaluator() {
+            @Override
+            public Double evaluate(DQRule rule, NumericOperand operand) {
+                evaluated.add(operand);
+                return testEvaluator.evaluate(rule, operand);
+            }
+        };
+
+        assertTrue(condition("> 100 * 0.95").compile().test(96, null, countingEvaluator));
+        assertFalse(condition("between (10 + 5) and (20 * 2)").compile().test(40, null, countingEvaluator));
+        assertEquals(Collections.emptyList(), evaluated);
+
+        NumberBasedCondition dynamic = condition("between 1 and avg(2, 4) * 2");
+        assertTrue(dynamic.compile().test(2, null, countingEvaluator));
+        assertEquals(1, evaluated.size());
+        // The multiplication is computed without the evaluator.
+        assertEquals("avg(2,4)", evaluated.get(0).toString());
+
+        // The upper bound is not needed when the metric is below the lower one.
+        assertFalse(dynamic.compile().test(0, null, countingEvaluator));
+        assertEquals(1, evaluated.size());
+    }
+
+    @Test
+    void test_constantConditionsNeedNoEvaluator() throws InvalidDataQualityRulesetException {
+        assertTrue(condition("in [ 1, 2 ]").compile().isConstant());
+        assertTrue(condition("in [ 1, 2 ]").compile().test(2));
+        assertFalse(condition("> avg(2, 4)").compile().isConstant());
+        assertThrows(IllegalStateException.class, () -> condition("> avg(2, 4)").compile().test(2));
+    }
+
+    @Test
+    void test_wrongNumberOfOperandsNeverPasses() {
+        List<NumericOperand> operands = Arrays.asList(new AtomicNumberOperand("1"), new AtomicNumberOperand("2"));
+        NumberBasedCondition condition = new NumberBasedCondition("> 1, 2",
+            NumberBasedConditionOperator.GREATER_THAN, operands);
+
+        assertFalse(condition.compile().test(5));
+        assertFalse(condition.evaluate(5.0, null, testEvaluator));
+        assertFalse(new NumberBasedCondition("between 1", NumberBasedConditionOperator.BETWEEN,
+            Collections.singletonList(new AtomicNumberOperand("1"))).compile().test(5));
+    }
+
+    @Test
+    void test_conditionIsCompiledOnce() throws InvalidDataQualityRulesetException {
+        NumberBasedCondition condition = condition("> 1");
+
+        assertSame(condition.compile(), condition.compile());
+        assertEquals(condition("> 1"), condition);
+    }
+
+    private static DQRule rule(String condition) throws InvalidDataQualityRulesetException {
+        return PARSER.parse("Rules = [ RowCount " + condition + " ]").getRules().get(0);
+    }
+
+    private static NumberBasedCondition condition(String condition) throws InvalidDataQualityRulesetException {
+        return (NumberBasedCondition) rule(condition).getCondition();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * InMemoryAsyncOperandEvaluator.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+ * An AsyncOperandEvaluator for tests, resolving function calls from values held in memory by rule type and
+ * function call, such as "RowCount" and "avg(last(10))". It records each batch it is given.
+ */
+public class InMemoryAsyncOperandEvaluator extends AsyncOperandEvaluator {
+    private final Map<String, Map<String, Double>> valuesByRuleType = new HashMap<>();
+    private final List<List<RuleFunctionCall>> batches = new CopyOnWriteArrayList<>();
+
+    public InMemoryAsyncOperandEvaluator withValue(String ruleType, String functionCall, Double value) {
+        valuesByRuleType.computeIfAbsent(ruleType, type -> new HashMap<>()).put(functionCall, value);
+        return this;
+    }
+
+    public List<List<RuleFunctionCall>> getBatches() {
+        return Collections.unmodifiableList(batches);
+    }
+
+    @Override
+    public CompletableFuture<List<Double>> evaluate(List<RuleFunctionCall> functionCalls) {
+        batches.add(new ArrayList<>(functionCalls));
+        return CompletableFuture.supplyAsync(() -> {
+            List<Double> values = new ArrayList<>(functionCalls.size());
+            for (RuleFunctionCall functionCall : functionCalls) {
+                Map<String, Double> valuesOfRuleType = valuesByRuleType.getOrDefault(
+                    functionCall.getRule().getRuleType(), Collections.emptyMap());
+                String key = functionCall.getFunctionCall().toString();
+                if (!valuesOfRuleType.containsKey(key)) {
+                    throw new IllegalArgumentException("No value for " + functionCall);
+                }
+                values.add(valuesOfRuleType.get(key));
+            }
+            return values;
+        });
+    }
+}
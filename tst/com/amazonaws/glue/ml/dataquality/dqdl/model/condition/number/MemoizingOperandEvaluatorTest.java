@@ -0,0 +1,152 @@
+/*
+ * MemoizingOperandEvaluatorTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumericOperandTest.testEvaluator;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MemoizingOperandEvaluatorTest {
+    private final DQDLParser parser = new DQDLParser();
+    private final List<NumericOperand> evaluated = new ArrayList<>();
+    private final OperandEvaluator recordingEvaluator = new OperandEvaluator() {
+        @Override
+        public Double evaluate(DQRule rule, NumericOperand operand) {
+            evaluated.add(operand);
+            return testEvaluator.evaluate(rule, operand);
+        }
+    };
+
+    @Test
+    void test_repeatedFunctionCallsOfARuleAreEvaluatedOnce() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ " +
+            "RowCount between avg(2, 4) * 0.5 and avg(2.0, 4) * 2, " +
+            "Completeness \"a\" in [ avg(2, 4), multiply(2, avg(2, 4)) ] ]");
+        MemoizingOperandEvaluator evaluator = new MemoizingOperandEvaluator(recordingEvaluator);
+
+        DQRule rowCount = ruleset.getRules().get(0);
+        assertTrue(((NumberBasedCondition) rowCount.getCondition()).evaluate(4.0, rowCount, evaluator));
+        DQRule completeness = ruleset.getRules().get(1);
+        assertTrue(((NumberBasedCondition) completeness.getCondition()).evaluate(6.0, completeness, evaluator));
+        assertTrue(((NumberBasedCondition) completeness.getCondition()).evaluate(3.0, completeness, evaluator));
+
+        // avg(2, 4) once for each rule, and multiply(2, avg(2, 4)) once.
+        assertEquals(3, evaluated.size());
+        assertEquals(3, evaluator.getMissCount());
+        assertEquals(2, evaluator.getHitCount());
+        assertEquals(3, evaluator.size());
+    }
+
+    @Test
+    void test_ruleIndependentFunctionsAreSharedAcrossRules() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ RowCount > avg(2, 4), ColumnCount > avg(2, 4) ]");
+        MemoizingOperandEvaluator evaluator =
+            new MemoizingOperandEvaluator(recordingEvaluator, Collections.singleton("avg"));
+
+        for (DQRule rule : ruleset.getRules()) {
+            assertTrue(((NumberBasedCondition) rule.getCondition()).evaluate(4.0, rule, evaluator));
+        }
+
+        assertEquals(1, evaluated.size());
+        assertEquals(1, evaluator.getHitCount());
+    }
+
+    @Test
+    void test_nullResultsAreRemembered() {
+        FunctionCallOperand missing = new FunctionCallOperand("missing()", "missing", Collections.emptyList());
+        MemoizingOperandEvaluator evaluator = new MemoizingOperandEvaluator(new OperandEvaluator() {
+            @Override
+            public Double evaluate(DQRule rule, NumericOperand operand) {
+                evaluated.add(operand);
+                return null;
+            }
+        });
+
+        assertNull(evaluator.evaluate(null, missing));
+        assertNull(evaluator.evaluate(null, missing));
+        assertEquals(1, evaluated.size());
+        assertEquals(1, evaluator.getHitCount());
+    }
+
+    @Test
+    void test_otherOperandsAreNotRemembered() {
+        MemoizingOperandEvaluator evaluator = new MemoizingOperandEvaluator(recordingEvaluator);
+        AtomicNumberOperand one = new AtomicNumberOperand("1");
+
+        assertEquals(1.0, evaluator.evaluate(null, one));
+        assertEquals(1.0, evaluator.evaluate(null, one));
+        assertEquals(2, evaluated.size());
+        assertEquals(0, evaluator.getHitCount() + evaluator.getMissCount());
+    }
+
+    @Test
+    void test_serializationKeepsRememberedResults() throws IOException, ClassNotFoundException {
+        MemoizingOperandEvaluator evaluator = new MemoizingOperandEvaluator(new NullForMissingEvaluator(),
+            new HashSet<>(Arrays.asList("avg", "missing")));
+        FunctionCallOperand avg = new FunctionCallOperand("avg(2, 4)", "avg",
+            Arrays.asList(new AtomicNumberOperand("2"), new AtomicNumberOperand("4")));
+        FunctionCallOperand missing = new FunctionCallOperand("missing()", "missing", Collections.emptyList());
+        assertEquals(3.0, evaluator.evaluate(null, avg));
+        assertNull(evaluator.evaluate(null, missing));
+
+        MemoizingOperandEvaluator deserialized = deserialize(serialize(evaluator));
+
+        assertEquals(2, deserialized.size());
+        assertEquals(3.0, deserialized.evaluate(null, avg));
+        assertNull(deserialized.evaluate(null, missing));
+        assertEquals(2, deserialized.getHitCount());
+        assertEquals(2, deserialized.getMissCount());
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static MemoizingOperandEvaluator deserialize(byte[] serialized)
+        throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return (MemoizingOperandEvaluator) in.readObject();
+        }
+    }
+
+    private static final class NullForMissingEvaluator extends OperandEvaluator {
+        @Override
+        public Double evaluate(DQRule rule, NumericOperand operand) {
+            if (operand instanceof FunctionCallOperand
+                && "missing".equals(((FunctionCallOperand) operand).getFunctionName())) {
+                return null;
+            }
+            return testEvaluator.evaluate(rule, operand);
+        }
+    }
+}
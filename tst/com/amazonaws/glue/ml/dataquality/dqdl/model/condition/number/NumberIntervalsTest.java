@@ -0,0 +1,173 @@
+/*
+ * NumberIntervalsTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumericOperandTest.testEvaluator;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NumberIntervalsTest {
+    private static final DQDLParser PARSER = new DQDLParser();
+
+    private static final double[] VALUES = {
+        Double.NEGATIVE_INFINITY, -10, -1, -0.5, 0, 0.5, 0.9, 0.95, 1, 1.5, 2, 3, 5, 10, 20,
+        Double.POSITIVE_INFINITY, Double.NaN
+    };
+
+    private static Stream<Arguments> provideConditionsWithExpectedIntervals() {
+        return Stream.of(
+            Arguments.of("> 0.9", "(0.9, +inf]"),
+            Arguments.of(">= 0.9", "[0.9, +inf]"),
+            Arguments.of("< 1", "[-inf, 1)"),
+            Arguments.of("<= 1", "[-inf, 1]"),
+            Arguments.of("= 1", "{1}"),
+            Arguments.of("!= 1", "[-inf, 1) U (1, +inf] U {NaN}"),
+            Arguments.of("between 1 and 5", "(1, 5)"),
+            Arguments.of("between 5 and 1", "{}"),
+            Arguments.of("not between 1 and 5", "[-inf, 1] U [5, +inf]"),
+            Arguments.of("not between 5 and 1", "[-inf, +inf]"),
+            Arguments.of("in [ 3, 1, 2, 1 ]", "{1} U {2} U {3}"),
+            Arguments.of("not in [ 2, 1 ]", "[-inf, 1) U (1, 2) U (2, +inf] U {NaN}"),
+            Arguments.of("between -1 and 0.5", "(-1, 0.5)")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideConditionsWithExpectedIntervals")
+    void test_intervalsOfCondition(String condition, String expected) throws InvalidDataQualityRulesetException {
+        NumberIntervals intervals = intervals(condition);
+
+        assertEquals(expected, intervals.toString());
+        for (double value : VALUES) {
+            boolean expectedResult = evaluate(condition, value);
+            assertEquals(expectedResult, contains(intervals, value), String.format("%s %s", value, condition));
+            assertEquals(expectedResult, intervals.contains(value), String.format("%s %s", value, condition));
+        }
+    }
+
+    @Test
+    void test_union() throws InvalidDataQualityRulesetException {
+        assertEquals("[-inf, -1) U (1, +inf]", intervals("< -1").union(intervals("> 1")).toString());
+        assertEquals("[-inf, +inf]", intervals("<= 1").union(intervals(">= 1")).toString());
+        assertEquals("[-inf, 1) U (1, +inf]", intervals("< 1").union(intervals("> 1")).toString());
+        assertEquals("(0, 5]", intervals("between 0 and 2").union(intervals("in [ 2, 5 ]"))
+            .union(intervals("between 1 and 5")).toString());
+        assertEquals(NumberIntervals.all(), intervals("!= 1").union(intervals("= 1")));
+        assertEquals(intervals("in [ 1, 2 ]"), NumberIntervals.points(2, 1, 2));
+    }
+
+    @Test
+    void test_complement() throws InvalidDataQualityRulesetException {
+        assertEquals(intervals("not in [ 1, 2 ]"), intervals("in [ 1, 2 ]").complement());
+        // NaN passes neither "between" nor "not between".
+        assertEquals("[-inf, 1] U [5, +inf] U {NaN}", intervals("between 1 and 5").complement().toString());
+        assertEquals(intervals("between 1 and 5"), intervals("between 1 and 5").complement().complement());
+        assertTrue(NumberIntervals.all().isAll());
+        assertTrue(NumberIntervals.all().complement().isEmpty());
+        assertEquals(NumberIntervals.empty(), NumberIntervals.all().complement());
+        assertFalse(intervals("not between 5 and 1").isAll());
+    }
+
+    @Test
+    void test_mergedConditionsAreCheckedAtOnce() throws InvalidDataQualityRulesetException {
+        NumberIntervals merged = intervals("between 0 and 10").intersect(intervals("not in [ 5 ]"))
+            .intersect(intervals(">= 1"));
+
+        for (double value : VALUES) {
+            assertEquals(evaluate("between 0 and 10", value) && evaluate("not in [ 5 ]", value)
+                && evaluate(">= 1", value), merged.contains(value), String.valueOf(value));
+        }
+    }
+
+    @Test
+    void test_conditionCachesItsIntervals() throws InvalidDataQualityRulesetException {
+        NumberBasedCondition condition = condition("between 1 and 5");
+
+        assertSame(condition.getIntervals().get(), condition.getIntervals().get());
+        assertEquals(condition, condition("between 1 and 5"));
+        assertFalse(condition("> avg(last(3))").getIntervals().isPresent());
+    }
+
+    @Test
+    void test_equivalentConditionsHaveEqualIntervals() throws InvalidDataQualityRulesetException {
+        assertEquals(intervals("= 1"), intervals("in [ 1, 1.0 ]"));
+        assertEquals(intervals("!= 1"), intervals("not in [ 1 ]"));
+        assertEquals(intervals("between 5 and 1"), intervals("between 3 and 3"));
+        assertEquals(intervals("= 1").hashCode(), intervals("in [ 1 ]").hashCode());
+        assertNotEquals(intervals("> 1"), intervals(">= 1"));
+    }
+
+    @Test
+    void test_intersect() throws InvalidDataQualityRulesetException {
+        assertEquals("[1, 5)", intervals(">= 1").intersect(intervals("< 5")).toString());
+        assertEquals("{5}", intervals(">= 5").intersect(intervals("<= 5")).toString());
+        assertEquals("{}", intervals("> 5").intersect(intervals("<= 5")).toString());
+        assertEquals("(0.5, 1) U (1, 2]", intervals("!= 1").intersect(intervals("between 0.5 and 3"))
+            .intersect(intervals("<= 2")).toString());
+        assertEquals("[-inf, 1) U (2, +inf]", intervals("!= 1").intersect(intervals("not between 1 and 2"))
+            .intersect(intervals("not in [ 2 ]")).toString());
+    }
+
+    @Test
+    void test_containsAllAndIntersects() throws InvalidDataQualityRulesetException {
+        assertTrue(intervals("> 0.9").containsAll(intervals("> 0.95")));
+        assertFalse(intervals("> 0.95").containsAll(intervals("> 0.9")));
+        assertTrue(intervals(">= 1").containsAll(intervals("in [ 1, 2, 3 ]")));
+        assertFalse(intervals("> 1").containsAll(intervals("in [ 1, 2, 3 ]")));
+        assertTrue(intervals("!= 0").containsAll(intervals("not in [ 0, 1 ]")));
+        assertFalse(intervals("> 0").containsAll(intervals("!= 0")));
+        assertTrue(intervals("> 0").intersects(intervals("< 1")));
+        assertFalse(intervals("< 1").intersects(intervals("between 1 and 2")));
+        assertFalse(intervals("= 0").intersects(intervals("!= 0")));
+    }
+
+    @Test
+    void test_dynamicOperandsHaveNoIntervals() throws InvalidDataQualityRulesetException {
+        assertFalse(NumberIntervals.of(condition("> avg(last(3))")).isPresent());
+        assertFalse(NumberIntervals.of(condition("between 1 and max(last(2))")).isPresent());
+    }
+
+    private static NumberIntervals intervals(String condition) throws InvalidDataQualityRulesetException {
+        return NumberIntervals.of(condition(condition)).get();
+    }
+
+    private static NumberBasedCondition condition(String condition) throws InvalidDataQualityRulesetException {
+        DQRule rule = PARSER.parse("Rules = [ RowCount " + condition + " ]").getRules().get(0);
+        return (NumberBasedCondition) rule.getCondition();
+    }
+
+    private static boolean evaluate(String condition, double value) throws InvalidDataQualityRulesetException {
+        return condition(condition).evaluate(value, null, testEvaluator);
+    }
+
+    private static boolean contains(NumberIntervals intervals, double value) {
+        if (Double.isNaN(value)) {
+            return intervals.containsNaN();
+        }
+        return IntStream.range(0, intervals.size()).anyMatch(i ->
+            (value > intervals.lower(i) || value == intervals.lower(i) && intervals.isLowerClosed(i))
+                && (value < intervals.upper(i) || value == intervals.upper(i) && intervals.isUpperClosed(i)));
+    }
+}
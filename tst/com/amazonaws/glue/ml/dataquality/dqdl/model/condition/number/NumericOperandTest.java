@@ -16,10 +16,12 @@ import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
 import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -133,4 +135,44 @@ public class NumericOperandTest {
         assertTrue(condition.evaluate(16.0, dqRule, testEvaluator));
         assertFalse(condition.evaluate(8.0, dqRule, testEvaluator));
     }
+
+    @Test
+    public void test_constantExpressionsAreFoldedWhenParsed() throws InvalidDataQualityRulesetException {
+        String rule = "RowCount between (10 + 5) and 20 * (1 + 1)";
+        DQRuleset ruleset = parser.parse(String.format("Rules = [ %s ]", rule));
+        NumberBasedCondition condition = (NumberBasedCondition) ruleset.getRules().get(0).getCondition();
+
+        ConstantExpressionOperand lower = (ConstantExpressionOperand) condition.getOperands().get(0);
+        ConstantExpressionOperand upper = (ConstantExpressionOperand) condition.getOperands().get(1);
+        assertEquals("15.0", lower.getOperand());
+        assertEquals("40.0", upper.getOperand());
+        assertInstanceOf(ConstantExpressionOperand.class, upper.getExpression().getOperand2());
+
+        assertEquals(rule, ruleset.getRules().get(0).toString());
+        assertEquals("between (10 + 5) and 20 * (1 + 1)", condition.getFormattedCondition());
+        assertEquals(ruleset, parser.parse(ruleset.toString()));
+        assertEquals("(15, 40)", condition.getIntervals().get().toString());
+    }
+
+    @Test
+    public void test_onlyFunctionCallsAreEvaluated() throws InvalidDataQualityRulesetException {
+        String rule = "RowCount = avg(2,4) * (100 * 0.95) + 1";
+        DQRuleset ruleset = parser.parse(String.format("Rules = [ %s ]", rule));
+        DQRule dqRule = ruleset.getRules().get(0);
+        NumberBasedCondition condition = (NumberBasedCondition) dqRule.getCondition();
+
+        List<NumericOperand> evaluated = new ArrayList<>();
+        OperandEvaluator recordingEvaluator = new OperandEvaluator() {
+            @Override
+            public Double evaluate(DQRule rule, NumericOperand operand) {
+                evaluated.add(operand);
+                return testEvaluator.evaluate(rule, operand);
+            }
+        };
+
+        assertTrue(condition.evaluate(286.0, dqRule, recordingEvaluator));
+        assertEquals(1, evaluated.size());
+        assertInstanceOf(FunctionCallOperand.class, evaluated.get(0));
+        assertEquals(rule, dqRule.toString());
+    }
 }
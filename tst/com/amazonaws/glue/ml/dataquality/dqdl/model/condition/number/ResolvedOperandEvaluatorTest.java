@@ -0,0 +1,141 @@
+/*
+ * ResolvedOperandEvaluatorTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static com.amazonaws.glue.ml.dataquality.dqdl.model.condition.number.NumericOperandTest.testEvaluator;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResolvedOperandEvaluatorTest {
+    private final DQDLParser parser = new DQDLParser();
+
+    @Test
+    void test_functionCallsAreResolvedInOneBatch() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ " +
+            "RowCount between avg(last(10)) * 0.8 and avg(last(10)) * 1.2, " +
+            "(Completeness \"a\" > max(last(3))) or (IsComplete \"b\"), " +
+            "ColumnValues \"c\" > 0 with threshold >= min(last(5)), " +
+            "Uniqueness \"d\" > 0.5 ]");
+        InMemoryAsyncOperandEvaluator backend = new InMemoryAsyncOperandEvaluator()
+            .withValue("RowCount", "avg(last(10))", 100.0)
+            .withValue("Completeness", "max(last(3))", 0.9)
+            .withValue("ColumnValues", "min(last(5))", 0.5);
+
+        ResolvedOperandEvaluator evaluator = ResolvedOperandEvaluator.resolve(ruleset, backend).join();
+
+        assertEquals(1, backend.getBatches().size());
+        assertEquals(Arrays.asList("avg(last(10))", "max(last(3))", "min(last(5))"),
+            backend.getBatches().get(0).stream()
+                .map(functionCall -> functionCall.getFunctionCall().toString())
+                .collect(Collectors.toList()));
+
+        DQRule rowCount = ruleset.getRules().get(0);
+        assertTrue(evaluate(rowCount, 110.0, evaluator));
+        assertFalse(evaluate(rowCount, 130.0, evaluator));
+        DQRule completeness = ruleset.getRules().get(1).getNestedRules().get(0);
+        assertTrue(evaluate(completeness, 0.95, evaluator));
+        DQRule columnValues = ruleset.getRules().get(2);
+        NumberBasedCondition threshold = (NumberBasedCondition) columnValues.getThresholdCondition();
+        assertTrue(threshold.evaluate(0.5, columnValues, evaluator));
+    }
+
+    @Test
+    void test_concurrentEvaluatorMatchesSynchronousEvaluator() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ " +
+            "RowCount > avg(2, 4) + 1, ColumnCount in [ multiply(2, 3), avg(10, 20), 5 ], " +
+            "Completeness \"a\" between avg(0.5, 0.7) and multiply(avg(1, 1), 1) ]");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ResolvedOperandEvaluator evaluator = ResolvedOperandEvaluator.resolve(ruleset,
+                AsyncOperandEvaluator.concurrent(testEvaluator, executor)).join();
+
+            for (DQRule rule : ruleset.getRules()) {
+                for (double metric : new double[] {0, 0.6, 1, 4, 5, 6, 15}) {
+                    assertEquals(evaluate(rule, metric, testEvaluator), evaluate(rule, metric, evaluator),
+                        String.format("%s %s", metric, rule));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void test_failuresAndUnresolvedFunctionCalls() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ RowCount > avg(last(10)) ]");
+
+        CompletionException failure = assertThrows(CompletionException.class,
+            () -> ResolvedOperandEvaluator.resolve(ruleset, new InMemoryAsyncOperandEvaluator()).join());
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+
+        AsyncOperandEvaluator tooFewValues = new AsyncOperandEvaluator() {
+            @Override
+            public CompletableFuture<List<Double>> evaluate(List<RuleFunctionCall> functionCalls) {
+                return CompletableFuture.completedFuture(Collections.emptyList());
+            }
+        };
+        failure = assertThrows(CompletionException.class,
+            () -> ResolvedOperandEvaluator.resolve(ruleset, tooFewValues).join());
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+
+        ResolvedOperandEvaluator evaluator = ResolvedOperandEvaluator.resolve(
+            parser.parse("Rules = [ RowCount > 1 ]"), tooFewValues).join();
+        DQRule rule = ruleset.getRules().get(0);
+        assertThrows(IllegalArgumentException.class, () -> evaluate(rule, 1.0, evaluator));
+    }
+
+    @Test
+    void test_arithmeticIsComputedAsCompiledConditionsComputeIt() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parser.parse("Rules = [ " +
+            "RowCount > avg(last(10)) * 2 + 1, ColumnCount > avg(last(10)) * 2 ]");
+        InMemoryAsyncOperandEvaluator backend = new InMemoryAsyncOperandEvaluator()
+            .withValue("RowCount", "avg(last(10))", 100.0)
+            .withValue("ColumnCount", "avg(last(10))", null);
+        ResolvedOperandEvaluator evaluator = ResolvedOperandEvaluator.resolve(ruleset, backend).join();
+
+        DQRule rowCount = ruleset.getRules().get(0);
+        assertEquals(201.0, evaluator.evaluate(rowCount, operand(rowCount)));
+        assertTrue(evaluate(rowCount, 202.0, evaluator));
+        DQRule columnCount = ruleset.getRules().get(1);
+        assertNull(evaluator.evaluate(columnCount, operand(columnCount)));
+
+        BinaryExpressionOperand modulo = new BinaryExpressionOperand("5 % 2", "%",
+            new AtomicNumberOperand("5"), new AtomicNumberOperand("2"), false);
+        assertThrows(IllegalArgumentException.class, () -> evaluator.evaluate(rowCount, modulo));
+    }
+
+    private static NumericOperand operand(DQRule rule) {
+        return ((NumberBasedCondition) rule.getCondition()).getOperands().get(0);
+    }
+
+    private static boolean evaluate(DQRule rule, double metric, OperandEvaluator evaluator) {
+        return ((NumberBasedCondition) rule.getCondition()).evaluate(metric, rule, evaluator);
+    }
+}
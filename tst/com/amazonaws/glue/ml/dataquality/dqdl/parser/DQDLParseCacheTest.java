@@ -0,0 +1,174 @@
+/*
+ * DQDLParseCacheTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.parser;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleTypeRegistry;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateBasedCondition;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.condition.date.DateExpression;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DQDLParseCacheTest {
+    private static final String RULESET_A = "Rules = [ IsComplete \"colA\" labels=[\"team\"=\"a\"] ]";
+    private static final String RULESET_B = "Rules = [ RowCount > 10 ]";
+    private static final String RULESET_C = "Rules = [ IsUnique \"colC\" ]";
+
+    private DQDLParser parserWithCache(DQDLParseCache cache) {
+        return new DQDLParser(DQDLParserOptions.builder().parseCache(cache).build());
+    }
+
+    @Test
+    void test_cacheHitReturnsSameRuleset() throws InvalidDataQualityRulesetException {
+        DQDLParseCache cache = new DQDLParseCache(10, Long.MAX_VALUE);
+        DQDLParser parser = parserWithCache(cache);
+
+        DQRuleset first = parser.parse(RULESET_A);
+        DQRuleset second = parserWithCache(cache).parse(new String(RULESET_A));
+
+        assertSame(first, second);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(1, cache.size());
+        assertEquals(new DQDLParser().parse(RULESET_A).toString(), first.toString());
+    }
+
+    @Test
+    void test_cachedRulesetIsParsedAgainAfterRuleTypesChange() throws InvalidDataQualityRulesetException {
+        DQDLParseCache cache = new DQDLParseCache(10, Long.MAX_VALUE);
+        DQDLParser parser = parserWithCache(cache);
+
+        DQRuleset first = parser.parse(RULESET_A);
+        DQRuleTypeRegistry.getDefault().replaceRegisteredRuleTypes(Collections.emptyList());
+        DQRuleset second = parser.parse(RULESET_A);
+
+        assertNotSame(first, second);
+        assertEquals(2, cache.getMissCount());
+        assertSame(second, parser.parse(RULESET_A));
+    }
+
+    @Test
+    void test_cachedRulesetIsUnmodifiable() throws InvalidDataQualityRulesetException {
+        DQRuleset ruleset = parserWithCache(new DQDLParseCache(10, Long.MAX_VALUE)).parse(RULESET_A);
+        DQRule rule = ruleset.getRules().get(0);
+
+        assertThrows(UnsupportedOperationException.class, () -> ruleset.getRules().add(rule));
+        assertThrows(UnsupportedOperationException.class, () -> ruleset.getMetadata().put("Version", "2.0"));
+        assertThrows(UnsupportedOperationException.class, () -> rule.getParameters().clear());
+        assertThrows(UnsupportedOperationException.class, () -> rule.setLabels(Collections.emptyMap()));
+        assertEquals("a", rule.getLabels().get("team"));
+    }
+
+    @Test
+    void test_leastRecentlyUsedEntryIsEvictedByCount() throws InvalidDataQualityRulesetException {
+        DQDLParseCache cache = new DQDLParseCache(2, Long.MAX_VALUE);
+        DQDLParser parser = parserWithCache(cache);
+
+        DQRuleset a = parser.parse(RULESET_A);
+        parser.parse(RULESET_B);
+        assertSame(a, parser.parse(RULESET_A));
+        parser.parse(RULESET_C);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(a, parser.parse(RULESET_A));
+        assertEquals(2, cache.getHitCount());
+        parser.parse(RULESET_B);
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    void test_entriesAreEvictedByRetainedBytes() throws InvalidDataQualityRulesetException {
+        long maxRetainedBytes = DQDLParseCache.estimateRetainedBytes(RULESET_A)
+            + DQDLParseCache.estimateRetainedBytes(RULESET_B);
+        DQDLParseCache cache = new DQDLParseCache(10, maxRetainedBytes);
+        DQDLParser parser = parserWithCache(cache);
+
+        parser.parse(RULESET_A);
+        parser.parse(RULESET_B);
+        assertEquals(maxRetainedBytes, cache.getRetainedBytes());
+
+        parser.parse(RULESET_C);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(DQDLParseCache.estimateRetainedBytes(RULESET_B) + DQDLParseCache.estimateRetainedBytes(RULESET_C),
+            cache.getRetainedBytes());
+    }
+
+    @Test
+    void test_parsersWithDifferentOptionsAreNotServedEachOthersRulesets()
+        throws InvalidDataQualityRulesetException {
+        String chain = "Rules = [ (IsComplete \"a\") and (IsComplete \"b\") and (IsComplete \"c\") ]";
+        DQDLParseCache cache = new DQDLParseCache(10, Long.MAX_VALUE);
+        DQDLParser flattening = new DQDLParser(
+            DQDLParserOptions.builder().parseCache(cache).flattenCompositeRules(true).build());
+        DQDLParser sharing = new DQDLParser(
+            DQDLParserOptions.builder().parseCache(cache).shareIdenticalRules(true).build());
+        DQDLParser parser = parserWithCache(cache);
+
+        assertEquals(3, flattening.parse(chain).getRules().get(0).getNestedRules().size());
+        assertEquals(2, parser.parse(chain).getRules().get(0).getNestedRules().size());
+        assertEquals(2, sharing.parse(chain).getRules().get(0).getNestedRules().size());
+        assertEquals(3, cache.size());
+        assertEquals(0, cache.getHitCount());
+
+        assertSame(parser.parse(chain), parserWithCache(cache).parse(chain));
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    void test_invalidRulesetsAreNotCached() {
+        DQDLParseCache cache = new DQDLParseCache(10, Long.MAX_VALUE);
+        DQDLParser parser = parserWithCache(cache);
+
+        assertThrows(InvalidDataQualityRulesetException.class, () -> parser.parse("Rules = [ ]"));
+        assertThrows(InvalidDataQualityRulesetException.class, () -> parser.parse("Rules = [ ]"));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void test_invalidCacheBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new DQDLParseCache(0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new DQDLParseCache(10, 0));
+    }
+
+    @Test
+    void test_cachedTimeOfDayIsEvaluatedAgainstCurrentDate() throws InvalidDataQualityRulesetException {
+        DQDLParser parser = parserWithCache(new DQDLParseCache(10, Long.MAX_VALUE));
+        DQRuleset ruleset = parser.parse(
+            "Rules = [ FileFreshness \"S3://PATH\" > \"9:30 AM\" with timeZone = \"America/New_York\" ]");
+
+        DateExpression expression =
+            ((DateBasedCondition) ruleset.getRules().get(0).getCondition()).getOperands().get(0);
+        ZoneId zoneId = ZoneId.of("America/New_York");
+        LocalDateTime expected = ZonedDateTime.of(LocalDate.now(zoneId), LocalTime.of(9, 30), zoneId)
+            .withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+
+        assertEquals(expected, expression.getEvaluatedExpression());
+        assertEquals("\"9:30 AM\"", expression.getFormattedExpression());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * DQDLParserListenerBenchmark.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.parser;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.DataQualityDefinitionLanguageLexer;
+import com.amazonaws.glue.ml.dataquality.dqdl.DataQualityDefinitionLanguageParser;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Measures the memory allocated by DQDLParserListener per rule, when walking an already parsed document,
+ * both when building the ruleset and in the check only mode used by DQDLParser.validate.
+ * Lexing and parsing are left out, as they do not depend on the listener.
+ *
+ * Not run as part of the tests. Run it from the test classpath, for example:
+ *
+ *     mvn test-compile
+ *     java -cp target/classes:target/test-classes:<dependencies> \
+ *         com.amazonaws.glue.ml.dataquality.dqdl.parser.DQDLParserListenerBenchmark
+ */
+public final class DQDLParserListenerBenchmark {
+    private static final int RULE_REPETITIONS = 50;
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 2_000;
+
+    private static final List<String> RULES = Arrays.asList(
+        "IsComplete \"colA\"",
+        "ColumnValues \"colB\" in [ \"a\", \"b\\\"c\", NULL, EMPTY ]",
+        "ColumnValues \"colC\" between (avg(last(10)) - 3) and ((avg(last(10)) + 3) * 2)",
+        "ColumnValues \"colD\" > 10 where \"colA > 5\" with threshold >= 0.9",
+        "ColumnLength \"colE\" <= 20 labels=[\"team\"=\"dq\", \"severity\"=\"high\"]",
+        "ColumnValues \"colF\" <= (now() - 3 days)",
+        "CustomSql \"select count(*) from primary\" between 10 and 20",
+        "ColumnValues \"colG\" matches \"[a-z]+\" with threshold > 0.5",
+        "(IsComplete \"colH\") or (IsUnique \"colH\")",
+        "FileSize > 10 MB"
+    );
+
+    private DQDLParserListenerBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        StringBuilder sb = new StringBuilder("DefaultLabels = [\"owner\"=\"benchmark\"]\nRules = [\n");
+        for (int i = 0; i < RULE_REPETITIONS; i++) {
+            for (String rule : RULES) {
+                sb.append("    ").append(rule).append(",\n");
+            }
+        }
+        sb.setLength(sb.length() - 2);
+        String dqdl = sb.append("\n]").toString();
+        int ruleCount = RULE_REPETITIONS * RULES.size();
+
+        DQDLErrorListener errorListener = new DQDLErrorListener();
+        DataQualityDefinitionLanguageLexer lexer = new DataQualityDefinitionLanguageLexer(CharStreams.fromString(dqdl));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errorListener);
+        DataQualityDefinitionLanguageParser parser =
+            new DataQualityDefinitionLanguageParser(new CommonTokenStream(lexer));
+        parser.removeErrorListeners();
+        parser.addErrorListener(errorListener);
+        DataQualityDefinitionLanguageParser.DocumentContext document = parser.document();
+
+        System.out.printf("Rules per document:   %d%n", ruleCount);
+        for (boolean checkOnly : new boolean[] {false, true}) {
+            walk(document, errorListener, checkOnly, WARMUP_ITERATIONS);
+
+            com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long threadId = Thread.currentThread().getId();
+            long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            walk(document, errorListener, checkOnly, MEASURED_ITERATIONS);
+            long elapsed = System.nanoTime() - start;
+            long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            long rulesWalked = (long) ruleCount * MEASURED_ITERATIONS;
+            System.out.println(checkOnly ? "Check only:" : "Parse:");
+            System.out.printf("  Bytes per rule:       %d%n", allocated / rulesWalked);
+            System.out.printf("  Nanoseconds per rule: %d%n", elapsed / rulesWalked);
+        }
+    }
+
+    private static void walk(DataQualityDefinitionLanguageParser.DocumentContext document,
+                             DQDLErrorListener errorListener,
+                             boolean checkOnly,
+                             int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            DQDLParserListener listener = new DQDLParserListener(errorListener, DQDLParserOptions.DEFAULT, checkOnly);
+            ParseTreeWalker.DEFAULT.walk(listener, document);
+            if (!listener.getDiagnostics(document.getStart()).isEmpty()) {
+                throw new IllegalStateException(listener.getDiagnostics(document.getStart()).toString());
+            }
+        }
+    }
+}
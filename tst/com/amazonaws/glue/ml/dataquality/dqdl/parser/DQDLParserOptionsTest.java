@@ -0,0 +1,79 @@
+/*
+ * DQDLParserOptionsTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.parser;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DQDLParserOptionsTest {
+    private final DQDLParser llParser = new DQDLParser();
+    private final DQDLParser sllParser = new DQDLParser(DQDLParserOptions.builder()
+        .predictionMode(DQDLParserOptions.PredictionMode.SLL_THEN_LL)
+        .build());
+
+    @Test
+    void test_defaultOptionsUseLLPrediction() {
+        assertSame(DQDLParserOptions.DEFAULT, llParser.getOptions());
+        assertEquals(DQDLParserOptions.PredictionMode.LL, DQDLParserOptions.DEFAULT.getPredictionMode());
+    }
+
+    @Test
+    void test_sllThenLLParsesValidRuleset() throws InvalidDataQualityRulesetException {
+        String dqdl = "Metadata = { \"Version\": \"1.0\" } " +
+            "DataSources = { \"Primary\": \"orders\", \"AdditionalDataSources\": [ \"customers\" ] } " +
+            "Rules = [ " +
+            "RowCount between (0.9 * average(last(10))) and 1.1 * average(last(10)), " +
+            "(IsComplete \"id\") and ((ColumnValues \"qty\" > 0) or (IsUnique \"id\")), " +
+            "ColumnValues \"load_dt\" > (now() - 1 days) with threshold > 0.5, " +
+            "ReferentialIntegrity \"id\" \"customers.id\" = 1.0 " +
+            "] " +
+            "Analyzers = [ Completeness \"id\" ]";
+
+        DQRuleset expected = llParser.parse(dqdl);
+        DQRuleset actual = sllParser.parse(dqdl);
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource({
+        "com.amazonaws.glue.ml.dataquality.dqdl.parser.InvalidDQRulesetTest#provideInvalidRulesets",
+        "com.amazonaws.glue.ml.dataquality.dqdl.parser.InvalidDQRulesetTest#provideInvalidRulesetsWithAnalyzers"
+    })
+    void test_sllThenLLReportsSameErrorsAsLL(String ruleset) {
+        InvalidDataQualityRulesetException expected =
+            assertThrows(InvalidDataQualityRulesetException.class, () -> llParser.parse(ruleset));
+        InvalidDataQualityRulesetException actual =
+            assertThrows(InvalidDataQualityRulesetException.class, () -> sllParser.parse(ruleset));
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleTest#provideRawRules")
+    void test_shareIdenticalRulesParsesSameRuleset(String rule) throws InvalidDataQualityRulesetException {
+        DQDLParser sharingParser = new DQDLParser(DQDLParserOptions.builder().shareIdenticalRules(true).build());
+        String dqdl = String.format("Rules = [ %s, %s ]", rule, rule);
+
+        DQRuleset expected = llParser.parse(dqdl);
+        DQRuleset actual = sharingParser.parse(dqdl);
+
+        assertEquals(expected, actual);
+        assertEquals(expected.toString(), actual.toString());
+        assertSame(actual.getRules().get(0), actual.getRules().get(1));
+    }
+}
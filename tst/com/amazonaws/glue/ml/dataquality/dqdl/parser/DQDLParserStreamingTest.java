@@ -0,0 +1,166 @@
+/*
+ * DQDLParserStreamingTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.parser;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQAnalyzer;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DQDLParserStreamingTest {
+    private final DQDLParser parser = new DQDLParser();
+
+    private static class CollectingHandler implements DQDLStreamHandler {
+        private final List<DQRule> rules = new ArrayList<>();
+        private final List<DQAnalyzer> analyzers = new ArrayList<>();
+
+        @Override
+        public void onRule(DQRule rule) {
+            rules.add(rule);
+        }
+
+        @Override
+        public void onAnalyzer(DQAnalyzer analyzer) {
+            analyzers.add(analyzer);
+        }
+    }
+
+    @Test
+    void test_streamingMatchesParse() throws InvalidDataQualityRulesetException, IOException {
+        String dqdl = "Metadata = { \"Version\": \"1.0\" } " +
+            "DataSources = { \"Primary\": \"orders\", \"AdditionalDataSources\": [ \"customers\", \"items\" ] } " +
+            "allowed = [ \"a\", \"b\" ] " +
+            "DefaultLabels = [ \"team\" = \"dq\" ] " +
+            "Rules = [ " +
+            "IsComplete \"id\" labels = [ \"owner\" = \"x\" ], " +
+            "(ColumnValues \"status\" in $allowed) or (IsUnique \"id\") and (RowCount > 10), " +
+            "((IsComplete \"a\") and (IsComplete \"b\")) labels = [ \"group\" = \"ab\" ], " +
+            "ColumnValues \"load_dt\" > \"9:30 AM\", " +
+            "RowCount between (0.9 * average(last(10))) and 1.1 * average(last(10)) " +
+            "] " +
+            "Analyzers = [ Completeness \"id\", RowCount ]";
+
+        DQRuleset expected = parser.parse(dqdl);
+        CollectingHandler handler = new CollectingHandler();
+        DQRuleset actual = parser.parse(new StringReader(dqdl), handler);
+
+        assertEquals(expected.getMetadata(), actual.getMetadata());
+        assertEquals(expected.getPrimarySourceName(), actual.getPrimarySourceName());
+        assertEquals(expected.getAdditionalDataSourcesNames(), actual.getAdditionalDataSourcesNames());
+        assertEquals(expected.getDefaultLabels(), actual.getDefaultLabels());
+        assertTrue(actual.getRules().isEmpty());
+        assertTrue(actual.getAnalyzers().isEmpty());
+
+        assertEquals(expected.getRules().size(), handler.rules.size());
+        for (int i = 0; i < handler.rules.size(); i++) {
+            assertEquals(expected.getRules().get(i).toString(), handler.rules.get(i).toString());
+            assertEquals(expected.getRules().get(i).getLabels(), handler.rules.get(i).getLabels());
+        }
+        assertEquals(expected.getAnalyzers().toString(), handler.analyzers.toString());
+    }
+
+    @Test
+    void test_streamingFromInputStream() throws InvalidDataQualityRulesetException, IOException {
+        String dqdl = "Rules = [ ColumnValues \"name\" = \"Zo\u00eb\" ]";
+        CollectingHandler handler = new CollectingHandler();
+        parser.parse(new ByteArrayInputStream(dqdl.getBytes(StandardCharsets.UTF_8)), handler);
+
+        assertEquals(1, handler.rules.size());
+        assertEquals(parser.parse(dqdl).getRules().get(0).toString(), handler.rules.get(0).toString());
+    }
+
+    @Test
+    void test_rulesAreDeliveredBeforeDocumentIsRead() throws InvalidDataQualityRulesetException, IOException {
+        StringBuilder sb = new StringBuilder("Rules = [ ");
+        int ruleCount = 20000;
+        for (int i = 0; i < ruleCount; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(String.format("(IsComplete \"col_%d\") and (ColumnLength \"col_%d\" > %d)", i, i, i));
+        }
+        sb.append(" ]");
+        String dqdl = sb.toString();
+
+        CountingReader reader = new CountingReader(new StringReader(dqdl));
+        List<Long> charsReadAtRule = new ArrayList<>();
+        parser.parse(reader, rule -> charsReadAtRule.add(reader.charsRead));
+
+        assertEquals(ruleCount, charsReadAtRule.size());
+        assertTrue(charsReadAtRule.get(0) < dqdl.length() / 10);
+        assertTrue(charsReadAtRule.get(ruleCount / 2) < dqdl.length());
+    }
+
+    @ParameterizedTest
+    @MethodSource({
+        "com.amazonaws.glue.ml.dataquality.dqdl.parser.InvalidDQRulesetTest#provideInvalidRulesets",
+        "com.amazonaws.glue.ml.dataquality.dqdl.parser.InvalidDQRulesetTest#provideInvalidRulesetsWithAnalyzers"
+    })
+    void test_streamingInvalidRulesetsFail(String ruleset) {
+        assertThrows(InvalidDataQualityRulesetException.class,
+            () -> parser.parse(new StringReader(ruleset), new CollectingHandler()));
+    }
+
+    @Test
+    void test_readerFailureIsPropagated() {
+        Reader reader = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("connection reset");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        IOException e = assertThrows(IOException.class, () -> parser.parse(reader, new CollectingHandler()));
+        assertEquals("connection reset", e.getMessage());
+    }
+
+    private static class CountingReader extends Reader {
+        private final Reader delegate;
+        private long charsRead = 0;
+
+        CountingReader(Reader delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            int read = delegate.read(cbuf, off, len);
+            if (read > 0) {
+                charsRead += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * DQDLParserTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.parser;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRule;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleLogicalOperator;
+import com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleset;
+import com.amazonaws.glue.ml.dataquality.dqdl.util.Either;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DQDLParserTest {
+    private final DQDLParser parser = new DQDLParser();
+    private final DQDLParser flatteningParser =
+        new DQDLParser(DQDLParserOptions.builder().flattenCompositeRules(true).build());
+
+    @Test
+    void test_parseAllReturnsResultsInInputOrder() throws InvalidDataQualityRulesetException {
+        List<String> dqdls = Arrays.asList(
+            "Rules = [ IsComplete \"colA\" ]",
+            "Rules = [ ]",
+            "Rules = [ RowCount between 10 and 20, ColumnValues \"colB\" in [ \"a\", \"b\" ] ]",
+            "Rules = [ IsComplete \"colA\" > 0.5 ]"
+        );
+
+        List<Either<String, DQRuleset>> results = parser.parseAll(dqdls);
+
+        assertEquals(4, results.size());
+        assertEquals(parser.parse(dqdls.get(0)).toString(), results.get(0).getRight().toString());
+        assertTrue(results.get(1).isLeft());
+        assertEquals(errorMessage(dqdls.get(1)), results.get(1).getLeft());
+        assertEquals(parser.parse(dqdls.get(2)).toString(), results.get(2).getRight().toString());
+        assertEquals(errorMessage(dqdls.get(3)), results.get(3).getLeft());
+    }
+
+    @Test
+    void test_parseAllOnExecutorMatchesSequentialParsing() {
+        List<String> dqdls = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            dqdls.add(String.format(
+                "Rules = [ RowCount > %d, (IsComplete \"col%d\") or (ColumnLength \"col%d\" <= %d), " +
+                "ColumnValues \"dt\" > (now() - %d days) ]", i, i, i, i, i % 30 + 1));
+            if (i % 50 == 0) {
+                dqdls.add("Rules = [ RowCount > " + i);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Either<String, DQRuleset>> results = parser.parseAll(dqdls, executor);
+            assertEquals(dqdls.size(), results.size());
+            for (int i = 0; i < dqdls.size(); i++) {
+                Either<String, DQRuleset> result = results.get(i);
+                if (result.isRight()) {
+                    assertEquals(parseToString(dqdls.get(i)), result.getRight().toString());
+                } else {
+                    assertEquals(errorMessage(dqdls.get(i)), result.getLeft());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void test_parseAllWithNoDocuments() {
+        assertEquals(Collections.emptyList(), parser.parseAll(Collections.emptyList()));
+    }
+
+    @Test
+    void test_parseAllPropagatesUnexpectedExceptions() {
+        assertThrows(NullPointerException.class, () -> parser.parseAll(Collections.singletonList(null), Runnable::run));
+    }
+
+    @Test
+    void test_parseLongCompositeChain() throws InvalidDataQualityRulesetException {
+        String dqdl = "Rules = [ " + compositeChain(20000, " and ") + " ]";
+        DQRuleset ruleset = parser.parse(dqdl);
+        DQRuleset flattened = flatteningParser.parse(dqdl);
+
+        assertEquals(ruleset.toString(), flattened.toString());
+        assertEquals(ruleset.toString(), parser.parse(ruleset.toString()).toString());
+        assertEquals(ruleset, parser.parse(dqdl));
+        assertEquals(ruleset.hashCode(), parser.parse(dqdl).hashCode());
+        assertEquals(2, ruleset.getRules().get(0).getNestedRules().size());
+        assertEquals(20000, ruleset.getRules().get(0).getNestedRulesAsFlattenedList().size());
+        assertEquals(20000, flattened.getRules().get(0).getNestedRules().size());
+        assertTrue(parser.validate(dqdl).isEmpty());
+    }
+
+    @Test
+    void test_flattenCompositeRulesKeepsOperatorPrecedenceAndParentheses() throws InvalidDataQualityRulesetException {
+        String dqdl = "Rules = [ (IsComplete \"a\") and (IsComplete \"b\") and (IsComplete \"c\") or " +
+            "((IsComplete \"d\") or (IsComplete \"e\")) labels = [ \"team\" = \"dq\" ] or (IsComplete \"f\") ]";
+        DQRule rule = flatteningParser.parse(dqdl).getRules().get(0);
+
+        assertEquals(DQRuleLogicalOperator.OR, rule.getOperator());
+        assertEquals(3, rule.getNestedRules().size());
+        assertEquals("(IsComplete \"a\") AND (IsComplete \"b\") AND (IsComplete \"c\")",
+            rule.getNestedRules().get(0).toString());
+        assertEquals(3, rule.getNestedRules().get(0).getNestedRules().size());
+        assertEquals(Collections.singletonMap("team", "dq"), rule.getNestedRules().get(1).getLabels());
+        assertEquals(2, rule.getNestedRules().get(1).getNestedRules().size());
+        assertEquals("IsComplete \"f\"", rule.getNestedRules().get(2).toString());
+    }
+
+    @Test
+    void test_parseLongCompositeChainWithMixedOperators() throws InvalidDataQualityRulesetException {
+        StringBuilder rules = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            rules.append(i > 0 ? " or " : "").append(compositeChain(100, " and "));
+        }
+        String dqdl = "Rules = [ " + rules + " ]";
+
+        DQRule rule = flatteningParser.parse(dqdl).getRules().get(0);
+        assertEquals(200, rule.getNestedRules().size());
+        assertEquals(100, rule.getNestedRules().get(199).getNestedRules().size());
+        assertEquals(20000, parser.parse(dqdl).getRules().get(0).getNestedRulesAsFlattenedList().size());
+    }
+
+    private static String compositeChain(int length, String operator) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(i > 0 ? operator : "").append("(IsComplete \"col").append(i).append("\")");
+        }
+        return sb.toString();
+    }
+
+    private String parseToString(String dqdl) {
+        try {
+            return parser.parse(dqdl).toString();
+        } catch (InvalidDataQualityRulesetException e) {
+            return e.getMessage();
+        }
+    }
+
+    private String errorMessage(String dqdl) {
+        return assertThrows(InvalidDataQualityRulesetException.class, () -> parser.parse(dqdl)).getMessage();
+    }
+}
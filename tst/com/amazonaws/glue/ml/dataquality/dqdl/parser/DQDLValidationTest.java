@@ -0,0 +1,182 @@
+/*
+ * DQDLValidationTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.parser;
+
+import com.amazonaws.glue.ml.dataquality.dqdl.DataQualityDefinitionLanguageLexer;
+import com.amazonaws.glue.ml.dataquality.dqdl.DataQualityDefinitionLanguageParser;
+import com.amazonaws.glue.ml.dataquality.dqdl.exception.InvalidDataQualityRulesetException;
+import com.sun.management.ThreadMXBean;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class DQDLValidationTest {
+    private final DQDLParser parser = new DQDLParser();
+
+    @ParameterizedTest
+    @MethodSource({
+        "com.amazonaws.glue.ml.dataquality.dqdl.parser.InvalidDQRulesetTest#provideInvalidRulesets",
+        "com.amazonaws.glue.ml.dataquality.dqdl.parser.InvalidDQRulesetTest#provideInvalidRulesetsWithAnalyzers"
+    })
+    void test_validateReportsSameErrorsAsParse(String ruleset) {
+        List<DQDLDiagnostic> diagnostics = parser.validate(ruleset);
+        assertFalse(diagnostics.isEmpty());
+
+        try {
+            parser.parse(ruleset);
+        } catch (InvalidDataQualityRulesetException e) {
+            String messages = diagnostics.stream()
+                .map(DQDLDiagnostic::getFormattedMessage)
+                .collect(Collectors.joining(", "));
+            assertEquals(e.getMessage(), "Parsing Error: " + messages);
+        } catch (RuntimeException e) {
+            assertTrue(diagnostics.stream().anyMatch(d -> d.getMessage().equals("Invalid DQDL.")));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.amazonaws.glue.ml.dataquality.dqdl.model.DQRuleTest#provideRawRules")
+    void test_validateAcceptsValidRules(String rule) {
+        assertTrue(parser.validate(String.format("Rules = [ %s ]", rule)).isEmpty());
+    }
+
+    @Test
+    void test_validateReportsSemanticErrorPosition() {
+        String dqdl = "Rules = [\n" +
+            "    IsComplete \"colA\",\n" +
+            "    ColumnValues \"colB\" > 10 where \"\"\n" +
+            "]";
+        List<DQDLDiagnostic> diagnostics = parser.validate(dqdl);
+
+        assertEquals(1, diagnostics.size());
+        DQDLDiagnostic diagnostic = diagnostics.get(0);
+        assertEquals(DQDLDiagnostic.Kind.SEMANTIC, diagnostic.getKind());
+        assertEquals(3, diagnostic.getLine());
+        assertEquals(29, diagnostic.getColumn());
+        assertEquals("Empty where condition provided for rule type: ColumnValues", diagnostic.getMessage());
+    }
+
+    @Test
+    void test_validatePointsAtTheClauseOfTheError() {
+        assertEquals(Collections.singletonList("1:52 Only one threshold condition at a time is supported."),
+            positionedMessages("Rules = [ ColumnValues \"a\" > 1 with threshold > 0.1 with threshold > 0.2 ]"));
+        assertEquals(Collections.singletonList("1:53 Empty where condition provided for rule type: ColumnValues"),
+            positionedMessages("Rules = [ (IsComplete \"a\") and (ColumnValues \"b\" > 1 where \"\") ]"));
+        assertEquals(Collections.singletonList("1:19 Error parsing condition for return type: SIZE"),
+            positionedMessages("Rules = [ FileSize > 10.5 ]"));
+        assertEquals(Collections.singletonList(
+            "2:23 Error resolving parameters: Invalid variable type for 'x': expected STRING, but got STRING_ARRAY"),
+            positionedMessages("x = [ \"a\" ]\nRules = [ ColumnValues $x in [ \"b\" ] ]"));
+        assertEquals(Collections.singletonList("2:14 Analyzer Type: IsComplete is not supported"),
+            positionedMessages("Rules = [ IsComplete \"a\" ]\nAnalyzers = [ IsComplete \"a\" ]"));
+    }
+
+    @Test
+    void test_checkOnlyModeAllocatesLessThanParsing() {
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled());
+
+        StringBuilder sb = new StringBuilder("Rules = [ IsComplete \"a\"");
+        for (int i = 0; i < 100; i++) {
+            sb.append(", ColumnValues \"b\" between avg(last(10)) * 0.8 and avg(last(10)) * 1.2")
+                .append(", ColumnValues \"c\" in [ \"x\", \"y\" ] where \"d > 1\" with threshold > 0.9")
+                .append(", (IsUnique \"e\") or (ColumnLength \"e\" <= 20)");
+        }
+        String dqdl = sb.append(" ]").toString();
+        assertTrue(parser.validate(dqdl).isEmpty());
+
+        long parseBytes = walkAllocatedBytes(dqdl, false);
+        long checkBytes = walkAllocatedBytes(dqdl, true);
+        assertTrue(checkBytes * 2 < parseBytes,
+            String.format("check only: %d bytes, parse: %d bytes", checkBytes, parseBytes));
+    }
+
+    private List<String> positionedMessages(String dqdl) {
+        return parser.validate(dqdl).stream()
+            .map(d -> String.format("%d:%d %s", d.getLine(), d.getColumn(), d.getMessage()))
+            .collect(Collectors.toList());
+    }
+
+    private static long walkAllocatedBytes(String dqdl, boolean checkOnly) {
+        DQDLErrorListener errorListener = new DQDLErrorListener();
+        DataQualityDefinitionLanguageLexer lexer = new DataQualityDefinitionLanguageLexer(CharStreams.fromString(dqdl));
+        DataQualityDefinitionLanguageParser.DocumentContext document =
+            new DataQualityDefinitionLanguageParser(new CommonTokenStream(lexer)).document();
+
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocated = 0;
+        // The first walks warm up the code, only the last ones are measured.
+        for (int i = 0; i < 100; i++) {
+            long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+            ParseTreeWalker.DEFAULT.walk(
+                new DQDLParserListener(errorListener, DQDLParserOptions.DEFAULT, checkOnly), document);
+            if (i >= 50) {
+                allocated += threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            }
+        }
+        return allocated;
+    }
+
+    @Test
+    void test_validateReportsSyntaxErrorPosition() {
+        String dqdl = "Rules = [\n    IsComplete \"colA\",\n    RowCount >\n]";
+        List<DQDLDiagnostic> diagnostics = parser.validate(dqdl);
+
+        assertFalse(diagnostics.isEmpty());
+        DQDLDiagnostic diagnostic = diagnostics.get(diagnostics.size() - 1);
+        assertEquals(DQDLDiagnostic.Kind.SYNTAX, diagnostic.getKind());
+        assertEquals(4, diagnostic.getLine());
+        assertEquals(0, diagnostic.getColumn());
+        assertEquals(
+            String.format("line 4:0 %s", diagnostic.getMessage()), diagnostic.getFormattedMessage());
+    }
+
+    @Test
+    void test_validateReportsUndefinedVariable() {
+        String dqdl = "Rules = [ ColumnValues \"colA\" in $allowed ]";
+        List<DQDLDiagnostic> diagnostics = parser.validate(dqdl);
+
+        assertEquals(1, diagnostics.size());
+        assertEquals("Error resolving condition: Variable not found: allowed", diagnostics.get(0).getMessage());
+        InvalidDataQualityRulesetException e =
+            assertThrows(InvalidDataQualityRulesetException.class, () -> parser.parse(dqdl));
+        assertEquals("Parsing Error: " + diagnostics.get(0).getMessage(), e.getMessage());
+    }
+
+    @Test
+    void test_validateAcceptsDocumentWithAllSections() {
+        String dqdl = "Metadata = { \"Version\": \"1.0\" }\n" +
+            "DataSources = { \"Primary\": \"orders\", \"AdditionalDataSources\": [ \"customers\" ] }\n" +
+            "allowed = [ \"a\", \"b\" ]\n" +
+            "DefaultLabels = [ \"team\" = \"dq\" ]\n" +
+            "Rules = [\n" +
+            "    ColumnValues \"colA\" in $allowed labels = [ \"severity\" = \"high\" ],\n" +
+            "    (IsComplete \"colB\") and (ColumnValues \"colB\" > 2 with threshold > 0.9)\n" +
+            "]\n" +
+            "Analyzers = [ Completeness \"colA\" ]";
+        assertTrue(parser.validate(dqdl).isEmpty());
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * StringUtilsTest.java
+ *
+ * Copyright (c) 2024 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * PROPRIETARY/CONFIDENTIAL
+ *
+ * Use is subject to license terms.
+ */
+
+package com.amazonaws.glue.ml.dataquality.dqdl.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StringUtilsTest {
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        "no escapes",
+        "\"quoted \\\"value\\\"\"",
+        "\\\\",
+        "\\\\\\",
+        "trailing \\",
+        "\\a\\b\\c",
+        "line\\\nbreak",
+        "carriage\\\rreturn",
+        "next\\\u0085line",
+        "separators\\\u2028and\\\u2029",
+        "tab\\\tescaped"
+    })
+    void test_removeEscapesMatchesRegexReplacement(String value) {
+        assertEquals(value.replaceAll("\\\\(.)", "$1"), StringUtils.removeEscapes(value));
+    }
+}